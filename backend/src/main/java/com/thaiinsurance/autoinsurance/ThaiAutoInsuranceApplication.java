@@ -1,13 +1,16 @@
 package com.thaiinsurance.autoinsurance;
 
+import com.thaiinsurance.autoinsurance.repository.BaseRepositoryImpl;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableJpaRepositories(repositoryBaseClass = BaseRepositoryImpl.class)
 @EnableAsync
 @EnableTransactionManagement
 public class ThaiAutoInsuranceApplication {
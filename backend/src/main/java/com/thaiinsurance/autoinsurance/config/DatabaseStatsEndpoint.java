@@ -0,0 +1,170 @@
+package com.thaiinsurance.autoinsurance.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/dbstats}: Hibernate session, query-plan and second-level cache statistics
+ * together with Hikari pool occupancy and connection wait times. The same figures are
+ * exported continuously as {@code hibernate.*} and {@code hikaricp.*} meters; this endpoint
+ * gives a readable snapshot, and {@code DELETE} resets the Hibernate counters so the effect of
+ * a change can be measured over a fresh window.
+ */
+@Component
+@Endpoint(id = "dbstats")
+public class DatabaseStatsEndpoint {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hibernate", hibernateStats(statistics()));
+        stats.put("pool", poolStats());
+        return stats;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics().clear();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private Map<String, Object> hibernateStats(Statistics statistics) {
+        Map<String, Object> hibernate = new LinkedHashMap<>();
+        hibernate.put("enabled", statistics.isStatisticsEnabled());
+        hibernate.put("since", statistics.getStart());
+
+        Map<String, Object> sessions = new LinkedHashMap<>();
+        sessions.put("opened", statistics.getSessionOpenCount());
+        sessions.put("closed", statistics.getSessionCloseCount());
+        sessions.put("transactions", statistics.getTransactionCount());
+        sessions.put("successfulTransactions", statistics.getSuccessfulTransactionCount());
+        sessions.put("optimisticFailures", statistics.getOptimisticFailureCount());
+        sessions.put("flushes", statistics.getFlushCount());
+        sessions.put("connectionsObtained", statistics.getConnectCount());
+        sessions.put("statementsPrepared", statistics.getPrepareStatementCount());
+        hibernate.put("sessions", sessions);
+
+        Map<String, Object> entities = new LinkedHashMap<>();
+        entities.put("loads", statistics.getEntityLoadCount());
+        entities.put("fetches", statistics.getEntityFetchCount());
+        entities.put("inserts", statistics.getEntityInsertCount());
+        entities.put("updates", statistics.getEntityUpdateCount());
+        entities.put("deletes", statistics.getEntityDeleteCount());
+        entities.put("collectionLoads", statistics.getCollectionLoadCount());
+        entities.put("collectionFetches", statistics.getCollectionFetchCount());
+        hibernate.put("entities", entities);
+
+        Map<String, Object> queries = new LinkedHashMap<>();
+        queries.put("executions", statistics.getQueryExecutionCount());
+        queries.put("maxTimeMs", statistics.getQueryExecutionMaxTime());
+        queries.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        queries.put("planCache", hitStats(statistics.getQueryPlanCacheHitCount(),
+            statistics.getQueryPlanCacheMissCount(), null));
+        hibernate.put("queries", queries);
+
+        Map<String, Object> secondLevelCache = hitStats(statistics.getSecondLevelCacheHitCount(),
+            statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount());
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(regionName);
+            if (region != null) {
+                Map<String, Object> regionStats = hitStats(region.getHitCount(), region.getMissCount(), region.getPutCount());
+                regionStats.put("elementsInMemory", region.getElementCountInMemory());
+                regions.put(regionName, regionStats);
+            }
+        }
+        secondLevelCache.put("regions", regions);
+        hibernate.put("secondLevelCache", secondLevelCache);
+
+        hibernate.put("naturalIdCache", hitStats(statistics.getNaturalIdCacheHitCount(),
+            statistics.getNaturalIdCacheMissCount(), statistics.getNaturalIdCachePutCount()));
+        return hibernate;
+    }
+
+    private Map<String, Object> poolStats() {
+        Map<String, Object> pool = new LinkedHashMap<>();
+        HikariDataSource hikari = hikariDataSource();
+        if (hikari == null || hikari.getHikariPoolMXBean() == null) {
+            pool.put("available", false);
+            return pool;
+        }
+        HikariPoolMXBean mxBean = hikari.getHikariPoolMXBean();
+        pool.put("name", hikari.getPoolName());
+        pool.put("active", mxBean.getActiveConnections());
+        pool.put("idle", mxBean.getIdleConnections());
+        pool.put("pending", mxBean.getThreadsAwaitingConnection());
+        pool.put("total", mxBean.getTotalConnections());
+        pool.put("max", hikari.getMaximumPoolSize());
+        pool.put("minIdle", hikari.getMinimumIdle());
+        pool.put("acquire", timerStats("hikaricp.connections.acquire", hikari.getPoolName()));
+        pool.put("usage", timerStats("hikaricp.connections.usage", hikari.getPoolName()));
+        return pool;
+    }
+
+    private HikariDataSource hikariDataSource() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private Map<String, Object> timerStats(String name, String poolName) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Timer timer = meterRegistry.find(name).tag("pool", poolName).timer();
+        if (timer == null) {
+            return stats;
+        }
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        stats.put("count", snapshot.count());
+        stats.put("meanMs", snapshot.mean(TimeUnit.MILLISECONDS));
+        stats.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            stats.put("p" + Math.round(percentile.percentile() * 100) + "Ms", percentile.value(TimeUnit.MILLISECONDS));
+        }
+        return stats;
+    }
+
+    private Map<String, Object> hitStats(long hits, long misses, Long puts) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        if (puts != null) {
+            stats.put("puts", puts);
+        }
+        long requests = hits + misses;
+        stats.put("hitRatio", requests == 0 ? null : (double) hits / requests);
+        return stats;
+    }
+}
@@ -0,0 +1,95 @@
+package com.thaiinsurance.autoinsurance.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache backed by Caffeine (W-TinyLFU eviction). Every region is
+ * declared in {@code app.cache.regions} with its own size bound and TTL; Hibernate refuses
+ * to start if an entity refers to a region that is not configured here.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(HibernateCacheConfig.CacheRegionProperties.class)
+public class HibernateCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(CacheRegionProperties properties) {
+        // A unique URI keeps test contexts sharing a JVM from seeing each other's regions
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("hibernate-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        properties.getRegions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(name, configuration);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @ConfigurationProperties(prefix = "app.cache")
+    public static class CacheRegionProperties {
+
+        private Map<String, Region> regions = new LinkedHashMap<>();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(Map<String, Region> regions) {
+            this.regions = regions;
+        }
+    }
+
+    public static class Region {
+
+        private long maxSize = 10000;
+
+        private Duration ttl = Duration.ofMinutes(10);
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
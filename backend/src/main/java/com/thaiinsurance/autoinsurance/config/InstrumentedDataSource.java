@@ -0,0 +1,159 @@
+package com.thaiinsurance.autoinsurance.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every JDBC statement executed through the wrapped pool and adds it to the calling
+ * thread's {@link SqlStatementStats}. Statements slower than the threshold are logged for a
+ * sample of executions, with the types of the bound parameters but never their values.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstrumentedDataSource.class);
+
+    private final long slowThresholdNanos;
+
+    private final double slowSampleRate;
+
+    public InstrumentedDataSource(DataSource targetDataSource, long slowThresholdMs, double slowSampleRate) {
+        super(targetDataSource);
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.slowSampleRate = slowSampleRate;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    void statementExecuted(String sql, List<String> parameterShapes, int batchSize, long nanos) {
+        SqlStatementStats.current().record(sql, nanos);
+        if (nanos >= slowThresholdNanos && slowSampleRate > 0
+                && (slowSampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < slowSampleRate)) {
+            logger.warn("Slow SQL ({} ms{}, parameters {}): {}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                batchSize > 0 ? ", batch of " + batchSize : "", parameterShapes, sql);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            String name = method.getName();
+            if (name.equals("prepareStatement") || name.equals("prepareCall")) {
+                return wrapStatement((Statement) result, (String) args[0]);
+            }
+            if (name.equals("createStatement")) {
+                return wrapStatement((Statement) result, null);
+            }
+            return result;
+        }
+
+        private Statement wrapStatement(Statement statement, String sql) {
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return (Statement) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[] {type}, new StatementHandler(statement, sql));
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+
+        private final String sql;
+
+        private final List<String> parameterShapes = new ArrayList<>();
+
+        private int batchSize;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                long start = System.nanoTime();
+                try {
+                    return InstrumentedDataSource.invoke(target, method, args);
+                } finally {
+                    statementExecuted(executed, List.copyOf(parameterShapes), batchSize, System.nanoTime() - start);
+                    if (name.contains("Batch")) {
+                        batchSize = 0;
+                    }
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                recordShape(index, name, args[1]);
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            } else if (name.equals("clearParameters")) {
+                parameterShapes.clear();
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            }
+            return InstrumentedDataSource.invoke(target, method, args);
+        }
+
+        private void recordShape(int index, String setter, Object value) {
+            String shape;
+            if (setter.equals("setNull") || value == null) {
+                shape = "null";
+            } else if (setter.equals("setObject")) {
+                shape = value.getClass().getSimpleName();
+            } else {
+                shape = setter.substring(3);
+            }
+            while (parameterShapes.size() < index) {
+                parameterShapes.add("?");
+            }
+            parameterShapes.set(index - 1, shape);
+        }
+    }
+}
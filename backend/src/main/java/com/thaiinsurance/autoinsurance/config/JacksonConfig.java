@@ -21,12 +21,10 @@ public class JacksonConfig {
         // Disable timestamps for dates
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         
-        // Don't fail on empty beans (helps with proxies)
+        // List and detail reads return projection DTOs; this is only still needed for the
+        // write endpoints that echo the saved entity back, which may hold uninitialized proxies
         mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
         
-        // Handle lazy loading by ignoring hibernate proxy objects
-        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-        
         return mapper;
     }
 }
\ No newline at end of file
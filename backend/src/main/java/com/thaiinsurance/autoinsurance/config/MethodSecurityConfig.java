@@ -0,0 +1,60 @@
+package com.thaiinsurance.autoinsurance.config;
+
+import com.thaiinsurance.autoinsurance.security.RoleMaskAuthorizationManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Method security for {@code @PreAuthorize}. Spring's own interceptor is replaced by one backed
+ * by {@link RoleMaskAuthorizationManager}, so plain role checks skip SpEL; the rules of all
+ * controllers are compiled once the application has started.
+ */
+@Configuration
+@EnableMethodSecurity(prePostEnabled = false)
+public class MethodSecurityConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MethodSecurityConfig.class);
+
+    // Static so the method security infrastructure does not pull in this configuration early
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static RoleMaskAuthorizationManager roleMaskAuthorizationManager(ApplicationContext applicationContext) {
+        DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        // Lets fallback expressions reference beans, e.g. @adminService
+        expressionHandler.setApplicationContext(applicationContext);
+        PreAuthorizeAuthorizationManager spelManager = new PreAuthorizeAuthorizationManager();
+        spelManager.setExpressionHandler(expressionHandler);
+        return new RoleMaskAuthorizationManager(spelManager);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preAuthorizeAuthorizationMethodInterceptor(RoleMaskAuthorizationManager roleMaskAuthorizationManager) {
+        return AuthorizationManagerBeforeMethodInterceptor.preAuthorize(roleMaskAuthorizationManager);
+    }
+
+    @Bean
+    static SmartInitializingSingleton precompileMethodAuthorization(ApplicationContext applicationContext,
+                                                                    RoleMaskAuthorizationManager roleMaskAuthorizationManager) {
+        return () -> {
+            int compiled = 0;
+            for (Object controller : applicationContext.getBeansWithAnnotation(RestController.class).values()) {
+                compiled += roleMaskAuthorizationManager.precompile(AopUtils.getTargetClass(controller));
+            }
+            logger.info("Compiled {} @PreAuthorize rules to role masks", compiled);
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.thaiinsurance.autoinsurance.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries {@link RetryOnOptimisticLock} methods with bounded, fully jittered exponential
+ * backoff. Ordered just outside the transaction interceptor so that every attempt gets its
+ * own transaction. Conflicts are counted per entity type in
+ * {@code optimistic.lock.conflicts}, tagged with the outcome ({@code retried} or
+ * {@code exhausted}).
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class OptimisticLockRetryAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticLockRetryAspect.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.optimistic-lock.max-attempts:4}")
+    private int defaultMaxAttempts;
+
+    @Value("${app.optimistic-lock.initial-backoff-ms:10}")
+    private long initialBackoffMs;
+
+    @Value("${app.optimistic-lock.max-backoff-ms:200}")
+    private long maxBackoffMs;
+
+    @Around("@annotation(retryOnOptimisticLock)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnOptimisticLock retryOnOptimisticLock) throws Throwable {
+        // Inside a caller's transaction the stale entity is still in the persistence context,
+        // so a retry here cannot succeed; leave it to the outermost retrying method
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        int maxAttempts = retryOnOptimisticLock.maxAttempts() > 0
+            ? retryOnOptimisticLock.maxAttempts() : defaultMaxAttempts;
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName()
+            + "." + joinPoint.getSignature().getName();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                String entity = entityName(e);
+                if (attempt >= maxAttempts) {
+                    conflictCounter(entity, method, "exhausted").increment();
+                    logger.warn("Optimistic lock conflict on {} in {} after {} attempts", entity, method, attempt);
+                    throw e;
+                }
+                conflictCounter(entity, method, "retried").increment();
+                logger.debug("Optimistic lock conflict on {} in {}, attempt {} of {}", entity, method, attempt, maxAttempts);
+                Thread.sleep(backoffMillis(attempt));
+            }
+        }
+    }
+
+    /**
+     * Full jitter: a uniform delay between 0 and the capped exponential bound
+     */
+    long backoffMillis(int attempt) {
+        long bound = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    private Counter conflictCounter(String entity, String method, String outcome) {
+        return Counter.builder("optimistic.lock.conflicts")
+            .description("Optimistic-lock conflicts seen by retrying service methods")
+            .tag("entity", entity)
+            .tag("method", method)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private String entityName(Exception e) {
+        if (e instanceof ObjectOptimisticLockingFailureException objectFailure
+                && objectFailure.getPersistentClassName() != null) {
+            String className = objectFailure.getPersistentClassName();
+            return className.substring(className.lastIndexOf('.') + 1);
+        }
+        if (e instanceof OptimisticLockException lockException && lockException.getEntity() != null) {
+            return lockException.getEntity().getClass().getSimpleName();
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,44 @@
+package com.thaiinsurance.autoinsurance.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thaiinsurance.autoinsurance.security.RateLimitFilter;
+import com.thaiinsurance.autoinsurance.util.TokenBucketLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * In-process rate limiting of the routes in {@code app.rate-limit.routes}. The filter is added
+ * to the security chain by {@link SecurityConfig}, not registered as a servlet filter.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public TokenBucketLimiter rateLimitBuckets(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(properties.getStripes(), properties.getMaxKeys(),
+            properties.getIdleEviction());
+        Gauge.builder("http.rate_limit.buckets", limiter, TokenBucketLimiter::size)
+            .description("Token buckets held in memory")
+            .register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties, TokenBucketLimiter rateLimitBuckets,
+                                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new RateLimitFilter(properties, rateLimitBuckets, objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        // Runs inside the security chain, after authentication
+        registration.setEnabled(false);
+        return registration;
+    }
+}
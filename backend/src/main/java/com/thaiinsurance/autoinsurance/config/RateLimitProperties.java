@@ -0,0 +1,179 @@
+package com.thaiinsurance.autoinsurance.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rate limits per route, bound from {@code app.rate-limit}. Each route names the requests it
+ * covers (Ant-style path and optional HTTP method), what a client is identified by, and the size
+ * and refill rate of each client's token bucket.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    public enum KeyType {
+        /** Client IP address */
+        IP,
+        /** Authenticated user id, falling back to the IP for anonymous requests */
+        USER,
+        /**
+         * API client header, falling back to the IP when it is missing. The caller chooses the header
+         * value, so rotating it yields a fresh bucket per request: use only on routes reached by
+         * trusted or authenticated clients, never as the sole limit on an anonymous route.
+         */
+        CLIENT
+    }
+
+    private boolean enabled = true;
+
+    private int stripes = 64;
+
+    private long maxKeys = 100000;
+
+    // Longer than any route takes to refill completely, so eviction never hands out extra tokens
+    private Duration idleEviction = Duration.ofMinutes(10);
+
+    private String clientHeader = "X-Client-Id";
+
+    private Shared shared = new Shared();
+
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public long getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(long maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public Duration getIdleEviction() {
+        return idleEviction;
+    }
+
+    public void setIdleEviction(Duration idleEviction) {
+        this.idleEviction = idleEviction;
+    }
+
+    public String getClientHeader() {
+        return clientHeader;
+    }
+
+    public void setClientHeader(String clientHeader) {
+        this.clientHeader = clientHeader;
+    }
+
+    public Shared getShared() {
+        return shared;
+    }
+
+    public void setShared(Shared shared) {
+        this.shared = shared;
+    }
+
+    public Map<String, Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Route> routes) {
+        this.routes = routes;
+    }
+
+    public static class Route {
+
+        private String pattern;
+
+        private String method;
+
+        private KeyType key = KeyType.IP;
+
+        private long capacity = 10;
+
+        private double refillPerMinute = 10;
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public KeyType getKey() {
+            return key;
+        }
+
+        public void setKey(KeyType key) {
+            this.key = key;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerMinute() {
+            return refillPerMinute;
+        }
+
+        public void setRefillPerMinute(double refillPerMinute) {
+            this.refillPerMinute = refillPerMinute;
+        }
+    }
+
+    /**
+     * Coordination of limits across nodes through {@code rate_limit_counters}
+     */
+    public static class Shared {
+
+        private boolean enabled = false;
+
+        private Duration window = Duration.ofMinutes(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+    }
+}
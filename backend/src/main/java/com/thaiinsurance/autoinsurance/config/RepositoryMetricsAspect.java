@@ -0,0 +1,68 @@
+package com.thaiinsurance.autoinsurance.config;
+
+import com.thaiinsurance.autoinsurance.repository.BaseRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records a timer ({@code db.repository.time}) and the number of SQL statements
+ * ({@code db.repository.statements}) for every repository method, tagged with the
+ * repository interface and method name.
+ */
+@Aspect
+public class RepositoryMetricsAspect {
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Around("this(com.thaiinsurance.autoinsurance.repository.BaseRepository)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryName(joinPoint.getThis());
+        String method = joinPoint.getSignature().getName();
+        SqlStatementStats stats = SqlStatementStats.current();
+        long statementsBefore = stats.getStatementCount();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("db.repository.time")
+                .description("Time spent in repository methods")
+                .tag("repository", repository)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+            DistributionSummary.builder("db.repository.statements")
+                .description("SQL statements issued per repository method call")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(stats.getStatementCount() - statementsBefore);
+        }
+    }
+
+    private String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), proxyClass -> {
+            for (Class<?> type : proxyClass.getInterfaces()) {
+                if (BaseRepository.class.isAssignableFrom(type) && type != BaseRepository.class) {
+                    return type.getSimpleName();
+                }
+            }
+            return AopUtils.getTargetClass(proxy).getSimpleName();
+        });
+    }
+}
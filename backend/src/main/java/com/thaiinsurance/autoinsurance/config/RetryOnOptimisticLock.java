@@ -0,0 +1,26 @@
+package com.thaiinsurance.autoinsurance.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a transactional service method when its commit fails on an optimistic-lock
+ * conflict. Only put this on methods that are safe to repeat: each attempt runs in a fresh
+ * transaction and re-reads the entity, so the method must derive its changes from its
+ * arguments rather than from state held between attempts.
+ *
+ * @see OptimisticLockRetryAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnOptimisticLock {
+
+    /**
+     * Total attempts including the first; 0 uses {@code app.optimistic-lock.max-attempts}
+     */
+    int maxAttempts() default 0;
+}
@@ -1,15 +1,21 @@
 package com.thaiinsurance.autoinsurance.config;
 
+import com.thaiinsurance.autoinsurance.security.BoundedPasswordEncoder;
 import com.thaiinsurance.autoinsurance.security.CustomUserDetailsService;
 import com.thaiinsurance.autoinsurance.security.JwtAuthenticationEntryPoint;
 import com.thaiinsurance.autoinsurance.security.JwtAuthenticationFilter;
+import com.thaiinsurance.autoinsurance.security.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -18,6 +24,10 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -27,23 +37,65 @@ import java.util.List;
 
 @Configuration
 @EnableWebSecurity
-@EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
     
+    // Served by the minimal public chain, see publicEndpointsFilterChain. Only the aggregate
+    // /actuator/health is public; per-component paths (/actuator/health/db, ...) stay admin-only
+    private static final String[] PUBLIC_ENDPOINTS = {
+        "/health", "/health/**", "/actuator/health",
+        "/api-docs", "/api-docs/**", "/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**", "/webjars/**"
+    };
+    
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
     
     @Autowired
     private JwtAuthenticationEntryPoint unauthorizedHandler;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+    
+    // Stored hashes with a lower work factor are upgraded at the next successful login
+    @Value("${app.password-hashing.strength:10}")
+    private int bcryptStrength;
+    
+    @Value("${app.password-hashing.rehash-on-login:true}")
+    private boolean rehashOnLogin;
+    
+    // 0 sizes the pool to the available cores
+    @Value("${app.password-hashing.threads:0}")
+    private int hashingThreads;
+    
+    @Value("${app.password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+    
+    @Value("${app.password-hashing.timeout-ms:5000}")
+    private long hashingTimeoutMs;
+    
+    @Value("${app.password-hashing.retry-after-seconds:1}")
+    private long hashingRetryAfterSeconds;
+    
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
         return new JwtAuthenticationFilter();
     }
     
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(
+            JwtAuthenticationFilter jwtAuthenticationFilter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        // Runs inside the main security chain only, never for requests on the public chain
+        registration.setEnabled(false);
+        return registration;
+    }
+    
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), hashingThreads,
+                hashingQueueCapacity, hashingTimeoutMs, hashingRetryAfterSeconds, meterRegistry);
     }
     
     @Bean
@@ -51,6 +103,9 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        if (rehashOnLogin) {
+            authProvider.setUserDetailsPasswordService(customUserDetailsService);
+        }
         return authProvider;
     }
     
@@ -59,6 +114,32 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
     
+    /**
+     * Health probes and API docs need no authentication, so they get a chain without JWT
+     * parsing, security context handling or authorization. Requests that do carry a token still
+     * go through the main chain, e.g. so admins see health details.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain publicEndpointsFilterChain(HttpSecurity http) throws Exception {
+        RequestMatcher publicPaths = new OrRequestMatcher(Arrays.stream(PUBLIC_ENDPOINTS)
+            .map(pattern -> (RequestMatcher) new AntPathRequestMatcher(pattern))
+            .toList());
+        http.securityMatcher(new AndRequestMatcher(publicPaths,
+                request -> request.getHeader(HttpHeaders.AUTHORIZATION) == null))
+            .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+            .csrf(AbstractHttpConfigurer::disable)
+            .securityContext(AbstractHttpConfigurer::disable)
+            .sessionManagement(AbstractHttpConfigurer::disable)
+            .requestCache(AbstractHttpConfigurer::disable)
+            .anonymous(AbstractHttpConfigurer::disable)
+            .servletApi(AbstractHttpConfigurer::disable)
+            .exceptionHandling(AbstractHttpConfigurer::disable)
+            .logout(AbstractHttpConfigurer::disable);
+        
+        return http.build();
+    }
+    
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -114,6 +195,7 @@ public class SecurityConfig {
         
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
         
         return http.build();
     }
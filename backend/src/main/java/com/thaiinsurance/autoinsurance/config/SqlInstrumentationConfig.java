@@ -0,0 +1,53 @@
+package com.thaiinsurance.autoinsurance.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Lightweight SQL instrumentation: wraps the connection pool in an
+ * {@link InstrumentedDataSource}, counts statements per HTTP request and per repository
+ * method, and keeps a sampled slow-query log. Replaces {@code show-sql} and bind-parameter
+ * TRACE logging, which are too expensive outside development.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql-instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig {
+
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource,
+                        environment.getProperty("app.sql-instrumentation.slow-query.threshold-ms", Long.class, 500L),
+                        environment.getProperty("app.sql-instrumentation.slow-query.sample-rate", Double.class, 1.0));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlInstrumentationFilter> sqlInstrumentationFilter(
+            @Value("${app.sql-instrumentation.expose-headers:false}") boolean exposeHeaders) {
+        FilterRegistrationBean<SqlInstrumentationFilter> registration =
+            new FilterRegistrationBean<>(new SqlInstrumentationFilter(exposeHeaders));
+        // Outermost, so the security chain's own lookups are counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public RepositoryMetricsAspect repositoryMetricsAspect() {
+        return new RepositoryMetricsAspect();
+    }
+}
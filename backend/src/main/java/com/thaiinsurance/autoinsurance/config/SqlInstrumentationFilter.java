@@ -0,0 +1,75 @@
+package com.thaiinsurance.autoinsurance.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements and database time of each HTTP request. With headers enabled
+ * (non-production only) the totals are returned as {@code X-SQL-Count},
+ * {@code X-SQL-Time-Ms} and {@code X-SQL-Slowest-Ms}.
+ */
+public class SqlInstrumentationFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-SQL-Count";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+    public static final String SLOWEST_HEADER = "X-SQL-Slowest-Ms";
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlInstrumentationFilter.class);
+
+    private final boolean exposeHeaders;
+
+    public SqlInstrumentationFilter(boolean exposeHeaders) {
+        this.exposeHeaders = exposeHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats.reset();
+        if (!exposeHeaders) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                logSummary(request);
+            }
+            return;
+        }
+
+        // Buffer the body so the headers can still be set once the statements are known
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            SqlStatementStats stats = SqlStatementStats.current();
+            wrapper.setHeader(COUNT_HEADER, String.valueOf(stats.getStatementCount()));
+            wrapper.setHeader(TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getTotalNanos())));
+            wrapper.setHeader(SLOWEST_HEADER, stats.getSlowest().stream()
+                .map(statement -> String.valueOf(TimeUnit.NANOSECONDS.toMillis(statement.nanos())))
+                .collect(Collectors.joining(",")));
+            logSummary(request);
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void logSummary(HttpServletRequest request) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (logger.isDebugEnabled() && stats.getStatementCount() > 0) {
+            logger.debug("{} {} issued {} SQL statements in {} ms, slowest: {}", request.getMethod(),
+                request.getRequestURI(), stats.getStatementCount(),
+                TimeUnit.NANOSECONDS.toMillis(stats.getTotalNanos()),
+                stats.getSlowest().stream()
+                    .map(statement -> TimeUnit.NANOSECONDS.toMillis(statement.nanos()) + " ms " + statement.sql())
+                    .collect(Collectors.joining(" | ")));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.thaiinsurance.autoinsurance.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Per-thread JDBC statement counters filled in by {@link InstrumentedDataSource}. The
+ * {@link SqlInstrumentationFilter} resets them at the start of each HTTP request, and the
+ * repository metrics aspect reads the difference around each repository call.
+ */
+public final class SqlStatementStats {
+
+    static final int SLOWEST_KEPT = 3;
+
+    private static final int MAX_SQL_LENGTH = 300;
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = ThreadLocal.withInitial(SqlStatementStats::new);
+
+    private long statementCount;
+
+    private long totalNanos;
+
+    private final List<Statement> slowest = new ArrayList<>(SLOWEST_KEPT + 1);
+
+    private SqlStatementStats() {}
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Start counting from zero, e.g. at the beginning of a request
+     */
+    public static void reset() {
+        SqlStatementStats stats = CURRENT.get();
+        stats.statementCount = 0;
+        stats.totalNanos = 0;
+        stats.slowest.clear();
+    }
+
+    void record(String sql, long nanos) {
+        statementCount++;
+        totalNanos += nanos;
+        if (slowest.size() < SLOWEST_KEPT || nanos > slowest.get(slowest.size() - 1).nanos()) {
+            String trimmed = sql == null ? "" : sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) : sql;
+            slowest.add(new Statement(trimmed, nanos));
+            slowest.sort(Comparator.comparingLong(Statement::nanos).reversed());
+            if (slowest.size() > SLOWEST_KEPT) {
+                slowest.remove(SLOWEST_KEPT);
+            }
+        }
+    }
+
+    public long getStatementCount() {
+        return statementCount;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * The slowest statements seen since the last reset, slowest first
+     */
+    public List<Statement> getSlowest() {
+        return Collections.unmodifiableList(slowest);
+    }
+
+    public record Statement(String sql, long nanos) {}
+}
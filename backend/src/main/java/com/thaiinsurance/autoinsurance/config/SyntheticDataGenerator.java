@@ -0,0 +1,750 @@
+package com.thaiinsurance.autoinsurance.config;
+
+import com.thaiinsurance.autoinsurance.model.Claim;
+import com.thaiinsurance.autoinsurance.model.Customer;
+import com.thaiinsurance.autoinsurance.model.Payment;
+import com.thaiinsurance.autoinsurance.model.Policy;
+import com.thaiinsurance.autoinsurance.model.Vehicle;
+import com.thaiinsurance.autoinsurance.util.ThaiSyntheticData;
+import com.thaiinsurance.autoinsurance.util.ThaiSyntheticData.Province;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes a large, reproducible dataset of customers, vehicles, policies, claims and payments
+ * through JDBC batches, bypassing the services (no outbox events, no cache traffic).
+ * <p>
+ * Work is split into chunks of customers. Each chunk draws from its own random stream derived
+ * from the seed and the chunk index, so a seed always yields the same rows no matter how many
+ * threads insert them or in which order chunks finish. Ids come from fixed slots per parent
+ * row starting at {@code idBase}, well clear of the ids the application assigns itself, and
+ * only columns present in the current schema are written, so the Flyway and the
+ * Hibernate-generated schemas both work.
+ */
+@Component
+public class SyntheticDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    public static final List<String> TABLES = List.of("customers", "vehicles", "policies", "claims", "payments");
+
+    // Id slots per parent row: vehicles per customer, policy terms per vehicle, claims and payments per policy
+    static final int VEHICLE_SLOTS = 4;
+    static final int POLICY_SLOTS = 4;
+    static final int CLAIM_SLOTS = 4;
+    static final int PAYMENT_SLOTS = 8;
+
+    private static final DateTimeFormatter NUMBER_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final VehicleModel[] MODELS = {
+        new VehicleModel("Toyota", "MR0", "Hilux Revo", Vehicle.VehicleType.PICKUP, Vehicle.FuelType.DIESEL, "2.40", 5, 1900, 850_000, 14),
+        new VehicleModel("Toyota", "MR0", "Yaris Ativ", Vehicle.VehicleType.SEDAN, Vehicle.FuelType.GASOLINE, "1.20", 5, 1050, 600_000, 6),
+        new VehicleModel("Toyota", "MR0", "Corolla Cross", Vehicle.VehicleType.SUV, Vehicle.FuelType.HYBRID, "1.80", 5, 1400, 1_100_000, 5),
+        new VehicleModel("Toyota", "MR0", "Camry", Vehicle.VehicleType.SEDAN, Vehicle.FuelType.HYBRID, "2.50", 5, 1600, 1_600_000, 2),
+        new VehicleModel("Toyota", "MR0", "Fortuner", Vehicle.VehicleType.SUV, Vehicle.FuelType.DIESEL, "2.80", 7, 2100, 1_500_000, 5),
+        new VehicleModel("Isuzu", "MP1", "D-Max", Vehicle.VehicleType.PICKUP, Vehicle.FuelType.DIESEL, "1.90", 5, 1850, 800_000, 16),
+        new VehicleModel("Isuzu", "MP1", "MU-X", Vehicle.VehicleType.SUV, Vehicle.FuelType.DIESEL, "1.90", 7, 2000, 1_200_000, 3),
+        new VehicleModel("Honda", "MRH", "City", Vehicle.VehicleType.SEDAN, Vehicle.FuelType.GASOLINE, "1.00", 5, 1100, 650_000, 7),
+        new VehicleModel("Honda", "MRH", "Civic", Vehicle.VehicleType.SEDAN, Vehicle.FuelType.GASOLINE, "1.50", 5, 1300, 1_050_000, 4),
+        new VehicleModel("Honda", "MRH", "HR-V", Vehicle.VehicleType.SUV, Vehicle.FuelType.HYBRID, "1.50", 5, 1350, 1_100_000, 3),
+        new VehicleModel("Honda", "MRH", "Jazz", Vehicle.VehicleType.HATCHBACK, Vehicle.FuelType.GASOLINE, "1.50", 5, 1100, 600_000, 2),
+        new VehicleModel("Mitsubishi", "MMT", "Triton", Vehicle.VehicleType.PICKUP, Vehicle.FuelType.DIESEL, "2.40", 5, 1900, 800_000, 5),
+        new VehicleModel("Mitsubishi", "MMT", "Pajero Sport", Vehicle.VehicleType.SUV, Vehicle.FuelType.DIESEL, "2.40", 7, 2100, 1_400_000, 2),
+        new VehicleModel("Mitsubishi", "MMT", "Xpander", Vehicle.VehicleType.VAN, Vehicle.FuelType.GASOLINE, "1.50", 7, 1250, 800_000, 2),
+        new VehicleModel("Nissan", "MNT", "Almera", Vehicle.VehicleType.SEDAN, Vehicle.FuelType.GASOLINE, "1.00", 5, 1050, 550_000, 3),
+        new VehicleModel("Nissan", "MNT", "Navara", Vehicle.VehicleType.PICKUP, Vehicle.FuelType.DIESEL, "2.30", 5, 1900, 800_000, 2),
+        new VehicleModel("Mazda", "MM7", "Mazda2", Vehicle.VehicleType.HATCHBACK, Vehicle.FuelType.GASOLINE, "1.30", 5, 1050, 600_000, 3),
+        new VehicleModel("Mazda", "MM7", "CX-5", Vehicle.VehicleType.SUV, Vehicle.FuelType.GASOLINE, "2.00", 5, 1550, 1_400_000, 2),
+        new VehicleModel("Ford", "MNC", "Ranger", Vehicle.VehicleType.PICKUP, Vehicle.FuelType.DIESEL, "2.00", 5, 2000, 900_000, 5),
+        new VehicleModel("Ford", "MNC", "Everest", Vehicle.VehicleType.SUV, Vehicle.FuelType.DIESEL, "2.00", 7, 2300, 1_500_000, 2),
+        new VehicleModel("MG", "LSJ", "ZS", Vehicle.VehicleType.SUV, Vehicle.FuelType.GASOLINE, "1.50", 5, 1300, 700_000, 2),
+        new VehicleModel("MG", "LSJ", "MG4", Vehicle.VehicleType.HATCHBACK, Vehicle.FuelType.ELECTRIC, null, 5, 1650, 900_000, 1),
+        new VehicleModel("BYD", "LGX", "Atto 3", Vehicle.VehicleType.SUV, Vehicle.FuelType.ELECTRIC, null, 5, 1750, 1_100_000, 2)
+    };
+
+    private static final int[] MODEL_WEIGHTS = java.util.Arrays.stream(MODELS).mapToInt(VehicleModel::weight).toArray();
+
+    private static final String[] COLORS = {"White", "Silver", "Black", "Grey", "Red", "Blue", "Bronze"};
+
+    private static final String[] BANGKOK_ROADS = {"Sukhumvit Road", "Phahonyothin Road", "Ratchadaphisek Road",
+        "Rama IV Road", "Phetchaburi Road", "Lat Phrao Road", "Ngam Wong Wan Road", "Srinakarin Road"};
+
+    private static final String[][] BANKS = {{"002", "Bangkok Bank"}, {"004", "Kasikornbank"},
+        {"014", "Siam Commercial Bank"}, {"006", "Krungthai Bank"}, {"025", "Bank of Ayudhya"}, {"011", "TMBThanachart Bank"}};
+
+    private static final String[] FAILURE_REASONS = {"Insufficient funds", "Card declined by issuer", "Transaction timed out"};
+
+    private static final Map<Claim.IncidentType, String> INCIDENT_DESCRIPTIONS = Map.of(
+        Claim.IncidentType.COLLISION, "Collided with another vehicle while changing lanes; front bumper and headlamp damaged",
+        Claim.IncidentType.THIRD_PARTY_PROPERTY, "Reversed into a parked motorcycle; third party requests repair of rear panel",
+        Claim.IncidentType.VANDALISM, "Paintwork scratched and side mirror broken while parked overnight",
+        Claim.IncidentType.THEFT, "Vehicle stolen from a shopping mall car park; police report filed",
+        Claim.IncidentType.FLOOD, "Engine stalled in flood water during heavy monsoon rain",
+        Claim.IncidentType.FIRE, "Fire started in the engine compartment while driving",
+        Claim.IncidentType.NATURAL_DISASTER, "Tree branch fell on the roof during a storm",
+        Claim.IncidentType.PERSONAL_ACCIDENT, "Driver injured in a single-vehicle accident and treated at hospital",
+        Claim.IncidentType.OTHER, "Windscreen cracked by debris from a truck on the expressway");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Bind timestamps the way Hibernate does so generated rows read back unchanged
+    @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:}")
+    private String jdbcTimeZone;
+
+    /**
+     * Generate and insert the dataset described by the settings
+     */
+    public Result generate(Settings settings) {
+        Map<String, Set<String>> columns = existingColumns();
+        int chunks = (settings.customers() + settings.chunkSize() - 1) / settings.chunkSize();
+        Map<String, LongAdder> counts = new LinkedHashMap<>();
+        TABLES.forEach(table -> counts.put(table, new LongAdder()));
+        AtomicInteger finished = new AtomicInteger();
+        int progressStep = Math.max(1, chunks / 10);
+        long started = System.nanoTime();
+
+        logger.info("Generating {} customers in {} chunks on {} threads (seed {}, ids from {})",
+            settings.customers(), chunks, settings.threads(), settings.seed(), settings.idBase());
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.threads());
+        try {
+            List<Future<?>> futures = new ArrayList<>(chunks);
+            for (int i = 0; i < chunks; i++) {
+                int chunkIndex = i;
+                futures.add(executor.submit(() -> {
+                    Chunk chunk = buildChunk(settings, chunkIndex);
+                    transactionTemplate.executeWithoutResult(status -> chunk.rows().forEach((table, rows) ->
+                        insert(table, rows, columns.get(table), settings.batchSize())));
+                    chunk.rows().forEach((table, rows) -> counts.get(table).add(rows.size()));
+                    int done = finished.incrementAndGet();
+                    if (done % progressStep == 0 || done == chunks) {
+                        logger.info("Synthetic data: {}/{} chunks, {} rows", done, chunks,
+                            counts.values().stream().mapToLong(LongAdder::sum).sum());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Synthetic data generation failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Synthetic data generation interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        analyze();
+        Map<String, Long> rows = new LinkedHashMap<>();
+        counts.forEach((table, count) -> rows.put(table, count.sum()));
+        Result result = new Result(rows, Duration.ofNanos(System.nanoTime() - started));
+        logger.info("Synthetic data generated: {}", result);
+        return result;
+    }
+
+    /**
+     * Whether a dataset with this id base has already been written
+     */
+    public boolean isGenerated(long idBase) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers WHERE id = ?", Integer.class, idBase);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Build the rows for one chunk of customers without touching the database. The same
+     * settings and chunk index always produce the same rows.
+     */
+    public Chunk buildChunk(Settings settings, int chunkIndex) {
+        SplittableRandom random = new SplittableRandom(settings.seed() * 0x9E3779B97F4A7C15L + chunkIndex);
+        ChunkBuilder builder = new ChunkBuilder(settings, random);
+        long first = (long) chunkIndex * settings.chunkSize();
+        long last = Math.min(settings.customers(), first + settings.chunkSize());
+        for (long ordinal = first; ordinal < last; ordinal++) {
+            builder.customer(ordinal);
+        }
+        return builder.chunk();
+    }
+
+    private void insert(String table, List<Map<String, Object>> rows, Set<String> existing, int batchSize) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = rows.get(0).keySet().stream().filter(existing::contains).toList();
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+            + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        Calendar calendar = jdbcTimeZone.isBlank() ? null : Calendar.getInstance(TimeZone.getTimeZone(jdbcTimeZone));
+        jdbcTemplate.batchUpdate(sql, rows, batchSize, (statement, row) -> {
+            for (int i = 0; i < columns.size(); i++) {
+                bind(statement, i + 1, row.get(columns.get(i)), calendar);
+            }
+        });
+    }
+
+    private static void bind(PreparedStatement statement, int index, Object value, Calendar calendar) throws SQLException {
+        if (value instanceof LocalDateTime dateTime && calendar != null) {
+            statement.setTimestamp(index, Timestamp.valueOf(dateTime), calendar);
+        } else {
+            StatementCreatorUtils.setParameterValue(statement, index, SqlTypeValue.TYPE_UNKNOWN, value);
+        }
+    }
+
+    private Map<String, Set<String>> existingColumns() {
+        return jdbcTemplate.execute((ConnectionCallback<Map<String, Set<String>>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, Set<String>> columns = new HashMap<>();
+            for (String table : TABLES) {
+                Set<String> names = new HashSet<>();
+                for (String candidate : Set.of(table, table.toUpperCase())) {
+                    try (ResultSet resultSet = metaData.getColumns(null, null, candidate, null)) {
+                        while (resultSet.next()) {
+                            names.add(resultSet.getString("COLUMN_NAME").toLowerCase());
+                        }
+                    }
+                }
+                if (names.isEmpty()) {
+                    throw new IllegalStateException("Table " + table + " does not exist");
+                }
+                columns.put(table, names);
+            }
+            return columns;
+        });
+    }
+
+    private void analyze() {
+        try {
+            jdbcTemplate.execute("ANALYZE");
+        } catch (DataAccessException e) {
+            logger.warn("Could not refresh planner statistics: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @param seed          random seed; the same seed reproduces the same dataset
+     * @param customers     number of customers; vehicles, policies, claims and payments follow from them
+     * @param threads       concurrent insert threads (each holds one connection)
+     * @param chunkSize     customers per chunk, which is also the unit of work per transaction
+     * @param batchSize     JDBC batch size
+     * @param idBase        first id used in every table
+     * @param referenceDate "today" for the generated history
+     */
+    public record Settings(long seed, int customers, int threads, int chunkSize, int batchSize, long idBase,
+                           LocalDate referenceDate) {
+
+        public Settings {
+            if (customers <= 0 || threads <= 0 || chunkSize <= 0 || batchSize <= 0) {
+                throw new IllegalArgumentException("Customers, threads, chunk size and batch size must be positive");
+            }
+            if (idBase <= 0) {
+                throw new IllegalArgumentException("Id base must be positive");
+            }
+            if (referenceDate == null) {
+                referenceDate = LocalDate.now();
+            }
+        }
+    }
+
+    public record Result(Map<String, Long> rows, Duration elapsed) {
+
+        public long totalRows() {
+            return rows.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        @Override
+        public String toString() {
+            long millis = Math.max(1, elapsed.toMillis());
+            return rows + " in " + millis + " ms (" + totalRows() * 1000 / millis + " rows/s)";
+        }
+    }
+
+    /**
+     * Rows per table in insert (foreign key) order; each row maps column name to value
+     */
+    public record Chunk(Map<String, List<Map<String, Object>>> rows) {
+
+        public List<Map<String, Object>> rows(String table) {
+            return rows.getOrDefault(table, List.of());
+        }
+    }
+
+    private record VehicleModel(String make, String worldManufacturerId, String model, Vehicle.VehicleType type,
+                                Vehicle.FuelType fuel, String engineSize, int seats, int weightKg, int newPrice,
+                                int weight) {}
+
+    /**
+     * Generates one chunk. Every row of a table is built with the same keys in the same order
+     * so a single INSERT statement covers the whole batch.
+     */
+    private static final class ChunkBuilder {
+
+        private final Settings settings;
+        private final SplittableRandom random;
+        private final LocalDate today;
+        private final Map<String, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+
+        ChunkBuilder(Settings settings, SplittableRandom random) {
+            this.settings = settings;
+            this.random = random;
+            this.today = settings.referenceDate();
+            TABLES.forEach(table -> rows.put(table, new ArrayList<>()));
+        }
+
+        Chunk chunk() {
+            return new Chunk(rows);
+        }
+
+        void customer(long ordinal) {
+            boolean male = random.nextBoolean();
+            String[] firstName = ThaiSyntheticData.pick(random, male ? ThaiSyntheticData.MALE_NAMES : ThaiSyntheticData.FEMALE_NAMES);
+            String[] lastName = ThaiSyntheticData.pick(random, ThaiSyntheticData.SURNAMES);
+            Province province = ThaiSyntheticData.province(random);
+            int district = random.nextInt(province.districtCount());
+            int age = switch (ThaiSyntheticData.weighted(random, 22, 30, 25, 15, 8)) {
+                case 0 -> 21 + random.nextInt(10);
+                case 1 -> 31 + random.nextInt(10);
+                case 2 -> 41 + random.nextInt(10);
+                case 3 -> 51 + random.nextInt(10);
+                default -> 61 + random.nextInt(15);
+            };
+            Customer.OccupationCategory occupation = switch (ThaiSyntheticData.weighted(random, 40, 20, 12, 12, 6, 3, 7)) {
+                case 0 -> Customer.OccupationCategory.PRIVATE_EMPLOYEE;
+                case 1 -> Customer.OccupationCategory.BUSINESS_OWNER;
+                case 2 -> Customer.OccupationCategory.GOVERNMENT_OFFICER;
+                case 3 -> Customer.OccupationCategory.FREELANCER;
+                case 4 -> Customer.OccupationCategory.RETIRED;
+                case 5 -> Customer.OccupationCategory.STUDENT;
+                default -> Customer.OccupationCategory.OTHER;
+            };
+            Customer.KYCStatus kycStatus = switch (ThaiSyntheticData.weighted(random, 85, 10, 2, 3)) {
+                case 0 -> Customer.KYCStatus.VERIFIED;
+                case 1 -> Customer.KYCStatus.PENDING;
+                case 2 -> Customer.KYCStatus.REJECTED;
+                default -> Customer.KYCStatus.EXPIRED;
+            };
+            String address = "Bangkok".equals(province.name())
+                ? (1 + random.nextInt(999)) + " Soi " + (1 + random.nextInt(101)) + ", " + ThaiSyntheticData.pick(random, BANGKOK_ROADS)
+                : (1 + random.nextInt(300)) + " Moo " + (1 + random.nextInt(15));
+
+            long customerId = settings.idBase() + ordinal;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", customerId);
+            row.put("national_id", ThaiSyntheticData.nationalId(ordinal));
+            row.put("first_name", firstName[0]);
+            row.put("last_name", lastName[0]);
+            row.put("first_name_thai", firstName[1]);
+            row.put("last_name_thai", lastName[1]);
+            row.put("first_name_en", firstName[0]);
+            row.put("last_name_en", lastName[0]);
+            row.put("date_of_birth", today.minusYears(age).minusDays(random.nextInt(365)));
+            row.put("gender", male ? "MALE" : "FEMALE");
+            row.put("phone_number", ThaiSyntheticData.phoneNumber(ordinal));
+            row.put("email", firstName[0].toLowerCase() + "." + lastName[0].toLowerCase() + ordinal + "@example.co.th");
+            row.put("address_line1", address);
+            row.put("address", address);
+            row.put("district", province.district(district));
+            row.put("amphoe", province.district(district));
+            row.put("province", province.name());
+            row.put("postal_code", province.postalCode(district));
+            row.put("country", "Thailand");
+            row.put("preferred_language", random.nextInt(10) == 0 ? "ENGLISH" : "THAI");
+            row.put("occupation_category", occupation.name());
+            row.put("monthly_income", money(ThaiSyntheticData.logNormal(random,
+                occupation == Customer.OccupationCategory.BUSINESS_OWNER ? 60_000 : 28_000, 0.6, 9_000, 800_000)));
+            row.put("kyc_status", kycStatus.name());
+            row.put("kyc_verified_at", null);
+            row.put("is_active", random.nextInt(100) < 97);
+            row.put("created_at", null);
+            row.put("updated_at", null);
+            row.put("version", 0L);
+            rows.get("customers").add(row);
+
+            int vehicles = 1 + ThaiSyntheticData.weighted(random, 75, 20, 5);
+            LocalDate firstPolicyStart = today;
+            for (int slot = 0; slot < vehicles; slot++) {
+                LocalDate start = vehicle(ordinal * VEHICLE_SLOTS + slot, customerId, province);
+                if (start.isBefore(firstPolicyStart)) {
+                    firstPolicyStart = start;
+                }
+            }
+
+            LocalDateTime createdAt = firstPolicyStart.minusDays(1 + random.nextInt(60)).atTime(8 + random.nextInt(12), random.nextInt(60));
+            row.put("created_at", createdAt);
+            row.put("updated_at", createdAt);
+            if (kycStatus == Customer.KYCStatus.VERIFIED) {
+                row.put("kyc_verified_at", createdAt.toLocalDate().plusDays(random.nextInt(3)));
+            }
+        }
+
+        /**
+         * @return start date of the vehicle's first policy term
+         */
+        private LocalDate vehicle(long ordinal, long customerId, Province province) {
+            VehicleModel model = MODELS[ThaiSyntheticData.weighted(random, MODEL_WEIGHTS)];
+            int age = ThaiSyntheticData.weighted(random, 6, 9, 10, 10, 9, 9, 8, 8, 7, 6, 5, 4, 3, 3, 2, 1);
+            int year = today.getYear() - age;
+            LocalDate registered = LocalDate.of(year, 1, 1).plusDays(random.nextInt(365));
+            if (registered.isAfter(today)) {
+                registered = today.minusDays(random.nextInt(30));
+            }
+            BigDecimal marketValue = BigDecimal.valueOf(Math.round(model.newPrice() * Math.pow(0.88, age) / 1000) * 1000);
+            int annualMileage = (int) ThaiSyntheticData.logNormal(random, 15_000, 0.4, 3_000, 80_000);
+            Vehicle.UsageType usage = switch (ThaiSyntheticData.weighted(random, 90, model.type() == Vehicle.VehicleType.PICKUP ? 15 : 4, 2)) {
+                case 0 -> Vehicle.UsageType.PRIVATE;
+                case 1 -> Vehicle.UsageType.COMMERCIAL;
+                default -> Vehicle.UsageType.RENTAL;
+            };
+            LocalDateTime createdAt = registered.atStartOfDay().plusHours(9 + random.nextInt(9));
+
+            long vehicleId = settings.idBase() + ordinal;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", vehicleId);
+            // Stored without the space, as VehicleService saves and looks plates up
+            row.put("license_plate", ThaiSyntheticData.licensePlate(ordinal).replace(" ", ""));
+            row.put("chassis_number", ThaiSyntheticData.chassisNumber(model.worldManufacturerId(), ordinal));
+            row.put("engine_number", model.worldManufacturerId() + "E" + String.format("%09d", ordinal));
+            row.put("make", model.make());
+            row.put("model", model.model());
+            row.put("manufacture_year", year);
+            row.put("color", ThaiSyntheticData.pick(random, COLORS));
+            row.put("vehicle_type", model.type().name());
+            row.put("fuel_type", model.fuel().name());
+            row.put("engine_size", model.engineSize() == null ? null : new BigDecimal(model.engineSize()));
+            row.put("seating_capacity", model.seats());
+            row.put("weight", BigDecimal.valueOf(model.weightKg()));
+            row.put("market_value", marketValue);
+            row.put("registration_date", registered);
+            row.put("registration_province", province.name());
+            row.put("usage_type", usage.name());
+            row.put("annual_mileage", annualMileage);
+            row.put("current_mileage", annualMileage * Math.max(1, age) + random.nextInt(5_000));
+            row.put("is_active", true);
+            row.put("status", "ACTIVE");
+            row.put("customer_id", customerId);
+            row.put("owner_id", customerId);
+            row.put("created_at", createdAt);
+            row.put("updated_at", createdAt);
+            row.put("version", 0L);
+            rows.get("vehicles").add(row);
+
+            // Policy type and coverage stay the same across renewals
+            Policy.PolicyType type = random.nextInt(100) < 15 ? Policy.PolicyType.CMI : Policy.PolicyType.VOLUNTARY;
+            Policy.CoverageType coverage = type == Policy.PolicyType.CMI ? Policy.CoverageType.THIRD_PARTY_ONLY
+                : switch (ThaiSyntheticData.weighted(random, 55, 25, 20)) {
+                    case 0 -> Policy.CoverageType.COMPREHENSIVE;
+                    case 1 -> Policy.CoverageType.THIRD_PARTY_FIRE_THEFT;
+                    default -> Policy.CoverageType.THIRD_PARTY_ONLY;
+                };
+            int terms = 1 + ThaiSyntheticData.weighted(random, 45, 35, 20);
+            LocalDate latestStart = today.minusDays(random.nextInt(450));
+            LocalDate firstStart = latestStart.minusYears(terms - 1);
+            for (int term = 0; term < terms; term++) {
+                policy(ordinal * POLICY_SLOTS + term, customerId, vehicleId, model, marketValue, type, coverage,
+                    firstStart.plusYears(term), term, term == terms - 1, province);
+            }
+            return firstStart;
+        }
+
+        private void policy(long ordinal, long customerId, long vehicleId, VehicleModel model, BigDecimal marketValue,
+                            Policy.PolicyType type, Policy.CoverageType coverage, LocalDate start, int term,
+                            boolean latest, Province province) {
+            LocalDate end = start.plusYears(1);
+            Policy.PolicyStatus status = end.isBefore(today) ? Policy.PolicyStatus.EXPIRED : Policy.PolicyStatus.ACTIVE;
+            LocalDate cancelled = null;
+            if (latest && random.nextInt(100) < 4) {
+                LocalDate candidate = start.plusDays(30 + random.nextInt(270));
+                if (candidate.isBefore(today)) {
+                    cancelled = candidate;
+                    status = Policy.PolicyStatus.CANCELLED;
+                }
+            }
+
+            BigDecimal premium = money(switch (coverage) {
+                case COMPREHENSIVE -> Math.max(9_000, marketValue.doubleValue() * (0.022 + random.nextDouble() * 0.01));
+                case THIRD_PARTY_FIRE_THEFT -> 5_500 + random.nextInt(3_500);
+                case THIRD_PARTY_ONLY -> type == Policy.PolicyType.CMI ? cmiPremium(model.type()) : 2_200 + random.nextInt(2_300);
+            });
+            // No-claim bonus on renewals
+            BigDecimal discountPercentage = term == 0 || type == Policy.PolicyType.CMI ? BigDecimal.ZERO : BigDecimal.valueOf(Math.min(term, 2) * 10L);
+            BigDecimal discount = money(premium.doubleValue() * discountPercentage.doubleValue() / 100);
+            BigDecimal tax = money((premium.doubleValue() - discount.doubleValue()) * 0.0744);
+            BigDecimal total = premium.subtract(discount).add(tax);
+            LocalDate issued = start.minusDays(random.nextInt(15));
+            LocalDateTime createdAt = issued.atTime(9 + random.nextInt(9), random.nextInt(60));
+
+            long policyId = settings.idBase() + ordinal;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", policyId);
+            row.put("policy_number", "POL-" + start.format(NUMBER_DATE) + "-" + String.format("%08d", ordinal));
+            row.put("policy_type", type.name());
+            row.put("coverage_type", coverage.name());
+            row.put("start_date", start);
+            row.put("end_date", end);
+            row.put("premium_amount", premium);
+            row.put("sum_insured", coverage == Policy.CoverageType.THIRD_PARTY_ONLY ? BigDecimal.valueOf(1_000_000) : marketValue);
+            row.put("deductible", coverage == Policy.CoverageType.COMPREHENSIVE
+                ? BigDecimal.valueOf(new int[] {0, 0, 0, 2_000, 5_000}[random.nextInt(5)]) : BigDecimal.ZERO);
+            row.put("status", status.name());
+            row.put("discount_percentage", discountPercentage);
+            row.put("discount_amount", discount);
+            row.put("tax_amount", tax);
+            row.put("total_amount", total);
+            row.put("agent_commission", money(premium.doubleValue() * (type == Policy.PolicyType.CMI ? 0.12 : 0.18)));
+            row.put("issued_date", issued);
+            row.put("cancelled_date", cancelled);
+            row.put("cancellation_reason", cancelled == null ? null : "Vehicle sold");
+            row.put("customer_id", customerId);
+            row.put("vehicle_id", vehicleId);
+            row.put("created_at", createdAt);
+            row.put("updated_at", createdAt);
+            row.put("version", 0L);
+            rows.get("policies").add(row);
+
+            LocalDate coveredUntil = cancelled != null ? cancelled : end;
+            int claims = type == Policy.PolicyType.CMI
+                ? ThaiSyntheticData.weighted(random, 96, 4)
+                : ThaiSyntheticData.weighted(random, 82, 14, 4);
+            for (int slot = 0; slot < claims; slot++) {
+                claim(ordinal * CLAIM_SLOTS + slot, policyId, type, coverage, marketValue,
+                    (BigDecimal) row.get("deductible"), start, coveredUntil, province);
+            }
+            payments(ordinal * PAYMENT_SLOTS, policyId, type, total, issued, cancelled);
+        }
+
+        private void claim(long ordinal, long policyId, Policy.PolicyType type, Policy.CoverageType coverage,
+                           BigDecimal marketValue, BigDecimal deductible, LocalDate start, LocalDate coveredUntil,
+                           Province province) {
+            LocalDate lastDay = coveredUntil.isBefore(today) ? coveredUntil : today.minusDays(1);
+            long window = ChronoUnit.DAYS.between(start, lastDay);
+            if (window <= 0) {
+                return;
+            }
+            LocalDate incident = start.plusDays(random.nextLong(window));
+            LocalDate reported = incident.plusDays(ThaiSyntheticData.weighted(random, 60, 25, 10, 5));
+            if (reported.isAfter(today)) {
+                reported = today;
+            }
+            Claim.IncidentType incidentType = incidentType(type, coverage);
+            long age = ChronoUnit.DAYS.between(reported, today);
+            Claim.ClaimStatus status = age < 7
+                ? new Claim.ClaimStatus[] {Claim.ClaimStatus.SUBMITTED, Claim.ClaimStatus.UNDER_REVIEW, Claim.ClaimStatus.PENDING_DOCUMENTS}
+                    [ThaiSyntheticData.weighted(random, 50, 40, 10)]
+                : age < 30
+                ? new Claim.ClaimStatus[] {Claim.ClaimStatus.UNDER_REVIEW, Claim.ClaimStatus.UNDER_INVESTIGATION,
+                    Claim.ClaimStatus.PENDING_DOCUMENTS, Claim.ClaimStatus.APPROVED, Claim.ClaimStatus.REJECTED}
+                    [ThaiSyntheticData.weighted(random, 25, 15, 15, 35, 10)]
+                : new Claim.ClaimStatus[] {Claim.ClaimStatus.SETTLED, Claim.ClaimStatus.CLOSED, Claim.ClaimStatus.REJECTED,
+                    Claim.ClaimStatus.UNDER_INVESTIGATION}[ThaiSyntheticData.weighted(random, 72, 15, 10, 3)];
+
+            double estimated = switch (incidentType) {
+                case THEFT -> marketValue.doubleValue() * (0.9 + random.nextDouble() * 0.1);
+                case FLOOD, FIRE, NATURAL_DISASTER -> ThaiSyntheticData.logNormal(random, 120_000, 0.7, 10_000, marketValue.doubleValue());
+                default -> ThaiSyntheticData.logNormal(random, 28_000, 0.9, 1_500, Math.min(marketValue.doubleValue(), 2_000_000));
+            };
+            double claimed = estimated * (0.95 + random.nextDouble() * 0.2);
+            boolean decided = status == Claim.ClaimStatus.APPROVED || status == Claim.ClaimStatus.SETTLED || status == Claim.ClaimStatus.CLOSED;
+            BigDecimal approved = decided ? money(Math.max(0, claimed * (0.7 + random.nextDouble() * 0.3) - deductible.doubleValue())) : null;
+            LocalDate decisionDate = capped(reported.plusDays(5 + random.nextInt(21)));
+            LocalDate closed = status == Claim.ClaimStatus.SETTLED || status == Claim.ClaimStatus.CLOSED || status == Claim.ClaimStatus.REJECTED
+                ? capped(decisionDate.plusDays(3 + random.nextInt(28))) : null;
+            boolean settled = status == Claim.ClaimStatus.SETTLED;
+            boolean thirdParty = incidentType == Claim.IncidentType.THIRD_PARTY_PROPERTY
+                || incidentType == Claim.IncidentType.COLLISION && random.nextInt(100) < 40;
+            boolean driverInjured = incidentType == Claim.IncidentType.PERSONAL_ACCIDENT;
+            Claim.PriorityLevel priority = driverInjured ? Claim.PriorityLevel.URGENT
+                : incidentType == Claim.IncidentType.THEFT || incidentType == Claim.IncidentType.FIRE || incidentType == Claim.IncidentType.FLOOD
+                ? Claim.PriorityLevel.HIGH
+                : new Claim.PriorityLevel[] {Claim.PriorityLevel.NORMAL, Claim.PriorityLevel.LOW, Claim.PriorityLevel.MEDIUM}
+                    [ThaiSyntheticData.weighted(random, 70, 15, 15)];
+            Province location = random.nextInt(100) < 80 ? province : ThaiSyntheticData.province(random);
+            LocalDateTime createdAt = reported.atTime(8 + random.nextInt(12), random.nextInt(60));
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", settings.idBase() + ordinal);
+            row.put("claim_number", "CLM-" + reported.format(NUMBER_DATE) + "-" + String.format("%08d", ordinal));
+            row.put("incident_date", incident);
+            row.put("incident_time", incident.atTime(6 + random.nextInt(17), random.nextInt(60)));
+            row.put("incident_location", location.district(random.nextInt(location.districtCount())) + ", " + location.name());
+            row.put("incident_description", INCIDENT_DESCRIPTIONS.get(incidentType));
+            row.put("incident_type", incidentType.name());
+            row.put("police_report_number", incidentType == Claim.IncidentType.THEFT || thirdParty
+                ? "PR-" + incident.getYear() + "-" + String.format("%06d", random.nextInt(1_000_000)) : null);
+            row.put("third_party_involved", thirdParty);
+            row.put("estimated_damage_amount", money(estimated));
+            row.put("claimed_amount", money(claimed));
+            row.put("approved_amount", approved);
+            row.put("paid_amount", settled ? approved : null);
+            row.put("settlement_amount", settled ? approved : null);
+            row.put("status", status.name());
+            row.put("priority_level", priority.name());
+            row.put("reported_date", reported);
+            row.put("review_start_date", status == Claim.ClaimStatus.SUBMITTED ? null : capped(reported.plusDays(random.nextInt(3))));
+            row.put("investigated_date", status == Claim.ClaimStatus.UNDER_INVESTIGATION || decided && random.nextInt(100) < 40
+                ? capped(reported.plusDays(2 + random.nextInt(5))) : null);
+            row.put("approved_date", decided ? decisionDate : null);
+            row.put("rejected_date", status == Claim.ClaimStatus.REJECTED ? decisionDate : null);
+            row.put("closed_date", closed);
+            row.put("settlement_date", settled ? closed : null);
+            row.put("rejection_reason", status == Claim.ClaimStatus.REJECTED ? "Damage not covered by the policy" : null);
+            row.put("is_driver_injured", driverInjured);
+            row.put("are_passengers_injured", driverInjured && random.nextInt(100) < 20);
+            row.put("is_third_party_injured", thirdParty && random.nextInt(100) < 10);
+            row.put("policy_id", policyId);
+            row.put("created_at", createdAt);
+            row.put("updated_at", createdAt);
+            row.put("version", 0L);
+            rows.get("claims").add(row);
+        }
+
+        private Claim.IncidentType incidentType(Policy.PolicyType type, Policy.CoverageType coverage) {
+            if (type == Policy.PolicyType.CMI) {
+                return Claim.IncidentType.PERSONAL_ACCIDENT;
+            }
+            return switch (coverage) {
+                case COMPREHENSIVE -> new Claim.IncidentType[] {Claim.IncidentType.COLLISION, Claim.IncidentType.THIRD_PARTY_PROPERTY,
+                    Claim.IncidentType.VANDALISM, Claim.IncidentType.THEFT, Claim.IncidentType.FLOOD, Claim.IncidentType.FIRE,
+                    Claim.IncidentType.NATURAL_DISASTER, Claim.IncidentType.PERSONAL_ACCIDENT, Claim.IncidentType.OTHER}
+                    [ThaiSyntheticData.weighted(random, 55, 12, 6, 3, 6, 1, 2, 8, 7)];
+                case THIRD_PARTY_FIRE_THEFT -> new Claim.IncidentType[] {Claim.IncidentType.THIRD_PARTY_PROPERTY,
+                    Claim.IncidentType.THEFT, Claim.IncidentType.FIRE, Claim.IncidentType.PERSONAL_ACCIDENT, Claim.IncidentType.OTHER}
+                    [ThaiSyntheticData.weighted(random, 55, 15, 5, 15, 10)];
+                case THIRD_PARTY_ONLY -> new Claim.IncidentType[] {Claim.IncidentType.THIRD_PARTY_PROPERTY,
+                    Claim.IncidentType.PERSONAL_ACCIDENT, Claim.IncidentType.OTHER}[ThaiSyntheticData.weighted(random, 75, 20, 5)];
+            };
+        }
+
+        private void payments(long firstOrdinal, long policyId, Policy.PolicyType type, BigDecimal total,
+                              LocalDate issued, LocalDate cancelled) {
+            int installments = type == Policy.PolicyType.VOLUNTARY && total.doubleValue() > 6_000 && random.nextInt(100) < 30 ? 6 : 1;
+            Payment.PaymentMethod method = installments > 1 ? Payment.PaymentMethod.CREDIT_CARD
+                : new Payment.PaymentMethod[] {Payment.PaymentMethod.BANK_TRANSFER, Payment.PaymentMethod.PROMPTPAY,
+                    Payment.PaymentMethod.CREDIT_CARD, Payment.PaymentMethod.QR_CODE, Payment.PaymentMethod.DEBIT_CARD,
+                    Payment.PaymentMethod.CASH, Payment.PaymentMethod.CHEQUE}[ThaiSyntheticData.weighted(random, 28, 25, 22, 10, 8, 5, 2)];
+            BigDecimal installment = total.divide(BigDecimal.valueOf(installments), 2, RoundingMode.DOWN);
+            BigDecimal paid = BigDecimal.ZERO;
+            for (int k = 0; k < installments; k++) {
+                BigDecimal amount = k == installments - 1 ? total.subtract(installment.multiply(BigDecimal.valueOf(k))) : installment;
+                LocalDate due = issued.plusMonths(k);
+                Payment.PaymentStatus status;
+                if (cancelled != null && due.isAfter(cancelled)) {
+                    status = Payment.PaymentStatus.CANCELLED;
+                } else if (due.isAfter(today)) {
+                    status = Payment.PaymentStatus.PENDING;
+                } else {
+                    int outcome = ThaiSyntheticData.weighted(random, 95, 3, 2);
+                    status = outcome == 1 ? Payment.PaymentStatus.FAILED
+                        : outcome == 2 && ChronoUnit.DAYS.between(due, today) < 30 ? Payment.PaymentStatus.PENDING
+                        : Payment.PaymentStatus.COMPLETED;
+                }
+                LocalDateTime paymentDate = status == Payment.PaymentStatus.COMPLETED || status == Payment.PaymentStatus.FAILED
+                    ? due.minusDays(ThaiSyntheticData.weighted(random, 40, 25, 15, 10, 5, 5)).atTime(8 + random.nextInt(14), random.nextInt(60), random.nextInt(60))
+                    : due.atStartOfDay();
+                if (status == Payment.PaymentStatus.COMPLETED) {
+                    paid = paid.add(amount);
+                }
+                payment(firstOrdinal + k, policyId, Payment.PaymentType.PREMIUM, method, status, amount, paymentDate, due);
+            }
+            if (cancelled != null && paid.signum() > 0) {
+                // Pro-rata refund of the unused part of the term
+                BigDecimal refund = money(paid.doubleValue() * Math.max(0, 365 - ChronoUnit.DAYS.between(issued, cancelled)) / 365.0);
+                LocalDateTime refundDate = capped(cancelled.plusDays(3 + random.nextInt(8))).atTime(10 + random.nextInt(6), random.nextInt(60));
+                if (refund.signum() > 0) {
+                    payment(firstOrdinal + PAYMENT_SLOTS - 1, policyId, Payment.PaymentType.REFUND, Payment.PaymentMethod.BANK_TRANSFER,
+                        Payment.PaymentStatus.COMPLETED, refund, refundDate, refundDate.toLocalDate());
+                }
+            }
+        }
+
+        private void payment(long ordinal, long policyId, Payment.PaymentType paymentType, Payment.PaymentMethod method,
+                             Payment.PaymentStatus status, BigDecimal amount, LocalDateTime paymentDate, LocalDate due) {
+            boolean completed = status == Payment.PaymentStatus.COMPLETED;
+            boolean electronic = method != Payment.PaymentMethod.CASH && method != Payment.PaymentMethod.CHEQUE;
+            boolean card = method == Payment.PaymentMethod.CREDIT_CARD || method == Payment.PaymentMethod.DEBIT_CARD;
+            String[] bank = method == Payment.PaymentMethod.BANK_TRANSFER || method == Payment.PaymentMethod.DEBIT_CARD
+                ? ThaiSyntheticData.pick(random, BANKS) : null;
+            LocalDateTime confirmed = completed ? paymentDate.plusMinutes(1 + random.nextInt(120)) : null;
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", settings.idBase() + ordinal);
+            row.put("payment_reference", "PAY-" + paymentDate.format(NUMBER_DATE) + "-" + String.format("%08d", ordinal));
+            row.put("amount", amount);
+            row.put("payment_type", paymentType.name());
+            row.put("payment_method", method.name());
+            row.put("status", status.name());
+            row.put("payment_date", paymentDate);
+            row.put("due_date", due);
+            row.put("confirmed_date", confirmed);
+            row.put("processed_at", confirmed);
+            row.put("transaction_id", electronic && status != Payment.PaymentStatus.PENDING && status != Payment.PaymentStatus.CANCELLED
+                ? "TXN-" + String.format("%012d", ordinal) : null);
+            row.put("failure_reason", status == Payment.PaymentStatus.FAILED ? ThaiSyntheticData.pick(random, FAILURE_REASONS) : null);
+            row.put("bank_code", bank == null ? null : bank[0]);
+            row.put("bank_name", bank == null ? null : bank[1]);
+            row.put("credit_card_last4", card ? String.format("%04d", random.nextInt(10_000)) : null);
+            row.put("policy_id", policyId);
+            row.put("created_at", paymentDate);
+            row.put("updated_at", confirmed != null ? confirmed : paymentDate);
+            row.put("version", 0L);
+            rows.get("payments").add(row);
+        }
+
+        private LocalDate capped(LocalDate date) {
+            return date.isAfter(today) ? today : date;
+        }
+
+        private static double cmiPremium(Vehicle.VehicleType type) {
+            // Statutory compulsory (CMI) premiums by vehicle class
+            return switch (type) {
+                case PICKUP -> 900.00;
+                case VAN -> 1_100.00;
+                default -> 600.00;
+            };
+        }
+
+        private static BigDecimal money(double value) {
+            return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+}
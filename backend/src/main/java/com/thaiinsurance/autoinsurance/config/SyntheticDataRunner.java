@@ -0,0 +1,76 @@
+package com.thaiinsurance.autoinsurance.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Fills the configured database with synthetic data when the {@code datagen} profile is active.
+ * Combine it with the profile that selects the database, e.g.
+ * {@code --spring.profiles.active=dev,datagen --app.datagen.customers=1000000}; with
+ * {@code app.datagen.exit=true} the application stops once the data is written, so it can be
+ * used as a command-line tool.
+ */
+@Component
+@Profile("datagen")
+@Order(10) // After the user and demo data initializers
+public class SyntheticDataRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataRunner.class);
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${app.datagen.seed:20240101}")
+    private long seed;
+
+    @Value("${app.datagen.customers:100000}")
+    private int customers;
+
+    @Value("${app.datagen.threads:4}")
+    private int threads;
+
+    @Value("${app.datagen.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.datagen.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.datagen.id-base:10000000}")
+    private long idBase;
+
+    // Empty means today; fix it to get byte-identical datasets on different days
+    @Value("${app.datagen.reference-date:}")
+    private String referenceDate;
+
+    @Value("${app.datagen.exit:false}")
+    private boolean exit;
+
+    @Override
+    public void run(String... args) {
+        SyntheticDataGenerator.Settings settings = new SyntheticDataGenerator.Settings(seed, customers, threads,
+            chunkSize, batchSize, idBase, referenceDate.isBlank() ? LocalDate.now() : LocalDate.parse(referenceDate));
+
+        if (generator.isGenerated(idBase)) {
+            logger.info("Synthetic data with id base {} already exists, skipping generation", idBase);
+        } else {
+            generator.generate(settings);
+        }
+
+        if (exit) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+}
@@ -11,19 +11,25 @@ import com.thaiinsurance.autoinsurance.repository.UserRepository;
 import com.thaiinsurance.autoinsurance.security.JwtTokenUtil;
 import com.thaiinsurance.autoinsurance.security.UserPrincipal;
 import com.thaiinsurance.autoinsurance.service.AuthService;
+import com.thaiinsurance.autoinsurance.service.LoginActivityService;
+import com.thaiinsurance.autoinsurance.service.RefreshTokenService;
+import com.thaiinsurance.autoinsurance.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -45,30 +51,47 @@ public class AuthController {
     @Autowired
     private AuthService authService;
     
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
+    @Autowired
+    private LoginActivityService loginActivityService;
+    
     @PostMapping("/login")
     @Operation(summary = "User login", description = "Authenticate user and return JWT tokens")
-    public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest loginRequest,
+                                                            HttpServletRequest request) {
         
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsernameOrEmail(),
-                        loginRequest.getPassword()
-                )
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getUsernameOrEmail(),
+                            loginRequest.getPassword()
+                    )
+            );
+        } catch (BadCredentialsException e) {
+            loginActivityService.recordFailure(loginRequest.getUsernameOrEmail(), request.getRemoteAddr());
+            throw e;
+        } catch (LockedException e) {
+            loginActivityService.recordLocked(loginRequest.getUsernameOrEmail(), request.getRemoteAddr());
+            throw e;
+        }
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
         
         String accessToken = jwtTokenUtil.generateAccessToken(authentication);
         String refreshToken = jwtTokenUtil.generateRefreshToken(authentication);
+        refreshTokenService.register(refreshToken);
         
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         
-        // Update last login timestamp
-        User user = userRepository.findById(userPrincipal.getId()).orElse(null);
-        if (user != null) {
-            user.setLastLogin(LocalDateTime.now());
-            userRepository.save(user);
-        }
+        // Last login and the audit entry are written in the next batch
+        loginActivityService.recordSuccess(userPrincipal.getId(), loginRequest.getUsernameOrEmail(),
+                request.getRemoteAddr());
         
         LoginResponse.UserInfo userInfo = new LoginResponse.UserInfo(
                 userPrincipal.getId(),
@@ -103,7 +126,9 @@ public class AuthController {
             refreshToken = refreshToken.substring(7);
         }
         
-        if (!jwtTokenUtil.validateToken(refreshToken) || !jwtTokenUtil.isRefreshToken(refreshToken)) {
+        Claims refreshClaims = jwtTokenUtil.verifyToken(refreshToken);
+        if (refreshClaims == null || !jwtTokenUtil.isRefreshToken(refreshToken)
+                || tokenRevocationService.isRevoked(refreshClaims.getId(), refreshClaims.getExpiration())) {
             ApiResponse<LoginResponse> response = new ApiResponse<>(false, "Invalid refresh token");
             return ResponseEntity.badRequest().body(response);
         }
@@ -116,12 +141,23 @@ public class AuthController {
             return ResponseEntity.badRequest().body(response);
         }
         
+        // A bumped token version (password or role change, lock) revokes refresh tokens too
+        if (!user.getTokenVersion().equals(jwtTokenUtil.getTokenVersionFromToken(refreshToken))) {
+            ApiResponse<LoginResponse> response = new ApiResponse<>(false, "Refresh token has been revoked");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
         UserPrincipal userPrincipal = UserPrincipal.create(user);
         Authentication authentication = new UsernamePasswordAuthenticationToken(
                 userPrincipal, null, userPrincipal.getAuthorities());
         
+        String newRefreshToken;
+        try {
+            newRefreshToken = refreshTokenService.rotate(refreshToken, refreshClaims, authentication);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage()));
+        }
         String newAccessToken = jwtTokenUtil.generateAccessToken(authentication);
-        String newRefreshToken = jwtTokenUtil.generateRefreshToken(authentication);
         
         LoginResponse.UserInfo userInfo = new LoginResponse.UserInfo(
                 userPrincipal.getId(),
@@ -143,8 +179,18 @@ public class AuthController {
     }
     
     @PostMapping("/logout")
-    @Operation(summary = "User logout", description = "Logout user (client should discard tokens)")
-    public ResponseEntity<ApiResponse<String>> logout() {
+    @Operation(summary = "User logout", description = "Revoke the bearer access token and, if given, the refresh token")
+    public ResponseEntity<ApiResponse<String>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) LogoutRequest request) {
+        
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            revoke(authorization.substring(7));
+        }
+        if (request != null && request.getRefreshToken() != null) {
+            revoke(request.getRefreshToken());
+        }
+        
         SecurityContextHolder.clearContext();
         ApiResponse<String> response = new ApiResponse<>(true, "Logout successful");
         return ResponseEntity.ok(response);
@@ -254,6 +300,16 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success("Password changed successfully"));
     }
     
+    private void revoke(String token) {
+        // Only tokens we issued and that are still valid are worth a deny-list entry
+        Claims claims = jwtTokenUtil.verifyToken(token);
+        if (claims != null) {
+            tokenRevocationService.revoke(claims.getId(), claims.get("userId", Long.class), claims.getExpiration());
+            // Logging out with a refresh token ends its whole session, including later rotations
+            refreshTokenService.revokeFamily(claims.get("fam", String.class));
+        }
+    }
+    
     // Inner classes for request DTOs
     public static class ChangePasswordRequest {
         private String currentPassword;
@@ -321,4 +377,16 @@ public class AuthController {
             this.token = token;
         }
     }
-}
\ No newline at end of file
+    
+    public static class LogoutRequest {
+        private String refreshToken;
+        
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+        
+        public void setRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
+    }
+}
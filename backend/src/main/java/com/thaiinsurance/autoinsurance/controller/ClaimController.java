@@ -2,7 +2,12 @@ package com.thaiinsurance.autoinsurance.controller;
 
 import com.thaiinsurance.autoinsurance.dto.ClaimSubmissionRequest;
 import com.thaiinsurance.autoinsurance.dto.ApiResponse;
+import com.thaiinsurance.autoinsurance.dto.ClaimDTO;
+import com.thaiinsurance.autoinsurance.dto.ClaimNoteDTO;
 import com.thaiinsurance.autoinsurance.model.Claim;
+import com.thaiinsurance.autoinsurance.model.ClaimNote;
+import com.thaiinsurance.autoinsurance.security.CustomerOwnershipGuard;
+import com.thaiinsurance.autoinsurance.security.UserPrincipal;
 import com.thaiinsurance.autoinsurance.service.ClaimService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +19,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
@@ -29,10 +35,14 @@ public class ClaimController {
     @Autowired
     private ClaimService claimService;
     
+    @Autowired
+    private CustomerOwnershipGuard customerOwnershipGuard;
+    
     @PostMapping
     @Operation(summary = "Submit new claim", description = "Submit a new insurance claim for policy")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'ADMIN')")
     public ResponseEntity<ApiResponse<Claim>> submitClaim(@Valid @RequestBody ClaimSubmissionRequest claimRequest) {
+        customerOwnershipGuard.checkPolicy(claimRequest.getPolicyId());
         Claim claim = convertToClaim(claimRequest);
         Claim submittedClaim = claimService.submitClaim(claim);
         return ResponseEntity.ok(ApiResponse.success("Claim submitted successfully", submittedClaim));
@@ -41,7 +51,7 @@ public class ClaimController {
     @GetMapping
     @Operation(summary = "Get all claims", description = "Retrieve all claims with pagination")
     @PreAuthorize("hasAnyRole('AGENT', 'CLAIMS_ADJUSTER', 'ADMIN')")
-    public ResponseEntity<ApiResponse<Page<Claim>>> getAllClaims(
+    public ResponseEntity<ApiResponse<Page<ClaimDTO>>> getAllClaims(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -49,15 +59,17 @@ public class ClaimController {
         
         Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<Claim> claims = claimService.getAllClaims(pageable);
+        Page<ClaimDTO> claims = claimService.getClaimSummaries(pageable);
         return ResponseEntity.ok(ApiResponse.success("Claims retrieved successfully", claims));
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get claim by ID", description = "Retrieve claim details by ID")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'CLAIMS_ADJUSTER', 'ADMIN')")
-    public ResponseEntity<ApiResponse<Claim>> getClaimById(@PathVariable Long id) {
-        return claimService.getClaimById(id)
+    public ResponseEntity<ApiResponse<ClaimDTO>> getClaimById(@PathVariable Long id) {
+        // Customers only see claims on their own policies
+        return claimService.getClaimSummaryById(id)
+            .filter(claim -> customerOwnershipGuard.canActFor(claim.getCustomerId()))
             .map(claim -> ResponseEntity.ok(ApiResponse.success("Claim retrieved successfully", claim)))
             .orElse(ResponseEntity.ok(ApiResponse.error("Claim not found", null)));
     }
@@ -67,6 +79,7 @@ public class ClaimController {
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'CLAIMS_ADJUSTER', 'ADMIN')")
     public ResponseEntity<ApiResponse<Claim>> getClaimByNumber(@PathVariable String claimNumber) {
         return claimService.getClaimByNumber(claimNumber)
+            .filter(claim -> customerOwnershipGuard.canActForPolicy(claim.getPolicy().getId()))
             .map(claim -> ResponseEntity.ok(ApiResponse.success("Claim retrieved successfully", claim)))
             .orElse(ResponseEntity.ok(ApiResponse.error("Claim not found", null)));
     }
@@ -74,39 +87,40 @@ public class ClaimController {
     @GetMapping("/policy/{policyId}")
     @Operation(summary = "Get claims by policy", description = "Retrieve all claims for a specific policy")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'CLAIMS_ADJUSTER', 'ADMIN')")
-    public ResponseEntity<ApiResponse<List<Claim>>> getClaimsByPolicy(@PathVariable Long policyId) {
-        List<Claim> claims = claimService.getClaimsByPolicy(policyId);
+    public ResponseEntity<ApiResponse<List<ClaimDTO>>> getClaimsByPolicy(@PathVariable Long policyId) {
+        customerOwnershipGuard.checkPolicy(policyId);
+        List<ClaimDTO> claims = claimService.getClaimSummariesByPolicy(policyId);
         return ResponseEntity.ok(ApiResponse.success("Policy claims retrieved successfully", claims));
     }
     
     @GetMapping("/status/{status}")
     @Operation(summary = "Get claims by status", description = "Retrieve claims by status")
     @PreAuthorize("hasAnyRole('AGENT', 'CLAIMS_ADJUSTER', 'ADMIN')")
-    public ResponseEntity<ApiResponse<List<Claim>>> getClaimsByStatus(@PathVariable Claim.ClaimStatus status) {
-        List<Claim> claims = claimService.getClaimsByStatus(status);
+    public ResponseEntity<ApiResponse<List<ClaimDTO>>> getClaimsByStatus(@PathVariable Claim.ClaimStatus status) {
+        List<ClaimDTO> claims = claimService.getClaimSummariesByStatus(status);
         return ResponseEntity.ok(ApiResponse.success("Claims retrieved successfully", claims));
     }
     
     @GetMapping("/adjuster/{adjusterId}")
     @Operation(summary = "Get claims by adjuster", description = "Retrieve claims assigned to specific adjuster")
     @PreAuthorize("hasAnyRole('CLAIMS_ADJUSTER', 'ADMIN')")
-    public ResponseEntity<ApiResponse<List<Claim>>> getClaimsByAdjuster(@PathVariable Long adjusterId) {
-        List<Claim> claims = claimService.getClaimsByAdjuster(adjusterId);
+    public ResponseEntity<ApiResponse<List<ClaimDTO>>> getClaimsByAdjuster(@PathVariable Long adjusterId) {
+        List<ClaimDTO> claims = claimService.getClaimSummariesByAdjuster(adjusterId);
         return ResponseEntity.ok(ApiResponse.success("Adjuster claims retrieved successfully", claims));
     }
     
     @GetMapping("/priority/{priority}")
     @Operation(summary = "Get claims by priority", description = "Retrieve claims by priority level")
     @PreAuthorize("hasAnyRole('AGENT', 'CLAIMS_ADJUSTER', 'ADMIN')")
-    public ResponseEntity<ApiResponse<List<Claim>>> getClaimsByPriority(@PathVariable Claim.PriorityLevel priority) {
-        List<Claim> claims = claimService.getClaimsByPriority(priority);
+    public ResponseEntity<ApiResponse<List<ClaimDTO>>> getClaimsByPriority(@PathVariable Claim.PriorityLevel priority) {
+        List<ClaimDTO> claims = claimService.getClaimSummariesByPriority(priority);
         return ResponseEntity.ok(ApiResponse.success("Priority claims retrieved successfully", claims));
     }
     
     @GetMapping("/search")
     @Operation(summary = "Search claims", description = "Search claims by number, policy number, or incident details")
     @PreAuthorize("hasAnyRole('AGENT', 'CLAIMS_ADJUSTER', 'ADMIN')")
-    public ResponseEntity<ApiResponse<Page<Claim>>> searchClaims(
+    public ResponseEntity<ApiResponse<Page<ClaimDTO>>> searchClaims(
             @Parameter(description = "Search query") @RequestParam String query,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
@@ -115,24 +129,24 @@ public class ClaimController {
         
         Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<Claim> claims = claimService.searchClaims(query, pageable);
+        Page<ClaimDTO> claims = claimService.searchClaimSummaries(query, pageable);
         return ResponseEntity.ok(ApiResponse.success("Claim search completed", claims));
     }
     
     @GetMapping("/pending")
     @Operation(summary = "Get pending claims", description = "Retrieve claims requiring action")
     @PreAuthorize("hasAnyRole('CLAIMS_ADJUSTER', 'ADMIN')")
-    public ResponseEntity<ApiResponse<List<Claim>>> getPendingClaims() {
-        List<Claim> claims = claimService.getPendingClaims();
+    public ResponseEntity<ApiResponse<List<ClaimDTO>>> getPendingClaims() {
+        List<ClaimDTO> claims = claimService.getPendingClaimSummaries();
         return ResponseEntity.ok(ApiResponse.success("Pending claims retrieved successfully", claims));
     }
     
     @GetMapping("/overdue")
     @Operation(summary = "Get overdue claims", description = "Retrieve overdue claims needing attention")
     @PreAuthorize("hasAnyRole('CLAIMS_ADJUSTER', 'ADMIN')")
-    public ResponseEntity<ApiResponse<List<Claim>>> getOverdueClaims(
+    public ResponseEntity<ApiResponse<List<ClaimDTO>>> getOverdueClaims(
             @Parameter(description = "Days threshold for overdue") @RequestParam(defaultValue = "30") int daysThreshold) {
-        List<Claim> claims = claimService.getOverdueClaims(daysThreshold);
+        List<ClaimDTO> claims = claimService.getOverdueClaimSummaries(daysThreshold);
         return ResponseEntity.ok(ApiResponse.success("Overdue claims retrieved successfully", claims));
     }
     
@@ -212,6 +226,33 @@ public class ClaimController {
         return ResponseEntity.ok(ApiResponse.success("Claim settled successfully", claim));
     }
     
+    // Claim timeline endpoints
+    
+    @GetMapping("/{id}/notes")
+    @Operation(summary = "Get claim timeline", description = "Retrieve claim notes in chronological order")
+    @PreAuthorize("hasAnyRole('AGENT', 'CLAIMS_ADJUSTER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<Page<ClaimNoteDTO>>> getClaimNotes(
+            @PathVariable Long id,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "50") int size) {
+        Page<ClaimNoteDTO> notes = claimService.getClaimTimeline(id, PageRequest.of(page, size));
+        return ResponseEntity.ok(ApiResponse.success("Claim notes retrieved successfully", notes));
+    }
+    
+    @PostMapping("/{id}/notes")
+    @Operation(summary = "Add claim note", description = "Append a note to the claim timeline")
+    @PreAuthorize("hasAnyRole('CLAIMS_ADJUSTER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<ClaimNoteDTO>> addClaimNote(
+            @PathVariable Long id,
+            @RequestParam String content,
+            @AuthenticationPrincipal UserPrincipal author) {
+        // The author is whoever is signed in, so every timeline entry is attributable
+        ClaimNote note = claimService.addNote(id, content, author != null ? author.getId() : null);
+        return ResponseEntity.ok(ApiResponse.success("Claim note added successfully", new ClaimNoteDTO(
+            note.getId(), note.getClaimId(), note.getNoteType(), note.getContent(), note.getCreatedAt(),
+            author.getId(), author.getUsername(), author.getFirstName(), author.getLastName())));
+    }
+    
     // Helper methods
     private Claim convertToClaim(ClaimSubmissionRequest request) {
         Claim claim = new Claim();
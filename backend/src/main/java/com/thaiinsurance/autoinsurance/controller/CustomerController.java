@@ -1,7 +1,9 @@
 package com.thaiinsurance.autoinsurance.controller;
 
 import com.thaiinsurance.autoinsurance.dto.ApiResponse;
+import com.thaiinsurance.autoinsurance.dto.CustomerDTO;
 import com.thaiinsurance.autoinsurance.model.Customer;
+import com.thaiinsurance.autoinsurance.security.CustomerOwnershipGuard;
 import com.thaiinsurance.autoinsurance.service.CustomerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,18 +29,21 @@ public class CustomerController {
     @Autowired
     private CustomerService customerService;
     
+    @Autowired
+    private CustomerOwnershipGuard customerOwnershipGuard;
+    
     @GetMapping
     @Operation(summary = "Get all active customers", description = "Retrieve all active customers")
     @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
-    public ResponseEntity<ApiResponse<List<Customer>>> getAllCustomers() {
-        List<Customer> customers = customerService.getAllCustomers();
+    public ResponseEntity<ApiResponse<List<CustomerDTO>>> getAllCustomers() {
+        List<CustomerDTO> customers = customerService.getCustomerSummaries();
         return ResponseEntity.ok(ApiResponse.success("Customers retrieved successfully", customers));
     }
     
     @GetMapping("/search")
     @Operation(summary = "Search customers", description = "Search customers by name, national ID, or phone number")
     @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
-    public ResponseEntity<ApiResponse<Page<Customer>>> searchCustomers(
+    public ResponseEntity<ApiResponse<Page<CustomerDTO>>> searchCustomers(
             @RequestParam String query,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
@@ -48,15 +53,16 @@ public class CustomerController {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<Customer> customers = customerService.searchCustomers(query, pageable);
+        Page<CustomerDTO> customers = customerService.searchCustomerSummaries(query, pageable);
         return ResponseEntity.ok(ApiResponse.success("Customer search completed", customers));
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get customer by ID", description = "Retrieve customer information by ID")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'ADMIN')")
-    public ResponseEntity<ApiResponse<Customer>> getCustomerById(@PathVariable Long id) {
-        return customerService.getCustomerById(id)
+    public ResponseEntity<ApiResponse<CustomerDTO>> getCustomerById(@PathVariable Long id) {
+        customerOwnershipGuard.checkCustomer(id);
+        return customerService.getCustomerSummaryById(id)
                 .map(customer -> ResponseEntity.ok(ApiResponse.success("Customer found", customer)))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -129,6 +135,7 @@ public class CustomerController {
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'ADMIN')")
     public ResponseEntity<ApiResponse<Customer>> updateCustomer(@PathVariable Long id, 
                                                                @Valid @RequestBody Customer customer) {
+        customerOwnershipGuard.checkCustomer(id);
         try {
             Customer updatedCustomer = customerService.updateCustomer(id, customer);
             return ResponseEntity.ok(ApiResponse.success("Customer updated successfully", updatedCustomer));
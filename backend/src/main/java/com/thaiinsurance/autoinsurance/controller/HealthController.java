@@ -1,8 +1,11 @@
 package com.thaiinsurance.autoinsurance.controller;
 
+import com.thaiinsurance.autoinsurance.service.HealthSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -20,29 +23,32 @@ import java.util.Map;
 @Tag(name = "Health Check", description = "API health monitoring endpoints")
 public class HealthController {
 
+    @Autowired
+    private HealthSnapshotService healthSnapshotService;
+
     @GetMapping
-    @Operation(summary = "Health check", description = "Check if the API is running")
+    @Operation(summary = "Health check", description = "Check if the API is running, as of the last health snapshot")
     @ApiResponse(responseCode = "200", description = "API is healthy")
+    @ApiResponse(responseCode = "503", description = "API is unhealthy")
     public ResponseEntity<Map<String, Object>> health() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "UP");
-        response.put("timestamp", LocalDateTime.now());
-        response.put("service", "Thai Auto Insurance API");
-        response.put("version", "1.0.0");
-        
-        return ResponseEntity.ok(response);
+        HealthSnapshotService.Snapshot snapshot = healthSnapshotService.current();
+        return ResponseEntity.status(snapshot.isUp() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+            .body(snapshot.body());
     }
 
     @GetMapping("/ready")
     @Operation(summary = "Readiness check", description = "Check if the API is ready to serve requests")
     @ApiResponse(responseCode = "200", description = "API is ready")
+    @ApiResponse(responseCode = "503", description = "API is not ready")
     public ResponseEntity<Map<String, Object>> ready() {
+        HealthSnapshotService.Snapshot snapshot = healthSnapshotService.current();
         Map<String, Object> response = new HashMap<>();
-        response.put("status", "READY");
+        response.put("status", snapshot.isUp() ? "READY" : "NOT_READY");
         response.put("timestamp", LocalDateTime.now());
         response.put("database", "H2 In-Memory");
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.status(snapshot.isUp() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+            .body(response);
     }
 
     @GetMapping("/info")
@@ -2,7 +2,9 @@ package com.thaiinsurance.autoinsurance.controller;
 
 import com.thaiinsurance.autoinsurance.dto.PaymentRequest;
 import com.thaiinsurance.autoinsurance.dto.ApiResponse;
+import com.thaiinsurance.autoinsurance.dto.PaymentDTO;
 import com.thaiinsurance.autoinsurance.model.Payment;
+import com.thaiinsurance.autoinsurance.security.CustomerOwnershipGuard;
 import com.thaiinsurance.autoinsurance.service.PaymentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -29,10 +31,14 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
     
+    @Autowired
+    private CustomerOwnershipGuard customerOwnershipGuard;
+    
     @PostMapping
     @Operation(summary = "Create new payment", description = "Create a new payment record for policy premium or claims")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'ADMIN')")
     public ResponseEntity<ApiResponse<Payment>> createPayment(@Valid @RequestBody PaymentRequest paymentRequest) {
+        customerOwnershipGuard.checkPolicy(paymentRequest.getPolicyId());
         Payment payment = convertToPayment(paymentRequest);
         Payment createdPayment = paymentService.createPayment(payment);
         return ResponseEntity.ok(ApiResponse.success("Payment created successfully", createdPayment));
@@ -41,7 +47,7 @@ public class PaymentController {
     @GetMapping
     @Operation(summary = "Get all payments", description = "Retrieve all payments with pagination")
     @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
-    public ResponseEntity<ApiResponse<Page<Payment>>> getAllPayments(
+    public ResponseEntity<ApiResponse<Page<PaymentDTO>>> getAllPayments(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -49,15 +55,17 @@ public class PaymentController {
         
         Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<Payment> payments = paymentService.getAllPayments(pageable);
+        Page<PaymentDTO> payments = paymentService.getPaymentSummaries(pageable);
         return ResponseEntity.ok(ApiResponse.success("Payments retrieved successfully", payments));
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get payment by ID", description = "Retrieve payment details by ID")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'ADMIN')")
-    public ResponseEntity<ApiResponse<Payment>> getPaymentById(@PathVariable Long id) {
-        return paymentService.getPaymentById(id)
+    public ResponseEntity<ApiResponse<PaymentDTO>> getPaymentById(@PathVariable Long id) {
+        // Customers only see payments on their own policies
+        return paymentService.getPaymentSummaryById(id)
+            .filter(payment -> customerOwnershipGuard.canActFor(payment.getCustomerId()))
             .map(payment -> ResponseEntity.ok(ApiResponse.success("Payment retrieved successfully", payment)))
             .orElse(ResponseEntity.ok(ApiResponse.error("Payment not found", null)));
     }
@@ -66,6 +74,7 @@ public class PaymentController {
     @Operation(summary = "Get payments by policy", description = "Retrieve all payments for a specific policy")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'ADMIN')")
     public ResponseEntity<ApiResponse<List<Payment>>> getPaymentsByPolicy(@PathVariable Long policyId) {
+        customerOwnershipGuard.checkPolicy(policyId);
         List<Payment> payments = paymentService.getPaymentsByPolicy(policyId);
         return ResponseEntity.ok(ApiResponse.success("Policy payments retrieved successfully", payments));
     }
@@ -115,13 +124,13 @@ public class PaymentController {
     @GetMapping("/search")
     @Operation(summary = "Search payments", description = "Search payments by reference, policy number, or customer name")
     @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
-    public ResponseEntity<ApiResponse<Page<Payment>>> searchPayments(
+    public ResponseEntity<ApiResponse<Page<PaymentDTO>>> searchPayments(
             @Parameter(description = "Search query") @RequestParam String query,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Payment> payments = paymentService.searchPayments(query, pageable);
+        Page<PaymentDTO> payments = paymentService.searchPaymentSummaries(query, pageable);
         return ResponseEntity.ok(ApiResponse.success("Payment search completed", payments));
     }
     
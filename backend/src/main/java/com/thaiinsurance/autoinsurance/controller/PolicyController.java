@@ -1,9 +1,11 @@
 package com.thaiinsurance.autoinsurance.controller;
 
 import com.thaiinsurance.autoinsurance.dto.ApiResponse;
+import com.thaiinsurance.autoinsurance.dto.PolicyDTO;
 import com.thaiinsurance.autoinsurance.dto.PolicyQuoteRequest;
 import com.thaiinsurance.autoinsurance.dto.PolicyQuoteResponse;
 import com.thaiinsurance.autoinsurance.model.Policy;
+import com.thaiinsurance.autoinsurance.security.CustomerOwnershipGuard;
 import com.thaiinsurance.autoinsurance.service.PolicyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -35,6 +37,9 @@ public class PolicyController {
     @Autowired
     private PolicyService policyService;
     
+    @Autowired
+    private CustomerOwnershipGuard customerOwnershipGuard;
+    
     @PostMapping("/quote")
     @Operation(summary = "Generate insurance quote", 
                description = "Generate quote for CMI or Voluntary insurance with Thai calculations")
@@ -71,7 +76,7 @@ public class PolicyController {
     @Operation(summary = "Get all policies", 
                description = "Retrieve all policies with pagination")
     @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
-    public ResponseEntity<ApiResponse<Page<Policy>>> getAllPolicies(
+    public ResponseEntity<ApiResponse<Page<PolicyDTO>>> getAllPolicies(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -80,7 +85,7 @@ public class PolicyController {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<Policy> policies = policyService.getAllPolicies(pageable);
+        Page<PolicyDTO> policies = policyService.getPolicySummaries(pageable);
         return ResponseEntity.ok(ApiResponse.success("Policies retrieved successfully", policies));
     }
     
@@ -88,7 +93,7 @@ public class PolicyController {
     @Operation(summary = "Search policies", 
                description = "Search policies by policy number, customer name, or vehicle")
     @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
-    public ResponseEntity<ApiResponse<Page<Policy>>> searchPolicies(
+    public ResponseEntity<ApiResponse<Page<PolicyDTO>>> searchPolicies(
             @RequestParam String query,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
@@ -98,7 +103,7 @@ public class PolicyController {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<Policy> policies = policyService.searchPolicies(query, pageable);
+        Page<PolicyDTO> policies = policyService.searchPolicySummaries(query, pageable);
         return ResponseEntity.ok(ApiResponse.success("Policy search completed", policies));
     }
     
@@ -106,8 +111,9 @@ public class PolicyController {
     @Operation(summary = "Get policy by ID", 
                description = "Retrieve policy details by ID")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'ADMIN')")
-    public ResponseEntity<ApiResponse<Policy>> getPolicyById(@PathVariable Long id) {
-        return policyService.getPolicyById(id)
+    public ResponseEntity<ApiResponse<PolicyDTO>> getPolicyById(@PathVariable Long id) {
+        // Customers only see their own policies; the query applies the restriction
+        return policyService.getPolicySummaryById(id, customerOwnershipGuard.customerScope())
                 .map(policy -> ResponseEntity.ok(ApiResponse.success("Policy found", policy)))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -118,6 +124,7 @@ public class PolicyController {
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'ADMIN')")
     public ResponseEntity<ApiResponse<Policy>> getPolicyByNumber(@PathVariable String policyNumber) {
         return policyService.getPolicyByNumber(policyNumber)
+                .filter(policy -> customerOwnershipGuard.canActFor(policy.getCustomer().getId()))
                 .map(policy -> ResponseEntity.ok(ApiResponse.success("Policy found", policy)))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -127,6 +134,7 @@ public class PolicyController {
                description = "Retrieve all policies for a customer")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'ADMIN')")
     public ResponseEntity<ApiResponse<List<Policy>>> getPoliciesByCustomer(@PathVariable Long customerId) {
+        customerOwnershipGuard.checkCustomer(customerId);
         List<Policy> policies = policyService.getPoliciesByCustomer(customerId);
         return ResponseEntity.ok(ApiResponse.success("Customer policies retrieved", policies));
     }
@@ -150,6 +158,7 @@ public class PolicyController {
             @PathVariable Long policyId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(defaultValue = "1") int years) {
+        customerOwnershipGuard.checkPolicy(policyId);
         try {
             Policy renewedPolicy = policyService.renewPolicy(policyId, startDate, years);
             return ResponseEntity.status(HttpStatus.CREATED)
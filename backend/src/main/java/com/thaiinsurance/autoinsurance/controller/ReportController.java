@@ -1,6 +1,7 @@
 package com.thaiinsurance.autoinsurance.controller;
 
 import com.thaiinsurance.autoinsurance.dto.ApiResponse;
+import com.thaiinsurance.autoinsurance.security.CustomerOwnershipGuard;
 import com.thaiinsurance.autoinsurance.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -25,12 +26,16 @@ public class ReportController {
     @Autowired
     private ReportService reportService;
     
+    @Autowired
+    private CustomerOwnershipGuard customerOwnershipGuard;
+    
     @GetMapping("/customer/{customerId}")
     @Operation(summary = "Get customer report", 
                description = "Generate comprehensive report for a specific customer")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'ADMIN')")
     public ResponseEntity<ApiResponse<ReportService.CustomerReport>> getCustomerReport(
             @PathVariable Long customerId) {
+        customerOwnershipGuard.checkCustomer(customerId);
         try {
             ReportService.CustomerReport report = reportService.getCustomerReport(customerId);
             return ResponseEntity.ok(ApiResponse.success("Customer report generated", report));
@@ -104,6 +109,7 @@ public class ReportController {
             @PathVariable Long customerId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        customerOwnershipGuard.checkCustomer(customerId);
         
         // This would be implemented to show policy timeline, renewals, cancellations
         CustomerPolicyHistory history = new CustomerPolicyHistory();
@@ -125,6 +131,7 @@ public class ReportController {
             @PathVariable Long customerId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        customerOwnershipGuard.checkCustomer(customerId);
         
         CustomerClaimHistory history = new CustomerClaimHistory();
         history.setCustomerId(customerId);
@@ -146,6 +153,7 @@ public class ReportController {
             @PathVariable Long customerId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        customerOwnershipGuard.checkCustomer(customerId);
         
         CustomerPaymentHistory history = new CustomerPaymentHistory();
         history.setCustomerId(customerId);
@@ -211,6 +219,7 @@ public class ReportController {
     public ResponseEntity<ApiResponse<ExportResult>> exportCustomerData(
             @PathVariable Long customerId,
             @RequestParam(defaultValue = "PDF") String format) {
+        customerOwnershipGuard.checkCustomer(customerId);
         
         ExportResult result = new ExportResult();
         result.setExportId("EXP_" + System.currentTimeMillis());
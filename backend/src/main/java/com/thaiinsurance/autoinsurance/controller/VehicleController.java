@@ -1,7 +1,9 @@
 package com.thaiinsurance.autoinsurance.controller;
 
 import com.thaiinsurance.autoinsurance.dto.ApiResponse;
+import com.thaiinsurance.autoinsurance.dto.VehicleDTO;
 import com.thaiinsurance.autoinsurance.model.Vehicle;
+import com.thaiinsurance.autoinsurance.security.CustomerOwnershipGuard;
 import com.thaiinsurance.autoinsurance.service.VehicleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -31,6 +34,9 @@ public class VehicleController {
     @Autowired
     private VehicleService vehicleService;
     
+    @Autowired
+    private CustomerOwnershipGuard customerOwnershipGuard;
+    
     @PostMapping("/register")
     @Operation(summary = "Register new vehicle", 
                description = "Register a new vehicle with Thai license plate validation")
@@ -50,7 +56,7 @@ public class VehicleController {
     @Operation(summary = "Get all vehicles", 
                description = "Retrieve all vehicles with pagination")
     @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
-    public ResponseEntity<ApiResponse<Page<Vehicle>>> getAllVehicles(
+    public ResponseEntity<ApiResponse<Page<VehicleDTO>>> getAllVehicles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -59,7 +65,7 @@ public class VehicleController {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<Vehicle> vehicles = vehicleService.getAllVehicles(pageable);
+        Page<VehicleDTO> vehicles = vehicleService.getVehicleSummaries(pageable);
         return ResponseEntity.ok(ApiResponse.success("Vehicles retrieved successfully", vehicles));
     }
     
@@ -67,7 +73,7 @@ public class VehicleController {
     @Operation(summary = "Search vehicles", 
                description = "Search vehicles by license plate, chassis number, or owner name")
     @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
-    public ResponseEntity<ApiResponse<Page<Vehicle>>> searchVehicles(
+    public ResponseEntity<ApiResponse<Page<VehicleDTO>>> searchVehicles(
             @RequestParam String query,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
@@ -77,7 +83,7 @@ public class VehicleController {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<Vehicle> vehicles = vehicleService.searchVehicles(query, pageable);
+        Page<VehicleDTO> vehicles = vehicleService.searchVehicleSummaries(query, pageable);
         return ResponseEntity.ok(ApiResponse.success("Vehicle search completed", vehicles));
     }
     
@@ -85,8 +91,9 @@ public class VehicleController {
     @Operation(summary = "Get vehicle by ID", 
                description = "Retrieve vehicle details by ID")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'ADMIN')")
-    public ResponseEntity<ApiResponse<Vehicle>> getVehicleById(@PathVariable Long id) {
-        return vehicleService.getVehicleById(id)
+    public ResponseEntity<ApiResponse<VehicleDTO>> getVehicleById(@PathVariable Long id) {
+        // Customers only see vehicles they hold or own; the query applies the restriction
+        return vehicleService.getVehicleSummaryById(id, customerOwnershipGuard.customerScope())
                 .map(vehicle -> ResponseEntity.ok(ApiResponse.success("Vehicle found", vehicle)))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -97,6 +104,7 @@ public class VehicleController {
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'ADMIN')")
     public ResponseEntity<ApiResponse<Vehicle>> getVehicleByLicensePlate(@PathVariable String licensePlate) {
         return vehicleService.getVehicleByLicensePlate(licensePlate)
+                .filter(this::canActFor)
                 .map(vehicle -> ResponseEntity.ok(ApiResponse.success("Vehicle found", vehicle)))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -116,6 +124,7 @@ public class VehicleController {
                description = "Retrieve all vehicles owned by a customer")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'AGENT', 'ADMIN')")
     public ResponseEntity<ApiResponse<List<Vehicle>>> getVehiclesByOwner(@PathVariable Long ownerId) {
+        customerOwnershipGuard.checkCustomer(ownerId);
         List<Vehicle> vehicles = vehicleService.getVehiclesByOwner(ownerId);
         return ResponseEntity.ok(ApiResponse.success("Owner vehicles retrieved", vehicles));
     }
@@ -149,6 +158,11 @@ public class VehicleController {
     public ResponseEntity<ApiResponse<Vehicle>> updateVehicle(
             @PathVariable Long id, 
             @Valid @RequestBody Vehicle vehicleDetails) {
+        vehicleService.getVehicleById(id)
+                .filter(vehicle -> !canActFor(vehicle))
+                .ifPresent(vehicle -> {
+                    throw new AccessDeniedException("Access denied to vehicle " + id);
+                });
         try {
             Vehicle updatedVehicle = vehicleService.updateVehicle(id, vehicleDetails);
             return ResponseEntity.ok(ApiResponse.success("Vehicle updated successfully", updatedVehicle));
@@ -285,7 +299,15 @@ public class VehicleController {
         
         return ResponseEntity.ok(ApiResponse.success("Thai provinces retrieved", provinces));
     }
-    
+
+    /**
+     * Customers may act on vehicles they hold or own, as in the scoped lookup by ID
+     */
+    private boolean canActFor(Vehicle vehicle) {
+        return customerOwnershipGuard.canActFor(vehicle.getCustomer().getId())
+                || (vehicle.getOwner() != null && customerOwnershipGuard.canActFor(vehicle.getOwner().getId()));
+    }
+
     // Inner classes for request DTOs
     
     public static class VehicleDeactivationRequest {
@@ -0,0 +1,123 @@
+package com.thaiinsurance.autoinsurance.dto;
+
+import com.thaiinsurance.autoinsurance.model.Claim;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read model for claim list and detail endpoints, filled by the constructor projections in
+ * {@link com.thaiinsurance.autoinsurance.repository.ClaimRepository}. List rows leave the
+ * incident description out; only the detail projection selects it.
+ */
+public class ClaimDTO {
+
+    private final Long id;
+    private final String claimNumber;
+    private final LocalDate incidentDate;
+    private final String incidentLocation;
+    private final Claim.IncidentType incidentType;
+    private final Claim.ClaimStatus status;
+    private final Claim.PriorityLevel priorityLevel;
+    private final BigDecimal estimatedDamageAmount;
+    private final BigDecimal claimedAmount;
+    private final BigDecimal approvedAmount;
+    private final BigDecimal paidAmount;
+    private final LocalDate reportedDate;
+    private final LocalDate approvedDate;
+    private final LocalDate rejectedDate;
+    private final LocalDate closedDate;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private String incidentDescription;
+
+    // Policy, customer and adjuster basic info (to avoid circular reference)
+    private final Long policyId;
+    private final String policyNumber;
+    private final Long customerId;
+    private final String customerName;
+    private final String vehicleLicensePlate;
+    private Long adjusterId;
+    private String adjusterName;
+
+    public ClaimDTO(Long id, String claimNumber, LocalDate incidentDate, String incidentLocation,
+                    Claim.IncidentType incidentType, Claim.ClaimStatus status, Claim.PriorityLevel priorityLevel,
+                    BigDecimal estimatedDamageAmount, BigDecimal claimedAmount, BigDecimal approvedAmount,
+                    BigDecimal paidAmount, LocalDate reportedDate, LocalDate approvedDate, LocalDate rejectedDate,
+                    LocalDate closedDate, LocalDateTime createdAt, LocalDateTime updatedAt,
+                    Long policyId, String policyNumber, Long customerId, String customerFirstName,
+                    String customerLastName, String vehicleLicensePlate,
+                    Long adjusterId, String adjusterFirstName, String adjusterLastName) {
+        this.id = id;
+        this.claimNumber = claimNumber;
+        this.incidentDate = incidentDate;
+        this.incidentLocation = incidentLocation;
+        this.incidentType = incidentType;
+        this.status = status;
+        this.priorityLevel = priorityLevel;
+        this.estimatedDamageAmount = estimatedDamageAmount;
+        this.claimedAmount = claimedAmount;
+        this.approvedAmount = approvedAmount;
+        this.paidAmount = paidAmount;
+        this.reportedDate = reportedDate;
+        this.approvedDate = approvedDate;
+        this.rejectedDate = rejectedDate;
+        this.closedDate = closedDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+
+        this.policyId = policyId;
+        this.policyNumber = policyNumber;
+        this.customerId = customerId;
+        this.customerName = customerFirstName + " " + customerLastName;
+        this.vehicleLicensePlate = vehicleLicensePlate;
+        if (adjusterId != null) {
+            this.adjusterId = adjusterId;
+            this.adjusterName = adjusterFirstName + " " + adjusterLastName;
+        }
+    }
+
+    // Detail projection: the list columns plus the incident description
+    public ClaimDTO(Long id, String claimNumber, LocalDate incidentDate, String incidentLocation,
+                    Claim.IncidentType incidentType, Claim.ClaimStatus status, Claim.PriorityLevel priorityLevel,
+                    BigDecimal estimatedDamageAmount, BigDecimal claimedAmount, BigDecimal approvedAmount,
+                    BigDecimal paidAmount, LocalDate reportedDate, LocalDate approvedDate, LocalDate rejectedDate,
+                    LocalDate closedDate, LocalDateTime createdAt, LocalDateTime updatedAt,
+                    Long policyId, String policyNumber, Long customerId, String customerFirstName,
+                    String customerLastName, String vehicleLicensePlate,
+                    Long adjusterId, String adjusterFirstName, String adjusterLastName,
+                    String incidentDescription) {
+        this(id, claimNumber, incidentDate, incidentLocation, incidentType, status, priorityLevel,
+             estimatedDamageAmount, claimedAmount, approvedAmount, paidAmount, reportedDate, approvedDate,
+             rejectedDate, closedDate, createdAt, updatedAt, policyId, policyNumber, customerId,
+             customerFirstName, customerLastName, vehicleLicensePlate,
+             adjusterId, adjusterFirstName, adjusterLastName);
+        this.incidentDescription = incidentDescription;
+    }
+
+    public Long getId() { return id; }
+    public String getClaimNumber() { return claimNumber; }
+    public LocalDate getIncidentDate() { return incidentDate; }
+    public String getIncidentLocation() { return incidentLocation; }
+    public Claim.IncidentType getIncidentType() { return incidentType; }
+    public Claim.ClaimStatus getStatus() { return status; }
+    public Claim.PriorityLevel getPriorityLevel() { return priorityLevel; }
+    public BigDecimal getEstimatedDamageAmount() { return estimatedDamageAmount; }
+    public BigDecimal getClaimedAmount() { return claimedAmount; }
+    public BigDecimal getApprovedAmount() { return approvedAmount; }
+    public BigDecimal getPaidAmount() { return paidAmount; }
+    public LocalDate getReportedDate() { return reportedDate; }
+    public LocalDate getApprovedDate() { return approvedDate; }
+    public LocalDate getRejectedDate() { return rejectedDate; }
+    public LocalDate getClosedDate() { return closedDate; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public String getIncidentDescription() { return incidentDescription; }
+    public Long getPolicyId() { return policyId; }
+    public String getPolicyNumber() { return policyNumber; }
+    public Long getCustomerId() { return customerId; }
+    public String getCustomerName() { return customerName; }
+    public String getVehicleLicensePlate() { return vehicleLicensePlate; }
+    public Long getAdjusterId() { return adjusterId; }
+    public String getAdjusterName() { return adjusterName; }
+}
@@ -0,0 +1,44 @@
+package com.thaiinsurance.autoinsurance.dto;
+
+import com.thaiinsurance.autoinsurance.model.ClaimNote;
+import java.time.LocalDateTime;
+
+/**
+ * Read model for the claim timeline, filled by the constructor projection in
+ * {@link com.thaiinsurance.autoinsurance.repository.ClaimNoteRepository#TIMELINE_SELECT}.
+ */
+public class ClaimNoteDTO {
+
+    private final Long id;
+    private final Long claimId;
+    private final ClaimNote.NoteType noteType;
+    private final String content;
+    private final LocalDateTime createdAt;
+
+    // Author basic info
+    private final Long authorId;
+    private final String authorName;
+
+    public ClaimNoteDTO(Long id, Long claimId, ClaimNote.NoteType noteType, String content, LocalDateTime createdAt,
+                        Long authorId, String authorUsername, String authorFirstName, String authorLastName) {
+        this.id = id;
+        this.claimId = claimId;
+        this.noteType = noteType;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.authorId = authorId;
+        if (authorFirstName != null && authorLastName != null) {
+            this.authorName = authorFirstName + " " + authorLastName;
+        } else {
+            this.authorName = authorUsername;
+        }
+    }
+
+    public Long getId() { return id; }
+    public Long getClaimId() { return claimId; }
+    public ClaimNote.NoteType getNoteType() { return noteType; }
+    public String getContent() { return content; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getAuthorId() { return authorId; }
+    public String getAuthorName() { return authorName; }
+}
@@ -0,0 +1,104 @@
+package com.thaiinsurance.autoinsurance.dto;
+
+import com.thaiinsurance.autoinsurance.model.Customer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read model for customer list and detail endpoints, filled by the constructor projection in
+ * {@link com.thaiinsurance.autoinsurance.repository.CustomerRepository#SUMMARY_SELECT}.
+ */
+public class CustomerDTO {
+
+    private final Long id;
+    private final String nationalId;
+    private final String firstName;
+    private final String lastName;
+    private final String firstNameThai;
+    private final String lastNameThai;
+    private final LocalDate dateOfBirth;
+    private final Customer.Gender gender;
+    private final String phoneNumber;
+    private final String email;
+    private final String district;
+    private final String province;
+    private final String postalCode;
+    private final Customer.Language preferredLanguage;
+    private final Customer.OccupationCategory occupationCategory;
+    private final Customer.KYCStatus kycStatus;
+    private final LocalDate kycVerifiedAt;
+    private final Boolean isActive;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    // Linked login account, without credentials
+    private final UserSummary user;
+
+    public CustomerDTO(Long id, String nationalId, String firstName, String lastName, String firstNameThai,
+                       String lastNameThai, LocalDate dateOfBirth, Customer.Gender gender, String phoneNumber,
+                       String email, String district, String province, String postalCode,
+                       Customer.Language preferredLanguage, Customer.OccupationCategory occupationCategory,
+                       Customer.KYCStatus kycStatus, LocalDate kycVerifiedAt, Boolean isActive,
+                       LocalDateTime createdAt, LocalDateTime updatedAt,
+                       Long userId, String username, String userEmail) {
+        this.id = id;
+        this.nationalId = nationalId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.firstNameThai = firstNameThai;
+        this.lastNameThai = lastNameThai;
+        this.dateOfBirth = dateOfBirth;
+        this.gender = gender;
+        this.phoneNumber = phoneNumber;
+        this.email = email;
+        this.district = district;
+        this.province = province;
+        this.postalCode = postalCode;
+        this.preferredLanguage = preferredLanguage;
+        this.occupationCategory = occupationCategory;
+        this.kycStatus = kycStatus;
+        this.kycVerifiedAt = kycVerifiedAt;
+        this.isActive = isActive;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.user = userId != null ? new UserSummary(userId, username, userEmail) : null;
+    }
+
+    public Long getId() { return id; }
+    public String getNationalId() { return nationalId; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getFirstNameThai() { return firstNameThai; }
+    public String getLastNameThai() { return lastNameThai; }
+    public LocalDate getDateOfBirth() { return dateOfBirth; }
+    public Customer.Gender getGender() { return gender; }
+    public String getPhoneNumber() { return phoneNumber; }
+    public String getEmail() { return email; }
+    public String getDistrict() { return district; }
+    public String getProvince() { return province; }
+    public String getPostalCode() { return postalCode; }
+    public Customer.Language getPreferredLanguage() { return preferredLanguage; }
+    public Customer.OccupationCategory getOccupationCategory() { return occupationCategory; }
+    public Customer.KYCStatus getKycStatus() { return kycStatus; }
+    public LocalDate getKycVerifiedAt() { return kycVerifiedAt; }
+    public Boolean getIsActive() { return isActive; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public UserSummary getUser() { return user; }
+
+    public static class UserSummary {
+        private final Long id;
+        private final String username;
+        private final String email;
+
+        public UserSummary(Long id, String username, String email) {
+            this.id = id;
+            this.username = username;
+            this.email = email;
+        }
+
+        public Long getId() { return id; }
+        public String getUsername() { return username; }
+        public String getEmail() { return email; }
+    }
+}
@@ -0,0 +1,97 @@
+package com.thaiinsurance.autoinsurance.dto;
+
+import com.thaiinsurance.autoinsurance.model.Payment;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read model for payment list and detail endpoints, filled by the constructor projection in
+ * {@link com.thaiinsurance.autoinsurance.repository.PaymentRepository#SUMMARY_SELECT}.
+ * Bank account details and raw gateway responses are deliberately left out.
+ */
+public class PaymentDTO {
+
+    private final Long id;
+    private final String paymentReference;
+    private final BigDecimal amount;
+    private final Payment.PaymentType paymentType;
+    private final Payment.PaymentMethod paymentMethod;
+    private final Payment.PaymentStatus status;
+    private final LocalDateTime paymentDate;
+    private final LocalDate dueDate;
+    private final LocalDateTime confirmedDate;
+    private final String transactionId;
+    private final String failureReason;
+    private final String notes;
+    private final String bankName;
+    private final String referenceNumber;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    // Policy, customer and processor basic info (to avoid circular reference)
+    private final Long policyId;
+    private final String policyNumber;
+    private final Long customerId;
+    private final String customerName;
+    private Long processedById;
+    private String processedByName;
+
+    public PaymentDTO(Long id, String paymentReference, BigDecimal amount, Payment.PaymentType paymentType,
+                      Payment.PaymentMethod paymentMethod, Payment.PaymentStatus status,
+                      LocalDateTime paymentDate, LocalDate dueDate, LocalDateTime confirmedDate,
+                      String transactionId, String failureReason, String notes, String bankName,
+                      String referenceNumber, LocalDateTime createdAt, LocalDateTime updatedAt,
+                      Long policyId, String policyNumber, Long customerId, String customerFirstName,
+                      String customerLastName, Long processedById, String processedByFirstName,
+                      String processedByLastName) {
+        this.id = id;
+        this.paymentReference = paymentReference;
+        this.amount = amount;
+        this.paymentType = paymentType;
+        this.paymentMethod = paymentMethod;
+        this.status = status;
+        this.paymentDate = paymentDate;
+        this.dueDate = dueDate;
+        this.confirmedDate = confirmedDate;
+        this.transactionId = transactionId;
+        this.failureReason = failureReason;
+        this.notes = notes;
+        this.bankName = bankName;
+        this.referenceNumber = referenceNumber;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+
+        this.policyId = policyId;
+        this.policyNumber = policyNumber;
+        this.customerId = customerId;
+        this.customerName = customerFirstName + " " + customerLastName;
+        if (processedById != null) {
+            this.processedById = processedById;
+            this.processedByName = processedByFirstName + " " + processedByLastName;
+        }
+    }
+
+    public Long getId() { return id; }
+    public String getPaymentReference() { return paymentReference; }
+    public BigDecimal getAmount() { return amount; }
+    public Payment.PaymentType getPaymentType() { return paymentType; }
+    public Payment.PaymentMethod getPaymentMethod() { return paymentMethod; }
+    public Payment.PaymentStatus getStatus() { return status; }
+    public LocalDateTime getPaymentDate() { return paymentDate; }
+    public LocalDate getDueDate() { return dueDate; }
+    public LocalDateTime getConfirmedDate() { return confirmedDate; }
+    public String getTransactionId() { return transactionId; }
+    public String getFailureReason() { return failureReason; }
+    public String getNotes() { return notes; }
+    public String getBankName() { return bankName; }
+    public String getReferenceNumber() { return referenceNumber; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Long getPolicyId() { return policyId; }
+    public String getPolicyNumber() { return policyNumber; }
+    public Long getCustomerId() { return customerId; }
+    public String getCustomerName() { return customerName; }
+    public Long getProcessedById() { return processedById; }
+    public String getProcessedByName() { return processedByName; }
+}
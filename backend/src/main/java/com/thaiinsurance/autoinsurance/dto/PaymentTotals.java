@@ -0,0 +1,25 @@
+package com.thaiinsurance.autoinsurance.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of a grouped payment aggregate: the group key (payment method, status or day), the number
+ * of payments and the completed amount. Filled by the GROUP BY projections in
+ * {@link com.thaiinsurance.autoinsurance.repository.PaymentRepository}.
+ */
+public class PaymentTotals {
+
+    private final Object group;
+    private final long payments;
+    private final BigDecimal completedAmount;
+
+    public PaymentTotals(Object group, Long payments, BigDecimal completedAmount) {
+        this.group = group;
+        this.payments = payments != null ? payments : 0L;
+        this.completedAmount = completedAmount != null ? completedAmount : BigDecimal.ZERO;
+    }
+
+    public Object getGroup() { return group; }
+    public long getPayments() { return payments; }
+    public BigDecimal getCompletedAmount() { return completedAmount; }
+}
@@ -85,6 +85,47 @@ public class PolicyDTO {
         }
     }
     
+    // Constructor used by JPQL constructor-expression projections (see PolicyRepository.findAllSummaries)
+    public PolicyDTO(Long id, String policyNumber, Policy.PolicyType policyType, Policy.CoverageType coverageType,
+                     LocalDate startDate, LocalDate endDate, BigDecimal premiumAmount, BigDecimal sumInsured,
+                     BigDecimal deductible, Policy.PolicyStatus status, LocalDate issuedDate, LocalDate cancelledDate,
+                     String cancellationReason, String remarks, LocalDateTime createdAt, LocalDateTime updatedAt,
+                     Long customerId, String customerFirstName, String customerLastName, String customerEmail,
+                     Long vehicleId, String vehicleLicensePlate, String vehicleMake, String vehicleModel,
+                     Integer vehicleYear, Long agentId, String agentFirstName, String agentLastName) {
+        this.id = id;
+        this.policyNumber = policyNumber;
+        this.policyType = policyType;
+        this.coverageType = coverageType;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.premiumAmount = premiumAmount;
+        this.sumInsured = sumInsured;
+        this.deductible = deductible;
+        this.status = status;
+        this.issuedDate = issuedDate;
+        this.cancelledDate = cancelledDate;
+        this.cancellationReason = cancellationReason;
+        this.remarks = remarks;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        
+        this.customerId = customerId;
+        this.customerName = customerFirstName + " " + customerLastName;
+        this.customerEmail = customerEmail;
+        
+        this.vehicleId = vehicleId;
+        this.vehicleLicensePlate = vehicleLicensePlate;
+        this.vehicleMake = vehicleMake;
+        this.vehicleModel = vehicleModel;
+        this.vehicleYear = vehicleYear;
+        
+        if (agentId != null) {
+            this.agentId = agentId;
+            this.agentName = agentFirstName + " " + agentLastName;
+        }
+    }
+    
     // Getters and setters
     public Long getId() {
         return id;
@@ -0,0 +1,94 @@
+package com.thaiinsurance.autoinsurance.dto;
+
+import com.thaiinsurance.autoinsurance.model.Vehicle;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read model for vehicle list and detail endpoints, filled by the constructor projection in
+ * {@link com.thaiinsurance.autoinsurance.repository.VehicleRepository#SUMMARY_SELECT}.
+ */
+public class VehicleDTO {
+
+    private final Long id;
+    private final String licensePlate;
+    private final String chassisNumber;
+    private final String engineNumber;
+    private final String make;
+    private final String model;
+    private final Integer year;
+    private final String color;
+    private final Vehicle.VehicleType vehicleType;
+    private final Vehicle.FuelType fuelType;
+    private final Vehicle.UsageType usageType;
+    private final Vehicle.VehicleStatus status;
+    private final Boolean isActive;
+    private final Double marketValue;
+    private final LocalDate registrationDate;
+    private final String registrationProvince;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    // Customer and owner basic info (to avoid circular reference)
+    private final Long customerId;
+    private final String customerName;
+    private Long ownerId;
+    private String ownerName;
+
+    public VehicleDTO(Long id, String licensePlate, String chassisNumber, String engineNumber, String make,
+                      String model, Integer year, String color, Vehicle.VehicleType vehicleType,
+                      Vehicle.FuelType fuelType, Vehicle.UsageType usageType, Vehicle.VehicleStatus status,
+                      Boolean isActive, Double marketValue, LocalDate registrationDate,
+                      String registrationProvince, LocalDateTime createdAt, LocalDateTime updatedAt,
+                      Long customerId, String customerFirstName, String customerLastName,
+                      Long ownerId, String ownerFirstName, String ownerLastName) {
+        this.id = id;
+        this.licensePlate = licensePlate;
+        this.chassisNumber = chassisNumber;
+        this.engineNumber = engineNumber;
+        this.make = make;
+        this.model = model;
+        this.year = year;
+        this.color = color;
+        this.vehicleType = vehicleType;
+        this.fuelType = fuelType;
+        this.usageType = usageType;
+        this.status = status;
+        this.isActive = isActive;
+        this.marketValue = marketValue;
+        this.registrationDate = registrationDate;
+        this.registrationProvince = registrationProvince;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+
+        this.customerId = customerId;
+        this.customerName = customerFirstName + " " + customerLastName;
+        if (ownerId != null) {
+            this.ownerId = ownerId;
+            this.ownerName = ownerFirstName + " " + ownerLastName;
+        }
+    }
+
+    public Long getId() { return id; }
+    public String getLicensePlate() { return licensePlate; }
+    public String getChassisNumber() { return chassisNumber; }
+    public String getEngineNumber() { return engineNumber; }
+    public String getMake() { return make; }
+    public String getModel() { return model; }
+    public Integer getYear() { return year; }
+    public String getColor() { return color; }
+    public Vehicle.VehicleType getVehicleType() { return vehicleType; }
+    public Vehicle.FuelType getFuelType() { return fuelType; }
+    public Vehicle.UsageType getUsageType() { return usageType; }
+    public Vehicle.VehicleStatus getStatus() { return status; }
+    public Boolean getIsActive() { return isActive; }
+    public Double getMarketValue() { return marketValue; }
+    public LocalDate getRegistrationDate() { return registrationDate; }
+    public String getRegistrationProvince() { return registrationProvince; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Long getCustomerId() { return customerId; }
+    public String getCustomerName() { return customerName; }
+    public Long getOwnerId() { return ownerId; }
+    public String getOwnerName() { return ownerName; }
+}
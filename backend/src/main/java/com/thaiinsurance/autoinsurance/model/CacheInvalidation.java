@@ -0,0 +1,54 @@
+package com.thaiinsurance.autoinsurance.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per change to a second-level cached entity. Other nodes poll this table and evict
+ * the entry from their local cache; rows are purged after the configured retention.
+ */
+@Entity
+@Table(name = "cache_invalidations", indexes = {
+    @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at")
+})
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_name", nullable = false, length = 100)
+    private String entityName;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "node_id", nullable = false, length = 36)
+    private String nodeId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public CacheInvalidation() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
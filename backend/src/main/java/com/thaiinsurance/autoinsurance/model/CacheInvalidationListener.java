@@ -0,0 +1,24 @@
+package com.thaiinsurance.autoinsurance.model;
+
+import com.thaiinsurance.autoinsurance.service.CacheInvalidationService;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Records updates and deletes of second-level cached entities so that other nodes can evict
+ * their copies. Runs during flush, so the record commits or rolls back with the change itself.
+ */
+public class CacheInvalidationListener {
+
+    @Autowired
+    private ObjectProvider<CacheInvalidationService> cacheInvalidationService;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(BaseEntity entity) {
+        cacheInvalidationService.ifAvailable(service -> service.publish(Hibernate.getClass(entity), entity.getId()));
+    }
+}
@@ -1,6 +1,9 @@
 package com.thaiinsurance.autoinsurance.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.LazyGroup;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -11,15 +14,29 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@NamedEntityGraph(name = "Claim.summary",
+    attributeNodes = {
+        @NamedAttributeNode(value = "policy", subgraph = "policy"),
+        @NamedAttributeNode("adjuster")
+    },
+    subgraphs = @NamedSubgraph(name = "policy", attributeNodes = {
+        @NamedAttributeNode("customer"),
+        @NamedAttributeNode("vehicle"),
+        @NamedAttributeNode("agent")
+    }))
+@NaturalIdCache(region = "claims-natural-id")
 @Table(name = "claims", indexes = {
     @Index(name = "idx_claims_number", columnList = "claim_number"),
     @Index(name = "idx_claims_policy", columnList = "policy_id"),
     @Index(name = "idx_claims_status", columnList = "status"),
-    @Index(name = "idx_claims_incident_date", columnList = "incident_date")
+    @Index(name = "idx_claims_incident_date", columnList = "incident_date"),
+    @Index(name = "idx_claims_status_closed_paid", columnList = "status, closed_date, paid_amount"),
+    @Index(name = "idx_claims_status_reported", columnList = "status, reported_date")
 })
 public class Claim extends BaseEntity {
     
     @NotBlank
+    @NaturalId
     @Column(name = "claim_number", unique = true, nullable = false, length = 50)
     private String claimNumber;
     
@@ -34,8 +51,12 @@ public class Claim extends BaseEntity {
     @Column(name = "incident_location", nullable = false, length = 500)
     private String incidentLocation;
     
+    // Free-text columns share one lazy group: list and aggregate reads never select them,
+    // and the first access to any of them loads all four in a single query
     @NotNull
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
     @Column(name = "incident_description", nullable = false)
     private String incidentDescription;
     
@@ -50,6 +71,8 @@ public class Claim extends BaseEntity {
     @Column(name = "third_party_involved", nullable = false)
     private Boolean thirdPartyInvolved = false;
     
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
     @Column(name = "third_party_details", length = 1000)
     private String thirdPartyDetails;
     
@@ -92,9 +115,14 @@ public class Claim extends BaseEntity {
     @Column(name = "rejection_reason", length = 1000)
     private String rejectionReason;
     
+    // Notes written before the claim_notes timeline existed; new notes go to ClaimNote
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
     @Column(name = "adjuster_notes", length = 2000)
     private String adjusterNotes;
     
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
     @Column(name = "settlement_notes", length = 2000)
     private String settlementNotes;
     
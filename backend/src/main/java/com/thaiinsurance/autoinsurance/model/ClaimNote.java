@@ -0,0 +1,88 @@
+package com.thaiinsurance.autoinsurance.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry in a claim's timeline. Notes are insert-only and reference the claim by id, so
+ * adding a note never loads, locks or rewrites the claim row.
+ */
+@Entity
+@Immutable
+@Table(name = "claim_notes", indexes = {
+    @Index(name = "idx_claim_notes_claim_created", columnList = "claim_id, created_at")
+})
+public class ClaimNote {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "claim_id", nullable = false, updatable = false)
+    private Long claimId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "note_type", nullable = false, length = 20, updatable = false)
+    private NoteType noteType;
+
+    @Column(name = "content", nullable = false, length = 2000, updatable = false)
+    private String content;
+
+    @Column(name = "author_id", updatable = false)
+    private Long authorId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    protected ClaimNote() {}
+
+    public ClaimNote(Long claimId, NoteType noteType, String content, Long authorId) {
+        this.claimId = claimId;
+        this.noteType = noteType;
+        this.content = content;
+        this.authorId = authorId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getClaimId() {
+        return claimId;
+    }
+
+    public NoteType getNoteType() {
+        return noteType;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public enum NoteType {
+        ADJUSTER("Adjuster Note"),
+        STATUS_CHANGE("Status Change"),
+        APPROVAL("Approval");
+
+        private final String displayName;
+
+        NoteType(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.thaiinsurance.autoinsurance.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -11,6 +15,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(CacheInvalidationListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customers")
+@NaturalIdCache(region = "customers-natural-id")
 @Table(name = "customers", indexes = {
     @Index(name = "idx_customers_national_id", columnList = "national_id"),
     @Index(name = "idx_customers_email", columnList = "email"),
@@ -20,6 +28,7 @@ public class Customer extends BaseEntity {
     
     @NotBlank
     @Pattern(regexp = "^[0-9]{13}$", message = "Thai National ID must be 13 digits")
+    @NaturalId(mutable = true)
     @Column(name = "national_id", unique = true, nullable = false, length = 13)
     private String nationalId;
     
@@ -0,0 +1,63 @@
+package com.thaiinsurance.autoinsurance.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One login attempt and its outcome ({@code SUCCESS}, {@code FAILURE} or {@code LOCKED}).
+ * Rows are buffered in memory and inserted in batches, so the newest attempts may take up to a
+ * flush interval to appear.
+ */
+@Entity
+@Table(name = "login_audit", indexes = {
+    @Index(name = "idx_login_audit_user_id", columnList = "user_id, occurred_at"),
+    @Index(name = "idx_login_audit_occurred_at", columnList = "occurred_at")
+})
+public class LoginAudit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "username_or_email", nullable = false, length = 100)
+    private String usernameOrEmail;
+
+    @Column(name = "outcome", nullable = false, length = 20)
+    private String outcome;
+
+    @Column(name = "ip_address", length = 45)
+    private String ipAddress;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    public LoginAudit() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsernameOrEmail() {
+        return usernameOrEmail;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
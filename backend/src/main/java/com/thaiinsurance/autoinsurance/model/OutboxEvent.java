@@ -0,0 +1,100 @@
+package com.thaiinsurance.autoinsurance.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A domain event waiting in the transactional outbox. Written in the same transaction as the
+ * change it describes and marked published once every subscriber has accepted it.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_events_pending", columnList = "published_at, failed_at, id"),
+    @Index(name = "idx_outbox_events_published_at", columnList = "published_at")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "dedupe_key", nullable = false, unique = true, length = 36, updatable = false)
+    private String dedupeKey;
+
+    @Column(name = "aggregate_type", nullable = false, length = 50, updatable = false)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, updatable = false)
+    private Long aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 50, updatable = false)
+    private String eventType;
+
+    @Column(name = "payload", length = 4000, updatable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    public OutboxEvent() {}
+
+    public OutboxEvent(String aggregateType, Long aggregateId, String eventType, String payload) {
+        this.dedupeKey = UUID.randomUUID().toString();
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getDedupeKey() {
+        return dedupeKey;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public LocalDateTime getFailedAt() {
+        return failedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+}
@@ -0,0 +1,38 @@
+package com.thaiinsurance.autoinsurance.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * The node currently allowed to drain the outbox, and until when. The holder renews the lease
+ * before every batch; another node may take it over once it has expired.
+ */
+@Entity
+@Table(name = "outbox_leases")
+public class OutboxLease {
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    @Column(name = "owner", nullable = false, length = 36)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public OutboxLease() {}
+
+    public String getName() {
+        return name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
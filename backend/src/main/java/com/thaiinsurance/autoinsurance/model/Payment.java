@@ -10,11 +10,22 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@NamedEntityGraph(name = "Payment.summary",
+    attributeNodes = {
+        @NamedAttributeNode(value = "policy", subgraph = "policy"),
+        @NamedAttributeNode("processedBy")
+    },
+    subgraphs = @NamedSubgraph(name = "policy", attributeNodes = {
+        @NamedAttributeNode("customer"),
+        @NamedAttributeNode("vehicle"),
+        @NamedAttributeNode("agent")
+    }))
 @Table(name = "payments", indexes = {
     @Index(name = "idx_payments_reference", columnList = "payment_reference"),
     @Index(name = "idx_payments_policy", columnList = "policy_id"),
     @Index(name = "idx_payments_status", columnList = "status"),
-    @Index(name = "idx_payments_date", columnList = "payment_date")
+    @Index(name = "idx_payments_date", columnList = "payment_date"),
+    @Index(name = "idx_payments_status_date_amount", columnList = "status, payment_date, amount")
 })
 public class Payment extends BaseEntity {
     
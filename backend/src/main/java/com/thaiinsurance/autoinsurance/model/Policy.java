@@ -1,6 +1,8 @@
 package com.thaiinsurance.autoinsurance.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -12,16 +14,24 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@NamedEntityGraph(name = "Policy.summary", attributeNodes = {
+    @NamedAttributeNode("customer"),
+    @NamedAttributeNode("vehicle"),
+    @NamedAttributeNode("agent")
+})
+@NaturalIdCache(region = "policies-natural-id")
 @Table(name = "policies", indexes = {
     @Index(name = "idx_policies_number", columnList = "policy_number"),
     @Index(name = "idx_policies_customer", columnList = "customer_id"),
     @Index(name = "idx_policies_vehicle", columnList = "vehicle_id"),
     @Index(name = "idx_policies_status", columnList = "status"),
-    @Index(name = "idx_policies_expiry", columnList = "end_date")
+    @Index(name = "idx_policies_expiry", columnList = "end_date"),
+    @Index(name = "idx_policies_status_issued", columnList = "status, issued_date, premium_amount")
 })
 public class Policy extends BaseEntity {
     
     @NotBlank
+    @NaturalId
     @Column(name = "policy_number", unique = true, nullable = false, length = 50)
     private String policyNumber;
     
@@ -0,0 +1,40 @@
+package com.thaiinsurance.autoinsurance.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tokens handed out by all nodes for one rate-limit bucket in one time window. The key is the
+ * window number followed by the bucket key.
+ */
+@Entity
+@Table(name = "rate_limit_counters", indexes = {
+    @Index(name = "idx_rate_limit_counters_window_start", columnList = "window_start")
+})
+public class RateLimitCounter {
+
+    @Id
+    @Column(name = "counter_key", length = 255)
+    private String counterKey;
+
+    @Column(name = "window_start", nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(name = "consumed", nullable = false)
+    private Long consumed;
+
+    public RateLimitCounter() {}
+
+    public String getCounterKey() {
+        return counterKey;
+    }
+
+    public LocalDateTime getWindowStart() {
+        return windowStart;
+    }
+
+    public Long getConsumed() {
+        return consumed;
+    }
+}
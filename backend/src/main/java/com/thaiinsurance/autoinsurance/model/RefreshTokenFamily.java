@@ -0,0 +1,69 @@
+package com.thaiinsurance.autoinsurance.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * The refresh tokens descended from one login. Only the SHA-256 digest of the current token is
+ * kept; every refresh replaces it, and the family is revoked when an older token is replayed.
+ */
+@Entity
+@Table(name = "refresh_token_families", indexes = {
+    @Index(name = "idx_refresh_token_families_user_id", columnList = "user_id"),
+    @Index(name = "idx_refresh_token_families_expires_at", columnList = "expires_at")
+})
+public class RefreshTokenFamily {
+
+    @Id
+    @Column(name = "family_id", length = 36)
+    private String familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "token_hash", nullable = false, length = 44)
+    private String tokenHash;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "rotated_at", nullable = false)
+    private LocalDateTime rotatedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    public RefreshTokenFamily() {}
+
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getRotatedAt() {
+        return rotatedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+}
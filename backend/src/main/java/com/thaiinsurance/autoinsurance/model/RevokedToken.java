@@ -0,0 +1,55 @@
+package com.thaiinsurance.autoinsurance.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A JWT revoked before its expiry, identified by its {@code jti} claim. Rows are only needed
+ * until {@code expires_at}; after that the token is rejected as expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"),
+    @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at")
+})
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "jti", nullable = false, unique = true, length = 36)
+    private String jti;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    public RevokedToken() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+}
@@ -1,5 +1,7 @@
 package com.thaiinsurance.autoinsurance.model;
 
+import java.util.Collection;
+
 public enum Role {
     CUSTOMER("Customer"),
     AGENT("Insurance Agent"),
@@ -20,4 +22,19 @@ public enum Role {
     public String getAuthority() {
         return "ROLE_" + this.name();
     }
+    
+    /**
+     * Single bit identifying this role in a role bitmask
+     */
+    public long getMask() {
+        return 1L << ordinal();
+    }
+    
+    public static long maskOf(Collection<Role> roles) {
+        long mask = 0;
+        for (Role role : roles) {
+            mask |= role.getMask();
+        }
+        return mask;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.thaiinsurance.autoinsurance.model;
+
+import com.thaiinsurance.autoinsurance.security.TokenVersionCache;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Drops a changed user's cached token version once the change commits, so a bumped version
+ * (deactivation, lock, role or password change) rejects old tokens on this node right away.
+ */
+public class TokenVersionListener {
+
+    @Autowired
+    private ObjectProvider<TokenVersionCache> tokenVersionCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        tokenVersionCache.ifAvailable(cache -> cache.evictAfterCommit(user.getId()));
+    }
+}
@@ -1,15 +1,24 @@
 package com.thaiinsurance.autoinsurance.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 
 @Entity
+@EntityListeners({CacheInvalidationListener.class, TokenVersionListener.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+// Updates write only changed columns, so edits never overwrite login bookkeeping written in batches
+@DynamicUpdate
 @Table(name = "users", indexes = {
     @Index(name = "idx_users_email", columnList = "email"),
     @Index(name = "idx_users_username", columnList = "username")
@@ -81,6 +90,10 @@ public class User extends BaseEntity {
     @Column(name = "password_change_required", nullable = false)
     private Boolean passwordChangeRequired = false;
     
+    // Bumped when access must be re-checked; tokens issued with an older version are rejected
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion = 0;
+    
     // Constructors
     public User() {}
     
@@ -113,10 +126,21 @@ public class User extends BaseEntity {
     }
     
     public void setPassword(String password) {
+        if (!Objects.equals(this.password, password)) {
+            revokeTokens();
+        }
         this.password = password;
         this.passwordChangedAt = LocalDateTime.now();
     }
     
+    /**
+     * Replace the hash of an unchanged password, e.g. to raise its work factor. Unlike
+     * {@link #setPassword} this keeps outstanding tokens valid.
+     */
+    public void upgradePasswordHash(String encodedPassword) {
+        this.password = encodedPassword;
+    }
+    
     public String getFirstName() {
         return firstName;
     }
@@ -146,6 +170,9 @@ public class User extends BaseEntity {
     }
     
     public void setIsActive(Boolean isActive) {
+        if (!Objects.equals(this.isActive, isActive)) {
+            revokeTokens();
+        }
         this.isActive = isActive;
     }
     
@@ -210,6 +237,9 @@ public class User extends BaseEntity {
     }
     
     public void setRole(Role role) {
+        if (this.role != role) {
+            revokeTokens();
+        }
         this.role = role;
     }
     
@@ -218,6 +248,9 @@ public class User extends BaseEntity {
     }
     
     public void setAccountLocked(Boolean accountLocked) {
+        if (!Objects.equals(this.accountLocked, accountLocked)) {
+            revokeTokens();
+        }
         this.accountLocked = accountLocked;
     }
     
@@ -245,6 +278,24 @@ public class User extends BaseEntity {
         this.passwordChangeRequired = passwordChangeRequired;
     }
     
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+    
+    public void setTokenVersion(Integer tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+    
+    /**
+     * Invalidate every access token issued so far. Only saved users have tokens, so new users
+     * keep version 0 while their fields are being filled in.
+     */
+    public void revokeTokens() {
+        if (getId() != null) {
+            tokenVersion = tokenVersion == null ? 1 : tokenVersion + 1;
+        }
+    }
+    
     // For backwards compatibility with existing code that expects Set<Role>
     public Set<Role> getRoles() {
         Set<Role> roles = new HashSet<>();
@@ -256,13 +307,13 @@ public class User extends BaseEntity {
     
     public void setRoles(java.util.List<Role> roles) {
         if (roles != null && !roles.isEmpty()) {
-            this.role = roles.get(0); // Take first role for single role system
+            setRole(roles.get(0)); // Take first role for single role system
         }
     }
     
     // For backwards compatibility - allows code to add role like in a Set
     public void addRole(Role roleToAdd) {
-        this.role = roleToAdd;
+        setRole(roleToAdd);
     }
     
     public String getFullName() {
@@ -1,6 +1,10 @@
 package com.thaiinsurance.autoinsurance.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
@@ -11,6 +15,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(CacheInvalidationListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vehicles")
+@NaturalIdCache(region = "vehicles-natural-id")
 @Table(name = "vehicles", indexes = {
     @Index(name = "idx_vehicles_license_plate", columnList = "license_plate"),
     @Index(name = "idx_vehicles_chassis_number", columnList = "chassis_number"),
@@ -19,6 +27,7 @@ import java.util.List;
 public class Vehicle extends BaseEntity {
     
     @Pattern(regexp = "^[ก-๏0-9A-Z\\s]{1,10}$", message = "Invalid Thai license plate format")
+    @NaturalId(mutable = true)
     @Column(name = "license_plate", unique = true, nullable = false, length = 10)
     private String licensePlate;
     
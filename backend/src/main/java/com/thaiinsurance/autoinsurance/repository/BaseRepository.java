@@ -4,6 +4,13 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import java.util.Optional;
+
 @NoRepositoryBean
 public interface BaseRepository<T, ID> extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
-}
\ No newline at end of file
+
+    /**
+     * Load an entity by its {@code @NaturalId}, served from the natural-id cache when possible
+     */
+    Optional<T> findBySimpleNaturalId(Object naturalId);
+}
@@ -0,0 +1,32 @@
+package com.thaiinsurance.autoinsurance.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import java.util.Optional;
+
+/**
+ * Repository base class for all entity repositories. Adds natural-id lookups that go through
+ * Hibernate's natural-id cache instead of issuing a query every time.
+ */
+public class BaseRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID> implements BaseRepository<T, ID> {
+
+    private final EntityManager entityManager;
+
+    public BaseRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<T> findBySimpleNaturalId(Object naturalId) {
+        if (naturalId == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(getDomainClass())
+            .loadOptional(naturalId);
+    }
+}
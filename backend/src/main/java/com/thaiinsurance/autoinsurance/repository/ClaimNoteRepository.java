@@ -0,0 +1,24 @@
+package com.thaiinsurance.autoinsurance.repository;
+
+import com.thaiinsurance.autoinsurance.dto.ClaimNoteDTO;
+import com.thaiinsurance.autoinsurance.model.ClaimNote;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClaimNoteRepository extends BaseRepository<ClaimNote, Long> {
+
+    String TIMELINE_SELECT = "SELECT new com.thaiinsurance.autoinsurance.dto.ClaimNoteDTO(" +
+           "n.id, n.claimId, n.noteType, n.content, n.createdAt, " +
+           "n.authorId, u.username, u.firstName, u.lastName) " +
+           "FROM ClaimNote n LEFT JOIN User u ON u.id = n.authorId";
+
+    @Query(value = TIMELINE_SELECT + " WHERE n.claimId = :claimId ORDER BY n.createdAt, n.id",
+           countQuery = "SELECT COUNT(n) FROM ClaimNote n WHERE n.claimId = :claimId")
+    Page<ClaimNoteDTO> findTimeline(@Param("claimId") Long claimId, Pageable pageable);
+
+    long countByClaimId(Long claimId);
+}
@@ -1,6 +1,8 @@
 package com.thaiinsurance.autoinsurance.repository;
 
+import com.thaiinsurance.autoinsurance.dto.ClaimDTO;
 import com.thaiinsurance.autoinsurance.model.Claim;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,15 +15,70 @@ import java.util.Optional;
 @Repository
 public interface ClaimRepository extends BaseRepository<Claim, Long> {
     
-    Optional<Claim> findByClaimNumber(String claimNumber);
+    // Constructor projection shared by the read-model queries below; the LOB description is only selected for detail
+    String SUMMARY_COLUMNS = "c.id, c.claimNumber, c.incidentDate, c.incidentLocation, c.incidentType, c.status, " +
+           "c.priorityLevel, c.estimatedDamageAmount, c.claimedAmount, c.approvedAmount, c.paidAmount, " +
+           "c.reportedDate, c.approvedDate, c.rejectedDate, c.closedDate, c.createdAt, c.updatedAt, " +
+           "p.id, p.policyNumber, cu.id, cu.firstName, cu.lastName, v.licensePlate, " +
+           "a.id, a.firstName, a.lastName";
+    
+    String SUMMARY_FROM = " FROM Claim c JOIN c.policy p JOIN p.customer cu JOIN p.vehicle v LEFT JOIN c.adjuster a";
+    
+    String SUMMARY_SELECT = "SELECT new com.thaiinsurance.autoinsurance.dto.ClaimDTO(" + SUMMARY_COLUMNS + ")" + SUMMARY_FROM;
+    
+    String SEARCH_PREDICATE = "LOWER(c.claimNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(c.policy.policyNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(c.policy.customer.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(c.policy.customer.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))";
+    
+    @Query("SELECT new com.thaiinsurance.autoinsurance.dto.ClaimDTO(" + SUMMARY_COLUMNS + ", c.incidentDescription)" +
+           SUMMARY_FROM + " WHERE c.id = :id")
+    Optional<ClaimDTO> findSummaryById(@Param("id") Long id);
+    
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(c) FROM Claim c")
+    org.springframework.data.domain.Page<ClaimDTO> findAllSummaries(org.springframework.data.domain.Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + " WHERE " + SEARCH_PREDICATE,
+           countQuery = "SELECT COUNT(c) FROM Claim c WHERE " + SEARCH_PREDICATE)
+    org.springframework.data.domain.Page<ClaimDTO> searchSummaries(@Param("searchTerm") String searchTerm,
+                                                                  org.springframework.data.domain.Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + " WHERE p.id = :policyId")
+    List<ClaimDTO> findSummariesByPolicyId(@Param("policyId") Long policyId);
+    
+    @Query(SUMMARY_SELECT + " WHERE c.status = :status")
+    List<ClaimDTO> findSummariesByStatus(@Param("status") Claim.ClaimStatus status);
+    
+    @Query(SUMMARY_SELECT + " WHERE a.id = :adjusterId")
+    List<ClaimDTO> findSummariesByAdjusterId(@Param("adjusterId") Long adjusterId);
+    
+    @Query(SUMMARY_SELECT + " WHERE c.priorityLevel = :priority")
+    List<ClaimDTO> findSummariesByPriorityLevel(@Param("priority") Claim.PriorityLevel priority);
+    
+    @Query(SUMMARY_SELECT + " WHERE c.status IN ('SUBMITTED', 'UNDER_REVIEW', 'PENDING_DOCUMENTS')")
+    List<ClaimDTO> findPendingSummaries();
+    
+    @Query(SUMMARY_SELECT + " WHERE c.reportedDate < :date AND c.status IN ('SUBMITTED', 'UNDER_REVIEW', 'UNDER_INVESTIGATION', 'PENDING_DOCUMENTS')")
+    List<ClaimDTO> findOverdueSummaries(@Param("date") LocalDate date);
+    
+    default Optional<Claim> findByClaimNumber(String claimNumber) {
+        return findBySimpleNaturalId(claimNumber);
+    }
     
     Boolean existsByClaimNumber(String claimNumber);
     
+    @Override
+    @EntityGraph("Claim.summary")
+    org.springframework.data.domain.Page<Claim> findAll(org.springframework.data.domain.Pageable pageable);
+    
+    @EntityGraph("Claim.summary")
     List<Claim> findByPolicyId(Long policyId);
     
+    @EntityGraph("Claim.summary")
     @Query("SELECT c FROM Claim c WHERE c.policy.customer.id = :customerId")
     List<Claim> findByCustomerId(@Param("customerId") Long customerId);
     
+    @EntityGraph("Claim.summary")
     @Query("SELECT c FROM Claim c WHERE c.status = :status")
     List<Claim> findByStatus(@Param("status") Claim.ClaimStatus status);
     
@@ -40,6 +97,7 @@ public interface ClaimRepository extends BaseRepository<Claim, Long> {
     List<Claim> findClaimsByIncidentDateBetween(@Param("startDate") LocalDate startDate, 
                                                @Param("endDate") LocalDate endDate);
     
+    @EntityGraph("Claim.summary")
     @Query("SELECT c FROM Claim c WHERE c.adjuster.id = :adjusterId")
     List<Claim> findByAdjusterId(@Param("adjusterId") Long adjusterId);
     
@@ -58,6 +116,7 @@ public interface ClaimRepository extends BaseRepository<Claim, Long> {
     @Query("SELECT c FROM Claim c WHERE c.thirdPartyInvolved = true")
     List<Claim> findClaimsWithThirdParty();
     
+    @EntityGraph("Claim.summary")
     @Query("SELECT c FROM Claim c WHERE c.reportedDate < :date AND c.status IN ('SUBMITTED', 'UNDER_REVIEW', 'UNDER_INVESTIGATION', 'PENDING_DOCUMENTS')")
     List<Claim> findOverdueClaims(@Param("date") LocalDate date);
     
@@ -75,6 +134,7 @@ public interface ClaimRepository extends BaseRepository<Claim, Long> {
     BigDecimal calculateAverageEstimatedDamageByIncidentType(@Param("incidentType") Claim.IncidentType incidentType);
     
     // Additional methods needed by services
+    @EntityGraph("Claim.summary")
     @Query("SELECT c FROM Claim c WHERE c.policy.customer.id = :customerId")
     List<Claim> findByPolicyCustomerId(@Param("customerId") Long customerId);
     
@@ -105,10 +165,8 @@ public interface ClaimRepository extends BaseRepository<Claim, Long> {
     long countNewClaimsBetween(@Param("startDate") LocalDate startDate, 
                               @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT c FROM Claim c WHERE LOWER(c.claimNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(c.policy.policyNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(c.policy.customer.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(c.policy.customer.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    @EntityGraph("Claim.summary")
+    @Query("SELECT c FROM Claim c WHERE " + SEARCH_PREDICATE)
     org.springframework.data.domain.Page<Claim> searchClaims(@Param("searchTerm") String searchTerm, 
                                                            org.springframework.data.domain.Pageable pageable);
     
@@ -125,9 +183,11 @@ public interface ClaimRepository extends BaseRepository<Claim, Long> {
                                 @Param("endDate") LocalDate endDate);
     
     // Additional methods needed by ClaimService
+    @EntityGraph("Claim.summary")
     @Query("SELECT c FROM Claim c WHERE c.priorityLevel = :priority")
     List<Claim> findByPriorityLevel(@Param("priority") Claim.PriorityLevel priority);
     
+    @EntityGraph("Claim.summary")
     @Query("SELECT c FROM Claim c WHERE c.status IN ('SUBMITTED', 'UNDER_REVIEW', 'PENDING_DOCUMENTS')")
     List<Claim> findPendingClaims();
     
@@ -1,5 +1,6 @@
 package com.thaiinsurance.autoinsurance.repository;
 
+import com.thaiinsurance.autoinsurance.dto.CustomerDTO;
 import com.thaiinsurance.autoinsurance.model.Customer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,7 +16,36 @@ import java.util.Optional;
 @Repository
 public interface CustomerRepository extends BaseRepository<Customer, Long> {
     
-    Optional<Customer> findByNationalId(String nationalId);
+    // Constructor projection shared by the read-model queries below
+    String SUMMARY_SELECT = "SELECT new com.thaiinsurance.autoinsurance.dto.CustomerDTO(" +
+           "c.id, c.nationalId, c.firstName, c.lastName, c.firstNameThai, c.lastNameThai, c.dateOfBirth, " +
+           "c.gender, c.phoneNumber, c.email, c.district, c.province, c.postalCode, c.preferredLanguage, " +
+           "c.occupationCategory, c.kycStatus, c.kycVerifiedAt, c.isActive, c.createdAt, c.updatedAt, " +
+           "u.id, u.username, u.email) " +
+           "FROM Customer c LEFT JOIN c.user u";
+    
+    String SEARCH_PREDICATE = "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "c.nationalId LIKE CONCAT('%', :searchTerm, '%') OR " +
+           "c.phoneNumber LIKE CONCAT('%', :searchTerm, '%')";
+    
+    @Query(SUMMARY_SELECT + " WHERE c.id = :id")
+    Optional<CustomerDTO> findSummaryById(@Param("id") Long id);
+    
+    // Customers a user account may act for
+    @Query("SELECT c.id FROM Customer c WHERE c.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+    
+    @Query(SUMMARY_SELECT + " WHERE c.isActive = true")
+    List<CustomerDTO> findActiveSummaries();
+    
+    @Query(value = SUMMARY_SELECT + " WHERE " + SEARCH_PREDICATE,
+           countQuery = "SELECT COUNT(c) FROM Customer c WHERE " + SEARCH_PREDICATE)
+    Page<CustomerDTO> searchSummaries(@Param("searchTerm") String searchTerm, Pageable pageable);
+    
+    default Optional<Customer> findByNationalId(String nationalId) {
+        return findBySimpleNaturalId(nationalId);
+    }
     
     Optional<Customer> findByEmail(String email);
     
@@ -35,11 +65,7 @@ public interface CustomerRepository extends BaseRepository<Customer, Long> {
     @Query("SELECT c FROM Customer c WHERE c.province = :province AND c.isActive = true")
     List<Customer> findByProvinceAndIsActiveTrue(@Param("province") String province);
     
-    @Query("SELECT c FROM Customer c WHERE " +
-           "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "c.nationalId LIKE CONCAT('%', :searchTerm, '%') OR " +
-           "c.phoneNumber LIKE CONCAT('%', :searchTerm, '%')")
+    @Query("SELECT c FROM Customer c WHERE " + SEARCH_PREDICATE)
     Page<Customer> searchCustomers(@Param("searchTerm") String searchTerm, Pageable pageable);
     
     @Query("SELECT c FROM Customer c WHERE c.dateOfBirth BETWEEN :startDate AND :endDate")
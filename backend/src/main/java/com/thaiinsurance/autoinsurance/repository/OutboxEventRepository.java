@@ -0,0 +1,46 @@
+package com.thaiinsurance.autoinsurance.repository;
+
+import com.thaiinsurance.autoinsurance.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends BaseRepository<OutboxEvent, Long> {
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.failedAt IS NULL ORDER BY e.id")
+    List<OutboxEvent> findPending(Pageable pageable);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.failedAt IS NULL")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    @Query("SELECT COUNT(e) FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.failedAt IS NULL")
+    long countPending();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt, e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1 WHERE e.id = :id")
+    int incrementAttempts(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.failedAt = :failedAt WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("failedAt") LocalDateTime failedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
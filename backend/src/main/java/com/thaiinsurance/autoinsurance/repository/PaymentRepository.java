@@ -1,6 +1,9 @@
 package com.thaiinsurance.autoinsurance.repository;
 
+import com.thaiinsurance.autoinsurance.dto.PaymentDTO;
+import com.thaiinsurance.autoinsurance.dto.PaymentTotals;
 import com.thaiinsurance.autoinsurance.model.Payment;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
@@ -16,17 +19,45 @@ import java.util.Optional;
 @Repository
 public interface PaymentRepository extends BaseRepository<Payment, Long> {
     
+    // Constructor projection shared by the read-model queries below
+    String SUMMARY_SELECT = "SELECT new com.thaiinsurance.autoinsurance.dto.PaymentDTO(" +
+           "p.id, p.paymentReference, p.amount, p.paymentType, p.paymentMethod, p.status, p.paymentDate, " +
+           "p.dueDate, p.confirmedDate, p.transactionId, p.failureReason, p.notes, p.bankName, " +
+           "p.referenceNumber, p.createdAt, p.updatedAt, " +
+           "po.id, po.policyNumber, c.id, c.firstName, c.lastName, u.id, u.firstName, u.lastName) " +
+           "FROM Payment p JOIN p.policy po JOIN po.customer c LEFT JOIN p.processedBy u";
+    
+    String SEARCH_PREDICATE = "p.paymentReference LIKE %:searchTerm% OR p.policy.policyNumber LIKE %:searchTerm% " +
+           "OR p.policy.customer.firstName LIKE %:searchTerm%";
+    
+    @Query(SUMMARY_SELECT + " WHERE p.id = :id")
+    Optional<PaymentDTO> findSummaryById(@Param("id") Long id);
+    
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(p) FROM Payment p")
+    Page<PaymentDTO> findAllSummaries(Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + " WHERE " + SEARCH_PREDICATE,
+           countQuery = "SELECT COUNT(p) FROM Payment p WHERE " + SEARCH_PREDICATE)
+    Page<PaymentDTO> searchSummaries(@Param("searchTerm") String searchTerm, Pageable pageable);
+    
     Optional<Payment> findByPaymentReference(String paymentReference);
     
     Optional<Payment> findByTransactionId(String transactionId);
     
     Boolean existsByPaymentReference(String paymentReference);
     
+    @Override
+    @EntityGraph("Payment.summary")
+    Page<Payment> findAll(Pageable pageable);
+    
+    @EntityGraph("Payment.summary")
     List<Payment> findByPolicyId(Long policyId);
     
+    @EntityGraph("Payment.summary")
     @Query("SELECT p FROM Payment p WHERE p.policy.customer.id = :customerId")
     List<Payment> findByCustomerId(@Param("customerId") Long customerId);
     
+    @EntityGraph("Payment.summary")
     @Query("SELECT p FROM Payment p WHERE p.status = :status")
     List<Payment> findByStatus(@Param("status") Payment.PaymentStatus status);
     
@@ -36,6 +67,7 @@ public interface PaymentRepository extends BaseRepository<Payment, Long> {
     @Query("SELECT p FROM Payment p WHERE p.paymentMethod = :paymentMethod")
     List<Payment> findByPaymentMethod(@Param("paymentMethod") Payment.PaymentMethod paymentMethod);
     
+    @EntityGraph("Payment.summary")
     @Query("SELECT p FROM Payment p WHERE p.dueDate < CURRENT_DATE AND p.status IN ('PENDING', 'FAILED')")
     List<Payment> findOverduePayments();
     
@@ -83,12 +115,13 @@ public interface PaymentRepository extends BaseRepository<Payment, Long> {
     List<Payment> findCompletedPaymentsByPolicyOrderByDateDesc(@Param("policyId") Long policyId);
     
     // Additional methods needed by services
+    @EntityGraph("Payment.summary")
     @Query("SELECT p FROM Payment p WHERE p.policy.customer.id = :customerId")
     List<Payment> findByPolicyCustomerId(@Param("customerId") Long customerId);
     
-    @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.status = 'COMPLETED' AND DATE(p.paymentDate) BETWEEN :startDate AND :endDate")
-    BigDecimal sumCompletedPaymentAmountsByDateRange(@Param("startDate") LocalDate startDate, 
-                                                    @Param("endDate") LocalDate endDate);
+    default BigDecimal sumCompletedPaymentAmountsByDateRange(LocalDate startDate, LocalDate endDate) {
+        return sumCompletedAmountInRange(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
     
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.status = 'PENDING' AND p.dueDate BETWEEN :startDate AND :endDate")
     BigDecimal sumPendingPaymentAmountsByDateRange(@Param("startDate") LocalDate startDate, 
@@ -100,38 +133,93 @@ public interface PaymentRepository extends BaseRepository<Payment, Long> {
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.status = 'PENDING'")
     BigDecimal sumPendingPaymentAmounts();
     
-    @Query("SELECT COUNT(p) FROM Payment p WHERE p.paymentMethod = :paymentMethod AND p.paymentDate BETWEEN :startDate AND :endDate")
-    long countByPaymentMethodAndDateRange(@Param("paymentMethod") Payment.PaymentMethod paymentMethod, 
-                                         @Param("startDate") LocalDate startDate, 
-                                         @Param("endDate") LocalDate endDate);
+    // Calendar-day report ranges [startDate, endDate] run as half-open timestamp ranges
+    // [startDate 00:00, endDate + 1 day 00:00) so payment_date is compared unwrapped and stays
+    // indexable. The status queries are answered by the (status, payment_date, amount) index
+    // alone. countByPaymentMethodInRange has no status predicate, so it range-scans
+    // idx_payments_date and checks payment_method per row; the completed-amount sum per method
+    // ranges over the status index and reads payment_method from each matching row
+    default long countByPaymentMethodAndDateRange(Payment.PaymentMethod paymentMethod, LocalDate startDate, LocalDate endDate) {
+        return countByPaymentMethodInRange(paymentMethod, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
     
-    @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.paymentMethod = :paymentMethod AND p.status = 'COMPLETED' AND p.paymentDate BETWEEN :startDate AND :endDate")
-    BigDecimal sumRevenueByPaymentMethodAndDateRange(@Param("paymentMethod") Payment.PaymentMethod paymentMethod, 
-                                                    @Param("startDate") LocalDate startDate, 
-                                                    @Param("endDate") LocalDate endDate);
+    default BigDecimal sumRevenueByPaymentMethodAndDateRange(Payment.PaymentMethod paymentMethod, LocalDate startDate, LocalDate endDate) {
+        return sumCompletedAmountByPaymentMethodInRange(paymentMethod, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
     
-    @Query("SELECT COUNT(p) FROM Payment p WHERE p.status = :status AND p.paymentDate BETWEEN :startDate AND :endDate")
-    long countByStatusAndDateRange(@Param("status") Payment.PaymentStatus status, 
-                                  @Param("startDate") LocalDate startDate, 
-                                  @Param("endDate") LocalDate endDate);
+    default long countByStatusAndDateRange(Payment.PaymentStatus status, LocalDate startDate, LocalDate endDate) {
+        return countByStatusInRange(status, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
     
-    @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.status = 'COMPLETED' AND p.paymentDate BETWEEN :startDate AND :endDate")
-    BigDecimal sumRevenueByDateRange(@Param("startDate") LocalDate startDate, 
-                                    @Param("endDate") LocalDate endDate);
+    default BigDecimal sumRevenueByDateRange(LocalDate startDate, LocalDate endDate) {
+        return sumCompletedAmountInRange(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
+    
+    default BigDecimal getAveragePaymentAmount(LocalDate startDate, LocalDate endDate) {
+        return averageCompletedAmountInRange(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
+    
+    default long countByDateRange(LocalDate startDate, LocalDate endDate) {
+        return countInRange(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
+    
+    @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.status = 'COMPLETED' AND p.paymentDate >= :from AND p.paymentDate < :to")
+    BigDecimal sumCompletedAmountInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT AVG(p.amount) FROM Payment p WHERE p.status = 'COMPLETED' AND p.paymentDate >= :from AND p.paymentDate < :to")
+    BigDecimal averageCompletedAmountInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT COUNT(p) FROM Payment p WHERE p.status = :status AND p.paymentDate >= :from AND p.paymentDate < :to")
+    long countByStatusInRange(@Param("status") Payment.PaymentStatus status,
+                              @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT COUNT(p) FROM Payment p WHERE p.paymentDate >= :from AND p.paymentDate < :to")
+    long countInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT COUNT(p) FROM Payment p WHERE p.paymentMethod = :paymentMethod AND p.paymentDate >= :from AND p.paymentDate < :to")
+    long countByPaymentMethodInRange(@Param("paymentMethod") Payment.PaymentMethod paymentMethod,
+                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.status = 'COMPLETED' AND p.paymentMethod = :paymentMethod " +
+           "AND p.paymentDate >= :from AND p.paymentDate < :to")
+    BigDecimal sumCompletedAmountByPaymentMethodInRange(@Param("paymentMethod") Payment.PaymentMethod paymentMethod,
+                                                        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // One GROUP BY per breakdown instead of a query per method, status or day of the report range
+    String TOTALS_COLUMNS = "COUNT(p), SUM(CASE WHEN p.status = 'COMPLETED' THEN p.amount END))" +
+                            " FROM Payment p WHERE p.paymentDate >= :from AND p.paymentDate < :to";
+    
+    @Query("SELECT new com.thaiinsurance.autoinsurance.dto.PaymentTotals(p.paymentMethod, " + TOTALS_COLUMNS +
+           " GROUP BY p.paymentMethod")
+    List<PaymentTotals> totalsByPaymentMethodInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT new com.thaiinsurance.autoinsurance.dto.PaymentTotals(p.status, " + TOTALS_COLUMNS +
+           " GROUP BY p.status")
+    List<PaymentTotals> totalsByStatusInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // Days are calendar days of the stored payment_date, i.e. in the JDBC time zone (Asia/Bangkok)
+    @Query("SELECT new com.thaiinsurance.autoinsurance.dto.PaymentTotals(cast(p.paymentDate as LocalDate), " +
+           TOTALS_COLUMNS + " GROUP BY cast(p.paymentDate as LocalDate)")
+    List<PaymentTotals> totalsByDayInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    default List<PaymentTotals> totalsByPaymentMethod(LocalDate startDate, LocalDate endDate) {
+        return totalsByPaymentMethodInRange(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
     
-    @Query("SELECT AVG(p.amount) FROM Payment p WHERE p.status = 'COMPLETED' AND p.paymentDate BETWEEN :startDate AND :endDate")
-    BigDecimal getAveragePaymentAmount(@Param("startDate") LocalDate startDate, 
-                                      @Param("endDate") LocalDate endDate);
+    default List<PaymentTotals> totalsByStatus(LocalDate startDate, LocalDate endDate) {
+        return totalsByStatusInRange(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
     
-    @Query("SELECT COUNT(p) FROM Payment p WHERE p.paymentDate BETWEEN :startDate AND :endDate")
-    long countByDateRange(@Param("startDate") LocalDate startDate, 
-                         @Param("endDate") LocalDate endDate);
+    default List<PaymentTotals> totalsByDay(LocalDate startDate, LocalDate endDate) {
+        return totalsByDayInRange(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
     
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.policy.id = :policyId AND p.status = 'COMPLETED'")
     BigDecimal sumCompletedPaymentAmountsByPolicy(@Param("policyId") Long policyId);
     
     // Additional methods needed by PaymentService
-    @Query("SELECT p FROM Payment p WHERE p.paymentReference LIKE %:searchTerm% OR p.policy.policyNumber LIKE %:searchTerm% OR p.policy.customer.firstName LIKE %:searchTerm%")
+    @EntityGraph("Payment.summary")
+    @Query("SELECT p FROM Payment p WHERE " + SEARCH_PREDICATE)
     Page<Payment> searchPayments(@Param("searchTerm") String searchTerm, Pageable pageable);
     
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.status = 'COMPLETED'")
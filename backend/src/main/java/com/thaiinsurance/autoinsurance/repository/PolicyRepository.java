@@ -1,26 +1,71 @@
 package com.thaiinsurance.autoinsurance.repository;
 
+import com.thaiinsurance.autoinsurance.dto.PolicyDTO;
 import com.thaiinsurance.autoinsurance.model.Policy;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PolicyRepository extends BaseRepository<Policy, Long> {
     
-    Optional<Policy> findByPolicyNumber(String policyNumber);
+    default Optional<Policy> findByPolicyNumber(String policyNumber) {
+        return findBySimpleNaturalId(policyNumber);
+    }
     
     Boolean existsByPolicyNumber(String policyNumber);
     
+    @Override
+    @EntityGraph("Policy.summary")
+    org.springframework.data.domain.Page<Policy> findAll(org.springframework.data.domain.Pageable pageable);
+    
+    // Constructor projection for list views: one joined SELECT, no managed entities
+    String SUMMARY_SELECT = "SELECT new com.thaiinsurance.autoinsurance.dto.PolicyDTO(" +
+           "p.id, p.policyNumber, p.policyType, p.coverageType, p.startDate, p.endDate, " +
+           "p.premiumAmount, p.sumInsured, p.deductible, p.status, p.issuedDate, p.cancelledDate, " +
+           "p.cancellationReason, p.remarks, p.createdAt, p.updatedAt, " +
+           "c.id, c.firstName, c.lastName, c.email, " +
+           "v.id, v.licensePlate, v.make, v.model, v.year, " +
+           "a.id, a.firstName, a.lastName) " +
+           "FROM Policy p JOIN p.customer c JOIN p.vehicle v LEFT JOIN p.agent a";
+    
+    String SEARCH_PREDICATE = "LOWER(p.policyNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(p.customer.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(p.customer.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(p.vehicle.licensePlate) LIKE LOWER(CONCAT('%', :searchTerm, '%'))";
+    
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(p) FROM Policy p")
+    org.springframework.data.domain.Page<PolicyDTO> findAllSummaries(org.springframework.data.domain.Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + " WHERE " + SEARCH_PREDICATE,
+           countQuery = "SELECT COUNT(p) FROM Policy p WHERE " + SEARCH_PREDICATE)
+    org.springframework.data.domain.Page<PolicyDTO> searchSummaries(@Param("searchTerm") String searchTerm,
+                                                                   org.springframework.data.domain.Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + " WHERE p.id = :id")
+    Optional<PolicyDTO> findSummaryById(@Param("id") Long id);
+    
+    @Query(SUMMARY_SELECT + " WHERE p.id = :id AND c.id IN :customerIds")
+    Optional<PolicyDTO> findSummaryByIdAndCustomerIdIn(@Param("id") Long id,
+                                                       @Param("customerIds") Collection<Long> customerIds);
+    
+    @Query("SELECT p.customer.id FROM Policy p WHERE p.id = :id")
+    Optional<Long> findCustomerIdById(@Param("id") Long id);
+    
+    @EntityGraph("Policy.summary")
     List<Policy> findByCustomerId(Long customerId);
     
+    @EntityGraph("Policy.summary")
     List<Policy> findByVehicleId(Long vehicleId);
     
+    @EntityGraph("Policy.summary")
     @Query("SELECT p FROM Policy p WHERE p.status = :status")
     List<Policy> findByStatus(@Param("status") Policy.PolicyStatus status);
     
@@ -68,13 +113,12 @@ public interface PolicyRepository extends BaseRepository<Policy, Long> {
     List<Policy> findCurrentlyActivePolicies();
     
     // Additional methods needed by services
-    @Query("SELECT p FROM Policy p WHERE LOWER(p.policyNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(p.customer.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(p.customer.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(p.vehicle.licensePlate) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    @EntityGraph("Policy.summary")
+    @Query("SELECT p FROM Policy p WHERE " + SEARCH_PREDICATE)
     org.springframework.data.domain.Page<Policy> searchPolicies(@Param("searchTerm") String searchTerm, 
                                                               org.springframework.data.domain.Pageable pageable);
     
+    @EntityGraph("Policy.summary")
     @Query("SELECT p FROM Policy p WHERE p.endDate <= :expiryDate AND p.status = 'ACTIVE'")
     List<Policy> findExpiringPolicies(@Param("expiryDate") LocalDate expiryDate);
     
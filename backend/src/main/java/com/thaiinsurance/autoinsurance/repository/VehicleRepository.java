@@ -1,18 +1,52 @@
 package com.thaiinsurance.autoinsurance.repository;
 
+import com.thaiinsurance.autoinsurance.dto.VehicleDTO;
 import com.thaiinsurance.autoinsurance.model.Vehicle;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface VehicleRepository extends BaseRepository<Vehicle, Long> {
     
-    Optional<Vehicle> findByLicensePlate(String licensePlate);
+    // Constructor projection shared by the read-model queries below
+    String SUMMARY_SELECT = "SELECT new com.thaiinsurance.autoinsurance.dto.VehicleDTO(" +
+           "v.id, v.licensePlate, v.chassisNumber, v.engineNumber, v.make, v.model, v.year, v.color, " +
+           "v.vehicleType, v.fuelType, v.usageType, v.status, v.isActive, v.marketValue, " +
+           "v.registrationDate, v.registrationProvince, v.createdAt, v.updatedAt, " +
+           "c.id, c.firstName, c.lastName, o.id, o.firstName, o.lastName) " +
+           "FROM Vehicle v JOIN v.customer c LEFT JOIN v.owner o";
+    
+    String SEARCH_PREDICATE = "LOWER(v.licensePlate) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(v.chassisNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(v.make) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(v.model) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(v.customer.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(v.customer.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))";
+    
+    @Query(SUMMARY_SELECT + " WHERE v.id = :id")
+    Optional<VehicleDTO> findSummaryById(@Param("id") Long id);
+    
+    @Query(SUMMARY_SELECT + " WHERE v.id = :id AND (c.id IN :customerIds OR o.id IN :customerIds)")
+    Optional<VehicleDTO> findSummaryByIdAndCustomerIdIn(@Param("id") Long id,
+                                                        @Param("customerIds") Collection<Long> customerIds);
+    
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(v) FROM Vehicle v")
+    org.springframework.data.domain.Page<VehicleDTO> findAllSummaries(org.springframework.data.domain.Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + " WHERE " + SEARCH_PREDICATE,
+           countQuery = "SELECT COUNT(v) FROM Vehicle v WHERE " + SEARCH_PREDICATE)
+    org.springframework.data.domain.Page<VehicleDTO> searchSummaries(@Param("searchTerm") String searchTerm,
+                                                                    org.springframework.data.domain.Pageable pageable);
+    
+    default Optional<Vehicle> findByLicensePlate(String licensePlate) {
+        return findBySimpleNaturalId(licensePlate);
+    }
     
     Optional<Vehicle> findByChassisNumber(String chassisNumber);
     
@@ -64,12 +98,7 @@ public interface VehicleRepository extends BaseRepository<Vehicle, Long> {
     
     List<Vehicle> findByYearBetween(Integer startYear, Integer endYear);
     
-    @Query("SELECT v FROM Vehicle v WHERE LOWER(v.licensePlate) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(v.chassisNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(v.make) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(v.model) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(v.customer.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(v.customer.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    @Query("SELECT v FROM Vehicle v WHERE " + SEARCH_PREDICATE)
     org.springframework.data.domain.Page<Vehicle> searchVehicles(@Param("searchTerm") String searchTerm, 
                                                                org.springframework.data.domain.Pageable pageable);
     
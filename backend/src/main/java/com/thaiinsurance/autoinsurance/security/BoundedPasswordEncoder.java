@@ -0,0 +1,127 @@
+package com.thaiinsurance.autoinsurance.security;
+
+import com.thaiinsurance.autoinsurance.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a dedicated pool sized to the cores, so a login storm cannot take
+ * the CPU away from the request threads serving every other endpoint. Work beyond the pool's
+ * bounded queue, or waiting longer than the timeout, fails fast with {@link ServiceBusyException}
+ * instead of piling up.
+ * <p>
+ * Latency, queue wait included, is recorded as {@code auth.password.hashing} by outcome.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    private final Timer matched;
+    private final Timer mismatched;
+    private final Timer encoded;
+    private final Timer rejected;
+    private final Timer timedOut;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  long timeoutMillis, long retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.matched = timer("match", meterRegistry);
+        this.mismatched = timer("mismatch", meterRegistry);
+        this.encoded = timer("encoded", meterRegistry);
+        this.rejected = timer("rejected", meterRegistry);
+        this.timedOut = timer("timeout", meterRegistry);
+        Gauge.builder("auth.password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = System.nanoTime();
+        String result = execute(() -> delegate.encode(rawPassword), start);
+        encoded.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        boolean result = execute(() -> delegate.matches(rawPassword, encodedPassword), start);
+        (result ? matched : mismatched).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T execute(Callable<T> task, long start) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw busy();
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private ServiceBusyException busy() {
+        return new ServiceBusyException("Too many sign-in attempts, please retry shortly", retryAfterSeconds);
+    }
+
+    private static Timer timer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("auth.password.hashing")
+                .description("Password hashing latency including queue wait, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
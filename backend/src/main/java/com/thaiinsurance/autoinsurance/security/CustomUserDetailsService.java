@@ -3,14 +3,19 @@ package com.thaiinsurance.autoinsurance.security;
 import com.thaiinsurance.autoinsurance.model.User;
 import com.thaiinsurance.autoinsurance.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
     
     @Autowired
     private UserRepository userRepository;
@@ -40,4 +45,21 @@ public class CustomUserDetailsService implements UserDetailsService {
         
         return UserPrincipal.create(user);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Store a stronger hash of the password just verified at login (rehash-on-login)
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        Long userId = ((UserPrincipal) userDetails).getId();
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId));
+        
+        user.upgradePasswordHash(newEncodedPassword);
+        userRepository.save(user);
+        logger.debug("Upgraded password hash of user {}", userId);
+        
+        return UserPrincipal.create(user);
+    }
+}
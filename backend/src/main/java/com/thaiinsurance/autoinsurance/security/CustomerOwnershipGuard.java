@@ -0,0 +1,146 @@
+package com.thaiinsurance.autoinsurance.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thaiinsurance.autoinsurance.model.Role;
+import com.thaiinsurance.autoinsurance.repository.CustomerRepository;
+import com.thaiinsurance.autoinsurance.repository.PolicyRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which customers the caller may act for. Staff roles may act for any customer; a
+ * customer user only for the customers linked to their account. Those ids are cached per user,
+ * so ownership is checked in memory instead of through {@code Customer.user} on every request,
+ * and list or lookup queries can take them as a tenant predicate via {@link #customerScope()}.
+ * <p>
+ * Entries are evicted after the transaction that links a customer to a user commits; the TTL
+ * bounds staleness on other nodes.
+ */
+@Component
+public class CustomerOwnershipGuard {
+
+    private static final Set<Role> STAFF = EnumSet.complementOf(EnumSet.of(Role.CUSTOMER));
+    private static final long STAFF_ROLES = Role.maskOf(STAFF);
+    private static final Set<String> STAFF_AUTHORITIES = STAFF.stream()
+        .map(Role::getAuthority)
+        .collect(Collectors.toUnmodifiableSet());
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Value("${app.customer-ownership.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.customer-ownership.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<Long, Set<Long>> customerIds;
+
+    @PostConstruct
+    void init() {
+        customerIds = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+    }
+
+    /**
+     * Customer ids the caller is limited to, or null if the caller may act for any customer.
+     * An empty set means no customer at all.
+     */
+    public Set<Long> customerScope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return Set.of();
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            if ((principal.getRoleMask() & STAFF_ROLES) != 0) {
+                return null;
+            }
+            return principal.getId() != null ? customerIds.get(principal.getId(), this::load) : Set.of();
+        }
+        // Authentications without our principal, e.g. from tests, carry no customer link
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (STAFF_AUTHORITIES.contains(authority.getAuthority())) {
+                return null;
+            }
+        }
+        return Set.of();
+    }
+
+    public boolean canActFor(Long customerId) {
+        Set<Long> scope = customerScope();
+        return scope == null || (customerId != null && scope.contains(customerId));
+    }
+
+    /**
+     * @throws AccessDeniedException if the caller may not act for the customer
+     */
+    public void checkCustomer(Long customerId) {
+        if (!canActFor(customerId)) {
+            throw new AccessDeniedException("Access denied to customer " + customerId);
+        }
+    }
+
+    /**
+     * Whether the caller may act for the customer holding the policy. Unrestricted callers are
+     * answered without a query; a customer user costs one lookup of the policy's customer id.
+     */
+    public boolean canActForPolicy(Long policyId) {
+        Set<Long> scope = customerScope();
+        if (scope == null) {
+            return true;
+        }
+        return policyId != null && !scope.isEmpty()
+            && policyRepository.findCustomerIdById(policyId).map(scope::contains).orElse(false);
+    }
+
+    /**
+     * @throws AccessDeniedException if the caller may not act for the customer holding the policy
+     */
+    public void checkPolicy(Long policyId) {
+        if (!canActForPolicy(policyId)) {
+            throw new AccessDeniedException("Access denied to policy " + policyId);
+        }
+    }
+
+    /**
+     * Forget the user's customers once the current transaction commits, or now if there is none
+     */
+    public void evictAfterCommit(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    customerIds.invalidate(userId);
+                }
+            });
+        } else {
+            customerIds.invalidate(userId);
+        }
+    }
+
+    private Set<Long> load(Long userId) {
+        return Set.copyOf(customerRepository.findIdsByUserId(userId));
+    }
+}
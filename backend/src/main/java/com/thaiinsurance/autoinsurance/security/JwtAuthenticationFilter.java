@@ -1,5 +1,10 @@
 package com.thaiinsurance.autoinsurance.security;
 
+import com.thaiinsurance.autoinsurance.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,14 +12,21 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Authenticates requests from the bearer token alone: the principal is rebuilt from the signed
+ * claims and the token's version is checked against {@link TokenVersionCache}, so an
+ * authenticated request does not load the user. Logged-out tokens are rejected through the
+ * in-memory deny-list of {@link TokenRevocationService}; the cost of that check is recorded as
+ * {@code auth.token.revocation.check}.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
@@ -22,7 +34,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtTokenUtil jwtTokenUtil;
     
     @Autowired
-    private CustomUserDetailsService customUserDetailsService;
+    private TokenVersionCache tokenVersionCache;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Timer revocationCheckTimer;
+    
+    @PostConstruct
+    void init() {
+        revocationCheckTimer = Timer.builder("auth.token.revocation.check")
+                .description("Time spent checking bearer tokens against the revocation deny-list")
+                .register(meterRegistry);
+    }
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
@@ -31,15 +58,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && jwtTokenUtil.validateToken(jwt)) {
-                Long userId = jwtTokenUtil.getUserIdFromToken(jwt);
-                
-                UserDetails userDetails = customUserDetailsService.loadUserById(userId);
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            // One verification (or verified-token cache hit) per request
+            Claims claims = StringUtils.hasText(jwt) ? jwtTokenUtil.verifyToken(jwt) : null;
+            if (claims != null && !isRevoked(claims)) {
+                UserPrincipal principal = jwtTokenUtil.getPrincipalFromClaims(claims);
                 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                // Refresh tokens, deactivated users and revoked versions stay unauthenticated
+                if (principal != null && principal.isEnabled()
+                        && tokenVersionCache.isCurrent(principal.getId(), principal.getTokenVersion())) {
+                    UsernamePasswordAuthenticationToken authentication = 
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -48,6 +80,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    private boolean isRevoked(Claims claims) {
+        long start = System.nanoTime();
+        try {
+            return tokenRevocationService.isRevoked(claims.getId(), claims.getExpiration());
+        } finally {
+            revocationCheckTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
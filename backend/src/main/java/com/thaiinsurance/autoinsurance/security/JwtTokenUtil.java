@@ -1,20 +1,39 @@
 package com.thaiinsurance.autoinsurance.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.thaiinsurance.autoinsurance.model.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Issues and verifies JWTs. The signing key and parser are built once, and verified tokens are
+ * kept in a bounded cache keyed by their SHA-256 digest until they expire, so a token reused
+ * across the requests of a page load is verified (HS512 plus JSON parsing) only once.
+ */
 @Component
 public class JwtTokenUtil {
     
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenUtil.class);
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
@@ -24,8 +43,53 @@ public class JwtTokenUtil {
     @Value("${jwt.refresh-expiration}")
     private long refreshExpiration;
     
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+    
+    // Cap on how long a verified token is trusted without re-checking its signature
+    @Value("${jwt.verified-cache.max-ttl-seconds:300}")
+    private long verifiedCacheMaxTtlSeconds;
+    
+    private SecretKey signingKey;
+    
+    private JwtParser parser;
+    
+    private Cache<String, Claims> verifiedTokens;
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        long maxTtlNanos = TimeUnit.SECONDS.toNanos(verifiedCacheMaxTtlSeconds);
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                        // Never outlive the token itself
+                        if (claims.getExpiration() == null) {
+                            return maxTtlNanos;
+                        }
+                        long untilExpiry = TimeUnit.MILLISECONDS.toNanos(
+                                claims.getExpiration().getTime() - System.currentTimeMillis());
+                        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+    
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
     
     public String generateAccessToken(Authentication authentication) {
@@ -33,28 +97,46 @@ public class JwtTokenUtil {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpiration);
         
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userPrincipal.getUsername())
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
                 .claim("userId", userPrincipal.getId())
                 .claim("email", userPrincipal.getEmail())
+                .claim("firstName", userPrincipal.getFirstName())
+                .claim("lastName", userPrincipal.getLastName())
                 .claim("roles", userPrincipal.getRoles().stream()
                         .map(Role::name)
                         .collect(Collectors.toList()))
+                .claim("active", userPrincipal.isEnabled())
+                .claim("ver", userPrincipal.getTokenVersion())
                 .signWith(getSigningKey(), SignatureAlgorithm.HS512)
                 .compact();
     }
     
+    /**
+     * Refresh token starting a new family (login session)
+     */
     public String generateRefreshToken(Authentication authentication) {
+        return generateRefreshToken(authentication, UUID.randomUUID().toString());
+    }
+    
+    /**
+     * Refresh token in an existing family, issued when the previous one is rotated
+     */
+    public String generateRefreshToken(Authentication authentication, String familyId) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         Date expiryDate = new Date(System.currentTimeMillis() + refreshExpiration);
         
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userPrincipal.getUsername())
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
                 .claim("userId", userPrincipal.getId())
                 .claim("type", "refresh")
+                .claim("fam", familyId)
+                .claim("ver", userPrincipal.getTokenVersion())
                 .signWith(getSigningKey(), SignatureAlgorithm.HS512)
                 .compact();
     }
@@ -80,17 +162,74 @@ public class JwtTokenUtil {
         return Set.copyOf(claims.get("roles", java.util.List.class));
     }
     
+    public Integer getTokenVersionFromToken(String token) {
+        Claims claims = getClaimsFromToken(token);
+        return claims.get("ver", Integer.class);
+    }
+    
+    /**
+     * Rebuild the principal from the claims of a signed access token, without loading the user.
+     * Returns null for refresh tokens and for tokens issued before versions were added.
+     */
+    public UserPrincipal getPrincipalFromToken(String token) {
+        return getPrincipalFromClaims(getClaimsFromToken(token));
+    }
+    
+    /**
+     * Principal for the claims returned by {@link #verifyToken}, or null if they are not those
+     * of a current access token
+     */
+    public UserPrincipal getPrincipalFromClaims(Claims claims) {
+        Integer tokenVersion = claims.get("ver", Integer.class);
+        if ("refresh".equals(claims.get("type")) || tokenVersion == null) {
+            return null;
+        }
+        Set<Role> roles = ((java.util.List<?>) claims.get("roles", java.util.List.class)).stream()
+                .map(role -> Role.valueOf(role.toString()))
+                .collect(Collectors.toSet());
+        return new UserPrincipal(
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                claims.get("email", String.class),
+                null,
+                claims.get("firstName", String.class),
+                claims.get("lastName", String.class),
+                roles,
+                Boolean.TRUE.equals(claims.get("active", Boolean.class)),
+                tokenVersion
+        );
+    }
+    
     public Date getExpirationDateFromToken(String token) {
         Claims claims = getClaimsFromToken(token);
         return claims.getExpiration();
     }
     
+    /**
+     * Verified claims of the token, from the cache when it was verified before
+     *
+     * @throws JwtException if the token is malformed, expired or wrongly signed
+     */
     private Claims getClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        String digest = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(digest);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
+    }
+    
+    /**
+     * Base64 SHA-256 digest of a token, used wherever a token has to be stored or looked up
+     */
+    public static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
     
     public boolean isTokenExpired(String token) {
@@ -103,24 +242,29 @@ public class JwtTokenUtil {
     }
     
     public boolean validateToken(String token) {
+        return verifyToken(token) != null;
+    }
+    
+    /**
+     * Verify the token once and return its claims, or null if it is not valid
+     */
+    public Claims verifyToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (SecurityException ex) {
-            System.err.println("Invalid JWT signature");
+            return getClaimsFromToken(token);
+        } catch (io.jsonwebtoken.security.SecurityException ex) {
+            logger.debug("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
-            System.err.println("Invalid JWT token");
+            logger.debug("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
-            System.err.println("Expired JWT token");
+            logger.debug("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
-            System.err.println("Unsupported JWT token");
+            logger.debug("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
-            System.err.println("JWT claims string is empty");
+            logger.debug("JWT claims string is empty");
+        } catch (JwtException ex) {
+            logger.debug("Invalid JWT: {}", ex.getMessage());
         }
-        return false;
+        return null;
     }
     
     public boolean isRefreshToken(String token) {
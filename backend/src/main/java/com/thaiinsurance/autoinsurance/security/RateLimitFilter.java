@@ -0,0 +1,117 @@
+package com.thaiinsurance.autoinsurance.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thaiinsurance.autoinsurance.config.RateLimitProperties;
+import com.thaiinsurance.autoinsurance.dto.ApiResponse;
+import com.thaiinsurance.autoinsurance.util.TokenBucketLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the routes configured under {@code app.rate-limit.routes} with a token bucket per
+ * route and client. Runs after JWT authentication so routes can be limited per user; requests
+ * over the limit get 429 with a {@code Retry-After} header before reaching the controller.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_CLIENT_ID_LENGTH = 64;
+
+    private final RateLimitProperties properties;
+    private final TokenBucketLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    // Decodes and strips ;params the way MVC does before routing, so /api/auth/%6Cogin or
+    // /api/auth/login;x=1 cannot reach a handler without matching its route
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public RateLimitFilter(RateLimitProperties properties, TokenBucketLimiter limiter,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || properties.getRoutes().isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        for (Map.Entry<String, RateLimitProperties.Route> entry : properties.getRoutes().entrySet()) {
+            RateLimitProperties.Route route = entry.getValue();
+            if (!matches(route, request.getMethod(), path)) {
+                continue;
+            }
+            long waitNanos = limiter.tryAcquire(entry.getKey() + "|" + clientKey(route, request),
+                route.getCapacity(), route.getRefillPerMinute() / 60.0);
+            if (waitNanos > 0) {
+                reject(entry.getKey(), waitNanos, request, response);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean matches(RateLimitProperties.Route route, String method, String path) {
+        return (route.getMethod() == null || route.getMethod().equalsIgnoreCase(method))
+            && pathMatcher.match(route.getPattern(), path);
+    }
+
+    private String clientKey(RateLimitProperties.Route route, HttpServletRequest request) {
+        if (route.getKey() == RateLimitProperties.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+                return "user:" + principal.getId();
+            }
+        } else if (route.getKey() == RateLimitProperties.KeyType.CLIENT) {
+            String clientId = request.getHeader(properties.getClientHeader());
+            if (clientId != null && !clientId.isBlank()) {
+                // Bounded so arbitrary header values cannot blow up the key size
+                return "client:" + (clientId.length() > MAX_CLIENT_ID_LENGTH
+                    ? clientId.substring(0, MAX_CLIENT_ID_LENGTH) : clientId);
+            }
+        }
+        // The real client behind the load balancer: server.forward-headers-strategy resolves
+        // X-Forwarded-For, but only from the proxies listed in server.tomcat.remoteip.internal-proxies
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(String routeName, long waitNanos, HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+        Counter.builder("http.rate_limit.rejections")
+            .description("Requests rejected by the rate limiter")
+            .tag("route", routeName)
+            .register(meterRegistry)
+            .increment();
+
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil((double) waitNanos / TimeUnit.SECONDS.toNanos(1)));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        ApiResponse<String> apiResponse = ApiResponse.error("Too many requests, please retry later");
+        apiResponse.setPath(request.getRequestURI());
+        objectMapper.writeValue(response.getOutputStream(), apiResponse);
+    }
+}
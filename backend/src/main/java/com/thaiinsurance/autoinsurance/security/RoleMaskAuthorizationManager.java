@@ -0,0 +1,127 @@
+package com.thaiinsurance.autoinsurance.security;
+
+import com.thaiinsurance.autoinsurance.model.Role;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Decides {@code @PreAuthorize} checks without evaluating SpEL for the common case. Expressions
+ * that are only {@code hasRole('X')} or {@code hasAnyRole('X', ...)} are compiled once per method
+ * into a role bitmask and checked against {@link UserPrincipal#getRoleMask()}; anything else
+ * (bean references, argument checks) goes to the SpEL manager given as fallback.
+ */
+public class RoleMaskAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final Pattern ROLE_EXPRESSION =
+        Pattern.compile("^\\s*has(?:Any)?Role\\(\\s*('\\w+'(?:\\s*,\\s*'\\w+')*)\\s*\\)\\s*$");
+
+    // Marks methods whose expression is not a plain role check; a compiled mask is never 0
+    private static final long USE_SPEL = 0L;
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final AuthorizationManager<MethodInvocation> spelFallback;
+    private final Map<Method, Long> requiredMasks = new ConcurrentHashMap<>();
+
+    public RoleMaskAuthorizationManager(AuthorizationManager<MethodInvocation> spelFallback) {
+        this.spelFallback = spelFallback;
+    }
+
+    /**
+     * Compile the rules of every {@code @PreAuthorize} method on the class up front
+     *
+     * @return the number of methods whose rule compiled to a role mask
+     */
+    public int precompile(Class<?> targetClass) {
+        int compiled = 0;
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(targetClass, ReflectionUtils.USER_DECLARED_METHODS)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, PreAuthorize.class)
+                    || AnnotatedElementUtils.hasAnnotation(targetClass, PreAuthorize.class)) {
+                if (requiredMasks.computeIfAbsent(method, m -> compile(m, targetClass)) != USE_SPEL) {
+                    compiled++;
+                }
+            }
+        }
+        return compiled;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        long required = requiredMasks.computeIfAbsent(invocation.getMethod(), method -> compile(method,
+            invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : method.getDeclaringClass()));
+        if (required == USE_SPEL) {
+            return spelFallback.check(authentication, invocation);
+        }
+        return (grantedMask(authentication.get()) & required) != 0 ? GRANTED : DENIED;
+    }
+
+    /**
+     * Role mask for a rule, or {@link #USE_SPEL} if it is anything but a check of known roles
+     */
+    static long compile(String expression) {
+        Matcher matcher = ROLE_EXPRESSION.matcher(expression);
+        if (!matcher.matches()) {
+            return USE_SPEL;
+        }
+        long mask = 0;
+        for (String quoted : matcher.group(1).split(",")) {
+            String name = quoted.trim().replace("'", "");
+            if (name.startsWith("ROLE_")) {
+                name = name.substring("ROLE_".length());
+            }
+            try {
+                mask |= Role.valueOf(name).getMask();
+            } catch (IllegalArgumentException e) {
+                // A role the enum does not know; leave the decision to SpEL
+                return USE_SPEL;
+            }
+        }
+        return mask;
+    }
+
+    private static long compile(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        PreAuthorize preAuthorize = AnnotatedElementUtils.findMergedAnnotation(specificMethod, PreAuthorize.class);
+        if (preAuthorize == null) {
+            preAuthorize = AnnotatedElementUtils.findMergedAnnotation(targetClass, PreAuthorize.class);
+        }
+        return preAuthorize != null ? compile(preAuthorize.value()) : USE_SPEL;
+    }
+
+    private static long grantedMask(Authentication authentication) {
+        if (authentication == null) {
+            return 0;
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getRoleMask();
+        }
+        // Other authentications, e.g. from tests, are mapped from their authorities
+        long mask = 0;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith("ROLE_")) {
+                try {
+                    mask |= Role.valueOf(name.substring("ROLE_".length())).getMask();
+                } catch (IllegalArgumentException e) {
+                    // Not one of ours, e.g. ROLE_ANONYMOUS
+                }
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,92 @@
+package com.thaiinsurance.autoinsurance.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Current token version and access state of recently active users. Requests are authenticated
+ * from the access token alone; this cache answers whether the token's version is still current,
+ * so deactivating, locking or changing the role or password of a user (all of which bump
+ * {@code users.token_version}) takes effect without reading the user row on every request.
+ * <p>
+ * Entries are evicted after the transaction that changed the user commits, and on other nodes
+ * through the cache invalidation log; the TTL bounds staleness when that log is disabled.
+ */
+@Component
+public class TokenVersionCache {
+
+    private static final UserState MISSING = new UserState(-1, false);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.token-versions.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.token-versions.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private Cache<Long, UserState> states;
+
+    @PostConstruct
+    void init() {
+        states = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+    }
+
+    /**
+     * Whether a token issued with {@code tokenVersion} still grants access to the user
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        UserState state = states.get(userId, this::load);
+        return state.usable() && state.tokenVersion() == tokenVersion;
+    }
+
+    /**
+     * Forget the user's state once the current transaction commits, or now if there is none
+     */
+    public void evictAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    public void evict(Long userId) {
+        states.invalidate(userId);
+    }
+
+    public long size() {
+        return states.estimatedSize();
+    }
+
+    private UserState load(Long userId) {
+        List<UserState> rows = jdbcTemplate.query(
+            "SELECT token_version, is_active, account_locked FROM users WHERE id = ?",
+            (rs, rowNum) -> new UserState(rs.getInt("token_version"),
+                rs.getBoolean("is_active") && !rs.getBoolean("account_locked")),
+            userId);
+        // Deleted users are cached too, so a token for one cannot force a read per request
+        return rows.isEmpty() ? MISSING : rows.get(0);
+    }
+
+    private record UserState(int tokenVersion, boolean usable) {}
+}
@@ -20,9 +20,14 @@ public class UserPrincipal implements UserDetails {
     private String lastName;
     private Set<Role> roles;
     private boolean isActive;
+    private int tokenVersion;
+    private boolean accountNonLocked = true;
+    // Precomputed so authorization checks are a single AND instead of an authority scan
+    private long roleMask;
     
     public UserPrincipal(Long id, String username, String email, String password,
-                        String firstName, String lastName, Set<Role> roles, boolean isActive) {
+                        String firstName, String lastName, Set<Role> roles, boolean isActive,
+                        int tokenVersion) {
         this.id = id;
         this.username = username;
         this.email = email;
@@ -30,11 +35,13 @@ public class UserPrincipal implements UserDetails {
         this.firstName = firstName;
         this.lastName = lastName;
         this.roles = roles;
+        this.roleMask = Role.maskOf(roles);
         this.isActive = isActive;
+        this.tokenVersion = tokenVersion;
     }
     
     public static UserPrincipal create(User user) {
-        return new UserPrincipal(
+        UserPrincipal principal = new UserPrincipal(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
@@ -42,8 +49,11 @@ public class UserPrincipal implements UserDetails {
                 user.getFirstName(),
                 user.getLastName(),
                 user.getRoles(),
-                user.getIsActive()
+                user.getIsActive(),
+                user.getTokenVersion() != null ? user.getTokenVersion() : 0
         );
+        principal.accountNonLocked = !Boolean.TRUE.equals(user.getAccountLocked());
+        return principal;
     }
     
     @Override
@@ -70,7 +80,7 @@ public class UserPrincipal implements UserDetails {
     
     @Override
     public boolean isAccountNonLocked() {
-        return true;
+        return accountNonLocked;
     }
     
     @Override
@@ -104,6 +114,10 @@ public class UserPrincipal implements UserDetails {
         return roles;
     }
     
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+    
     public String getFullName() {
         if (firstName != null && lastName != null) {
             return firstName + " " + lastName;
@@ -115,6 +129,10 @@ public class UserPrincipal implements UserDetails {
         return username;
     }
     
+    public long getRoleMask() {
+        return roleMask;
+    }
+    
     public boolean hasRole(Role role) {
         return roles.contains(role);
     }
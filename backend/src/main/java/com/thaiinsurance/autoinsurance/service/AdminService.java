@@ -2,7 +2,6 @@ package com.thaiinsurance.autoinsurance.service;
 
 import com.thaiinsurance.autoinsurance.dto.PolicyDTO;
 import com.thaiinsurance.autoinsurance.model.Customer;
-import com.thaiinsurance.autoinsurance.model.Policy;
 import com.thaiinsurance.autoinsurance.model.Role;
 import com.thaiinsurance.autoinsurance.model.User;
 import com.thaiinsurance.autoinsurance.repository.CustomerRepository;
@@ -58,8 +57,7 @@ public class AdminService {
     }
 
     public Page<PolicyDTO> getAllPolicies(Pageable pageable) {
-        Page<Policy> policies = policyRepository.findAll(pageable);
-        return policies.map(PolicyDTO::new);
+        return policyRepository.findAllSummaries(pageable);
     }
 
     public Page<User> searchUsers(String searchTerm, Pageable pageable) {
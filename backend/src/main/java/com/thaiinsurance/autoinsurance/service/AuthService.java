@@ -37,6 +37,9 @@ public class AuthService {
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
     
+    @Autowired
+    private LoginActivityService loginActivityService;
+    
     /**
      * Register new customer user
      */
@@ -172,6 +175,11 @@ public class AuthService {
         user.setPasswordResetTokenExpiry(null);
         user.setUpdatedAt(LocalDateTime.now());
         
+        // Resetting the password is the way out of a failed-attempt lockout
+        user.setAccountLocked(false);
+        user.setFailedLoginAttempts(0);
+        loginActivityService.clearFailures(user.getId());
+        
         userRepository.save(user);
         
         logger.info("Password successfully reset for user: {}", user.getId());
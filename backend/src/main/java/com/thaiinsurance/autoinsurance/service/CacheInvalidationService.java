@@ -0,0 +1,142 @@
+package com.thaiinsurance.autoinsurance.service;
+
+import com.thaiinsurance.autoinsurance.model.User;
+import com.thaiinsurance.autoinsurance.security.TokenVersionCache;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the Hibernate second-level cache coherent across nodes. Every node writes a row to
+ * {@code cache_invalidations} when it changes a cached entity and polls the table for rows
+ * written by other nodes, evicting those entities from its local regions.
+ * <p>
+ * Each poll reads a trailing window of {@code created_at} rather than rows past the highest id
+ * seen: ids are assigned at insert but become visible at commit, so a row with a lower id can
+ * appear after a higher one. Rows already applied are remembered until they leave the window,
+ * so each one evicts once.
+ */
+@Service
+public class CacheInvalidationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Ids applied within the lookback window, with their created_at
+    private final Map<Long, Long> appliedIds = new HashMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectProvider<TokenVersionCache> tokenVersionCache;
+
+    @Value("${app.cache.invalidation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.cache.invalidation.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${app.cache.invalidation.poll-lookback-ms:120000}")
+    private long pollLookbackMillis;
+
+    /**
+     * Record a change to a cached entity for the other nodes
+     */
+    public void publish(Class<?> entityClass, Long entityId) {
+        if (!enabled || entityId == null) {
+            return;
+        }
+        jdbcTemplate.update(
+            "INSERT INTO cache_invalidations (entity_name, entity_id, node_id, created_at) VALUES (?, ?, ?, ?)",
+            entityClass.getSimpleName(), entityId, nodeId,
+            Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Evict entities changed by other nodes within the lookback window. The window must exceed
+     * the longest transaction that changes a cached entity plus the clock skew between nodes.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.poll-interval-ms:2000}")
+    public synchronized void pollInvalidations() {
+        if (!enabled) {
+            return;
+        }
+        long windowStart = System.currentTimeMillis() - pollLookbackMillis;
+        appliedIds.values().removeIf(createdAt -> createdAt < windowStart);
+        List<Invalidation> invalidations = jdbcTemplate.query(
+            "SELECT id, entity_name, entity_id, node_id, created_at FROM cache_invalidations " +
+            "WHERE created_at >= ? AND node_id <> ? ORDER BY id",
+            (rs, rowNum) -> new Invalidation(rs.getLong("id"), rs.getString("entity_name"),
+                rs.getLong("entity_id"), rs.getTimestamp("created_at").getTime()),
+            new Timestamp(windowStart), nodeId);
+
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        int applied = 0;
+        for (Invalidation invalidation : invalidations) {
+            if (appliedIds.putIfAbsent(invalidation.id(), invalidation.createdAt()) == null) {
+                applied++;
+                Class<?> entityClass = resolveEntityClass(invalidation.entityName());
+                if (entityClass != null) {
+                    cache.evictEntityData(entityClass, invalidation.entityId());
+                    // Natural ids may be mutable, so drop the cross-references for the whole entity type
+                    cache.evictNaturalIdData(entityClass);
+                }
+                if (entityClass == User.class) {
+                    tokenVersionCache.ifAvailable(versions -> versions.evict(invalidation.entityId()));
+                }
+            }
+        }
+        if (applied > 0) {
+            logger.debug("Applied {} cache invalidations from other nodes", applied);
+        }
+    }
+
+    /**
+     * Delete invalidation rows that every live node has had time to process
+     */
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_at < ?",
+            Timestamp.valueOf(LocalDateTime.now().minusMinutes(retentionMinutes)));
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private Class<?> resolveEntityClass(String entityName) {
+        for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+            if (entityType.getName().equals(entityName)) {
+                return entityType.getJavaType();
+            }
+        }
+        logger.warn("Ignoring cache invalidation for unknown entity {}", entityName);
+        return null;
+    }
+
+    private record Invalidation(long id, String entityName, long entityId, long createdAt) {}
+}
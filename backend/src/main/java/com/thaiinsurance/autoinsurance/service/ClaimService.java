@@ -1,9 +1,14 @@
 package com.thaiinsurance.autoinsurance.service;
 
+import com.thaiinsurance.autoinsurance.config.RetryOnOptimisticLock;
+import com.thaiinsurance.autoinsurance.dto.ClaimDTO;
+import com.thaiinsurance.autoinsurance.dto.ClaimNoteDTO;
 import com.thaiinsurance.autoinsurance.model.Claim;
 import com.thaiinsurance.autoinsurance.model.ClaimDocument;
+import com.thaiinsurance.autoinsurance.model.ClaimNote;
 import com.thaiinsurance.autoinsurance.model.Policy;
 import com.thaiinsurance.autoinsurance.model.User;
+import com.thaiinsurance.autoinsurance.repository.ClaimNoteRepository;
 import com.thaiinsurance.autoinsurance.repository.ClaimRepository;
 import com.thaiinsurance.autoinsurance.repository.PolicyRepository;
 import com.thaiinsurance.autoinsurance.repository.UserRepository;
@@ -18,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -30,6 +36,8 @@ public class ClaimService {
     
     private static final Logger logger = LoggerFactory.getLogger(ClaimService.class);
     
+    private static final int MAX_NOTE_LENGTH = 2000;
+    
     @Autowired
     private ClaimRepository claimRepository;
     
@@ -39,6 +47,15 @@ public class ClaimService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private ClaimNoteRepository claimNoteRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+    
     /**
      * Submit new claim
      */
@@ -50,6 +67,10 @@ public class ClaimService {
         // Generate claim number if not provided
         if (claim.getClaimNumber() == null || claim.getClaimNumber().isEmpty()) {
             claim.setClaimNumber(generateClaimNumber());
+        } else if (claimRepository.existsByClaimNumber(claim.getClaimNumber())
+                || partitionMaintenanceService.isArchivedClaimNumber(claim.getClaimNumber())) {
+            // The unique constraint on claims cannot see claims that have been archived
+            throw new IllegalArgumentException("Claim number already exists");
         }
         
         // Set initial status
@@ -68,6 +89,9 @@ public class ClaimService {
         }
         
         Claim savedClaim = claimRepository.save(claim);
+        outboxService.record("Claim", savedClaim.getId(), "ClaimSubmitted",
+            Map.of("claimNumber", savedClaim.getClaimNumber(), "policyId", savedClaim.getPolicy().getId(),
+                "status", savedClaim.getStatus().name()));
         logger.info("Submitted claim with ID {} and number {}", 
                    savedClaim.getId(), savedClaim.getClaimNumber());
         
@@ -77,6 +101,7 @@ public class ClaimService {
     /**
      * Update claim status
      */
+    @RetryOnOptimisticLock
     public Claim updateClaimStatus(Long claimId, Claim.ClaimStatus newStatus, String notes, Long updatedBy) {
         Claim claim = claimRepository.findById(claimId)
             .orElseThrow(() -> new IllegalArgumentException("Claim not found"));
@@ -111,11 +136,12 @@ public class ClaimService {
         
         // Add notes if provided
         if (notes != null && !notes.isEmpty()) {
-            String currentNotes = claim.getAdjusterNotes() != null ? claim.getAdjusterNotes() : "";
-            claim.setAdjusterNotes(currentNotes + "\n[" + LocalDate.now() + "] " + notes);
+            appendNote(claimId, ClaimNote.NoteType.STATUS_CHANGE,
+                oldStatus + " -> " + newStatus + ": " + notes, updater.getId());
         }
         
         Claim savedClaim = claimRepository.save(claim);
+        recordStatusChange(savedClaim, oldStatus);
         logger.info("Updated claim {} status from {} to {}", 
                    claim.getClaimNumber(), oldStatus, newStatus);
         
@@ -125,6 +151,7 @@ public class ClaimService {
     /**
      * Assign claim to adjuster
      */
+    @RetryOnOptimisticLock
     public Claim assignClaim(Long claimId, Long adjusterId) {
         Claim claim = claimRepository.findById(claimId)
             .orElseThrow(() -> new IllegalArgumentException("Claim not found"));
@@ -132,18 +159,24 @@ public class ClaimService {
         User adjuster = userRepository.findById(adjusterId)
             .orElseThrow(() -> new IllegalArgumentException("Adjuster not found"));
         
+        Claim.ClaimStatus oldStatus = claim.getStatus();
         claim.setAdjuster(adjuster);
         if (claim.getStatus() == Claim.ClaimStatus.SUBMITTED) {
             claim.setStatus(Claim.ClaimStatus.UNDER_REVIEW);
             claim.setReviewStartDate(LocalDate.now());
         }
         
-        return claimRepository.save(claim);
+        Claim savedClaim = claimRepository.save(claim);
+        outboxService.record("Claim", savedClaim.getId(), "ClaimAssigned",
+            Map.of("claimNumber", savedClaim.getClaimNumber(), "adjusterId", adjusterId));
+        recordStatusChange(savedClaim, oldStatus);
+        return savedClaim;
     }
     
     /**
      * Approve claim with amount
      */
+    @RetryOnOptimisticLock
     public Claim approveClaim(Long claimId, BigDecimal approvedAmount, String notes, Long approvedBy) {
         Claim claim = claimRepository.findById(claimId)
             .orElseThrow(() -> new IllegalArgumentException("Claim not found"));
@@ -151,21 +184,24 @@ public class ClaimService {
         User approver = userRepository.findById(approvedBy)
             .orElseThrow(() -> new IllegalArgumentException("Approver not found"));
         
+        Claim.ClaimStatus oldStatus = claim.getStatus();
         claim.setApprovedAmount(approvedAmount);
         claim.setStatus(Claim.ClaimStatus.APPROVED);
         claim.setApprovedDate(LocalDate.now());
         
         if (notes != null && !notes.isEmpty()) {
-            String currentNotes = claim.getAdjusterNotes() != null ? claim.getAdjusterNotes() : "";
-            claim.setAdjusterNotes(currentNotes + "\n[" + LocalDate.now() + "] Approved: " + notes);
+            appendNote(claimId, ClaimNote.NoteType.APPROVAL, notes, approver.getId());
         }
         
-        return claimRepository.save(claim);
+        Claim savedClaim = claimRepository.save(claim);
+        recordStatusChange(savedClaim, oldStatus);
+        return savedClaim;
     }
     
     /**
      * Reject claim with reason
      */
+    @RetryOnOptimisticLock
     public Claim rejectClaim(Long claimId, String rejectionReason, Long rejectedBy) {
         Claim claim = claimRepository.findById(claimId)
             .orElseThrow(() -> new IllegalArgumentException("Claim not found"));
@@ -173,16 +209,20 @@ public class ClaimService {
         User rejecter = userRepository.findById(rejectedBy)
             .orElseThrow(() -> new IllegalArgumentException("User not found"));
         
+        Claim.ClaimStatus oldStatus = claim.getStatus();
         claim.setStatus(Claim.ClaimStatus.REJECTED);
         claim.setRejectionReason(rejectionReason);
         claim.setRejectedDate(LocalDate.now());
         
-        return claimRepository.save(claim);
+        Claim savedClaim = claimRepository.save(claim);
+        recordStatusChange(savedClaim, oldStatus);
+        return savedClaim;
     }
     
     /**
      * Settle claim
      */
+    @RetryOnOptimisticLock
     public Claim settleClaim(Long claimId, BigDecimal settlementAmount, String settlementNotes) {
         Claim claim = claimRepository.findById(claimId)
             .orElseThrow(() -> new IllegalArgumentException("Claim not found"));
@@ -197,7 +237,40 @@ public class ClaimService {
         claim.setSettlementDate(LocalDate.now());
         claim.setSettlementNotes(settlementNotes);
         
-        return claimRepository.save(claim);
+        Claim savedClaim = claimRepository.save(claim);
+        recordStatusChange(savedClaim, Claim.ClaimStatus.APPROVED);
+        return savedClaim;
+    }
+    
+    /**
+     * Append a note to the claim timeline without touching the claim row
+     */
+    public ClaimNote addNote(Long claimId, String content, Long authorId) {
+        if (content == null || content.isBlank()) {
+            throw new IllegalArgumentException("Note content is required");
+        }
+        if (!claimRepository.existsById(claimId)) {
+            throw new IllegalArgumentException("Claim not found");
+        }
+        if (authorId == null) {
+            throw new IllegalArgumentException("Note author is required");
+        }
+        if (!userRepository.existsById(authorId)) {
+            throw new IllegalArgumentException("User not found");
+        }
+        
+        return appendNote(claimId, ClaimNote.NoteType.ADJUSTER, content, authorId);
+    }
+    
+    /**
+     * Get claim notes in chronological order
+     */
+    @Transactional(readOnly = true)
+    public Page<ClaimNoteDTO> getClaimTimeline(Long claimId, Pageable pageable) {
+        if (!claimRepository.existsById(claimId)) {
+            throw new IllegalArgumentException("Claim not found");
+        }
+        return claimNoteRepository.findTimeline(claimId, pageable);
     }
     
     /**
@@ -216,6 +289,30 @@ public class ClaimService {
         return claimRepository.findById(id);
     }
     
+    /**
+     * Get all claims as read models with pagination
+     */
+    @Transactional(readOnly = true)
+    public Page<ClaimDTO> getClaimSummaries(Pageable pageable) {
+        return claimRepository.findAllSummaries(pageable);
+    }
+    
+    /**
+     * Search claims as read models
+     */
+    @Transactional(readOnly = true)
+    public Page<ClaimDTO> searchClaimSummaries(String searchTerm, Pageable pageable) {
+        return claimRepository.searchSummaries(searchTerm, pageable);
+    }
+    
+    /**
+     * Get claim read model by ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<ClaimDTO> getClaimSummaryById(Long id) {
+        return claimRepository.findSummaryById(id);
+    }
+    
     /**
      * Get claim by claim number
      */
@@ -225,59 +322,59 @@ public class ClaimService {
     }
     
     /**
-     * Get claims by policy
+     * Search claims
      */
     @Transactional(readOnly = true)
-    public List<Claim> getClaimsByPolicy(Long policyId) {
-        return claimRepository.findByPolicyId(policyId);
+    public Page<Claim> searchClaims(String searchTerm, Pageable pageable) {
+        return claimRepository.searchClaims(searchTerm, pageable);
     }
     
     /**
-     * Get claims by status
+     * Get claim summaries by policy
      */
     @Transactional(readOnly = true)
-    public List<Claim> getClaimsByStatus(Claim.ClaimStatus status) {
-        return claimRepository.findByStatus(status);
+    public List<ClaimDTO> getClaimSummariesByPolicy(Long policyId) {
+        return claimRepository.findSummariesByPolicyId(policyId);
     }
     
     /**
-     * Get claims by adjuster
+     * Get claim summaries by status
      */
     @Transactional(readOnly = true)
-    public List<Claim> getClaimsByAdjuster(Long adjusterId) {
-        return claimRepository.findByAdjusterId(adjusterId);
+    public List<ClaimDTO> getClaimSummariesByStatus(Claim.ClaimStatus status) {
+        return claimRepository.findSummariesByStatus(status);
     }
     
     /**
-     * Get claims by priority
+     * Get claim summaries by adjuster
      */
     @Transactional(readOnly = true)
-    public List<Claim> getClaimsByPriority(Claim.PriorityLevel priority) {
-        return claimRepository.findByPriorityLevel(priority);
+    public List<ClaimDTO> getClaimSummariesByAdjuster(Long adjusterId) {
+        return claimRepository.findSummariesByAdjusterId(adjusterId);
     }
     
     /**
-     * Search claims
+     * Get claim summaries by priority
      */
     @Transactional(readOnly = true)
-    public Page<Claim> searchClaims(String searchTerm, Pageable pageable) {
-        return claimRepository.searchClaims(searchTerm, pageable);
+    public List<ClaimDTO> getClaimSummariesByPriority(Claim.PriorityLevel priority) {
+        return claimRepository.findSummariesByPriorityLevel(priority);
     }
     
     /**
-     * Get pending claims (requiring action)
+     * Get pending claim summaries (requiring action)
      */
     @Transactional(readOnly = true)
-    public List<Claim> getPendingClaims() {
-        return claimRepository.findPendingClaims();
+    public List<ClaimDTO> getPendingClaimSummaries() {
+        return claimRepository.findPendingSummaries();
     }
     
     /**
-     * Get overdue claims
+     * Get overdue claim summaries
      */
     @Transactional(readOnly = true)
-    public List<Claim> getOverdueClaims(int daysThreshold) {
-        return claimRepository.findOverdueClaims(LocalDate.now().minusDays(daysThreshold));
+    public List<ClaimDTO> getOverdueClaimSummaries(int daysThreshold) {
+        return claimRepository.findOverdueSummaries(LocalDate.now().minusDays(daysThreshold));
     }
     
     /**
@@ -378,6 +475,21 @@ public class ClaimService {
         }
     }
     
+    private ClaimNote appendNote(Long claimId, ClaimNote.NoteType noteType, String content, Long authorId) {
+        if (content.length() > MAX_NOTE_LENGTH) {
+            throw new IllegalArgumentException("Note must not exceed " + MAX_NOTE_LENGTH + " characters");
+        }
+        return claimNoteRepository.save(new ClaimNote(claimId, noteType, content, authorId));
+    }
+    
+    private void recordStatusChange(Claim claim, Claim.ClaimStatus oldStatus) {
+        if (claim.getStatus() != oldStatus) {
+            outboxService.record("Claim", claim.getId(), "ClaimStatusChanged",
+                Map.of("claimNumber", claim.getClaimNumber(), "policyId", claim.getPolicy().getId(),
+                    "fromStatus", String.valueOf(oldStatus), "toStatus", claim.getStatus().name()));
+        }
+    }
+    
     private String generateClaimNumber() {
         return "CLM" + System.currentTimeMillis() + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
@@ -1,10 +1,12 @@
 package com.thaiinsurance.autoinsurance.service;
 
+import com.thaiinsurance.autoinsurance.dto.CustomerDTO;
 import com.thaiinsurance.autoinsurance.model.Customer;
 import com.thaiinsurance.autoinsurance.model.Role;
 import com.thaiinsurance.autoinsurance.model.User;
 import com.thaiinsurance.autoinsurance.repository.CustomerRepository;
 import com.thaiinsurance.autoinsurance.repository.UserRepository;
+import com.thaiinsurance.autoinsurance.security.CustomerOwnershipGuard;
 import com.thaiinsurance.autoinsurance.util.ThaiValidationUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -16,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -31,6 +34,12 @@ public class CustomerService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private CustomerOwnershipGuard customerOwnershipGuard;
+    
     public List<Customer> getAllCustomers() {
         return customerRepository.findByIsActiveTrue();
     }
@@ -43,6 +52,21 @@ public class CustomerService {
         return customerRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
+    public List<CustomerDTO> getCustomerSummaries() {
+        return customerRepository.findActiveSummaries();
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<CustomerDTO> searchCustomerSummaries(String searchTerm, Pageable pageable) {
+        return customerRepository.searchSummaries(searchTerm, pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<CustomerDTO> getCustomerSummaryById(Long id) {
+        return customerRepository.findSummaryById(id);
+    }
+    
     public Optional<Customer> getCustomerByNationalId(String nationalId) {
         return customerRepository.findByNationalId(nationalId);
     }
@@ -93,7 +117,13 @@ public class CustomerService {
             throw new IllegalArgumentException("Customer with this phone number already exists");
         }
         
-        return customerRepository.save(customer);
+        Customer savedCustomer = customerRepository.save(customer);
+        outboxService.record("Customer", savedCustomer.getId(), "CustomerCreated");
+        if (customer.getUser() != null) {
+            // The user may act for this customer from now on
+            customerOwnershipGuard.evictAfterCommit(customer.getUser().getId());
+        }
+        return savedCustomer;
     }
     
     @Transactional
@@ -177,7 +207,9 @@ public class CustomerService {
         customer.setOccupationDetail(customerDetails.getOccupationDetail());
         customer.setMonthlyIncome(customerDetails.getMonthlyIncome());
         
-        return customerRepository.save(customer);
+        Customer savedCustomer = customerRepository.save(customer);
+        outboxService.record("Customer", savedCustomer.getId(), "CustomerUpdated");
+        return savedCustomer;
     }
     
     @Transactional
@@ -188,6 +220,7 @@ public class CustomerService {
         // Soft delete
         customer.setIsActive(false);
         customerRepository.save(customer);
+        outboxService.record("Customer", customer.getId(), "CustomerDeactivated");
     }
     
     @Transactional
@@ -203,7 +236,10 @@ public class CustomerService {
             customer.setKycVerifiedAt(null);
         }
         
-        return customerRepository.save(customer);
+        Customer savedCustomer = customerRepository.save(customer);
+        outboxService.record("Customer", savedCustomer.getId(), "CustomerKycStatusChanged",
+            Map.of("kycStatus", status.name()));
+        return savedCustomer;
     }
     
     public List<Customer> getCustomersByKycStatus(Customer.KYCStatus status) {
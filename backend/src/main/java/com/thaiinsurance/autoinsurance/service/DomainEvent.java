@@ -0,0 +1,18 @@
+package com.thaiinsurance.autoinsurance.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A committed domain change as delivered to {@link DomainEventSubscriber}s. Delivery is
+ * at-least-once, so subscribers use {@code dedupeKey} to ignore redeliveries.
+ */
+public record DomainEvent(
+    long sequence,
+    String dedupeKey,
+    String aggregateType,
+    Long aggregateId,
+    String eventType,
+    Map<String, Object> payload,
+    LocalDateTime occurredAt) {
+}
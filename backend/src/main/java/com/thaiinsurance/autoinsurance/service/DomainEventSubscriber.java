@@ -0,0 +1,17 @@
+package com.thaiinsurance.autoinsurance.service;
+
+/**
+ * In-process consumer of outbox events. Events arrive in commit order; throwing stops the
+ * batch and the same event is offered again on the next drain.
+ */
+public interface DomainEventSubscriber {
+
+    /**
+     * Whether this subscriber wants events of the given aggregate type
+     */
+    default boolean supports(String aggregateType) {
+        return true;
+    }
+
+    void onEvent(DomainEvent event);
+}
@@ -0,0 +1,64 @@
+package com.thaiinsurance.autoinsurance.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Application health for load balancer probes. The actuator health contributors (database,
+ * disk space, ...) are evaluated on a schedule and probes are answered from the last result,
+ * so a probe every second per node costs a field read rather than a database round trip.
+ */
+@Service
+public class HealthSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HealthSnapshotService.class);
+
+    @Autowired
+    private HealthEndpoint healthEndpoint;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Latest snapshot, computed on the spot only before the first refresh
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${app.health.refresh-interval-ms:5000}")
+    public void refresh() {
+        Status status;
+        try {
+            status = healthEndpoint.health().getStatus();
+        } catch (RuntimeException e) {
+            logger.warn("Health check failed: {}", e.getMessage());
+            status = Status.DOWN;
+        }
+        // The response body is built here once, not per probe
+        snapshot = new Snapshot(status, Map.of(
+            "status", status.getCode(),
+            "timestamp", LocalDateTime.now(),
+            "service", "Thai Auto Insurance API",
+            "version", "1.0.0"));
+    }
+
+    public record Snapshot(Status status, Map<String, Object> body) {
+
+        public boolean isUp() {
+            return Status.UP.equals(status);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.thaiinsurance.autoinsurance.service;
+
+import com.thaiinsurance.autoinsurance.model.User;
+import com.thaiinsurance.autoinsurance.security.TokenVersionCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Login bookkeeping without a write per login: last-login times, failed-attempt counts and the
+ * {@code login_audit} trail are buffered in memory and flushed in batched statements. The
+ * batched updates touch only their own columns and leave {@code version} alone, so they never
+ * conflict with concurrent edits of the user.
+ * <p>
+ * Lockout is still exact on each node: a failure is counted against the flushed count plus the
+ * unflushed ones, and crossing the limit locks the account immediately. Flushes of the counters
+ * hold the write side of a lock that failures read under, so a failure never sees a count
+ * half-way through a flush.
+ */
+@Service
+public class LoginActivityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginActivityService.class);
+
+    private final Map<Long, LocalDateTime> lastLogins = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> pendingFailures = new ConcurrentHashMap<>();
+    private final Queue<AuditEntry> auditEntries = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedAudits = new AtomicInteger();
+    private final ReentrantReadWriteLock counterLock = new ReentrantReadWriteLock();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.login-activity.max-failed-attempts:5}")
+    private int maxFailedAttempts;
+
+    // Audit entries beyond this are flushed by the recording thread instead of waiting
+    @Value("${app.login-activity.max-buffered:10000}")
+    private int maxBuffered;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("auth.login.activity.buffered", this, service -> service.bufferedAudits.get())
+            .description("Login audit entries waiting to be written")
+            .register(meterRegistry);
+    }
+
+    public void recordSuccess(Long userId, String usernameOrEmail, String ipAddress) {
+        counterLock.readLock().lock();
+        try {
+            lastLogins.put(userId, LocalDateTime.now());
+            // The flush resets the stored count, so earlier failures need not be written at all
+            pendingFailures.remove(userId);
+        } finally {
+            counterLock.readLock().unlock();
+        }
+        audit(userId, usernameOrEmail, "SUCCESS", ipAddress);
+    }
+
+    /**
+     * Count a failed attempt and lock the account once it reaches the limit. Attempts against
+     * unknown or already locked accounts are only audited.
+     */
+    public void recordFailure(String usernameOrEmail, String ipAddress) {
+        Long lockUserId = null;
+        Long userId = null;
+        counterLock.readLock().lock();
+        try {
+            List<FailureState> states = jdbcTemplate.query(
+                "SELECT id, failed_login_attempts, account_locked FROM users WHERE username = ? OR email = ?",
+                (rs, rowNum) -> new FailureState(rs.getLong("id"), rs.getInt("failed_login_attempts"),
+                    rs.getBoolean("account_locked")),
+                usernameOrEmail, usernameOrEmail);
+            if (!states.isEmpty()) {
+                FailureState state = states.get(0);
+                userId = state.userId();
+                if (!state.locked()) {
+                    // An unflushed successful login has already reset the stored count
+                    int flushed = lastLogins.containsKey(userId) ? 0 : state.failedAttempts();
+                    int pending = pendingFailures.merge(userId, 1, Integer::sum);
+                    if (flushed + pending >= maxFailedAttempts) {
+                        lockUserId = userId;
+                    }
+                }
+            }
+        } finally {
+            counterLock.readLock().unlock();
+        }
+        audit(userId, usernameOrEmail, "FAILURE", ipAddress);
+        if (lockUserId != null) {
+            lock(lockUserId, usernameOrEmail, ipAddress);
+        }
+    }
+
+    /**
+     * Audit an attempt rejected because the account is locked
+     */
+    public void recordLocked(String usernameOrEmail, String ipAddress) {
+        audit(null, usernameOrEmail, "LOCKED", ipAddress);
+    }
+
+    /**
+     * Forget unflushed failures, e.g. when a password reset unlocks the account
+     */
+    public void clearFailures(Long userId) {
+        pendingFailures.remove(userId);
+    }
+
+    /**
+     * Write buffered last-login times, failure counts and audit entries
+     */
+    @Scheduled(fixedDelayString = "${app.login-activity.flush-interval-ms:1000}")
+    public void flush() {
+        List<Long> changedUsers = new ArrayList<>();
+        counterLock.writeLock().lock();
+        try {
+            // Successes first: a failure recorded after a success must land on the reset count
+            List<Object[]> logins = new ArrayList<>();
+            for (Long userId : List.copyOf(lastLogins.keySet())) {
+                LocalDateTime lastLogin = lastLogins.remove(userId);
+                logins.add(new Object[] {Timestamp.valueOf(lastLogin), userId});
+                changedUsers.add(userId);
+            }
+            List<Object[]> failures = new ArrayList<>();
+            for (Long userId : List.copyOf(pendingFailures.keySet())) {
+                Integer count = pendingFailures.remove(userId);
+                failures.add(new Object[] {count, userId});
+                changedUsers.add(userId);
+            }
+            if (!logins.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                    "UPDATE users SET last_login = ?, failed_login_attempts = 0 WHERE id = ?", logins);
+            }
+            if (!failures.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                    "UPDATE users SET failed_login_attempts = failed_login_attempts + ? WHERE id = ?", failures);
+            }
+        } finally {
+            counterLock.writeLock().unlock();
+        }
+        // Cached copies on this node would otherwise show the old values
+        changedUsers.forEach(userId -> entityManagerFactory.getCache().evict(User.class, userId));
+        flushAudit();
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private synchronized void flushAudit() {
+        List<Object[]> rows = new ArrayList<>();
+        AuditEntry entry;
+        while ((entry = auditEntries.poll()) != null) {
+            bufferedAudits.decrementAndGet();
+            rows.add(new Object[] {entry.userId(), entry.usernameOrEmail(), entry.outcome(),
+                entry.ipAddress(), Timestamp.valueOf(entry.occurredAt())});
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO login_audit (user_id, username_or_email, outcome, ip_address, occurred_at) "
+                    + "VALUES (?, ?, ?, ?, ?)", rows);
+        }
+    }
+
+    private void audit(Long userId, String usernameOrEmail, String outcome, String ipAddress) {
+        String principal = usernameOrEmail == null ? "" : usernameOrEmail;
+        if (principal.length() > 100) {
+            principal = principal.substring(0, 100);
+        }
+        auditEntries.add(new AuditEntry(userId, principal, outcome, ipAddress, LocalDateTime.now()));
+        if (bufferedAudits.incrementAndGet() > maxBuffered) {
+            flushAudit();
+        }
+    }
+
+    /**
+     * Lock the account at once. The conditional update locks it exactly once however many
+     * failures cross the limit together, and bumps the token version like {@link User#setAccountLocked}.
+     */
+    private void lock(Long userId, String usernameOrEmail, String ipAddress) {
+        int locked = jdbcTemplate.update(
+            "UPDATE users SET account_locked = TRUE, account_locked_at = ?, token_version = token_version + 1 "
+                + "WHERE id = ? AND account_locked = FALSE",
+            Timestamp.valueOf(LocalDateTime.now()), userId);
+        if (locked == 0) {
+            return;
+        }
+        entityManagerFactory.getCache().evict(User.class, userId);
+        tokenVersionCache.evict(userId);
+        cacheInvalidationService.publish(User.class, userId);
+        audit(userId, usernameOrEmail, "LOCKED", ipAddress);
+        logger.warn("Locked user {} after {} failed login attempts", userId, maxFailedAttempts);
+    }
+
+    private record FailureState(long userId, int failedAttempts, boolean locked) {}
+
+    private record AuditEntry(Long userId, String usernameOrEmail, String outcome, String ipAddress,
+                              LocalDateTime occurredAt) {}
+}
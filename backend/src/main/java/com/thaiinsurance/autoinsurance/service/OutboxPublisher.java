@@ -0,0 +1,253 @@
+package com.thaiinsurance.autoinsurance.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thaiinsurance.autoinsurance.model.OutboxEvent;
+import com.thaiinsurance.autoinsurance.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the transactional outbox in id order and hands each event to every interested
+ * {@link DomainEventSubscriber}. Delivery is at-least-once: an event is marked published only
+ * after all subscribers accepted it, so a crash in between redelivers it. A failing event
+ * blocks the events behind it until it succeeds or exhausts its attempts, which keeps
+ * delivery ordered. The age of the oldest pending event is exported as {@code outbox.lag}.
+ * <p>
+ * Only one node drains at a time: the publisher holds a lease in {@code outbox_leases}, taken
+ * and renewed with a conditional update before every batch. Nodes that do not hold it skip the
+ * poll, and another node takes over once the holder stops renewing. The lease must outlast
+ * the delivery of one batch plus the clock skew between nodes.
+ */
+@Service
+public class OutboxPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxPublisher.class);
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    private static final String LEASE_NAME = "outbox-publisher";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private List<DomainEventSubscriber> subscribers = Collections.emptyList();
+
+    @Value("${app.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    @Value("${app.outbox.lease-ms:30000}")
+    private long leaseMillis;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private Counter publishedCounter;
+
+    private Counter failedCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("outbox.lag", lagMillis, value -> value.get() / 1000.0)
+            .description("Age of the oldest unpublished outbox event")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+            .description("Unpublished outbox events")
+            .register(meterRegistry);
+        publishedCounter = Counter.builder("outbox.events.published")
+            .description("Outbox events delivered to all subscribers")
+            .register(meterRegistry);
+        failedCounter = Counter.builder("outbox.events.failed")
+            .description("Outbox events parked after exhausting their attempts")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void publishScheduled() {
+        if (enabled) {
+            drain();
+        }
+    }
+
+    /**
+     * Deliver pending events batch by batch until the outbox is empty, an event fails or the
+     * lease is held by another node
+     *
+     * @return number of events published or parked
+     */
+    public synchronized int drain() {
+        int total = 0;
+        try {
+            while (acquireLease()) {
+                List<OutboxEvent> batch = outboxEventRepository.findPending(PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                int handled = publishBatch(batch);
+                total += handled;
+                if (handled < batch.size()) {
+                    break;
+                }
+            }
+        } finally {
+            updateLag();
+        }
+        return total;
+    }
+
+    /**
+     * @return number of events handled (published or parked) before the first retryable failure
+     */
+    private int publishBatch(List<OutboxEvent> batch) {
+        List<Long> delivered = new ArrayList<>(batch.size());
+        int handled = 0;
+        try {
+            for (OutboxEvent event : batch) {
+                Outcome outcome = deliver(event);
+                if (outcome == Outcome.RETRY) {
+                    break;
+                }
+                if (outcome == Outcome.DELIVERED) {
+                    delivered.add(event.getId());
+                }
+                handled++;
+            }
+        } finally {
+            if (!delivered.isEmpty()) {
+                outboxEventRepository.markPublished(delivered, LocalDateTime.now());
+                publishedCounter.increment(delivered.size());
+            }
+        }
+        return handled;
+    }
+
+    private Outcome deliver(OutboxEvent outboxEvent) {
+        DomainEvent event = toDomainEvent(outboxEvent);
+        try {
+            for (DomainEventSubscriber subscriber : subscribers) {
+                if (subscriber.supports(event.aggregateType())) {
+                    subscriber.onEvent(event);
+                }
+            }
+            return Outcome.DELIVERED;
+        } catch (RuntimeException e) {
+            int attempts = outboxEvent.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                // Park the event so the rest of the outbox can move on
+                outboxEventRepository.incrementAttempts(outboxEvent.getId());
+                outboxEventRepository.markFailed(outboxEvent.getId(), LocalDateTime.now());
+                failedCounter.increment();
+                logger.error("Parking outbox event {} ({} {} {}) after {} attempts", outboxEvent.getId(),
+                    event.aggregateType(), event.aggregateId(), event.eventType(), attempts, e);
+                return Outcome.PARKED;
+            }
+            outboxEventRepository.incrementAttempts(outboxEvent.getId());
+            logger.warn("Delivery of outbox event {} failed (attempt {} of {}): {}",
+                outboxEvent.getId(), attempts, maxAttempts, e.getMessage());
+            return Outcome.RETRY;
+        }
+    }
+
+    private DomainEvent toDomainEvent(OutboxEvent event) {
+        Map<String, Object> payload = Collections.emptyMap();
+        if (event.getPayload() != null) {
+            try {
+                payload = objectMapper.readValue(event.getPayload(), PAYLOAD_TYPE);
+            } catch (Exception e) {
+                logger.warn("Unreadable payload on outbox event {}", event.getId(), e);
+            }
+        }
+        return new DomainEvent(event.getId(), event.getDedupeKey(), event.getAggregateType(),
+            event.getAggregateId(), event.getEventType(), payload, event.getCreatedAt());
+    }
+
+    /**
+     * Take or renew the publisher lease
+     *
+     * @return whether this node holds the lease until {@code leaseMillis} from now
+     */
+    private boolean acquireLease() {
+        long now = System.currentTimeMillis();
+        Timestamp until = new Timestamp(now + leaseMillis);
+        int renewed = jdbcTemplate.update(
+            "UPDATE outbox_leases SET owner = ?, expires_at = ? WHERE name = ? AND (owner = ? OR expires_at < ?)",
+            nodeId, until, LEASE_NAME, nodeId, new Timestamp(now));
+        if (renewed == 1) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO outbox_leases (name, owner, expires_at) VALUES (?, ?, ?)",
+                LEASE_NAME, nodeId, until);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Another node holds an unexpired lease
+            return false;
+        }
+    }
+
+    private void updateLag() {
+        LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt();
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+        pending.set(outboxEventRepository.countPending());
+    }
+
+    /**
+     * Delete published events older than the retention period
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        if (!enabled) {
+            return;
+        }
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            logger.debug("Purged {} published outbox events", deleted);
+        }
+    }
+
+    private enum Outcome { DELIVERED, PARKED, RETRY }
+}
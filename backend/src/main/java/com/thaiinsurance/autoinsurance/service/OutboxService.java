@@ -0,0 +1,45 @@
+package com.thaiinsurance.autoinsurance.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thaiinsurance.autoinsurance.model.OutboxEvent;
+import com.thaiinsurance.autoinsurance.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Writes domain events to the transactional outbox. Must be called inside the transaction
+ * that makes the change, so the event is committed or rolled back together with it.
+ */
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent record(String aggregateType, Long aggregateId, String eventType, Map<String, Object> payload) {
+        if (aggregateId == null) {
+            throw new IllegalArgumentException("Outbox events need a persisted aggregate");
+        }
+        String json;
+        try {
+            json = payload == null || payload.isEmpty() ? null : objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event payload is not serializable", e);
+        }
+        return outboxEventRepository.save(new OutboxEvent(aggregateType, aggregateId, eventType, json));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent record(String aggregateType, Long aggregateId, String eventType) {
+        return record(aggregateType, aggregateId, eventType, null);
+    }
+}
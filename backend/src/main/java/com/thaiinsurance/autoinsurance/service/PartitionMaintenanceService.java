@@ -0,0 +1,134 @@
+package com.thaiinsurance.autoinsurance.service;
+
+import com.thaiinsurance.autoinsurance.model.Claim;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Maintains the time-range layout of {@code payments} and {@code claims}: rows older than the
+ * retention window move, together with their claim documents and notes, into the identically
+ * shaped tables of the {@code archive} schema (see V6).
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    static final String ARCHIVE_SCHEMA = "archive";
+
+    private static final List<PartitionedTable> TABLES = List.of(
+        new PartitionedTable("payments", "payment_date"),
+        new PartitionedTable("claims", "incident_date"));
+
+    private static final List<String> CLAIM_CHILD_TABLES = List.of("claim_documents", "claim_notes");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.partitioning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.partitioning.retention-months:24}")
+    private int retentionMonths;
+
+    @Scheduled(cron = "${app.partitioning.cron:0 30 2 * * *}", zone = "Asia/Bangkok")
+    public void scheduledMaintenance() {
+        if (enabled) {
+            // A call through this bypasses the @Transactional proxy; each archive copy and
+            // delete must commit or roll back together
+            transactionTemplate.executeWithoutResult(status -> runMaintenance(YearMonth.now()));
+        }
+    }
+
+    /**
+     * Archive everything older than {@code retentionMonths} before the given month
+     */
+    @Transactional
+    public void runMaintenance(YearMonth currentMonth) {
+        YearMonth cutoff = currentMonth.minusMonths(retentionMonths);
+        for (PartitionedTable table : TABLES) {
+            archiveExpiredRows(table, cutoff);
+        }
+        // Archived claims must no longer resolve through the natural-id cache
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictNaturalIdData(Claim.class);
+    }
+
+    /**
+     * Whether a claim number has been archived. Archived rows are no longer covered by the
+     * unique constraint on the live table, so new claims must check here as well.
+     */
+    public boolean isArchivedClaimNumber(String claimNumber) {
+        return isArchived("claims", "claim_number", claimNumber);
+    }
+
+    /**
+     * Whether a payment reference has been archived; see {@link #isArchivedClaimNumber}
+     */
+    public boolean isArchivedPaymentReference(String paymentReference) {
+        return isArchived("payments", "payment_reference", paymentReference);
+    }
+
+    private void archiveExpiredRows(PartitionedTable table, YearMonth cutoff) {
+        ensureArchiveTable(table.name());
+        Date bound = Date.valueOf(cutoff.atDay(1));
+
+        if ("claims".equals(table.name())) {
+            // Documents and notes belong to their claim, so they move first
+            for (String child : CLAIM_CHILD_TABLES) {
+                ensureArchiveTable(child);
+                jdbcTemplate.update("INSERT INTO " + ARCHIVE_SCHEMA + "." + child + " SELECT x.* FROM " + child + " x " +
+                    "WHERE x.claim_id IN (SELECT c.id FROM claims c WHERE c.incident_date < ?)", bound);
+                jdbcTemplate.update("DELETE FROM " + child +
+                    " WHERE claim_id IN (SELECT c.id FROM claims c WHERE c.incident_date < ?)", bound);
+            }
+        }
+
+        int archived = jdbcTemplate.update("INSERT INTO " + ARCHIVE_SCHEMA + "." + table.name() +
+            " SELECT * FROM " + table.name() + " WHERE " + table.partitionColumn() + " < ?", bound);
+        jdbcTemplate.update("DELETE FROM " + table.name() + " WHERE " + table.partitionColumn() + " < ?", bound);
+        if (archived > 0) {
+            logger.info("Archived {} rows from {} older than {}", archived, table.name(), bound);
+        }
+    }
+
+    private void ensureArchiveTable(String tableName) {
+        // Covers databases built by Hibernate schema generation rather than Flyway
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + ARCHIVE_SCHEMA);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ARCHIVE_SCHEMA + "." + tableName +
+            " AS SELECT * FROM " + tableName + " WITH NO DATA");
+    }
+
+    private boolean isArchived(String tableName, String keyColumn, String key) {
+        // The archive table is created on first use when the schema came from Hibernate
+        Integer tables = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.tables " +
+            "WHERE UPPER(table_schema) = UPPER(?) AND UPPER(table_name) = UPPER(?)",
+            Integer.class, ARCHIVE_SCHEMA, tableName);
+        if (tables == null || tables == 0) {
+            return false;
+        }
+        Integer matches = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + ARCHIVE_SCHEMA + "." + tableName +
+            " WHERE " + keyColumn + " = ?", Integer.class, key);
+        return matches != null && matches > 0;
+    }
+
+    private record PartitionedTable(String name, String partitionColumn) {}
+}
@@ -1,5 +1,7 @@
 package com.thaiinsurance.autoinsurance.service;
 
+import com.thaiinsurance.autoinsurance.config.RetryOnOptimisticLock;
+import com.thaiinsurance.autoinsurance.dto.PaymentDTO;
 import com.thaiinsurance.autoinsurance.model.Payment;
 import com.thaiinsurance.autoinsurance.model.Policy;
 import com.thaiinsurance.autoinsurance.model.User;
@@ -17,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -37,6 +40,12 @@ public class PaymentService {
     
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
     
     /**
      * Create new payment
@@ -49,6 +58,10 @@ public class PaymentService {
         // Generate payment reference if not provided
         if (payment.getPaymentReference() == null || payment.getPaymentReference().isEmpty()) {
             payment.setPaymentReference(generatePaymentReference());
+        } else if (paymentRepository.existsByPaymentReference(payment.getPaymentReference())
+                || partitionMaintenanceService.isArchivedPaymentReference(payment.getPaymentReference())) {
+            // The unique constraint on payments cannot see payments that have been archived
+            throw new IllegalArgumentException("Payment reference already exists");
         }
         
         // Set initial status
@@ -62,6 +75,7 @@ public class PaymentService {
         }
         
         Payment savedPayment = paymentRepository.save(payment);
+        recordPaymentEvent(savedPayment, "PaymentCreated");
         logger.info("Created payment with ID {} and reference {}", 
                    savedPayment.getId(), savedPayment.getPaymentReference());
         
@@ -71,6 +85,7 @@ public class PaymentService {
     /**
      * Process payment
      */
+    @RetryOnOptimisticLock
     public Payment processPayment(Long paymentId, String transactionId, String gatewayResponse) {
         Payment payment = paymentRepository.findById(paymentId)
             .orElseThrow(() -> new IllegalArgumentException("Payment not found"));
@@ -80,12 +95,15 @@ public class PaymentService {
         payment.setStatus(Payment.PaymentStatus.PROCESSING);
         payment.setProcessedAt(LocalDateTime.now());
         
-        return paymentRepository.save(payment);
+        Payment savedPayment = paymentRepository.save(payment);
+        recordPaymentEvent(savedPayment, "PaymentProcessing");
+        return savedPayment;
     }
     
     /**
      * Confirm payment
      */
+    @RetryOnOptimisticLock
     public Payment confirmPayment(Long paymentId, Long processedBy) {
         Payment payment = paymentRepository.findById(paymentId)
             .orElseThrow(() -> new IllegalArgumentException("Payment not found"));
@@ -97,12 +115,15 @@ public class PaymentService {
         payment.setConfirmedDate(LocalDateTime.now());
         payment.setProcessedBy(processor);
         
-        return paymentRepository.save(payment);
+        Payment savedPayment = paymentRepository.save(payment);
+        recordPaymentEvent(savedPayment, "PaymentCompleted");
+        return savedPayment;
     }
     
     /**
      * Fail payment
      */
+    @RetryOnOptimisticLock
     public Payment failPayment(Long paymentId, String failureReason) {
         Payment payment = paymentRepository.findById(paymentId)
             .orElseThrow(() -> new IllegalArgumentException("Payment not found"));
@@ -110,7 +131,9 @@ public class PaymentService {
         payment.setStatus(Payment.PaymentStatus.FAILED);
         payment.setFailureReason(failureReason);
         
-        return paymentRepository.save(payment);
+        Payment savedPayment = paymentRepository.save(payment);
+        recordPaymentEvent(savedPayment, "PaymentFailed");
+        return savedPayment;
     }
     
     /**
@@ -137,6 +160,8 @@ public class PaymentService {
         // Update original payment status
         originalPayment.setStatus(Payment.PaymentStatus.REFUNDED);
         paymentRepository.save(originalPayment);
+        recordPaymentEvent(savedRefund, "PaymentRefundCreated");
+        recordPaymentEvent(originalPayment, "PaymentRefunded");
         
         return savedRefund;
     }
@@ -157,6 +182,30 @@ public class PaymentService {
         return paymentRepository.findById(id);
     }
     
+    /**
+     * Get all payments as read models with pagination
+     */
+    @Transactional(readOnly = true)
+    public Page<PaymentDTO> getPaymentSummaries(Pageable pageable) {
+        return paymentRepository.findAllSummaries(pageable);
+    }
+    
+    /**
+     * Search payments as read models
+     */
+    @Transactional(readOnly = true)
+    public Page<PaymentDTO> searchPaymentSummaries(String searchTerm, Pageable pageable) {
+        return paymentRepository.searchSummaries(searchTerm, pageable);
+    }
+    
+    /**
+     * Get payment read model by ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<PaymentDTO> getPaymentSummaryById(Long id) {
+        return paymentRepository.findSummaryById(id);
+    }
+    
     /**
      * Get payment by reference
      */
@@ -268,6 +317,12 @@ public class PaymentService {
         }
     }
     
+    private void recordPaymentEvent(Payment payment, String eventType) {
+        outboxService.record("Payment", payment.getId(), eventType,
+            Map.of("paymentReference", payment.getPaymentReference(), "policyId", payment.getPolicy().getId(),
+                "status", payment.getStatus().name(), "amount", String.valueOf(payment.getAmount())));
+    }
+    
     private String generatePaymentReference() {
         return "PAY" + System.currentTimeMillis() + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
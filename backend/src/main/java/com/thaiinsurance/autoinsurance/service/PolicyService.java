@@ -1,5 +1,6 @@
 package com.thaiinsurance.autoinsurance.service;
 
+import com.thaiinsurance.autoinsurance.dto.PolicyDTO;
 import com.thaiinsurance.autoinsurance.dto.PolicyQuoteRequest;
 import com.thaiinsurance.autoinsurance.dto.PolicyQuoteResponse;
 import com.thaiinsurance.autoinsurance.model.Customer;
@@ -21,7 +22,9 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -54,6 +57,9 @@ public class PolicyService {
     
     @Autowired
     private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private OutboxService outboxService;
     
     /**
      * Generate policy quote with Thai insurance calculations
@@ -132,7 +138,10 @@ public class PolicyService {
         policy.setStatus(Policy.PolicyStatus.DRAFT);
         policy.setIssuedDate(LocalDate.now());
         
-        return policyRepository.save(policy);
+        Policy savedPolicy = policyRepository.save(policy);
+        outboxService.record("Policy", savedPolicy.getId(), "PolicyCreated",
+            Map.of("policyNumber", savedPolicy.getPolicyNumber(), "status", savedPolicy.getStatus().name()));
+        return savedPolicy;
     }
     
     /**
@@ -159,6 +168,43 @@ public class PolicyService {
         return policyRepository.findById(id);
     }
     
+    /**
+     * Get all policies as read models with pagination
+     */
+    @Transactional(readOnly = true)
+    public Page<PolicyDTO> getPolicySummaries(Pageable pageable) {
+        return policyRepository.findAllSummaries(pageable);
+    }
+    
+    /**
+     * Search policies as read models
+     */
+    @Transactional(readOnly = true)
+    public Page<PolicyDTO> searchPolicySummaries(String searchTerm, Pageable pageable) {
+        return policyRepository.searchSummaries(searchTerm, pageable);
+    }
+    
+    /**
+     * Get policy read model by ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<PolicyDTO> getPolicySummaryById(Long id) {
+        return policyRepository.findSummaryById(id);
+    }
+    
+    /**
+     * Get policy read model by ID if it belongs to one of the given customers; a null
+     * scope means any customer, as returned by CustomerOwnershipGuard#customerScope
+     */
+    @Transactional(readOnly = true)
+    public Optional<PolicyDTO> getPolicySummaryById(Long id, Set<Long> customerScope) {
+        if (customerScope == null) {
+            return policyRepository.findSummaryById(id);
+        }
+        return customerScope.isEmpty() ? Optional.empty()
+                : policyRepository.findSummaryByIdAndCustomerIdIn(id, customerScope);
+    }
+    
     /**
      * Get policy by policy number
      */
@@ -206,7 +252,10 @@ public class PolicyService {
         renewedPolicy.setAgent(existingPolicy.getAgent());
         renewedPolicy.setStatus(Policy.PolicyStatus.DRAFT);
         
-        return policyRepository.save(renewedPolicy);
+        Policy savedPolicy = policyRepository.save(renewedPolicy);
+        outboxService.record("Policy", savedPolicy.getId(), "PolicyRenewed",
+            Map.of("policyNumber", savedPolicy.getPolicyNumber(), "renewedFromPolicyId", policyId));
+        return savedPolicy;
     }
     
     /**
@@ -224,7 +273,10 @@ public class PolicyService {
         policy.setCancelledDate(LocalDate.now());
         policy.setCancellationReason(reason);
         
-        return policyRepository.save(policy);
+        Policy savedPolicy = policyRepository.save(policy);
+        outboxService.record("Policy", savedPolicy.getId(), "PolicyCancelled",
+            Map.of("policyNumber", savedPolicy.getPolicyNumber(), "status", savedPolicy.getStatus().name()));
+        return savedPolicy;
     }
     
     /**
@@ -0,0 +1,151 @@
+package com.thaiinsurance.autoinsurance.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thaiinsurance.autoinsurance.security.JwtTokenUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refresh-token families: every login starts a family, and each refresh rotates it to a new
+ * token. {@code refresh_token_families} keeps the digest of the one live token per family, so a
+ * rotation is a single conditional update by primary key, and a token that no longer matches
+ * (a stolen copy replayed after the owner refreshed, or the owner's copy after the thief did)
+ * revokes the family for both.
+ * <p>
+ * Revoked families are also held in memory, so replays of a dead family, which tend to come in
+ * bursts from retrying clients, are rejected without a database round trip.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpiration;
+
+    @Value("${app.refresh-tokens.revoked-families.max-size:100000}")
+    private long revokedFamiliesMaxSize;
+
+    private Cache<String, Boolean> revokedFamilies;
+
+    private Counter rotations;
+    private Counter reuses;
+
+    @PostConstruct
+    void init() {
+        // A family cannot outlive its last token, so neither does its entry here
+        revokedFamilies = Caffeine.newBuilder()
+            .maximumSize(revokedFamiliesMaxSize)
+            .expireAfterWrite(refreshExpiration, TimeUnit.MILLISECONDS)
+            .build();
+        rotations = rotationCounter("rotated");
+        reuses = rotationCounter("reuse");
+    }
+
+    /**
+     * Record the first refresh token of a family, issued at login
+     *
+     * @throws IllegalArgumentException if the token is not a valid refresh token
+     */
+    public void register(String refreshToken) {
+        Claims claims = jwtTokenUtil.verifyToken(refreshToken);
+        if (claims == null || claims.get("fam", String.class) == null) {
+            throw new IllegalArgumentException("Cannot register an invalid refresh token");
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.update(
+            "INSERT INTO refresh_token_families (family_id, user_id, token_hash, created_at, rotated_at, expires_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)",
+            claims.get("fam", String.class), claims.get("userId", Long.class), JwtTokenUtil.digest(refreshToken),
+            now, now, new Timestamp(claims.getExpiration().getTime()));
+    }
+
+    /**
+     * Spend a verified refresh token and return its successor in the same family. A token that is
+     * not the family's current one revokes the family.
+     *
+     * @throws IllegalArgumentException if the token was already used or its family is revoked
+     */
+    public String rotate(String refreshToken, Claims claims, Authentication authentication) {
+        String familyId = claims.get("fam", String.class);
+        if (familyId == null) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        if (revokedFamilies.getIfPresent(familyId) != null) {
+            reuses.increment();
+            throw new IllegalArgumentException("Refresh token has been revoked");
+        }
+
+        String successor = jwtTokenUtil.generateRefreshToken(authentication, familyId);
+        int rotated = jdbcTemplate.update(
+            "UPDATE refresh_token_families SET token_hash = ?, rotated_at = ?, expires_at = ? "
+                + "WHERE family_id = ? AND token_hash = ? AND revoked_at IS NULL",
+            JwtTokenUtil.digest(successor), new Timestamp(System.currentTimeMillis()),
+            new Timestamp(jwtTokenUtil.getExpirationDateFromToken(successor).getTime()),
+            familyId, JwtTokenUtil.digest(refreshToken));
+        if (rotated == 0) {
+            // Replayed, revoked or unknown: whoever holds the current token can no longer be trusted
+            revokeFamily(familyId);
+            reuses.increment();
+            logger.warn("Refresh token reuse for user {}, family {} revoked", claims.get("userId"), familyId);
+            throw new IllegalArgumentException("Refresh token has already been used");
+        }
+        rotations.increment();
+        return successor;
+    }
+
+    /**
+     * End a login session: no token of the family can be refreshed again
+     */
+    public void revokeFamily(String familyId) {
+        if (familyId == null) {
+            return;
+        }
+        revokedFamilies.put(familyId, Boolean.TRUE);
+        jdbcTemplate.update(
+            "UPDATE refresh_token_families SET revoked_at = ? WHERE family_id = ? AND revoked_at IS NULL",
+            new Timestamp(System.currentTimeMillis()), familyId);
+    }
+
+    /**
+     * Delete families whose current token has expired
+     */
+    @Scheduled(fixedDelayString = "${app.refresh-tokens.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM refresh_token_families WHERE expires_at < ?",
+            new Timestamp(System.currentTimeMillis()));
+        if (purged > 0) {
+            logger.debug("Purged {} expired refresh token families", purged);
+        }
+    }
+
+    private Counter rotationCounter(String result) {
+        return Counter.builder("auth.refresh.rotations")
+            .description("Refresh token rotations by outcome")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
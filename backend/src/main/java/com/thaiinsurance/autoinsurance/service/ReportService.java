@@ -1,5 +1,6 @@
 package com.thaiinsurance.autoinsurance.service;
 
+import com.thaiinsurance.autoinsurance.dto.PaymentTotals;
 import com.thaiinsurance.autoinsurance.model.*;
 import com.thaiinsurance.autoinsurance.repository.*;
 import org.slf4j.Logger;
@@ -187,14 +188,17 @@ public class ReportService {
         report.setEndDate(endDate);
         report.setGeneratedAt(LocalDateTime.now());
         
-        // Payment counts by method
+        // Payment counts and revenue by method
         Map<String, Long> paymentCountsByMethod = new HashMap<>();
         Map<String, BigDecimal> revenueByMethod = new HashMap<>();
         for (Payment.PaymentMethod method : Payment.PaymentMethod.values()) {
-            long count = paymentRepository.countByPaymentMethodAndDateRange(method, startDate, endDate);
-            BigDecimal revenue = paymentRepository.sumRevenueByPaymentMethodAndDateRange(method, startDate, endDate);
-            paymentCountsByMethod.put(method.name(), count);
-            revenueByMethod.put(method.name(), revenue != null ? revenue : BigDecimal.ZERO);
+            paymentCountsByMethod.put(method.name(), 0L);
+            revenueByMethod.put(method.name(), BigDecimal.ZERO);
+        }
+        for (PaymentTotals totals : paymentRepository.totalsByPaymentMethod(startDate, endDate)) {
+            String method = ((Payment.PaymentMethod) totals.getGroup()).name();
+            paymentCountsByMethod.put(method, totals.getPayments());
+            revenueByMethod.put(method, totals.getCompletedAmount());
         }
         report.setPaymentCountsByMethod(paymentCountsByMethod);
         report.setRevenueByPaymentMethod(revenueByMethod);
@@ -202,15 +206,20 @@ public class ReportService {
         // Payment counts by status
         Map<String, Long> paymentCountsByStatus = new HashMap<>();
         for (Payment.PaymentStatus status : Payment.PaymentStatus.values()) {
-            long count = paymentRepository.countByStatusAndDateRange(status, startDate, endDate);
-            paymentCountsByStatus.put(status.name(), count);
+            paymentCountsByStatus.put(status.name(), 0L);
+        }
+        long totalPayments = 0;
+        for (PaymentTotals totals : paymentRepository.totalsByStatus(startDate, endDate)) {
+            paymentCountsByStatus.put(((Payment.PaymentStatus) totals.getGroup()).name(), totals.getPayments());
+            totalPayments += totals.getPayments();
         }
         report.setPaymentCountsByStatus(paymentCountsByStatus);
         
         // Overall statistics
         report.setTotalRevenue(paymentRepository.sumRevenueByDateRange(startDate, endDate));
         report.setAveragePaymentAmount(paymentRepository.getAveragePaymentAmount(startDate, endDate));
-        report.setPaymentSuccessRate(calculatePaymentSuccessRate(startDate, endDate));
+        long completedPayments = paymentCountsByStatus.get(Payment.PaymentStatus.COMPLETED.name());
+        report.setPaymentSuccessRate(totalPayments > 0 ? (double) completedPayments / totalPayments * 100.0 : 0.0);
         
         // Daily revenue trend
         report.setDailyRevenue(getDailyRevenue(startDate, endDate));
@@ -290,26 +299,23 @@ public class ReportService {
     }
     
     private List<DailyRevenue> getDailyRevenue(LocalDate startDate, LocalDate endDate) {
+        // Days without payments are missing from the grouped result and report zero
+        Map<LocalDate, BigDecimal> revenueByDay = new HashMap<>();
+        for (PaymentTotals totals : paymentRepository.totalsByDay(startDate, endDate)) {
+            revenueByDay.put((LocalDate) totals.getGroup(), totals.getCompletedAmount());
+        }
+        
         List<DailyRevenue> dailyRevenues = new ArrayList<>();
         LocalDate current = startDate;
         
         while (!current.isAfter(endDate)) {
-            BigDecimal revenue = paymentRepository.sumRevenueByDateRange(current, current);
-            dailyRevenues.add(new DailyRevenue(current, revenue != null ? revenue : BigDecimal.ZERO));
+            dailyRevenues.add(new DailyRevenue(current, revenueByDay.getOrDefault(current, BigDecimal.ZERO)));
             current = current.plusDays(1);
         }
         
         return dailyRevenues;
     }
     
-    private double calculatePaymentSuccessRate(LocalDate startDate, LocalDate endDate) {
-        long totalPayments = paymentRepository.countByDateRange(startDate, endDate);
-        long successfulPayments = paymentRepository.countByStatusAndDateRange(
-            Payment.PaymentStatus.COMPLETED, startDate, endDate);
-        
-        return totalPayments > 0 ? (double) successfulPayments / totalPayments * 100.0 : 0.0;
-    }
-    
     private double calculateCustomerRetentionRate(LocalDate startDate, LocalDate endDate) {
         // Simplified calculation - in real implementation would be more complex
         LocalDateTime startDateTime = startDate.atStartOfDay();
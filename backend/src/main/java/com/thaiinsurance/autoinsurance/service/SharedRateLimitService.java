@@ -0,0 +1,122 @@
+package com.thaiinsurance.autoinsurance.service;
+
+import com.thaiinsurance.autoinsurance.config.RateLimitProperties;
+import com.thaiinsurance.autoinsurance.util.TokenBucketLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Makes rate limits approximately cluster-wide. Each node adds the tokens it handed out to a
+ * per-window counter in {@code rate_limit_counters}, reads back the totals for its active keys
+ * and debits its own buckets by what the other nodes consumed. Limits are therefore enforced
+ * cluster-wide with a lag of one sync interval; with sharing disabled every node limits alone.
+ */
+@Service
+public class SharedRateLimitService {
+
+    private static final int QUERY_CHUNK = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TokenBucketLimiter rateLimitBuckets;
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    private long currentWindow = -1;
+
+    // Per bucket key in the current window: tokens consumed here, and by other nodes as last seen
+    private final Map<String, long[]> windowCounts = new HashMap<>();
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.shared.sync-interval-ms:1000}")
+    public synchronized void sync() {
+        if (!properties.isEnabled() || !properties.getShared().isEnabled()) {
+            return;
+        }
+        long windowMillis = properties.getShared().getWindow().toMillis();
+        long window = System.currentTimeMillis() / windowMillis;
+        if (window != currentWindow) {
+            windowCounts.clear();
+            currentWindow = window;
+        }
+        Map<String, Long> consumed = rateLimitBuckets.drainConsumed();
+        if (consumed.isEmpty()) {
+            return;
+        }
+
+        Timestamp windowStart = new Timestamp(window * windowMillis);
+        consumed.forEach((key, tokens) -> {
+            add(counterKey(key, window), windowStart, tokens);
+            windowCounts.computeIfAbsent(key, k -> new long[2])[0] += tokens;
+        });
+
+        for (List<String> keys : chunks(new ArrayList<>(consumed.keySet()))) {
+            Map<String, String> bucketKeys = new HashMap<>();
+            keys.forEach(key -> bucketKeys.put(counterKey(key, window), key));
+            String placeholders = String.join(", ", Collections.nCopies(keys.size(), "?"));
+            jdbcTemplate.query(
+                "SELECT counter_key, consumed FROM rate_limit_counters WHERE counter_key IN (" + placeholders + ")",
+                rs -> {
+                    String key = bucketKeys.get(rs.getString("counter_key"));
+                    long[] counts = windowCounts.get(key);
+                    long others = rs.getLong("consumed") - counts[0];
+                    if (others > counts[1]) {
+                        rateLimitBuckets.debit(key, others - counts[1]);
+                        counts[1] = others;
+                    }
+                },
+                bucketKeys.keySet().toArray());
+        }
+    }
+
+    /**
+     * Delete counters of windows that have ended
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.shared.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        if (!properties.getShared().isEnabled()) {
+            return;
+        }
+        long windowMillis = properties.getShared().getWindow().toMillis();
+        jdbcTemplate.update("DELETE FROM rate_limit_counters WHERE window_start < ?",
+            new Timestamp(System.currentTimeMillis() - 2 * windowMillis));
+    }
+
+    private void add(String counterKey, Timestamp windowStart, long tokens) {
+        String update = "UPDATE rate_limit_counters SET consumed = consumed + ? WHERE counter_key = ?";
+        if (jdbcTemplate.update(update, tokens, counterKey) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO rate_limit_counters (counter_key, window_start, consumed) VALUES (?, ?, ?)",
+                counterKey, windowStart, tokens);
+        } catch (DuplicateKeyException e) {
+            // Another node created the row first
+            jdbcTemplate.update(update, tokens, counterKey);
+        }
+    }
+
+    private static String counterKey(String bucketKey, long window) {
+        return window + "|" + bucketKey;
+    }
+
+    private static List<List<String>> chunks(List<String> keys) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += QUERY_CHUNK) {
+            chunks.add(keys.subList(from, Math.min(from + QUERY_CHUNK, keys.size())));
+        }
+        return chunks;
+    }
+}
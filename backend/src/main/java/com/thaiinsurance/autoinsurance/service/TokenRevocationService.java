@@ -0,0 +1,177 @@
+package com.thaiinsurance.autoinsurance.service;
+
+import com.thaiinsurance.autoinsurance.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deny-list of revoked JWT ids ({@code jti}), checked on every authenticated request without a
+ * database read. Revocations are grouped into buckets by the expiry of the revoked token; each
+ * bucket holds a Bloom filter, which answers the common "not revoked" case from a compact bit
+ * array, and the exact set of ids, which settles the rare Bloom hit. A bucket is dropped whole
+ * once every token in it has expired.
+ * <p>
+ * Revocations are written to {@code revoked_tokens}, loaded at startup and polled for rows
+ * written by other nodes, the same way {@link CacheInvalidationService} keeps caches coherent.
+ * Each poll re-reads a trailing window of {@code revoked_at} rather than rows past the highest id
+ * seen: ids are assigned at insert but become visible at commit, so a row with a lower id can
+ * appear after a higher one. Re-reading a revocation is harmless.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final RowMapper<Revocation> REVOCATION_MAPPER = (rs, rowNum) ->
+        new Revocation(rs.getString("jti"), rs.getTimestamp("expires_at").getTime());
+
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.token-revocation.bucket-minutes:60}")
+    private long bucketMinutes;
+
+    @Value("${app.token-revocation.expected-per-bucket:10000}")
+    private int expectedPerBucket;
+
+    @Value("${app.token-revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.token-revocation.poll-lookback-ms:120000}")
+    private long pollLookbackMillis;
+
+    private long bucketMillis;
+
+    private Counter bloomNegatives;
+    private Counter falsePositives;
+    private Counter revokedHits;
+
+    @PostConstruct
+    void init() {
+        bucketMillis = TimeUnit.MINUTES.toMillis(bucketMinutes);
+        bloomNegatives = lookupCounter("bloom-negative");
+        falsePositives = lookupCounter("false-positive");
+        revokedHits = lookupCounter("revoked");
+        Gauge.builder("auth.token.revocation.size", this, TokenRevocationService::size)
+            .description("Revoked token ids held in memory")
+            .register(meterRegistry);
+
+        // Reload revocations of tokens that have not expired yet; polling covers later commits
+        List<Revocation> revocations = jdbcTemplate.query(
+            "SELECT jti, expires_at FROM revoked_tokens WHERE expires_at > ?",
+            REVOCATION_MAPPER, new Timestamp(System.currentTimeMillis()));
+        revocations.forEach(revocation -> remember(revocation.jti(), revocation.expiresAt()));
+        if (!revocations.isEmpty()) {
+            logger.info("Loaded {} revoked tokens", revocations.size());
+        }
+    }
+
+    /**
+     * Revoke a token until it expires, on this node immediately and on other nodes at their
+     * next poll. Revoking an already revoked or expired token is a no-op.
+     */
+    public void revoke(String jti, Long userId, Date expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        remember(jti, expiresAt.getTime());
+        try {
+            jdbcTemplate.update(
+                "INSERT INTO revoked_tokens (jti, user_id, expires_at, revoked_at) VALUES (?, ?, ?, ?)",
+                jti, userId, new Timestamp(expiresAt.getTime()), new Timestamp(System.currentTimeMillis()));
+        } catch (DuplicateKeyException e) {
+            logger.debug("Token {} was already revoked", jti);
+        }
+    }
+
+    /**
+     * Whether the token with this id and expiry has been revoked. Tokens without an id predate
+     * revocation support and are never reported as revoked.
+     */
+    public boolean isRevoked(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return false;
+        }
+        Bucket bucket = buckets.get(expiresAt.getTime() / bucketMillis);
+        if (bucket == null || !bucket.bloom.mightContain(jti)) {
+            bloomNegatives.increment();
+            return false;
+        }
+        if (bucket.jtis.contains(jti)) {
+            revokedHits.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Pick up revocations written by other nodes within the lookback window. The window must
+     * exceed the longest revoking transaction plus the clock skew between nodes.
+     */
+    @Scheduled(fixedDelayString = "${app.token-revocation.poll-interval-ms:2000}")
+    public void pollRevocations() {
+        long now = System.currentTimeMillis();
+        jdbcTemplate.query(
+            "SELECT jti, expires_at FROM revoked_tokens WHERE revoked_at >= ? AND expires_at > ?",
+            REVOCATION_MAPPER, new Timestamp(now - pollLookbackMillis), new Timestamp(now))
+            .forEach(revocation -> remember(revocation.jti(), revocation.expiresAt()));
+    }
+
+    /**
+     * Drop buckets and rows whose tokens have all expired
+     */
+    @Scheduled(fixedDelayString = "${app.token-revocation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        buckets.headMap(now / bucketMillis).clear();
+        jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at < ?", new Timestamp(now));
+    }
+
+    public int size() {
+        return buckets.values().stream().mapToInt(bucket -> bucket.jtis.size()).sum();
+    }
+
+    private void remember(String jti, long expiresAtMillis) {
+        Bucket bucket = buckets.computeIfAbsent(expiresAtMillis / bucketMillis,
+            index -> new Bucket(new BloomFilter(expectedPerBucket, falsePositiveRate), ConcurrentHashMap.newKeySet()));
+        // Exact set first, so a concurrent Bloom hit never finds the id missing
+        bucket.jtis.add(jti);
+        bucket.bloom.put(jti);
+    }
+
+    private Counter lookupCounter(String result) {
+        return Counter.builder("auth.token.revocation.lookups")
+            .description("Revocation checks by outcome")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private record Bucket(BloomFilter bloom, Set<String> jtis) {}
+
+    private record Revocation(String jti, long expiresAt) {}
+}
@@ -1,5 +1,6 @@
 package com.thaiinsurance.autoinsurance.service;
 
+import com.thaiinsurance.autoinsurance.dto.VehicleDTO;
 import com.thaiinsurance.autoinsurance.model.Customer;
 import com.thaiinsurance.autoinsurance.model.Vehicle;
 import com.thaiinsurance.autoinsurance.repository.CustomerRepository;
@@ -16,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -116,6 +118,43 @@ public class VehicleService {
         return vehicleRepository.findById(id);
     }
     
+    /**
+     * Get all vehicles as read models with pagination
+     */
+    @Transactional(readOnly = true)
+    public Page<VehicleDTO> getVehicleSummaries(Pageable pageable) {
+        return vehicleRepository.findAllSummaries(pageable);
+    }
+    
+    /**
+     * Search vehicles as read models
+     */
+    @Transactional(readOnly = true)
+    public Page<VehicleDTO> searchVehicleSummaries(String searchTerm, Pageable pageable) {
+        return vehicleRepository.searchSummaries(searchTerm, pageable);
+    }
+    
+    /**
+     * Get vehicle read model by ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<VehicleDTO> getVehicleSummaryById(Long id) {
+        return vehicleRepository.findSummaryById(id);
+    }
+    
+    /**
+     * Get vehicle read model by ID if it belongs to one of the given customers; a null
+     * scope means any customer, as returned by CustomerOwnershipGuard#customerScope
+     */
+    @Transactional(readOnly = true)
+    public Optional<VehicleDTO> getVehicleSummaryById(Long id, Set<Long> customerScope) {
+        if (customerScope == null) {
+            return vehicleRepository.findSummaryById(id);
+        }
+        return customerScope.isEmpty() ? Optional.empty()
+                : vehicleRepository.findSummaryByIdAndCustomerIdIn(id, customerScope);
+    }
+    
     /**
      * Get vehicle by license plate
      */
@@ -0,0 +1,181 @@
+package com.thaiinsurance.autoinsurance.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic building blocks for synthetic Thai test data. Identifiers derived from an
+ * ordinal are unique per ordinal (and never collide with the application's own number
+ * formats); everything else is drawn from the caller's random source so a fixed seed always
+ * reproduces the same values.
+ */
+public final class ThaiSyntheticData {
+
+    private static final long NATIONAL_ID_SPACE = 100_000_000_000L;
+
+    // Multiplier coprime with 10^11 and 10^8 so ordinal -> digits is a bijection that looks random
+    private static final long SCRAMBLE = 7_919_304_311L;
+
+    private static final String PLATE_LETTERS = "กขคฆงจฉชซฌญฎฐฒณดตถทธนบผพฟภมยรลวศษสหฬอฮ";
+
+    public static final String[][] MALE_NAMES = {
+        {"Somchai", "สมชาย"}, {"Somsak", "สมศักดิ์"}, {"Prasert", "ประเสริฐ"}, {"Anan", "อนันต์"},
+        {"Wichai", "วิชัย"}, {"Thanawat", "ธนวัฒน์"}, {"Kittisak", "กิตติศักดิ์"}, {"Nattapong", "ณัฐพงษ์"},
+        {"Chaiwat", "ชัยวัฒน์"}, {"Surachai", "สุรชัย"}, {"Pongsakorn", "พงศกร"}, {"Thanakorn", "ธนากร"}
+    };
+
+    public static final String[][] FEMALE_NAMES = {
+        {"Somying", "สมหญิง"}, {"Malee", "มาลี"}, {"Siriporn", "ศิริพร"}, {"Kanokwan", "กนกวรรณ"},
+        {"Suda", "สุดา"}, {"Wanida", "วนิดา"}, {"Pornthip", "พรทิพย์"}, {"Nattaya", "ณัฐยา"},
+        {"Araya", "อารยา"}, {"Jiraporn", "จิราพร"}, {"Ratana", "รัตนา"}, {"Sasithorn", "ศศิธร"}
+    };
+
+    public static final String[][] SURNAMES = {
+        {"Jaidee", "ใจดี"}, {"Sukjai", "สุขใจ"}, {"Srisuk", "ศรีสุข"}, {"Wongsawat", "วงศ์สวัสดิ์"},
+        {"Chaiyaporn", "ชัยพร"}, {"Rattanakul", "รัตนกุล"}, {"Thongdee", "ทองดี"}, {"Saetang", "แซ่ตั้ง"},
+        {"Boonmee", "บุญมี"}, {"Kaewkla", "แก้วกล้า"}, {"Phromma", "พรหมมา"}, {"Suwannarat", "สุวรรณรัตน์"},
+        {"Chantarasiri", "จันทรศิริ"}, {"Intharasuk", "อินทรสุข"}, {"Siriwan", "ศิริวรรณ"}, {"Phanthong", "พันธ์ทอง"}
+    };
+
+    /**
+     * Province, weight (share of registered vehicles, roughly), then district/postal-code pairs
+     */
+    private static final Province[] PROVINCES = {
+        new Province("Bangkok", 30, "Pathum Wan", "10330", "Bang Rak", "10500", "Chatuchak", "10900",
+            "Huai Khwang", "10310", "Bang Kapi", "10240", "Khlong Toei", "10110", "Lat Phrao", "10230", "Bang Na", "10260"),
+        new Province("Nonthaburi", 6, "Mueang Nonthaburi", "11000", "Pak Kret", "11120", "Bang Bua Thong", "11110"),
+        new Province("Samut Prakan", 6, "Mueang Samut Prakan", "10270", "Bang Phli", "10540", "Phra Pradaeng", "10130"),
+        new Province("Pathum Thani", 5, "Mueang Pathum Thani", "12000", "Khlong Luang", "12120", "Thanyaburi", "12110"),
+        new Province("Chonburi", 7, "Mueang Chonburi", "20000", "Si Racha", "20110", "Bang Lamung", "20150"),
+        new Province("Rayong", 3, "Mueang Rayong", "21000", "Pluak Daeng", "21140"),
+        new Province("Nakhon Ratchasima", 5, "Mueang Nakhon Ratchasima", "30000", "Pak Chong", "30130"),
+        new Province("Khon Kaen", 4, "Mueang Khon Kaen", "40000", "Ban Phai", "40110"),
+        new Province("Udon Thani", 3, "Mueang Udon Thani", "41000"),
+        new Province("Ubon Ratchathani", 3, "Mueang Ubon Ratchathani", "34000"),
+        new Province("Chiang Mai", 5, "Mueang Chiang Mai", "50000", "San Sai", "50210", "Hang Dong", "50230"),
+        new Province("Chiang Rai", 2, "Mueang Chiang Rai", "57000"),
+        new Province("Phitsanulok", 2, "Mueang Phitsanulok", "65000"),
+        new Province("Phra Nakhon Si Ayutthaya", 2, "Phra Nakhon Si Ayutthaya", "13000"),
+        new Province("Nakhon Si Thammarat", 3, "Mueang Nakhon Si Thammarat", "80000"),
+        new Province("Surat Thani", 2, "Mueang Surat Thani", "84000"),
+        new Province("Phuket", 2, "Mueang Phuket", "83000", "Kathu", "83120"),
+        new Province("Songkhla", 3, "Hat Yai", "90110", "Mueang Songkhla", "90000")
+    };
+
+    private static final int PROVINCE_WEIGHT_TOTAL;
+
+    static {
+        int total = 0;
+        for (Province province : PROVINCES) {
+            total += province.weight();
+        }
+        PROVINCE_WEIGHT_TOTAL = total;
+    }
+
+    private ThaiSyntheticData() {}
+
+    /**
+     * 13-digit national ID with a valid check digit, unique per ordinal below 10^9
+     */
+    public static String nationalId(long ordinal) {
+        // First digit 1-8 (the person categories in use), then 11 scrambled digits
+        long body = Math.floorMod(ordinal * SCRAMBLE, NATIONAL_ID_SPACE);
+        String digits = (1 + Math.floorMod(ordinal, 8)) + String.format("%011d", body);
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += Character.getNumericValue(digits.charAt(i)) * (13 - i);
+        }
+        int remainder = sum % 11;
+        int checkDigit = remainder < 2 ? 1 - remainder : 11 - remainder;
+        return digits + checkDigit;
+    }
+
+    /**
+     * Mobile number (06/08/09 prefix), unique per ordinal below 10^8
+     */
+    public static String phoneNumber(long ordinal) {
+        String prefix = switch ((int) Math.floorMod(ordinal, 3)) {
+            case 0 -> "08";
+            case 1 -> "09";
+            default -> "06";
+        };
+        return prefix + String.format("%08d", Math.floorMod(ordinal * SCRAMBLE, 100_000_000L));
+    }
+
+    /**
+     * Private-car plate such as {@code 1กข 1234}, unique per ordinal below ~130 million
+     */
+    public static String licensePlate(long ordinal) {
+        int letters = PLATE_LETTERS.length();
+        long number = ordinal % 9999 + 1;
+        long rest = ordinal / 9999;
+        char second = PLATE_LETTERS.charAt((int) (rest % letters));
+        rest /= letters;
+        char first = PLATE_LETTERS.charAt((int) (rest % letters));
+        rest /= letters;
+        return (rest % 9 + 1) + "" + first + second + " " + number;
+    }
+
+    /**
+     * 17-character VIN from the manufacturer's world identifier and the ordinal
+     */
+    public static String chassisNumber(String worldManufacturerId, long ordinal) {
+        return worldManufacturerId + "S" + String.format("%013d", ordinal);
+    }
+
+    public static Province province(SplittableRandom random) {
+        int pick = random.nextInt(PROVINCE_WEIGHT_TOTAL);
+        for (Province province : PROVINCES) {
+            pick -= province.weight();
+            if (pick < 0) {
+                return province;
+            }
+        }
+        return PROVINCES[0];
+    }
+
+    public static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Pick an index according to integer weights
+     */
+    public static int weighted(SplittableRandom random, int... weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    /**
+     * Log-normally distributed amount around the median, clamped to [min, max]
+     */
+    public static double logNormal(SplittableRandom random, double median, double sigma, double min, double max) {
+        // Box-Muller from two uniforms
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        return Math.max(min, Math.min(max, median * Math.exp(sigma * gaussian)));
+    }
+
+    public record Province(String name, int weight, String... districtsAndPostalCodes) {
+
+        public int districtCount() {
+            return districtsAndPostalCodes.length / 2;
+        }
+
+        public String district(int index) {
+            return districtsAndPostalCodes[index * 2];
+        }
+
+        public String postalCode(int index) {
+            return districtsAndPostalCodes[index * 2 + 1];
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.thaiinsurance.autoinsurance.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets by key, e.g. one per client IP and route. Buckets live in a bounded map and are
+ * dropped after a period without requests; a dropped bucket simply starts full again. Updates
+ * are guarded by a fixed set of striped locks rather than a lock per bucket, so memory stays
+ * flat however many keys are seen, and unrelated keys rarely contend.
+ */
+public class TokenBucketLimiter {
+
+    private final Cache<String, Bucket> buckets;
+    private final ReentrantLock[] stripes;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketLimiter(int stripes, long maxKeys, Duration idleEviction) {
+        this(stripes, maxKeys, idleEviction, System::nanoTime);
+    }
+
+    public TokenBucketLimiter(int stripes, long maxKeys, Duration idleEviction, LongSupplier nanoClock) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripes must be a positive power of two: " + stripes);
+        }
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterAccess(idleEviction)
+            .build();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Take one token from the key's bucket, creating it full with the given size and refill
+     * rate if needed.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(String key, long capacity, double refillPerSecond) {
+        long now = nanoClock.getAsLong();
+        Bucket bucket = buckets.get(key, k -> new Bucket(capacity, refillPerSecond / TimeUnit.SECONDS.toNanos(1), now));
+        ReentrantLock lock = stripeFor(key);
+        lock.lock();
+        try {
+            bucket.refill(now);
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                bucket.unsynced++;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / bucket.refillPerNano);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove tokens consumed elsewhere, e.g. by other nodes sharing the limit. The bucket may go
+     * negative, which delays the next token accordingly.
+     */
+    public void debit(String key, long tokens) {
+        Bucket bucket = buckets.getIfPresent(key);
+        if (bucket == null || tokens <= 0) {
+            return;
+        }
+        ReentrantLock lock = stripeFor(key);
+        lock.lock();
+        try {
+            bucket.refill(nanoClock.getAsLong());
+            bucket.tokens = Math.max(bucket.tokens - tokens, -bucket.capacity);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tokens taken per key since the previous call
+     */
+    public Map<String, Long> drainConsumed() {
+        Map<String, Long> consumed = new HashMap<>();
+        buckets.asMap().forEach((key, bucket) -> {
+            ReentrantLock lock = stripeFor(key);
+            lock.lock();
+            try {
+                if (bucket.unsynced > 0) {
+                    consumed.put(key, bucket.unsynced);
+                    bucket.unsynced = 0;
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+        return consumed;
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+
+    private ReentrantLock stripeFor(String key) {
+        int hash = key.hashCode();
+        // Spread the high bits, as HashMap does, before masking
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Bucket {
+
+        private final long capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefill;
+        private long unsynced;
+
+        private Bucket(long capacity, double refillPerNano, long now) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerNano;
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        private void refill(long now) {
+            if (now > lastRefill) {
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+                lastRefill = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- Access tokens carry the version they were issued with; bumping it (deactivation, lock,
+-- role or password change) invalidates every outstanding token of the user
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,11 @@
+-- Revoked JWT ids (logout). Every node loads the unexpired rows at startup and polls for new
+-- ones; rows are purged once the token they revoke has expired anyway.
+CREATE TABLE revoked_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    jti VARCHAR(36) NOT NULL UNIQUE,
+    user_id BIGINT,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
@@ -0,0 +1,15 @@
+-- One row per login session (refresh-token family) holding the SHA-256 of its only live
+-- refresh token. Each refresh swaps the hash in a single conditional update; presenting any
+-- other token of the family is reuse and revokes the whole family.
+CREATE TABLE refresh_token_families (
+    family_id VARCHAR(36) PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    token_hash VARCHAR(44) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    rotated_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP
+);
+
+CREATE INDEX idx_refresh_token_families_user_id ON refresh_token_families(user_id);
+CREATE INDEX idx_refresh_token_families_expires_at ON refresh_token_families(expires_at);
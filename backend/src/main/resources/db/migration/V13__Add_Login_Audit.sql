@@ -0,0 +1,13 @@
+-- Login attempts, written in batches by LoginActivityService. user_id is null for attempts
+-- against unknown accounts.
+CREATE TABLE login_audit (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT,
+    username_or_email VARCHAR(100) NOT NULL,
+    outcome VARCHAR(20) NOT NULL,
+    ip_address VARCHAR(45),
+    occurred_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_login_audit_user_id ON login_audit(user_id, occurred_at);
+CREATE INDEX idx_login_audit_occurred_at ON login_audit(occurred_at);
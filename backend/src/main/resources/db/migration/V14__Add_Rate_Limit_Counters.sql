@@ -0,0 +1,9 @@
+-- Tokens handed out per rate-limit bucket and time window, summed over all nodes. Only used
+-- when app.rate-limit.shared.enabled is set; rows are purged once their window has ended.
+CREATE TABLE rate_limit_counters (
+    counter_key VARCHAR(255) PRIMARY KEY,
+    window_start TIMESTAMP NOT NULL,
+    consumed BIGINT NOT NULL
+);
+
+CREATE INDEX idx_rate_limit_counters_window_start ON rate_limit_counters(window_start);
@@ -0,0 +1,2 @@
+-- Nodes poll revoked_tokens by a trailing revoked_at window rather than by id
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
@@ -0,0 +1,7 @@
+-- Lease that lets only one node at a time drain outbox_events, so events are delivered once
+-- and in id order across the cluster. The row is created by the first node to take the lease.
+CREATE TABLE outbox_leases (
+    name VARCHAR(50) PRIMARY KEY,
+    owner VARCHAR(36) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,10 @@
+-- Cross-node invalidation log for the Hibernate second-level cache
+CREATE TABLE cache_invalidations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity_name VARCHAR(100) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    node_id VARCHAR(36) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_cache_invalidations_created_at ON cache_invalidations(created_at);
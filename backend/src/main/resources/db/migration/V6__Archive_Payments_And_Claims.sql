@@ -0,0 +1,10 @@
+-- Recent rows stay in the live tables; rows older than the retention window are moved by
+-- PartitionMaintenanceService into these identically shaped archive tables.
+CREATE SCHEMA IF NOT EXISTS archive;
+
+CREATE TABLE IF NOT EXISTS archive.payments AS SELECT * FROM payments WITH NO DATA;
+CREATE TABLE IF NOT EXISTS archive.claims AS SELECT * FROM claims WITH NO DATA;
+CREATE TABLE IF NOT EXISTS archive.claim_documents AS SELECT * FROM claim_documents WITH NO DATA;
+
+CREATE INDEX IF NOT EXISTS idx_archive_payments_date ON archive.payments(payment_date);
+CREATE INDEX IF NOT EXISTS idx_archive_claims_incident_date ON archive.claims(incident_date);
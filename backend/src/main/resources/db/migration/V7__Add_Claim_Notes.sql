@@ -0,0 +1,17 @@
+-- Append-only claim timeline replacing the concatenated claims.adjuster_notes column.
+CREATE TABLE claim_notes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    claim_id BIGINT NOT NULL REFERENCES claims(id),
+    note_type VARCHAR(20) NOT NULL,
+    content VARCHAR(2000) NOT NULL,
+    author_id BIGINT REFERENCES users(id),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_claim_notes_claim_created ON claim_notes(claim_id, created_at);
+
+-- Keep existing free-text notes as the first entry of each timeline
+INSERT INTO claim_notes (claim_id, note_type, content, created_at)
+SELECT id, 'ADJUSTER', TRIM(adjuster_notes), COALESCE(updated_at, created_at)
+FROM claims
+WHERE adjuster_notes IS NOT NULL AND TRIM(adjuster_notes) <> '';
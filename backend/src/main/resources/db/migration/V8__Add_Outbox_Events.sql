@@ -0,0 +1,18 @@
+-- Transactional outbox: domain events written in the same transaction as the entity change
+-- and delivered in id order by OutboxPublisher
+CREATE TABLE outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    dedupe_key VARCHAR(36) NOT NULL UNIQUE,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload VARCHAR(4000),
+    created_at TIMESTAMP NOT NULL,
+    published_at TIMESTAMP,
+    failed_at TIMESTAMP,
+    attempts INT NOT NULL DEFAULT 0
+);
+
+-- Pending events are the only rows the publisher scans
+CREATE INDEX idx_outbox_events_pending ON outbox_events(published_at, failed_at, id);
+CREATE INDEX idx_outbox_events_published_at ON outbox_events(published_at);
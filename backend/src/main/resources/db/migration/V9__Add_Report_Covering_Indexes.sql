@@ -0,0 +1,15 @@
+-- Composite indexes for the report range queries. Each leads with the equality column
+-- (status), then the range column, then the aggregated column, so SUM/COUNT over a date
+-- range is answered from the index without touching the table rows.
+
+-- PaymentRepository revenue and count queries: status = ? AND payment_date >= ? AND payment_date < ?
+CREATE INDEX idx_payments_status_date_amount ON payments(status, payment_date, amount);
+
+-- ClaimRepository settlement sums and counts: status = 'SETTLED' AND closed_date BETWEEN ? AND ?
+CREATE INDEX idx_claims_status_closed_paid ON claims(status, closed_date, paid_amount);
+
+-- ClaimRepository status counts: status = ? AND reported_date BETWEEN ? AND ?
+CREATE INDEX idx_claims_status_reported ON claims(status, reported_date);
+
+-- PolicyRepository issuance counts and premium sums: status = ? AND issued_date BETWEEN ? AND ?
+CREATE INDEX idx_policies_status_issued ON policies(status, issued_date, premium_amount);
@@ -11,6 +11,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.concurrent.Callable;
 
 /**
  * Base test class for all controller tests.
@@ -72,6 +76,20 @@ public abstract class BaseControllerTest {
         // Override in subclasses for specific mock setups
     }
 
+    /**
+     * Perform the request and fail if it issues more than {@code maxStatements} SQL statements
+     */
+    protected ResultActions performWithinQueryBudget(int maxStatements, RequestBuilder request) throws Exception {
+        return QueryBudget.assertWithin(maxStatements, QueryBudget.describe(request), () -> mockMvc.perform(request));
+    }
+
+    /**
+     * Run a service call and fail if it issues more than {@code maxStatements} SQL statements
+     */
+    protected <T> T withinQueryBudget(int maxStatements, String description, Callable<T> call) throws Exception {
+        return QueryBudget.assertWithin(maxStatements, description, call);
+    }
+
     protected String asJsonString(Object obj) {
         try {
             return objectMapper.writeValueAsString(obj);
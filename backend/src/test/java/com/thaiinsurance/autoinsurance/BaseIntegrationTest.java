@@ -8,8 +8,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.Callable;
+
 /**
  * Base class for integration tests.
  * Provides complete Spring Boot context with H2 database and web layer.
@@ -17,7 +21,8 @@ import org.springframework.transaction.annotation.Transactional;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK,
     properties = {
         "spring.jpa.hibernate.ddl-auto=create-drop",
-        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        // One database per cached context, so create-drop on close cannot remove another context's tables
+        "spring.datasource.url=jdbc:h2:mem:testdb-${random.uuid};MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
         "spring.datasource.driver-class-name=org.h2.Driver",
         "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect", 
         "spring.jpa.show-sql=false",
@@ -44,6 +49,20 @@ public abstract class BaseIntegrationTest {
     protected com.thaiinsurance.autoinsurance.config.DataInitializer dataInitializer;
 
 
+    /**
+     * Perform the request and fail if it issues more than {@code maxStatements} SQL statements
+     */
+    protected ResultActions performWithinQueryBudget(int maxStatements, RequestBuilder request) throws Exception {
+        return QueryBudget.assertWithin(maxStatements, QueryBudget.describe(request), () -> mockMvc.perform(request));
+    }
+
+    /**
+     * Run a service call and fail if it issues more than {@code maxStatements} SQL statements
+     */
+    protected <T> T withinQueryBudget(int maxStatements, String description, Callable<T> call) throws Exception {
+        return QueryBudget.assertWithin(maxStatements, description, call);
+    }
+
     protected String asJsonString(Object obj) {
         try {
             return objectMapper.writeValueAsString(obj);
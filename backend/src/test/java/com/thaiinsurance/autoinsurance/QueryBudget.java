@@ -0,0 +1,72 @@
+package com.thaiinsurance.autoinsurance;
+
+import com.thaiinsurance.autoinsurance.config.SqlStatementStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements issued by a block of test code, such as one MockMvc request or one
+ * service call, and fails when a declared budget is exceeded. Counting is per thread (through
+ * {@link SqlStatementStats}, filled in by the instrumented data source), so statements issued
+ * by other tests, background jobs or {@code @Async} work are not included.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {}
+
+    /**
+     * Run the action and count the statements it issued on this thread
+     */
+    public static <T> Measurement<T> measure(Callable<T> action) throws Exception {
+        SqlStatementStats.reset();
+        T value = action.call();
+        SqlStatementStats stats = SqlStatementStats.current();
+        return new Measurement<>(value, stats.getStatementCount(), List.copyOf(stats.getSlowest()));
+    }
+
+    /**
+     * Run the action and fail if it issued more than {@code maxStatements} statements
+     */
+    public static <T> T assertWithin(int maxStatements, String description, Callable<T> action) throws Exception {
+        Measurement<T> measurement = measure(action);
+        if (measurement.statements() > maxStatements) {
+            throw new AssertionError(description + " issued " + measurement.statements()
+                + " SQL statements, budget is " + maxStatements + "; slowest: " + measurement.describeSlowest());
+        }
+        return measurement.value();
+    }
+
+    /**
+     * Empty Hibernate's second-level and query caches so the next measurement starts cold and
+     * cannot hide an N+1 behind cache hits
+     */
+    public static void evictSecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    /**
+     * Method, path and query string of a MockMvc request, for failure messages
+     */
+    public static String describe(RequestBuilder request) {
+        MockHttpServletRequest built = request.buildRequest(new MockServletContext());
+        return built.getMethod() + " " + built.getRequestURI()
+            + (built.getQueryString() == null ? "" : "?" + built.getQueryString());
+    }
+
+    public record Measurement<T>(T value, long statements, List<SqlStatementStats.Statement> slowest) {
+
+        public String describeSlowest() {
+            return slowest.stream()
+                .map(statement -> TimeUnit.NANOSECONDS.toMillis(statement.nanos()) + " ms " + statement.sql())
+                .collect(Collectors.joining(" | "));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.thaiinsurance.autoinsurance;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hibernate statement inspector that counts every SQL statement prepared by the session factory.
+ * Register it with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}
+ * and use {@link #reset()} / {@link #count()} around the code under test.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final AtomicLong COUNT = new AtomicLong();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.incrementAndGet();
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    public static long count() {
+        return COUNT.get();
+    }
+}
@@ -0,0 +1,154 @@
+package com.thaiinsurance.autoinsurance;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records the SQL and bound parameters of every prepared statement run inside
+ * {@link #capture(Runnable)}, so the exact statements a repository method issues can be
+ * replayed under H2's {@code EXPLAIN ANALYZE}. Register it as a bean to wrap the data source.
+ */
+public class QueryPlanCapture implements BeanPostProcessor {
+
+    private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\*\\s*[\\w\"]+\\.\"?(\\w+)\"?\\.tableScan\\s*\\*/", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern INDEX_ACCESS = Pattern.compile("/\\*\\s*[\\w\"]+\\.\"?(\\w+)\"?:", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount:\\s*(\\d+)");
+
+    /**
+     * Run the action and return the prepared statements it executed, in order
+     */
+    public static List<CapturedStatement> capture(Runnable action) {
+        List<CapturedStatement> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            action.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return statements;
+    }
+
+    /**
+     * Run {@code EXPLAIN ANALYZE} for a captured statement and summarise the plan
+     */
+    public static Plan explain(DataSource dataSource, CapturedStatement statement) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN ANALYZE " + statement.sql())) {
+            for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                explain.setObject(parameter.getKey(), parameter.getValue());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = explain.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return Plan.parse(plan.toString());
+        }
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                return result instanceof Connection connection ? wrapConnection(connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                return wrapStatement(statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement wrapStatement(PreparedStatement statement, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.startsWith("execute")) {
+                List<CapturedStatement> captured = CAPTURED.get();
+                if (captured != null) {
+                    captured.add(new CapturedStatement(sql, new TreeMap<>(parameters)));
+                }
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return (T) Proxy.newProxyInstance(QueryPlanCapture.class.getClassLoader(), new Class<?>[] {type}, invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler<T> {
+        Object handle(T target, Method method, Object[] args) throws Throwable;
+    }
+
+    public record CapturedStatement(String sql, Map<Integer, Object> parameters) {}
+
+    /**
+     * The parts of an H2 plan that matter for regressions: tables read in full, indexes used
+     * and the number of rows the executor actually visited
+     */
+    public record Plan(Set<String> tableScans, Set<String> indexes, long rowsScanned, String text) {
+
+        static Plan parse(String text) {
+            Set<String> tableScans = new LinkedHashSet<>();
+            Matcher tableScan = TABLE_SCAN.matcher(text);
+            while (tableScan.find()) {
+                tableScans.add(tableScan.group(1).toLowerCase());
+            }
+            Set<String> indexes = new LinkedHashSet<>();
+            Matcher index = INDEX_ACCESS.matcher(text);
+            while (index.find()) {
+                indexes.add(index.group(1).toLowerCase());
+            }
+            long rowsScanned = 0;
+            Matcher scanCount = SCAN_COUNT.matcher(text);
+            while (scanCount.find()) {
+                rowsScanned += Long.parseLong(scanCount.group(1));
+            }
+            return new Plan(tableScans, indexes, rowsScanned, text);
+        }
+    }
+}
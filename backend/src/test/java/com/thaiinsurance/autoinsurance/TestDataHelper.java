@@ -185,6 +185,7 @@ public class TestDataHelper {
         Payment payment = new Payment();
         payment.setPaymentReference("PAY-TEST-001");
         payment.setAmount(new BigDecimal("15000.00"));
+        payment.setPaymentType(Payment.PaymentType.PREMIUM);
         payment.setPaymentDate(LocalDateTime.now());
         payment.setDueDate(LocalDate.now().plusDays(15));
         payment.setPaymentMethod(Payment.PaymentMethod.BANK_TRANSFER);
@@ -208,6 +209,17 @@ public class TestDataHelper {
         return user;
     }
 
+    /**
+     * Creates a test user with the given username and role
+     */
+    public static User createValidUser(String username, Role role) {
+        User user = createValidUser();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setRole(role);
+        return user;
+    }
+
     /**
      * Gets a test role
      */
@@ -239,6 +251,26 @@ public class TestDataHelper {
         return customer;
     }
 
+    /**
+     * Creates a complete customer whose unique keys are derived from the series (1-9) and index,
+     * so several can be saved side by side. Saving the customer also saves its vehicle and policy.
+     */
+    public static Customer createCompleteCustomer(int series, int index) {
+        Customer customer = createCompleteCustomer();
+        customer.setNationalId(String.format("%d%012d", series, index));
+        customer.setPhoneNumber(String.format("0%d%08d", series, index));
+        customer.setEmail("customer" + series + "." + index + "@example.com");
+
+        Vehicle vehicle = customer.getVehicles().get(0);
+        vehicle.setLicensePlate(String.format("%dกข%04d", series, index));
+        vehicle.setChassisNumber("CHASSIS-" + series + "-" + index);
+        vehicle.setEngineNumber("ENGINE-" + series + "-" + index);
+        vehicle.setOwner(customer);
+
+        customer.getPolicies().get(0).setPolicyNumber("POL-" + series + "-" + index);
+        return customer;
+    }
+
     /**
      * Creates a list of Thai provinces for testing
      */
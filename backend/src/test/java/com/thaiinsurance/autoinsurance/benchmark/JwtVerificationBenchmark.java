@@ -0,0 +1,101 @@
+package com.thaiinsurance.autoinsurance.benchmark;
+
+import com.thaiinsurance.autoinsurance.model.Role;
+import com.thaiinsurance.autoinsurance.security.JwtTokenUtil;
+import com.thaiinsurance.autoinsurance.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request from its bearer token: the old path (verify, then parse
+ * again for the user id, rebuilding the HMAC key each time), a first-seen token with the cached
+ * key and parser, and a token already in the verified-token cache.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark -Dtest=JwtVerificationBenchmark}; results are also
+ * written to {@code target/benchmarks/JwtVerificationBenchmark.json}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET =
+        "MyVeryLongSecretKeyForHS512Algorithm12345678901234567890123456789012345678901234567890";
+
+    private JwtTokenUtil jwtTokenUtil;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(jwtTokenUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenUtil, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtTokenUtil, "refreshExpiration", TimeUnit.DAYS.toMillis(7));
+        ReflectionTestUtils.setField(jwtTokenUtil, "verifiedCacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(jwtTokenUtil, "verifiedCacheMaxTtlSeconds", 300L);
+        ReflectionTestUtils.invokeMethod(jwtTokenUtil, "init");
+
+        UserPrincipal principal = new UserPrincipal(1L, "somchai.j", "somchai@example.com", null,
+            "Somchai", "Jaidee", Set.of(Role.CUSTOMER), true, 0);
+        token = jwtTokenUtil.generateAccessToken(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        parser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build();
+    }
+
+    @Benchmark
+    public Long parseTwiceRebuildingKey() {
+        Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parseClaimsJws(token);
+        return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+            .parseClaimsJws(token).getBody().get("userId", Long.class);
+    }
+
+    @Benchmark
+    public Claims parseOnceWithCachedKey() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims verifiedTokenCacheHit() {
+        return jwtTokenUtil.verifyToken(token);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.enabled", matches = "true")
+    void runBenchmarks() throws Exception {
+        Path results = Path.of("target", "benchmarks", getClass().getSimpleName() + ".json");
+        Files.createDirectories(results.getParent());
+        new Runner(new OptionsBuilder()
+            .include(getClass().getName())
+            .resultFormat(ResultFormatType.JSON)
+            .result(results.toString())
+            .build()).run();
+    }
+}
@@ -0,0 +1,97 @@
+package com.thaiinsurance.autoinsurance.benchmark;
+
+import com.thaiinsurance.autoinsurance.model.Role;
+import com.thaiinsurance.autoinsurance.security.RoleMaskAuthorizationManager;
+import com.thaiinsurance.autoinsurance.security.UserPrincipal;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@code @PreAuthorize} decision made for each secured controller call: Spring's
+ * SpEL evaluation with an authority scan, against the role mask compiled by
+ * {@link RoleMaskAuthorizationManager}.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark -Dtest=MethodAuthorizationBenchmark}; results are also
+ * written to {@code target/benchmarks/MethodAuthorizationBenchmark.json}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MethodAuthorizationBenchmark {
+
+    private PreAuthorizeAuthorizationManager spelManager;
+    private RoleMaskAuthorizationManager roleMaskManager;
+    private MethodInvocation invocation;
+    private Authentication authentication;
+
+    @Setup
+    public void setUp() throws Exception {
+        spelManager = new PreAuthorizeAuthorizationManager();
+        roleMaskManager = new RoleMaskAuthorizationManager(spelManager);
+        roleMaskManager.precompile(SampleController.class);
+        invocation = new SimpleMethodInvocation(new SampleController(),
+            SampleController.class.getMethod("listPolicies"));
+
+        UserPrincipal principal = new UserPrincipal(1L, "somchai.j", "somchai@example.com", null,
+            "Somchai", "Jaidee", Set.of(Role.ADMIN), true, 0);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Benchmark
+    public AuthorizationDecision spelExpression() {
+        return spelManager.check(() -> authentication, invocation);
+    }
+
+    @Benchmark
+    public AuthorizationDecision compiledRoleMask() {
+        return roleMaskManager.check(() -> authentication, invocation);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.enabled", matches = "true")
+    void runBenchmarks() throws Exception {
+        Path results = Path.of("target", "benchmarks", getClass().getSimpleName() + ".json");
+        Files.createDirectories(results.getParent());
+        new Runner(new OptionsBuilder()
+            .include(getClass().getName())
+            .resultFormat(ResultFormatType.JSON)
+            .result(results.toString())
+            .build()).run();
+    }
+
+    public static class SampleController {
+
+        // The most common rule on the controllers
+        @PreAuthorize("hasAnyRole('CUSTOMER','AGENT','ADMIN')")
+        public void listPolicies() {
+        }
+    }
+}
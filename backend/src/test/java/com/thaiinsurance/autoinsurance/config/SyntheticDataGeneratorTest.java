@@ -0,0 +1,69 @@
+package com.thaiinsurance.autoinsurance.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Synthetic Data Generator Tests")
+class SyntheticDataGeneratorTest {
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2024, 6, 30);
+
+    private final SyntheticDataGenerator generator = new SyntheticDataGenerator();
+
+    @Test
+    @DisplayName("Should build each chunk from the seed and chunk index alone")
+    void shouldBuildDeterministicChunks() {
+        SyntheticDataGenerator.Chunk first = generator.buildChunk(settings(99L, 1), 3);
+        // Insert threads build chunks in any order; earlier chunks must not change a later one
+        SyntheticDataGenerator other = new SyntheticDataGenerator();
+        for (int chunkIndex = 0; chunkIndex < 3; chunkIndex++) {
+            other.buildChunk(settings(99L, 1), chunkIndex);
+        }
+        SyntheticDataGenerator.Chunk second = other.buildChunk(settings(99L, 1), 3);
+        SyntheticDataGenerator.Chunk otherSeed = generator.buildChunk(settings(100L, 1), 3);
+
+        assertEquals(first.rows(), second.rows());
+        assertNotEquals(first.rows(), otherSeed.rows());
+    }
+
+    @Test
+    @DisplayName("Should build rows that reference parents in the same chunk")
+    void shouldBuildConsistentRows() {
+        SyntheticDataGenerator.Chunk chunk = generator.buildChunk(settings(1L, 1), 0);
+
+        assertEquals(100, chunk.rows("customers").size());
+        Set<Object> customerIds = ids(chunk.rows("customers"));
+        Set<Object> vehicleIds = ids(chunk.rows("vehicles"));
+        Set<Object> policyIds = ids(chunk.rows("policies"));
+        assertTrue(chunk.rows("vehicles").stream().allMatch(row -> customerIds.contains(row.get("customer_id"))));
+        assertTrue(chunk.rows("policies").stream().allMatch(row -> vehicleIds.contains(row.get("vehicle_id"))));
+        assertTrue(chunk.rows("claims").stream().allMatch(row -> policyIds.contains(row.get("policy_id"))));
+        assertTrue(chunk.rows("payments").stream().allMatch(row -> policyIds.contains(row.get("policy_id"))));
+        assertFalse(chunk.rows("claims").isEmpty());
+
+        // Every table's rows share one column layout so a single INSERT covers the batch
+        for (String table : SyntheticDataGenerator.TABLES) {
+            List<Map<String, Object>> rows = chunk.rows(table);
+            assertTrue(rows.stream().allMatch(row -> row.keySet().equals(rows.get(0).keySet())), table);
+            assertEquals(rows.size(), ids(rows).size(), "Duplicate ids in " + table);
+        }
+    }
+
+    private static SyntheticDataGenerator.Settings settings(long seed, int threads) {
+        return new SyntheticDataGenerator.Settings(seed, 1000, threads, 100, 50, 1_000_000L, REFERENCE_DATE);
+    }
+
+    private static Set<Object> ids(List<Map<String, Object>> rows) {
+        Set<Object> ids = new HashSet<>();
+        rows.forEach(row -> ids.add(row.get("id")));
+        return ids;
+    }
+}
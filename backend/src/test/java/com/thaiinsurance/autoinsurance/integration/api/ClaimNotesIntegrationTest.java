@@ -0,0 +1,150 @@
+package com.thaiinsurance.autoinsurance.integration.api;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.TestDataHelper;
+import com.thaiinsurance.autoinsurance.dto.ClaimNoteDTO;
+import com.thaiinsurance.autoinsurance.model.*;
+import com.thaiinsurance.autoinsurance.repository.*;
+import com.thaiinsurance.autoinsurance.security.UserPrincipal;
+import com.thaiinsurance.autoinsurance.service.ClaimService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Claim notes are written to the append-only timeline and must never rewrite the claim row.
+ */
+@DisplayName("Claim Notes Timeline Tests")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ClaimNotesIntegrationTest extends BaseIntegrationTest {
+
+    private static final int SERIES = 4;
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User adjuster;
+
+    private Policy policy;
+
+    @BeforeAll
+    void seedPolicy() {
+        adjuster = TestDataHelper.createValidUser("notes.adjuster", Role.CLAIMS_ADJUSTER);
+        adjuster.setFirstName("Somying");
+        adjuster.setLastName("Thongdee");
+        adjuster = userRepository.save(adjuster);
+
+        Customer customer = TestDataHelper.createCompleteCustomer(SERIES, 0);
+        policy = customer.getPolicies().get(0);
+        customerRepository.save(customer);
+    }
+
+    @Test
+    @DisplayName("Adding notes does not rewrite the claim")
+    void addingNotesLeavesClaimUntouched() {
+        Claim claim = saveClaim("CLM-NOTES-1");
+        Long version = claim.getVersion();
+
+        claimService.addNote(claim.getId(), "Called the garage for a repair estimate", adjuster.getId());
+        claimService.addNote(claim.getId(), "Estimate received", adjuster.getId());
+
+        Claim reloaded = claimRepository.findById(claim.getId()).orElseThrow();
+        assertEquals(version, reloaded.getVersion());
+        assertNull(jdbcTemplate.queryForObject("SELECT adjuster_notes FROM claims WHERE id = ?", String.class,
+            claim.getId()));
+        assertEquals(2, claimService.getClaimTimeline(claim.getId(), Pageable.unpaged())
+            .getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Status changes and approvals are recorded on the timeline")
+    void statusChangesAreRecordedOnTimeline() {
+        Claim claim = saveClaim("CLM-NOTES-2");
+
+        claimService.updateClaimStatus(claim.getId(), Claim.ClaimStatus.UNDER_INVESTIGATION,
+            "Site visit booked", adjuster.getId());
+        claimService.approveClaim(claim.getId(), new BigDecimal("25000.00"), "Within policy limits", adjuster.getId());
+
+        List<ClaimNoteDTO> timeline = claimService.getClaimTimeline(claim.getId(), Pageable.unpaged())
+            .getContent();
+        assertEquals(2, timeline.size());
+        assertEquals(ClaimNote.NoteType.STATUS_CHANGE, timeline.get(0).getNoteType());
+        assertTrue(timeline.get(0).getContent().endsWith("Site visit booked"));
+        assertEquals(ClaimNote.NoteType.APPROVAL, timeline.get(1).getNoteType());
+        assertEquals("Somying Thongdee", timeline.get(1).getAuthorName());
+    }
+
+    @Test
+    @DisplayName("Notes for an unknown claim are rejected")
+    void notesForUnknownClaimAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> claimService.addNote(-1L, "Orphan", adjuster.getId()));
+    }
+
+    @Test
+    @DisplayName("Notes without an author are rejected")
+    void notesWithoutAuthorAreRejected() {
+        Claim claim = saveClaim("CLM-NOTES-4");
+
+        assertThrows(IllegalArgumentException.class, () -> claimService.addNote(claim.getId(), "Anonymous", null));
+    }
+
+    @Test
+    @WithMockUser(roles = "CLAIMS_ADJUSTER")
+    @DisplayName("Timeline endpoint returns notes oldest first")
+    void timelineEndpointReturnsNotesInOrder() throws Exception {
+        Claim claim = saveClaim("CLM-NOTES-3");
+
+        // The author comes from the signed-in user, not from a request parameter
+        mockMvc.perform(post("/api/claims/{id}/notes", claim.getId())
+                .with(user(UserPrincipal.create(adjuster)))
+                .param("content", "First contact with claimant"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.noteType").value("ADJUSTER"))
+            .andExpect(jsonPath("$.data.authorId").value(adjuster.getId()))
+            .andExpect(jsonPath("$.data.authorName").value("Somying Thongdee"));
+        claimService.addNote(claim.getId(), "Documents complete", adjuster.getId());
+
+        mockMvc.perform(get("/api/claims/{id}/notes", claim.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.totalElements").value(2))
+            .andExpect(jsonPath("$.data.content[0].content").value(startsWith("First contact")))
+            .andExpect(jsonPath("$.data.content[1].content").value("Documents complete"))
+            .andExpect(jsonPath("$.data.content[1].authorName").value("Somying Thongdee"));
+    }
+
+    private Claim saveClaim(String claimNumber) {
+        Claim claim = new Claim(claimNumber, LocalDate.now().minusDays(5), "Phahonyothin Road, Bangkok",
+            "Side mirror damaged", Claim.IncidentType.COLLISION);
+        claim.setPolicy(policy);
+        return claimRepository.save(claim);
+    }
+}
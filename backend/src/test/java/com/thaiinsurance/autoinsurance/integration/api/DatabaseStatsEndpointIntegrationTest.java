@@ -0,0 +1,74 @@
+package com.thaiinsurance.autoinsurance.integration.api;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.model.Customer;
+import com.thaiinsurance.autoinsurance.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Database Stats Endpoint Tests")
+class DatabaseStatsEndpointIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Reports Hibernate statistics and pool occupancy")
+    void reportsStatistics() throws Exception {
+        Customer customer = customerRepository.save(new Customer("1888000000011", "Wichai", "Thongdee", "0866666666"));
+        customerRepository.findById(customer.getId());
+
+        mockMvc.perform(get("/actuator/dbstats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.hibernate.enabled").value(true))
+            .andExpect(jsonPath("$.hibernate.entities.inserts").value(greaterThanOrEqualTo(1)))
+            .andExpect(jsonPath("$.hibernate.queries.planCache.hits").exists())
+            .andExpect(jsonPath("$.hibernate.secondLevelCache.regions").exists())
+            .andExpect(jsonPath("$.pool.max").value(greaterThanOrEqualTo(1)))
+            .andExpect(jsonPath("$.pool.active").exists())
+            .andExpect(jsonPath("$.pool.acquire.count").exists());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("DELETE starts a fresh measurement window")
+    void resetClearsCounters() throws Exception {
+        customerRepository.save(new Customer("1888000000029", "Somporn", "Dee", "0877777777"));
+
+        mockMvc.perform(delete("/actuator/dbstats")).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/actuator/dbstats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.hibernate.entities.inserts").value(0));
+    }
+
+    @Test
+    @WithMockUser(roles = "AGENT")
+    @DisplayName("Only administrators can read the statistics")
+    void requiresAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/dbstats")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Hibernate and pool meters are registered")
+    void metersAreRegistered() {
+        assertNotNull(meterRegistry.find("hibernate.sessions.open").meter());
+        assertNotNull(meterRegistry.find("hibernate.cache.query.plan").meter());
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").meter());
+        assertNotNull(meterRegistry.find("hikaricp.connections.pending").meter());
+    }
+}
@@ -0,0 +1,93 @@
+package com.thaiinsurance.autoinsurance.integration.api;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.QueryBudget;
+import com.thaiinsurance.autoinsurance.TestDataHelper;
+import com.thaiinsurance.autoinsurance.model.*;
+import com.thaiinsurance.autoinsurance.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards list endpoints against N+1 loading: each request must stay within a fixed statement
+ * budget whatever the requested page size. The second-level cache is emptied before every call
+ * so cache hits from earlier tests cannot hide extra statements.
+ */
+@DisplayName("List Endpoint Query Count Tests")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@WithMockUser(roles = "ADMIN")
+class ListEndpointQueryCountIntegrationTest extends BaseIntegrationTest {
+
+    private static final int ROWS = 25;
+
+    private static final int SERIES = 1;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @BeforeAll
+    void seedData() {
+        User agent = userRepository.save(TestDataHelper.createValidUser("qc.agent", Role.AGENT));
+
+        for (int i = 0; i < ROWS; i++) {
+            Customer customer = TestDataHelper.createCompleteCustomer(SERIES, i);
+            customer.setUser(userRepository.save(TestDataHelper.createValidUser("qc.customer" + i, Role.CUSTOMER)));
+            Policy policy = customer.getPolicies().get(0);
+            policy.setAgent(agent);
+            customerRepository.save(customer);
+
+            Claim claim = TestDataHelper.createValidClaim();
+            claim.setClaimNumber("CLM-QC-" + i);
+            claim.setPolicy(policy);
+            claim.setAdjuster(agent);
+            claimRepository.save(claim);
+
+            Payment payment = TestDataHelper.createValidPayment();
+            payment.setPaymentReference("PAY-QC-" + i);
+            payment.setPolicy(policy);
+            payment.setProcessedBy(agent);
+            paymentRepository.save(payment);
+        }
+    }
+
+    @ParameterizedTest(name = "{0} <= {1} statements")
+    @CsvSource({
+        "/api/admin/policies, 2",
+        "/api/policies, 2",
+        "/api/policies/search?query=POL-1-, 2",
+        "/api/claims, 2",
+        "/api/claims/search?query=CLM-QC, 2",
+        "/api/payments, 2",
+        "/api/payments/search?query=PAY-QC, 2"
+    })
+    @DisplayName("Query count should stay within budget for any page size")
+    void queryCountShouldStayWithinBudget(String endpoint, int budget) throws Exception {
+        String separator = endpoint.contains("?") ? "&" : "?";
+        for (int size : new int[] {5, ROWS}) {
+            QueryBudget.evictSecondLevelCache(entityManagerFactory);
+            performWithinQueryBudget(budget, get(endpoint + separator + "size=" + size))
+                .andExpect(status().isOk());
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.thaiinsurance.autoinsurance.integration.api;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.QueryBudget;
+import com.thaiinsurance.autoinsurance.config.SyntheticDataGenerator;
+import com.thaiinsurance.autoinsurance.model.Role;
+import com.thaiinsurance.autoinsurance.model.User;
+import com.thaiinsurance.autoinsurance.repository.UserRepository;
+import com.thaiinsurance.autoinsurance.service.PolicyService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Sweeps every GET endpoint of every controller and holds it to a SQL statement budget, so an
+ * N+1 or an extra lookup anywhere in the API fails the build. Each endpoint is called with a page
+ * size of 1 and of {@value #PAGE_SIZE} after emptying the second-level cache, and both calls must
+ * stay within the endpoint's budget, and both must succeed so the budget is not measured on an
+ * error path (see {@link #ERROR_PATH_EXCLUSIONS}). An endpoint without a budget fails too.
+ * <p>
+ * Budgets live in {@code src/test/resources/query-budgets/budgets.properties}, keyed by the
+ * mapping pattern. Every run writes the measured counts to
+ * {@code target/query-budgets/measured.properties}; run with
+ * {@code -DqueryBudgets.updateBudgets=true} to copy them over the budgets after an intentional
+ * change (and review the diff).
+ */
+@DisplayName("Query Budget Tests")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = "app.outbox.enabled=false")
+@WithMockUser(roles = "ADMIN")
+class QueryBudgetIntegrationTest extends BaseIntegrationTest {
+
+    private static final long ID_BASE = 500_000L;
+    private static final int CUSTOMERS = 20;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String BUDGETS = "query-budgets/budgets.properties";
+    private static final Path MEASURED = Path.of("target", "query-budgets", "measured.properties");
+    private static final Path BUDGET_SOURCE = Path.of("src", "test", "resources", BUDGETS);
+
+    private static final Pattern PATH_VARIABLE = Pattern.compile("\\{(\\w+)}");
+
+    // Endpoints that cannot succeed under this sweep, with the reason; their budgets still apply
+    private static final Map<String, String> ERROR_PATH_EXCLUSIONS = Map.of(
+        "/api/auth/me", "needs a UserPrincipal, which @WithMockUser does not provide");
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PolicyService policyService;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    private final Properties measured = new Properties();
+
+    private Map<String, String> pathValues;
+
+    @BeforeAll
+    void seedDataset() {
+        // TestSuiteRunner re-runs this class against the cached context and its already seeded database
+        if (!generator.isGenerated(ID_BASE)) {
+            generator.generate(new SyntheticDataGenerator.Settings(7L, CUSTOMERS, 1, CUSTOMERS, 500, ID_BASE,
+                LocalDate.now()));
+        }
+        pathValues = samplePathValues();
+    }
+
+    @TestFactory
+    Stream<DynamicTest> getEndpointsStayWithinBudgets() throws IOException {
+        Properties budgets = loadBudgets();
+        return getEndpointPatterns().stream()
+            .map(pattern -> DynamicTest.dynamicTest(pattern, () -> checkEndpoint(pattern, budgets)));
+    }
+
+    @Test
+    @DisplayName("Service calls can declare budgets too")
+    void serviceCallStaysWithinBudget() throws Exception {
+        QueryBudget.evictSecondLevelCache(entityManagerFactory);
+        // One statement for the policies, whatever the number of rows
+        withinQueryBudget(1, "PolicyService.getPoliciesByCustomer",
+            () -> policyService.getPoliciesByCustomer(ID_BASE));
+    }
+
+    @AfterAll
+    void writeMeasuredCounts() throws IOException {
+        Files.createDirectories(MEASURED.getParent());
+        try (Writer writer = Files.newBufferedWriter(MEASURED)) {
+            measured.store(writer, "Measured by QueryBudgetIntegrationTest");
+        }
+        if (Boolean.getBoolean("queryBudgets.updateBudgets")) {
+            try (Writer writer = Files.newBufferedWriter(BUDGET_SOURCE)) {
+                writer.write("# SQL statements allowed per GET request, regenerate with -DqueryBudgets.updateBudgets=true\n");
+                for (String key : new TreeSet<>(measured.stringPropertyNames())) {
+                    writer.write(key + "=" + measured.getProperty(key) + "\n");
+                }
+            }
+        }
+    }
+
+    private void checkEndpoint(String pattern, Properties budgets) throws Exception {
+        long statements = 0;
+        List<String> details = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+        for (int size : new int[] {1, PAGE_SIZE}) {
+            String url = url(pattern, size);
+            QueryBudget.evictSecondLevelCache(entityManagerFactory);
+            QueryBudget.Measurement<MvcResult> measurement = QueryBudget.measure(() -> mockMvc.perform(get(url)).andReturn());
+            statements = Math.max(statements, measurement.statements());
+            int status = measurement.value().getResponse().getStatus();
+            details.add(url + " -> HTTP " + status + ", "
+                + measurement.statements() + " statements; slowest: " + measurement.describeSlowest());
+            String body = measurement.value().getResponse().getContentAsString();
+            // Some lookups answer "not found" as 200 with success=false
+            if (status < 200 || status >= 300 || body.startsWith("{\"success\":false")) {
+                failed.add(url + " -> HTTP " + status + ": " + body);
+            }
+        }
+        // A budget measured on an error path says nothing about the endpoint
+        if (!ERROR_PATH_EXCLUSIONS.containsKey(pattern)) {
+            assertTrue(failed.isEmpty(), pattern + " did not succeed:\n" + String.join("\n", failed));
+        }
+        synchronized (measured) {
+            measured.setProperty(pattern, String.valueOf(statements));
+        }
+
+        String budget = budgets.getProperty(pattern);
+        assertNotNull(budget, pattern + " has no query budget (measured " + statements
+            + "); add it to " + BUDGETS + " or run with -DqueryBudgets.updateBudgets=true\n"
+            + String.join("\n", details));
+        assertTrue(statements <= Long.parseLong(budget), pattern + " exceeds its budget of " + budget
+            + " statements:\n" + String.join("\n", details));
+    }
+
+    /**
+     * GET mappings of the application's controllers, e.g. {@code /api/claims/{id}}
+     */
+    private List<String> getEndpointPatterns() {
+        TreeSet<String> patterns = new TreeSet<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+            RequestMappingInfo info = entry.getKey();
+            String controller = entry.getValue().getBeanType().getName();
+            if (controller.startsWith("com.thaiinsurance.autoinsurance.controller.")
+                    && info.getMethodsCondition().getMethods().contains(RequestMethod.GET)) {
+                patterns.addAll(info.getPatternValues());
+            }
+        }
+        return new ArrayList<>(patterns);
+    }
+
+    /**
+     * Fill path variables from the generated dataset and add every required query parameter any
+     * endpoint declares; parameters an endpoint does not declare are ignored by Spring
+     */
+    private String url(String pattern, int size) {
+        Matcher matcher = PATH_VARIABLE.matcher(pattern);
+        StringBuilder path = new StringBuilder();
+        while (matcher.find()) {
+            String value = pathValues.get(pattern.substring(0, matcher.start()) + matcher.group(1));
+            if (value == null) {
+                value = pathValues.get(matcher.group(1));
+            }
+            assertNotNull(value, "No sample value for {" + matcher.group(1) + "} in " + pattern);
+            matcher.appendReplacement(path, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(path);
+        LocalDate today = LocalDate.now();
+        return path + "?page=0&size=" + size + "&query=a&startDate=" + today.minusYears(1) + "&endDate=" + today
+            + "&reportDate=" + today + "&minIncome=0&maxIncome=1000000&startYear=2010&endYear=" + today.getYear()
+            + "&make=Toyota&model=Hilux%20Revo";
+    }
+
+    /**
+     * Path variable values, keyed by variable name or, where the name is ambiguous, by the path
+     * prefix plus name (e.g. {@code /api/claims/id})
+     */
+    private Map<String, String> samplePathValues() {
+        Map<String, String> values = new TreeMap<>();
+        String customerId = String.valueOf(ID_BASE);
+        String policyId = String.valueOf(ID_BASE);
+        String claimId = first("SELECT MIN(id) FROM claims WHERE id >= ?");
+        // The generator does not create users, so adjuster and admin lookups get one of their own
+        User adjuster = userRepository.findByUsername("budget.adjuster").orElseGet(() -> {
+            User user = new User("budget.adjuster", "budget.adjuster@example.com", "password123");
+            user.setRole(Role.AGENT);
+            return userRepository.save(user);
+        });
+        String userId = String.valueOf(adjuster.getId());
+        values.put("/api/customers/id", customerId);
+        values.put("/api/policies/id", policyId);
+        values.put("/api/vehicles/id", String.valueOf(ID_BASE));
+        values.put("/api/claims/id", claimId);
+        String paymentId = first("SELECT MIN(id) FROM payments WHERE id >= ?");
+        values.put("/api/payments/id", paymentId);
+        values.put("/api/admin/users/id", userId);
+        values.put("customerId", customerId);
+        values.put("ownerId", customerId);
+        values.put("policyId", policyId);
+        values.put("adjusterId", userId);
+        values.put("claimNumber", jdbcTemplate.queryForObject("SELECT claim_number FROM claims WHERE id = ?", String.class, Long.parseLong(claimId)));
+        values.put("policyNumber", jdbcTemplate.queryForObject("SELECT policy_number FROM policies WHERE id = ?", String.class, ID_BASE));
+        values.put("nationalId", jdbcTemplate.queryForObject("SELECT national_id FROM customers WHERE id = ?", String.class, ID_BASE));
+        values.put("phoneNumber", jdbcTemplate.queryForObject("SELECT phone_number FROM customers WHERE id = ?", String.class, ID_BASE));
+        values.put("licensePlate", jdbcTemplate.queryForObject("SELECT license_plate FROM vehicles WHERE id = ?", String.class, ID_BASE));
+        values.put("chassisNumber", jdbcTemplate.queryForObject("SELECT chassis_number FROM vehicles WHERE id = ?", String.class, ID_BASE));
+        values.put("transactionId", jdbcTemplate.queryForObject(
+            "SELECT COALESCE(transaction_id, 'TXN-NONE') FROM payments WHERE id = ?", String.class, Long.parseLong(paymentId)));
+        values.put("make", "Toyota");
+        values.put("province", "Bangkok");
+        values.put("category", "PRIVATE_EMPLOYEE");
+        values.put("priority", "NORMAL");
+        values.put("policyType", "VOLUNTARY");
+        values.put("vehicleType", "PICKUP");
+        values.put("/api/claims/status/status", "SETTLED");
+        values.put("/api/customers/kyc-status/status", "VERIFIED");
+        values.put("/api/policies/by-status/status", "ACTIVE");
+        values.put("/api/vehicles/by-status/status", "ACTIVE");
+        return values;
+    }
+
+    private String first(String sql) {
+        return String.valueOf(jdbcTemplate.queryForObject(sql, Long.class, ID_BASE));
+    }
+
+    private Properties loadBudgets() throws IOException {
+        Properties budgets = new Properties();
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(BUDGETS)) {
+            if (in != null) {
+                budgets.load(in);
+            }
+        }
+        return budgets;
+    }
+}
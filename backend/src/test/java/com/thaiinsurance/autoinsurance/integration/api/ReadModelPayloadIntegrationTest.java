@@ -0,0 +1,135 @@
+package com.thaiinsurance.autoinsurance.integration.api;
+
+import com.thaiinsurance.autoinsurance.BaseUnitIntegrationTest;
+import com.thaiinsurance.autoinsurance.TestDataHelper;
+import com.thaiinsurance.autoinsurance.model.*;
+import com.thaiinsurance.autoinsurance.repository.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the serialized size and time of entity pages against the projection read models
+ * that replaced them on the list endpoints. Sizes are asserted; timings are only reported.
+ */
+@DisplayName("Read Model Payload Tests")
+class ReadModelPayloadIntegrationTest extends BaseUnitIntegrationTest {
+
+    private static final int ROWS = 20;
+
+    private static final int SERIES = 2;
+
+    private static final String CUSTOMER_QUERY = "Somchai";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadModelPayloadIntegrationTest.class);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private final Pageable page = PageRequest.of(0, ROWS);
+
+    @BeforeEach
+    void seedData() {
+        User agent = userRepository.save(TestDataHelper.createValidUser("rm.agent", Role.AGENT));
+
+        for (int i = 0; i < ROWS; i++) {
+            Customer customer = TestDataHelper.createCompleteCustomer(SERIES, i);
+            customer.setUser(userRepository.save(TestDataHelper.createValidUser("rm.customer" + i, Role.CUSTOMER)));
+            Policy policy = customer.getPolicies().get(0);
+            policy.setAgent(agent);
+            customerRepository.save(customer);
+
+            Claim claim = TestDataHelper.createValidClaim();
+            claim.setClaimNumber("CLM-RM-" + i);
+            claim.setPolicy(policy);
+            claim.setAdjuster(agent);
+            claimRepository.save(claim);
+
+            Payment payment = TestDataHelper.createValidPayment();
+            payment.setPaymentReference("PAY-RM-" + i);
+            payment.setPolicy(policy);
+            payment.setProcessedBy(agent);
+            paymentRepository.save(payment);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Customer read model should serialize smaller than the entity")
+    void customerReadModelShouldBeSmaller() throws Exception {
+        compare("customers", () -> customerRepository.searchCustomers(CUSTOMER_QUERY, page),
+            () -> customerRepository.searchSummaries(CUSTOMER_QUERY, page));
+    }
+
+    @Test
+    @DisplayName("Vehicle read model should serialize smaller than the entity")
+    void vehicleReadModelShouldBeSmaller() throws Exception {
+        compare("vehicles", () -> vehicleRepository.findAll(page), () -> vehicleRepository.findAllSummaries(page));
+    }
+
+    @Test
+    @DisplayName("Policy read model should serialize smaller than the entity")
+    void policyReadModelShouldBeSmaller() throws Exception {
+        compare("policies", () -> policyRepository.findAll(page), () -> policyRepository.findAllSummaries(page));
+    }
+
+    @Test
+    @DisplayName("Claim read model should serialize smaller than the entity")
+    void claimReadModelShouldBeSmaller() throws Exception {
+        compare("claims", () -> claimRepository.findAll(page), () -> claimRepository.findAllSummaries(page));
+    }
+
+    @Test
+    @DisplayName("Payment read model should serialize smaller than the entity")
+    void paymentReadModelShouldBeSmaller() throws Exception {
+        compare("payments", () -> paymentRepository.findAll(page), () -> paymentRepository.findAllSummaries(page));
+    }
+
+    private void compare(String resource, Supplier<Page<?>> entities, Supplier<Page<?>> readModels) throws Exception {
+        long entityStart = System.nanoTime();
+        int entityBytes = asJsonString(entities.get()).getBytes().length;
+        long entityMicros = (System.nanoTime() - entityStart) / 1_000;
+        entityManager.clear();
+
+        long dtoStart = System.nanoTime();
+        int dtoBytes = asJsonString(readModels.get()).getBytes().length;
+        long dtoMicros = (System.nanoTime() - dtoStart) / 1_000;
+
+        logger.info("{} page of {}: entity {} bytes in {} us, read model {} bytes in {} us",
+            resource, ROWS, entityBytes, entityMicros, dtoBytes, dtoMicros);
+
+        assertTrue(dtoBytes < entityBytes,
+            resource + " read model (" + dtoBytes + " bytes) should be smaller than the entity page (" + entityBytes + " bytes)");
+    }
+}
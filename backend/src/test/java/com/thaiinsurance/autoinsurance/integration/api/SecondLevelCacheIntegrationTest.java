@@ -0,0 +1,161 @@
+package com.thaiinsurance.autoinsurance.integration.api;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.model.Customer;
+import com.thaiinsurance.autoinsurance.model.Role;
+import com.thaiinsurance.autoinsurance.model.User;
+import com.thaiinsurance.autoinsurance.repository.CustomerRepository;
+import com.thaiinsurance.autoinsurance.repository.UserRepository;
+import com.thaiinsurance.autoinsurance.service.CacheInvalidationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that hot reference entities and natural-id lookups are served from the
+ * second-level cache, and that invalidations from other nodes evict local entries.
+ */
+@DisplayName("Second-Level Cache Tests")
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "app.cache.invalidation.enabled=true",
+    "app.cache.invalidation.poll-interval-ms=3600000"
+})
+class SecondLevelCacheIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        cache = sessionFactory.getCache();
+        cache.evictAllRegions();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Repeated findById is served from the entity cache")
+    void repeatedFindByIdHitsEntityCache() {
+        User user = saveUser("l2.user");
+
+        userRepository.findById(user.getId()).orElseThrow();
+        userRepository.findById(user.getId()).orElseThrow();
+
+        assertTrue(cache.containsEntity(User.class, user.getId()));
+        assertTrue(statistics.getDomainDataRegionStatistics("users").getHitCount() >= 1,
+            "second read should be a cache hit");
+    }
+
+    @Test
+    @DisplayName("Repeated national id lookup is served from the natural-id cache")
+    void repeatedNaturalIdLookupHitsNaturalIdCache() {
+        Customer customer = saveCustomer("1999000000011", "l2.customer");
+
+        statistics.clear();
+        Customer first = customerRepository.findByNationalId("1999000000011").orElseThrow();
+        Customer second = customerRepository.findByNationalId("1999000000011").orElseThrow();
+
+        assertEquals(customer.getId(), first.getId());
+        assertEquals(customer.getId(), second.getId());
+        assertTrue(statistics.getNaturalIdCacheHitCount() >= 1, "second lookup should hit the natural-id cache");
+        assertTrue(statistics.getDomainDataRegionStatistics("customers").getHitCount() >= 1,
+            "entity should then be loaded from the entity cache");
+        assertTrue(customerRepository.findByNationalId("1999000000099").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Invalidation from another node evicts the local entry")
+    void foreignInvalidationEvictsEntry() {
+        Customer customer = saveCustomer("1999000000022", "l2.evict");
+        customerRepository.findById(customer.getId()).orElseThrow();
+        assertTrue(cache.containsEntity(Customer.class, customer.getId()));
+
+        jdbcTemplate.update(
+            "INSERT INTO cache_invalidations (entity_name, entity_id, node_id, created_at) VALUES (?, ?, ?, ?)",
+            "Customer", customer.getId(), UUID.randomUUID().toString(), Timestamp.valueOf(LocalDateTime.now()));
+        cacheInvalidationService.pollInvalidations();
+
+        assertFalse(cache.containsEntity(Customer.class, customer.getId()));
+    }
+
+    @Test
+    @DisplayName("Invalidation committed after a higher id was seen still evicts")
+    void invalidationCommittedOutOfIdOrderEvicts() {
+        Customer first = saveCustomer("1999000000044", "l2.late.first");
+        Customer second = saveCustomer("1999000000055", "l2.late.second");
+        String insert = "INSERT INTO cache_invalidations (id, entity_name, entity_id, node_id, created_at) VALUES (?, ?, ?, ?, ?)";
+        String otherNode = UUID.randomUUID().toString();
+
+        jdbcTemplate.update(insert, 1_000_002L, "Customer", first.getId(), otherNode, Timestamp.valueOf(LocalDateTime.now()));
+        cacheInvalidationService.pollInvalidations();
+        customerRepository.findById(second.getId()).orElseThrow();
+        assertTrue(cache.containsEntity(Customer.class, second.getId()));
+
+        // A transaction holding a lower id commits only now
+        jdbcTemplate.update(insert, 1_000_001L, "Customer", second.getId(), otherNode, Timestamp.valueOf(LocalDateTime.now()));
+        cacheInvalidationService.pollInvalidations();
+
+        assertFalse(cache.containsEntity(Customer.class, second.getId()));
+    }
+
+    @Test
+    @DisplayName("Local updates are published for other nodes but not evicted locally")
+    void localUpdatePublishesInvalidation() {
+        Customer customer = saveCustomer("1999000000033", "l2.publish");
+        customer.setFirstName("Updated");
+        customerRepository.save(customer);
+
+        Integer published = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM cache_invalidations WHERE entity_name = 'Customer' AND entity_id = ? AND node_id = ?",
+            Integer.class, customer.getId(), cacheInvalidationService.getNodeId());
+        assertEquals(1, published);
+
+        customerRepository.findById(customer.getId()).orElseThrow();
+        cacheInvalidationService.pollInvalidations();
+        assertTrue(cache.containsEntity(Customer.class, customer.getId()));
+    }
+
+    private User saveUser(String username) {
+        User user = new User(username, username + "@example.com", "password123");
+        user.setRole(Role.CUSTOMER);
+        return userRepository.save(user);
+    }
+
+    private Customer saveCustomer(String nationalId, String username) {
+        Customer customer = new Customer(nationalId, "Somsak", "Rakthai", "0899999999");
+        customer.setEmail(username + "@example.com");
+        customer.setUser(saveUser(username));
+        return customerRepository.save(customer);
+    }
+}
@@ -0,0 +1,98 @@
+package com.thaiinsurance.autoinsurance.integration.api;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.config.InstrumentedDataSource;
+import com.thaiinsurance.autoinsurance.config.SqlInstrumentationFilter;
+import com.thaiinsurance.autoinsurance.model.Customer;
+import com.thaiinsurance.autoinsurance.repository.CustomerRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("SQL Instrumentation Tests")
+@WithMockUser(roles = "ADMIN")
+class SqlInstrumentationIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Responses carry the request's statement count and database time")
+    void responseHeadersReportStatements() throws Exception {
+        customerRepository.save(new Customer("1100700000011", "Somsak", "Rakthai", "0811111111"));
+
+        MvcResult result = mockMvc.perform(get("/api/customers"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        String count = result.getResponse().getHeader(SqlInstrumentationFilter.COUNT_HEADER);
+        assertNotNull(count);
+        assertTrue(Long.parseLong(count) > 0, "the customer page needs at least one statement");
+        assertNotNull(result.getResponse().getHeader(SqlInstrumentationFilter.TIME_HEADER));
+        assertFalse(result.getResponse().getHeader(SqlInstrumentationFilter.SLOWEST_HEADER).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Repository methods are timed with their statement counts")
+    void repositoryMethodsAreMetered() {
+        customerRepository.findByPhoneNumber("0899999999");
+
+        Timer timer = meterRegistry.find("db.repository.time")
+            .tag("repository", "CustomerRepository")
+            .tag("method", "findByPhoneNumber")
+            .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+
+        DistributionSummary statements = meterRegistry.find("db.repository.statements")
+            .tag("repository", "CustomerRepository")
+            .tag("method", "findByPhoneNumber")
+            .summary();
+        assertNotNull(statements);
+        assertTrue(statements.totalAmount() >= 1);
+    }
+
+    @Test
+    @DisplayName("Slow query log shows parameter types but not values")
+    void slowQueryLogOmitsParameterValues() {
+        Logger logger = (Logger) LoggerFactory.getLogger(InstrumentedDataSource.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            // Zero threshold and full sampling: every statement counts as slow
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new InstrumentedDataSource(dataSource, 0, 1.0));
+            jdbcTemplate.queryForList("SELECT id FROM customers WHERE national_id = ? AND id > ?",
+                "3100500012345", 0L);
+
+            assertEquals(1, appender.list.size());
+            String message = appender.list.get(0).getFormattedMessage();
+            assertTrue(message.contains("[String, Long]"), message);
+            assertFalse(message.contains("3100500012345"), message);
+        } finally {
+            logger.detachAppender(appender);
+        }
+    }
+}
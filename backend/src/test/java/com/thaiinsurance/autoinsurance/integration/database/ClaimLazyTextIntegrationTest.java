@@ -0,0 +1,97 @@
+package com.thaiinsurance.autoinsurance.integration.database;
+
+import com.thaiinsurance.autoinsurance.BaseUnitIntegrationTest;
+import com.thaiinsurance.autoinsurance.QueryCountInspector;
+import com.thaiinsurance.autoinsurance.TestDataHelper;
+import com.thaiinsurance.autoinsurance.model.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The claim's free-text columns are a bytecode-enhanced lazy group: loading a claim must not
+ * read them, and touching one of them loads the whole group with a single statement.
+ */
+@DisplayName("Claim Lazy Text Tests")
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.thaiinsurance.autoinsurance.QueryCountInspector"
+})
+class ClaimLazyTextIntegrationTest extends BaseUnitIntegrationTest {
+
+    private static final int SERIES = 6;
+
+    private static final String[] TEXT_ATTRIBUTES = {
+        "incidentDescription", "thirdPartyDetails", "adjusterNotes", "settlementNotes"
+    };
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long claimId;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = TestDataHelper.createCompleteCustomer(SERIES, 0);
+        entityManager.persist(customer);
+
+        Claim claim = TestDataHelper.createValidClaim();
+        claim.setClaimNumber("CLM-LAZY-1");
+        claim.setIncidentDescription("x".repeat(20000));
+        claim.setPolicy(customer.getPolicies().get(0));
+        claim.setThirdPartyDetails("Other driver: Mr. Somchai, plate กข 1234");
+        claim.setSettlementNotes("Pending garage invoice");
+        entityManager.persist(claim);
+        entityManager.flush();
+        entityManager.clear();
+        claimId = claim.getId();
+    }
+
+    @Test
+    @DisplayName("Loading a claim leaves the text group unloaded")
+    void loadingClaimSkipsTextColumns() {
+        QueryCountInspector.reset();
+        Claim claim = entityManager.find(Claim.class, claimId);
+
+        assertEquals(1, QueryCountInspector.count());
+        for (String attribute : TEXT_ATTRIBUTES) {
+            assertFalse(Hibernate.isPropertyInitialized(claim, attribute), attribute + " should be lazy");
+        }
+        assertEquals("CLM-LAZY-1", claim.getClaimNumber());
+    }
+
+    @Test
+    @DisplayName("First text access loads the whole group in one statement")
+    void firstAccessLoadsWholeGroup() {
+        Claim claim = entityManager.find(Claim.class, claimId);
+
+        QueryCountInspector.reset();
+        assertEquals(20000, claim.getIncidentDescription().length());
+        assertEquals("Pending garage invoice", claim.getSettlementNotes());
+        assertNotNull(claim.getThirdPartyDetails());
+
+        assertEquals(1, QueryCountInspector.count());
+        for (String attribute : TEXT_ATTRIBUTES) {
+            assertTrue(Hibernate.isPropertyInitialized(claim, attribute), attribute + " should be loaded");
+        }
+    }
+
+    @Test
+    @DisplayName("Updating a claim without reading its text keeps the text intact")
+    void updateWithoutTextKeepsText() {
+        Claim claim = entityManager.find(Claim.class, claimId);
+        claim.setStatus(Claim.ClaimStatus.UNDER_REVIEW);
+        entityManager.flush();
+        entityManager.clear();
+
+        Claim reloaded = entityManager.find(Claim.class, claimId);
+        assertEquals(Claim.ClaimStatus.UNDER_REVIEW, reloaded.getStatus());
+        assertEquals(20000, reloaded.getIncidentDescription().length());
+        assertEquals("Pending garage invoice", reloaded.getSettlementNotes());
+    }
+}
@@ -0,0 +1,130 @@
+package com.thaiinsurance.autoinsurance.integration.database;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.TestDataHelper;
+import com.thaiinsurance.autoinsurance.model.*;
+import com.thaiinsurance.autoinsurance.repository.*;
+import com.thaiinsurance.autoinsurance.service.ClaimService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers a single claim from many threads: every mutation must eventually commit exactly
+ * once, with the conflicts absorbed by {@code @RetryOnOptimisticLock}.
+ */
+@DisplayName("Optimistic Lock Retry Tests")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+    "app.optimistic-lock.max-attempts=50",
+    "app.optimistic-lock.max-backoff-ms=50"
+})
+class OptimisticLockRetryIntegrationTest extends BaseIntegrationTest {
+
+    private static final int THREADS = 8;
+
+    private static final int UPDATES_PER_THREAD = 10;
+
+    private static final int SERIES = 5;
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticLockRetryIntegrationTest.class);
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private ClaimNoteRepository claimNoteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User adjuster;
+
+    private Claim claim;
+
+    @BeforeAll
+    void seedClaim() {
+        adjuster = userRepository.save(TestDataHelper.createValidUser("stress.adjuster", Role.CLAIMS_ADJUSTER));
+
+        Customer customer = TestDataHelper.createCompleteCustomer(SERIES, 0);
+        customerRepository.save(customer);
+
+        claim = TestDataHelper.createValidClaim();
+        claim.setClaimNumber("CLM-STRESS-1");
+        claim.setPolicy(customer.getPolicies().get(0));
+        claim = claimRepository.save(claim);
+    }
+
+    @Test
+    @DisplayName("Concurrent approvals on one claim all commit exactly once")
+    void concurrentApprovalsAllCommit() throws Exception {
+        long initialVersion = claimRepository.findById(claim.getId()).orElseThrow().getVersion();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    // Distinct amounts so that every call really changes the row
+                    BigDecimal amount = BigDecimal.valueOf(10000 + thread * 100 + i);
+                    claimService.approveClaim(claim.getId(), amount, "Approval " + thread + "-" + i, adjuster.getId());
+                }
+                return null;
+            }));
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        int total = THREADS * UPDATES_PER_THREAD;
+        double retried = conflicts("retried");
+        logger.info("{} approvals from {} threads in {} ms, {} conflicts retried, {} exhausted",
+            total, THREADS, elapsedMs, (long) retried, (long) conflicts("exhausted"));
+
+        Claim reloaded = claimRepository.findById(claim.getId()).orElseThrow();
+        assertEquals(initialVersion + total, reloaded.getVersion(), "each approval should commit exactly once");
+        assertEquals(total, claimNoteRepository.countByClaimId(claim.getId()), "retries must not duplicate notes");
+        assertEquals(0, conflicts("exhausted"));
+        assertTrue(retried > 0, "the stress run should have produced conflicts");
+    }
+
+    private double conflicts(String outcome) {
+        return meterRegistry.find("optimistic.lock.conflicts")
+            .tag("entity", "Claim")
+            .tag("outcome", outcome)
+            .counters().stream().mapToDouble(c -> c.count()).sum();
+    }
+}
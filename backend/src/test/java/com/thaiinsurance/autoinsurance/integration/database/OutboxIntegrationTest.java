@@ -0,0 +1,190 @@
+package com.thaiinsurance.autoinsurance.integration.database;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.model.Customer;
+import com.thaiinsurance.autoinsurance.repository.CustomerRepository;
+import com.thaiinsurance.autoinsurance.repository.OutboxEventRepository;
+import com.thaiinsurance.autoinsurance.service.CustomerService;
+import com.thaiinsurance.autoinsurance.service.DomainEvent;
+import com.thaiinsurance.autoinsurance.service.DomainEventSubscriber;
+import com.thaiinsurance.autoinsurance.service.OutboxPublisher;
+import com.thaiinsurance.autoinsurance.service.OutboxService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Outbox events commit and roll back with the change that produced them, and are delivered
+ * in order, at least once, to in-process subscribers.
+ */
+@DisplayName("Transactional Outbox Tests")
+@TestPropertySource(properties = {
+    // Drain explicitly instead of on the scheduler
+    "app.outbox.enabled=false",
+    "app.outbox.max-attempts=3"
+})
+class OutboxIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RecordingSubscriber subscriber;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static int customerSequence;
+
+    @BeforeEach
+    void resetSubscriber() {
+        outboxPublisher.drain();
+        subscriber.events.clear();
+        subscriber.failuresLeft = 0;
+    }
+
+    @Test
+    @DisplayName("Events are delivered in commit order and marked published")
+    void deliversInOrder() {
+        Customer customer = newCustomer();
+        customerService.updateKycStatus(customer.getId(), Customer.KYCStatus.VERIFIED);
+        customerService.updateKycStatus(customer.getId(), Customer.KYCStatus.REJECTED);
+
+        assertEquals(2, outboxPublisher.drain());
+
+        List<DomainEvent> events = subscriber.eventsFor(customer.getId());
+        assertEquals(List.of("VERIFIED", "REJECTED"),
+            events.stream().map(event -> event.payload().get("kycStatus")).toList());
+        assertTrue(events.get(0).sequence() < events.get(1).sequence());
+        assertEquals(0, outboxEventRepository.countPending());
+        assertEquals(0.0, meterRegistry.get("outbox.lag").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Rolled back changes leave no event behind")
+    void rollbackDiscardsEvent() {
+        Customer customer = newCustomer();
+        transactionTemplate.executeWithoutResult(status -> {
+            customerService.updateKycStatus(customer.getId(), Customer.KYCStatus.VERIFIED);
+            status.setRollbackOnly();
+        });
+
+        outboxPublisher.drain();
+
+        assertTrue(subscriber.eventsFor(customer.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A failing event is retried before the events behind it")
+    void failureBlocksLaterEvents() {
+        Customer customer = newCustomer();
+        customerService.updateKycStatus(customer.getId(), Customer.KYCStatus.VERIFIED);
+        customerService.updateKycStatus(customer.getId(), Customer.KYCStatus.REJECTED);
+        subscriber.failuresLeft = 1;
+
+        assertEquals(0, outboxPublisher.drain());
+        assertEquals(2, outboxEventRepository.countPending());
+
+        assertEquals(2, outboxPublisher.drain());
+        List<DomainEvent> events = subscriber.eventsFor(customer.getId());
+        assertEquals(List.of("VERIFIED", "REJECTED"),
+            events.stream().map(event -> event.payload().get("kycStatus")).toList());
+    }
+
+    @Test
+    @DisplayName("Only the node holding the publisher lease drains the outbox")
+    void onlyLeaseHolderDrains() {
+        Customer customer = newCustomer();
+        customerService.updateKycStatus(customer.getId(), Customer.KYCStatus.VERIFIED);
+        jdbcTemplate.update("UPDATE outbox_leases SET owner = ?, expires_at = ?",
+            "other-node", new Timestamp(System.currentTimeMillis() + 60_000));
+
+        assertEquals(0, outboxPublisher.drain());
+        assertEquals(1, outboxEventRepository.countPending());
+
+        // The other node stopped renewing
+        jdbcTemplate.update("UPDATE outbox_leases SET expires_at = ?", new Timestamp(System.currentTimeMillis() - 1));
+        assertEquals(1, outboxPublisher.drain());
+        assertEquals(1, subscriber.eventsFor(customer.getId()).size());
+    }
+
+    @Test
+    @DisplayName("Events cannot be written outside a transaction")
+    void requiresTransaction() {
+        assertThrows(IllegalTransactionStateException.class,
+            () -> outboxService.record("Customer", 1L, "CustomerUpdated"));
+    }
+
+    private Customer newCustomer() {
+        int sequence = ++customerSequence;
+        Customer customer = new Customer(String.format("1777%09d", sequence), "Malee", "Sukjai",
+            String.format("09%08d", sequence));
+        return customerRepository.save(customer);
+    }
+
+    static class RecordingSubscriber implements DomainEventSubscriber {
+
+        final List<DomainEvent> events = new CopyOnWriteArrayList<>();
+
+        volatile int failuresLeft;
+
+        @Override
+        public boolean supports(String aggregateType) {
+            return "Customer".equals(aggregateType);
+        }
+
+        @Override
+        public void onEvent(DomainEvent event) {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IllegalStateException("Subscriber unavailable");
+            }
+            events.add(event);
+        }
+
+        List<DomainEvent> eventsFor(Long customerId) {
+            return events.stream().filter(event -> event.aggregateId().equals(customerId)).toList();
+        }
+    }
+
+    @TestConfiguration
+    static class SubscriberConfig {
+
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.thaiinsurance.autoinsurance.integration.database;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.TestDataHelper;
+import com.thaiinsurance.autoinsurance.model.*;
+import com.thaiinsurance.autoinsurance.repository.*;
+import com.thaiinsurance.autoinsurance.service.ClaimService;
+import com.thaiinsurance.autoinsurance.service.PartitionMaintenanceService;
+import com.thaiinsurance.autoinsurance.service.PaymentService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises the payments/claims archival job: rows older than the retention window move to the
+ * archive schema, recent rows stay in the live tables.
+ */
+@DisplayName("Partition Maintenance Tests")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PartitionMaintenanceIntegrationTest extends BaseIntegrationTest {
+
+    private static final int SERIES = 3;
+
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ClaimNoteRepository claimNoteRepository;
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Policy policy;
+
+    @BeforeAll
+    void seedPolicy() {
+        Customer customer = TestDataHelper.createCompleteCustomer(SERIES, 0);
+        customer.setUser(userRepository.save(TestDataHelper.createValidUser("archive.customer", Role.CUSTOMER)));
+        policy = customer.getPolicies().get(0);
+        policy.setStartDate(LocalDate.now().minusYears(4));
+        customerRepository.save(customer);
+    }
+
+    @Test
+    @DisplayName("Rows older than the retention window move to the archive schema")
+    void archivesExpiredPaymentsAndClaims() {
+        savePayment("PAY-ARCHIVE-OLD", LocalDateTime.now().minusYears(3));
+        savePayment("PAY-ARCHIVE-NEW", LocalDateTime.now());
+        Claim expired = saveClaim("CLM-ARCHIVE-OLD", LocalDate.now().minusYears(3), true);
+        Claim recent = saveClaim("CLM-ARCHIVE-NEW", LocalDate.now().minusDays(2), true);
+        claimNoteRepository.save(new ClaimNote(expired.getId(), ClaimNote.NoteType.ADJUSTER, "Closed", null));
+        claimNoteRepository.save(new ClaimNote(recent.getId(), ClaimNote.NoteType.ADJUSTER, "Open", null));
+
+        partitionMaintenanceService.runMaintenance(YearMonth.now());
+
+        assertTrue(paymentRepository.findByPaymentReference("PAY-ARCHIVE-OLD").isEmpty());
+        assertTrue(paymentRepository.findByPaymentReference("PAY-ARCHIVE-NEW").isPresent());
+        assertTrue(claimRepository.findByClaimNumber("CLM-ARCHIVE-OLD").isEmpty());
+        assertTrue(claimRepository.findByClaimNumber("CLM-ARCHIVE-NEW").isPresent());
+
+        assertEquals(1, count("SELECT COUNT(*) FROM archive.payments WHERE payment_reference = 'PAY-ARCHIVE-OLD'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM archive.claims WHERE claim_number = 'CLM-ARCHIVE-OLD'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM archive.claim_documents WHERE file_name = 'CLM-ARCHIVE-OLD.jpg'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM claim_documents WHERE file_name = 'CLM-ARCHIVE-NEW.jpg'"));
+        assertEquals(0, claimNoteRepository.countByClaimId(expired.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM archive.claim_notes WHERE claim_id = " + expired.getId()));
+        assertEquals(1, claimNoteRepository.countByClaimId(recent.getId()));
+    }
+
+    @Test
+    @DisplayName("Claim numbers and payment references stay unique across dates and the archive")
+    void businessKeysStayGloballyUnique() {
+        savePayment("PAY-ARCHIVE-REUSED", LocalDateTime.now().minusYears(3));
+        saveClaim("CLM-ARCHIVE-REUSED", LocalDate.now().minusYears(3), false);
+        saveClaim("CLM-ARCHIVE-LIVE", LocalDate.now().minusDays(10), false);
+        partitionMaintenanceService.runMaintenance(YearMonth.now());
+
+        Payment payment = new Payment("PAY-ARCHIVE-REUSED", new BigDecimal("12000.00"),
+            Payment.PaymentType.PREMIUM, Payment.PaymentMethod.BANK_TRANSFER);
+        payment.setPolicy(policy);
+        assertThrows(IllegalArgumentException.class, () -> paymentService.createPayment(payment));
+        assertTrue(paymentRepository.findByPaymentReference("PAY-ARCHIVE-REUSED").isEmpty());
+
+        for (String claimNumber : new String[] {"CLM-ARCHIVE-REUSED", "CLM-ARCHIVE-LIVE"}) {
+            Claim claim = new Claim(claimNumber, LocalDate.now().minusDays(1), "Rama IV Road, Bangkok",
+                "Rear-end collision", Claim.IncidentType.COLLISION);
+            claim.setPolicy(policy);
+            assertThrows(IllegalArgumentException.class, () -> claimService.submitClaim(claim));
+        }
+        assertEquals(1, count("SELECT COUNT(*) FROM claims WHERE claim_number = 'CLM-ARCHIVE-LIVE'"));
+    }
+
+    @Test
+    @DisplayName("Running the job again is a no-op")
+    void maintenanceIsIdempotent() {
+        savePayment("PAY-ARCHIVE-TWICE", LocalDateTime.now().minusYears(5));
+
+        partitionMaintenanceService.runMaintenance(YearMonth.now());
+        partitionMaintenanceService.runMaintenance(YearMonth.now());
+
+        assertEquals(1, count("SELECT COUNT(*) FROM archive.payments WHERE payment_reference = 'PAY-ARCHIVE-TWICE'"));
+    }
+
+    @Test
+    @DisplayName("The scheduled run applies the same retention")
+    void scheduledRunArchivesExpiredRows() {
+        savePayment("PAY-ARCHIVE-SCHEDULED", LocalDateTime.now().minusYears(3));
+
+        partitionMaintenanceService.scheduledMaintenance();
+
+        assertTrue(paymentRepository.findByPaymentReference("PAY-ARCHIVE-SCHEDULED").isEmpty());
+        assertEquals(1, count("SELECT COUNT(*) FROM archive.payments WHERE payment_reference = 'PAY-ARCHIVE-SCHEDULED'"));
+    }
+
+    private void savePayment(String reference, LocalDateTime paymentDate) {
+        Payment payment = new Payment(reference, new BigDecimal("12000.00"),
+            Payment.PaymentType.PREMIUM, Payment.PaymentMethod.BANK_TRANSFER);
+        payment.setPolicy(policy);
+        payment.setPaymentDate(paymentDate);
+        paymentRepository.save(payment);
+    }
+
+    private Claim saveClaim(String claimNumber, LocalDate incidentDate, boolean withDocument) {
+        Claim claim = new Claim(claimNumber, incidentDate, "Rama IV Road, Bangkok",
+            "Rear-end collision", Claim.IncidentType.COLLISION);
+        claim.setPolicy(policy);
+        if (withDocument) {
+            ClaimDocument document = new ClaimDocument(claimNumber + ".jpg", "/uploads/" + claimNumber + ".jpg",
+                "image/jpeg", ClaimDocument.DocumentType.DAMAGE_PHOTOS);
+            document.setClaim(claim);
+            claim.getDocuments().add(document);
+        }
+        return claimRepository.save(claim);
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
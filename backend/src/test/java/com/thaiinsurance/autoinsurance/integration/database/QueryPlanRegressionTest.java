@@ -0,0 +1,268 @@
+package com.thaiinsurance.autoinsurance.integration.database;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.QueryPlanCapture;
+import com.thaiinsurance.autoinsurance.QueryPlanCapture.CapturedStatement;
+import com.thaiinsurance.autoinsurance.QueryPlanCapture.Plan;
+import com.thaiinsurance.autoinsurance.config.SyntheticDataGenerator;
+import com.thaiinsurance.autoinsurance.dto.PaymentTotals;
+import com.thaiinsurance.autoinsurance.model.Claim;
+import com.thaiinsurance.autoinsurance.model.Payment;
+import com.thaiinsurance.autoinsurance.model.Policy;
+import com.thaiinsurance.autoinsurance.repository.ClaimRepository;
+import com.thaiinsurance.autoinsurance.repository.CustomerRepository;
+import com.thaiinsurance.autoinsurance.repository.PaymentRepository;
+import com.thaiinsurance.autoinsurance.repository.PolicyRepository;
+import com.thaiinsurance.autoinsurance.util.ThaiSyntheticData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seeds a dataset with {@link SyntheticDataGenerator} and replays the statements issued by hot repository methods
+ * under {@code EXPLAIN ANALYZE}. Each statement must not read more rows than its checked-in
+ * baseline (plus {@value #TOLERANCE_PERCENT}% headroom) and must not fall back to a full scan
+ * of a table the baseline does not allow.
+ * <p>
+ * Baselines live in {@code src/test/resources/query-plans/baselines.properties}. The plans
+ * measured by every run are written to {@code target/query-plans/measured.properties}; run with
+ * {@code -DqueryPlans.updateBaselines=true} to copy them over the baselines after an
+ * intentional change.
+ */
+@DisplayName("Query Plan Regression Tests")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = "app.outbox.enabled=false")
+class QueryPlanRegressionTest extends BaseIntegrationTest {
+
+    private static final int CUSTOMERS = 2000;
+    private static final long SEED = 42L;
+    private static final long ID_BASE = 100_000L;
+
+    private static final int TOLERANCE_PERCENT = 10;
+
+    private static final String BASELINES = "query-plans/baselines.properties";
+    private static final Path MEASURED = Path.of("target", "query-plans", "measured.properties");
+    private static final Path BASELINE_SOURCE = Path.of("src", "test", "resources", BASELINES);
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final Properties measured = new Properties();
+
+    @BeforeAll
+    void seedDataset() {
+        // TestSuiteRunner re-runs this class against the cached context and its already seeded database
+        if (generator.isGenerated(ID_BASE)) {
+            return;
+        }
+        generator.generate(new SyntheticDataGenerator.Settings(SEED, CUSTOMERS, 2, 250, 500, ID_BASE, LocalDate.now()));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesStayWithinBaselines() throws IOException {
+        Properties baselines = loadBaselines();
+        return queries().entrySet().stream()
+            .map(query -> DynamicTest.dynamicTest(query.getKey(), () -> checkQuery(query.getKey(), query.getValue(), baselines)));
+    }
+
+    @Test
+    @DisplayName("Calendar-day report ranges include the whole end day and nothing after it")
+    void dateRangesAreHalfOpen() {
+        // Long before the generated history so only these rows match
+        LocalDate day = LocalDate.of(2001, 1, 1);
+        insertPayment(1, day.atStartOfDay(), 100);
+        insertPayment(2, day.atTime(23, 59, 59, 999_000_000), 200);
+        insertPayment(3, day.plusDays(1).atStartOfDay(), 400);
+
+        assertEquals(0, new BigDecimal("300").compareTo(paymentRepository.sumCompletedPaymentAmountsByDateRange(day, day)));
+        assertEquals(2, paymentRepository.countByDateRange(day, day));
+        assertEquals(3, paymentRepository.countByStatusAndDateRange(Payment.PaymentStatus.COMPLETED, day, day.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Grouped report totals split the range by day and method")
+    void groupedTotalsSplitByDayAndMethod() {
+        // Mid-day times, so the day is the same in the JVM and the JDBC time zone
+        LocalDate day = LocalDate.of(2001, 2, 1);
+        insertPayment(4, day.atTime(9, 0), 100);
+        insertPayment(5, day.atTime(15, 0), 200);
+        insertPayment(6, day.plusDays(1).atTime(9, 0), 400);
+
+        Map<Object, PaymentTotals> byDay = paymentRepository.totalsByDay(day, day.plusDays(1)).stream()
+            .collect(Collectors.toMap(PaymentTotals::getGroup, totals -> totals));
+        assertEquals(2, byDay.get(day).getPayments());
+        assertEquals(0, new BigDecimal("300").compareTo(byDay.get(day).getCompletedAmount()));
+        assertEquals(0, new BigDecimal("400").compareTo(byDay.get(day.plusDays(1)).getCompletedAmount()));
+
+        List<PaymentTotals> byMethod = paymentRepository.totalsByPaymentMethod(day, day.plusDays(1));
+        assertEquals(1, byMethod.size());
+        assertEquals(Payment.PaymentMethod.BANK_TRANSFER, byMethod.get(0).getGroup());
+        assertEquals(3, byMethod.get(0).getPayments());
+        assertEquals(0, new BigDecimal("700").compareTo(byMethod.get(0).getCompletedAmount()));
+    }
+
+    // Saved through JPA so payment_date is bound with the same JDBC time zone as the query parameters
+    private void insertPayment(long sequence, LocalDateTime paymentDate, int amount) {
+        if (paymentRepository.existsByPaymentReference("QP-EDGE-" + sequence)) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Payment payment = new Payment("QP-EDGE-" + sequence, BigDecimal.valueOf(amount),
+                Payment.PaymentType.PREMIUM, Payment.PaymentMethod.BANK_TRANSFER);
+            payment.setStatus(Payment.PaymentStatus.COMPLETED);
+            payment.setPaymentDate(paymentDate);
+            payment.setPolicy(policyRepository.getReferenceById(ID_BASE));
+            paymentRepository.save(payment);
+        });
+    }
+
+    @AfterAll
+    void writeMeasuredPlans() throws IOException {
+        Files.createDirectories(MEASURED.getParent());
+        try (Writer writer = Files.newBufferedWriter(MEASURED)) {
+            measured.store(writer, "Measured by QueryPlanRegressionTest");
+        }
+        if (Boolean.getBoolean("queryPlans.updateBaselines")) {
+            try (Writer writer = Files.newBufferedWriter(BASELINE_SOURCE)) {
+                writer.write("# Query plan baselines, regenerate with -DqueryPlans.updateBaselines=true\n");
+                writer.write("# <repository>.<method>.<statement>.rowsScanned  rows read by EXPLAIN ANALYZE on the seeded dataset\n");
+                writer.write("# <repository>.<method>.<statement>.tableScans   tables allowed to be read in full\n");
+                for (String key : new TreeSet<>(measured.stringPropertyNames())) {
+                    writer.write(key + "=" + measured.getProperty(key) + "\n");
+                }
+            }
+        }
+    }
+
+    private Map<String, Runnable> queries() {
+        LocalDate today = LocalDate.now();
+        Long customerId = ID_BASE + 42;
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("ClaimRepository.findOverdueClaims", () -> claimRepository.findOverdueClaims(today.minusDays(30)));
+        queries.put("ClaimRepository.findByPolicyCustomerId", () -> claimRepository.findByPolicyCustomerId(customerId));
+        queries.put("PolicyRepository.findExpiringPolicies", () -> policyRepository.findExpiringPolicies(today.plusDays(30)));
+        queries.put("PaymentRepository.findByPolicyCustomerId", () -> paymentRepository.findByPolicyCustomerId(customerId));
+        queries.put("CustomerRepository.findByPhoneNumber", () -> customerRepository.findByPhoneNumber(ThaiSyntheticData.phoneNumber(42)));
+        // Report range queries: equality on status, range on the date, aggregate from the same index
+        LocalDate monthStart = today.minusDays(30);
+        queries.put("PaymentRepository.sumCompletedPaymentAmountsByDateRange",
+            () -> paymentRepository.sumCompletedPaymentAmountsByDateRange(monthStart, today));
+        queries.put("PaymentRepository.countByStatusAndDateRange",
+            () -> paymentRepository.countByStatusAndDateRange(Payment.PaymentStatus.FAILED, monthStart, today));
+        queries.put("ClaimRepository.sumSettledAmountByDateRange",
+            () -> claimRepository.sumSettledAmountByDateRange(monthStart, today));
+        queries.put("ClaimRepository.countByStatusAndDateRange",
+            () -> claimRepository.countByStatusAndDateRange(Claim.ClaimStatus.APPROVED, monthStart, today));
+        queries.put("PolicyRepository.countByStatusAndDateRange",
+            () -> policyRepository.countByStatusAndDateRange(Policy.PolicyStatus.CANCELLED, monthStart, today));
+        queries.put("PolicyRepository.calculateTotalPremiumByDateRange",
+            () -> policyRepository.calculateTotalPremiumByDateRange(monthStart, today));
+        return queries;
+    }
+
+    private void checkQuery(String name, Runnable query, Properties baselines) throws Exception {
+        List<CapturedStatement> statements = QueryPlanCapture.capture(
+            () -> transactionTemplate.executeWithoutResult(status -> query.run()));
+        assertFalse(statements.isEmpty(), name + " issued no SQL");
+
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < statements.size(); i++) {
+            String key = name + "." + i;
+            Plan plan = QueryPlanCapture.explain(dataSource, statements.get(i));
+            synchronized (measured) {
+                measured.setProperty(key + ".rowsScanned", String.valueOf(plan.rowsScanned()));
+                measured.setProperty(key + ".tableScans", String.join(",", plan.tableScans()));
+            }
+
+            String baselineRows = baselines.getProperty(key + ".rowsScanned");
+            if (baselineRows == null) {
+                failures.add(key + ": no baseline (measured " + plan.rowsScanned() + " rows, table scans "
+                    + plan.tableScans() + ")");
+                continue;
+            }
+            long allowedRows = Long.parseLong(baselineRows) * (100 + TOLERANCE_PERCENT) / 100 + 5;
+            if (plan.rowsScanned() > allowedRows) {
+                failures.add(key + ": reads " + plan.rowsScanned() + " rows, baseline " + baselineRows);
+            }
+            Set<String> allowedScans = Arrays.stream(baselines.getProperty(key + ".tableScans", "").split(","))
+                .map(String::trim).filter(table -> !table.isEmpty()).collect(Collectors.toSet());
+            Set<String> unexpectedScans = new TreeSet<>(plan.tableScans());
+            unexpectedScans.removeAll(allowedScans);
+            if (!unexpectedScans.isEmpty()) {
+                failures.add(key + ": full scan of " + unexpectedScans + " (indexes used: " + plan.indexes() + ")");
+            }
+            if (!failures.isEmpty()) {
+                failures.add("plan:\n" + plan.text());
+            }
+        }
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    private Properties loadBaselines() throws IOException {
+        Properties baselines = new Properties();
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(BASELINES)) {
+            if (in != null) {
+                baselines.load(in);
+            }
+        }
+        return baselines;
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        @Bean
+        static QueryPlanCapture queryPlanCapture() {
+            return new QueryPlanCapture();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.thaiinsurance.autoinsurance.integration.security;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.TestDataHelper;
+import com.thaiinsurance.autoinsurance.model.Claim;
+import com.thaiinsurance.autoinsurance.model.Customer;
+import com.thaiinsurance.autoinsurance.model.Payment;
+import com.thaiinsurance.autoinsurance.model.Policy;
+import com.thaiinsurance.autoinsurance.model.Role;
+import com.thaiinsurance.autoinsurance.model.User;
+import com.thaiinsurance.autoinsurance.model.Vehicle;
+import com.thaiinsurance.autoinsurance.repository.ClaimRepository;
+import com.thaiinsurance.autoinsurance.repository.CustomerRepository;
+import com.thaiinsurance.autoinsurance.repository.PaymentRepository;
+import com.thaiinsurance.autoinsurance.repository.UserRepository;
+import com.thaiinsurance.autoinsurance.security.JwtTokenUtil;
+import com.thaiinsurance.autoinsurance.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Customer Ownership Tests")
+class CustomerOwnershipIntegrationTest extends BaseIntegrationTest {
+
+    private static final int SERIES = 7;
+
+    // The rows are committed, so every test needs fresh unique keys
+    private static final AtomicInteger fixtures = new AtomicInteger();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    private User owner;
+    private Customer ownCustomer;
+    private Customer otherCustomer;
+    private Vehicle ownVehicle;
+    private Vehicle otherVehicle;
+    private Policy ownPolicy;
+    private Policy otherPolicy;
+    private Claim otherClaim;
+    private Payment otherPayment;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser(Role.CUSTOMER);
+        ownCustomer = saveCustomer(owner);
+        otherCustomer = saveCustomer(saveUser(Role.CUSTOMER));
+        ownVehicle = ownCustomer.getVehicles().get(0);
+        otherVehicle = otherCustomer.getVehicles().get(0);
+        ownPolicy = ownCustomer.getPolicies().get(0);
+        otherPolicy = otherCustomer.getPolicies().get(0);
+        otherClaim = saveClaim(otherPolicy);
+        otherPayment = savePayment(otherPolicy);
+    }
+
+    @Test
+    @DisplayName("Should let a customer act only for their own customer record")
+    void shouldRestrictCustomerEndpointsToOwner() throws Exception {
+        String token = "Bearer " + accessToken(owner);
+
+        mockMvc.perform(get("/api/policies/customer/{id}", ownCustomer.getId()).header("Authorization", token))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/policies/customer/{id}", otherCustomer.getId()).header("Authorization", token))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/vehicles/owner/{id}", otherCustomer.getId()).header("Authorization", token))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/customers/{id}", otherCustomer.getId()).header("Authorization", token))
+            .andExpect(status().isForbidden())
+            .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @DisplayName("Should check ownership in memory once the user's customers are cached")
+    void shouldCheckOwnershipWithoutQueries() throws Exception {
+        String token = "Bearer " + accessToken(owner);
+        // Caches the token version and the user's customers
+        mockMvc.perform(get("/api/customers/{id}", ownCustomer.getId()).header("Authorization", token))
+            .andExpect(status().isOk());
+
+        // Only the customer lookup itself
+        performWithinQueryBudget(1, get("/api/customers/{id}", ownCustomer.getId()).header("Authorization", token))
+            .andExpect(status().isOk());
+        performWithinQueryBudget(0, get("/api/customers/{id}", otherCustomer.getId()).header("Authorization", token))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should restrict lookups by ID to the caller's customers in the query itself")
+    void shouldApplyTenantPredicateToLookups() throws Exception {
+        String token = "Bearer " + accessToken(owner);
+        mockMvc.perform(get("/api/vehicles/{id}", ownVehicle.getId()).header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.id").value(ownVehicle.getId()));
+
+        performWithinQueryBudget(1, get("/api/vehicles/{id}", otherVehicle.getId()).header("Authorization", token))
+            .andExpect(status().isNotFound());
+
+        // Staff are not restricted
+        String adminToken = "Bearer " + accessToken(saveUser(Role.ADMIN));
+        mockMvc.perform(get("/api/vehicles/{id}", otherVehicle.getId()).header("Authorization", adminToken))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should refuse updates to another customer's record or vehicle")
+    void shouldRestrictUpdatesToOwner() throws Exception {
+        String token = "Bearer " + accessToken(owner);
+
+        mockMvc.perform(put("/api/customers/{id}", otherCustomer.getId()).header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(TestDataHelper.createValidCustomer())))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(put("/api/vehicles/{id}", otherVehicle.getId()).header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(Map.of("chassisNumber", otherVehicle.getChassisNumber(),
+                    "engineNumber", otherVehicle.getEngineNumber(), "make", "Toyota", "model", "Vios", "color", "Red"))))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should refuse routes keyed by another customer's policy")
+    void shouldRestrictPolicyRoutesToOwner() throws Exception {
+        String token = "Bearer " + accessToken(owner);
+
+        mockMvc.perform(get("/api/claims/policy/{policyId}", ownPolicy.getId()).header("Authorization", token))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/claims/policy/{policyId}", otherPolicy.getId()).header("Authorization", token))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/payments/policy/{policyId}", ownPolicy.getId()).header("Authorization", token))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/payments/policy/{policyId}", otherPolicy.getId()).header("Authorization", token))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/policies/{policyId}/renew", otherPolicy.getId()).header("Authorization", token)
+                .param("startDate", LocalDate.now().plusYears(1).toString()))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should not find another customer's records by number, plate or ID")
+    void shouldNotFindOtherCustomersRecords() throws Exception {
+        String token = "Bearer " + accessToken(owner);
+
+        mockMvc.perform(get("/api/policies/number/{number}", ownPolicy.getPolicyNumber()).header("Authorization", token))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/policies/number/{number}", otherPolicy.getPolicyNumber()).header("Authorization", token))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/vehicles/license-plate/{plate}", ownVehicle.getLicensePlate()).header("Authorization", token))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/vehicles/license-plate/{plate}", otherVehicle.getLicensePlate()).header("Authorization", token))
+            .andExpect(status().isNotFound());
+
+        // Claims and payments answer a missing record with an error body rather than 404
+        mockMvc.perform(get("/api/claims/{id}", otherClaim.getId()).header("Authorization", token))
+            .andExpect(jsonPath("$.success").value(false))
+            .andExpect(jsonPath("$.data").doesNotExist());
+        mockMvc.perform(get("/api/claims/number/{number}", otherClaim.getClaimNumber()).header("Authorization", token))
+            .andExpect(jsonPath("$.success").value(false))
+            .andExpect(jsonPath("$.data").doesNotExist());
+        mockMvc.perform(get("/api/payments/{id}", otherPayment.getId()).header("Authorization", token))
+            .andExpect(jsonPath("$.success").value(false))
+            .andExpect(jsonPath("$.data").doesNotExist());
+
+        // Staff still see them
+        String adminToken = "Bearer " + accessToken(saveUser(Role.ADMIN));
+        mockMvc.perform(get("/api/claims/{id}", otherClaim.getId()).header("Authorization", adminToken))
+            .andExpect(jsonPath("$.data.id").value(otherClaim.getId()));
+        mockMvc.perform(get("/api/payments/{id}", otherPayment.getId()).header("Authorization", adminToken))
+            .andExpect(jsonPath("$.data.id").value(otherPayment.getId()));
+    }
+
+    private String accessToken(User user) {
+        UserPrincipal principal = UserPrincipal.create(user);
+        return jwtTokenUtil.generateAccessToken(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private User saveUser(Role role) {
+        return userRepository.save(TestDataHelper.createValidUser("owner." + fixtures.incrementAndGet(), role));
+    }
+
+    private Customer saveCustomer(User user) {
+        Customer customer = TestDataHelper.createCompleteCustomer(SERIES, fixtures.incrementAndGet());
+        customer.setUser(user);
+        return customerRepository.save(customer);
+    }
+
+    private Claim saveClaim(Policy policy) {
+        Claim claim = TestDataHelper.createValidClaim();
+        claim.setClaimNumber("CLM-OWN-" + fixtures.incrementAndGet());
+        claim.setPolicy(policy);
+        return claimRepository.save(claim);
+    }
+
+    private Payment savePayment(Policy policy) {
+        Payment payment = TestDataHelper.createValidPayment();
+        payment.setPaymentReference("PAY-OWN-" + fixtures.incrementAndGet());
+        payment.setPolicy(policy);
+        return paymentRepository.save(payment);
+    }
+}
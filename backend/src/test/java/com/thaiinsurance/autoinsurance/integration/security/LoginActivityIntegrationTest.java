@@ -0,0 +1,117 @@
+package com.thaiinsurance.autoinsurance.integration.security;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.dto.auth.LoginRequest;
+import com.thaiinsurance.autoinsurance.model.Role;
+import com.thaiinsurance.autoinsurance.model.User;
+import com.thaiinsurance.autoinsurance.repository.UserRepository;
+import com.thaiinsurance.autoinsurance.service.LoginActivityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Login Activity Tests")
+class LoginActivityIntegrationTest extends BaseIntegrationTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoginActivityService loginActivityService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String username = "activity." + UUID.randomUUID().toString().substring(0, 8);
+        user = new User(username, username + "@example.com", new BCryptPasswordEncoder().encode(PASSWORD));
+        user.setRole(Role.CUSTOMER);
+        user = userRepository.save(user);
+    }
+
+    @Test
+    @DisplayName("Should record the last login in a batch without bumping the user version")
+    void shouldRecordLastLoginWithoutVersionBump() throws Exception {
+        Long version = user.getVersion();
+
+        login(PASSWORD).andExpect(status().isOk());
+        loginActivityService.flush();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+            "SELECT last_login, version FROM users WHERE id = ?", user.getId());
+        assertNotNull(row.get("last_login"));
+        assertEquals(version, ((Number) row.get("version")).longValue());
+        assertEquals(1, auditCount("SUCCESS"));
+    }
+
+    @Test
+    @DisplayName("Should lock the account once failed attempts reach the limit")
+    void shouldLockAfterTooManyFailures() throws Exception {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            login("wrong-password").andExpect(status().isUnauthorized());
+        }
+        // Failures on both sides of a flush add up
+        loginActivityService.flush();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            login("wrong-password").andExpect(status().isUnauthorized());
+        }
+
+        login(PASSWORD)
+            .andExpect(status().isUnauthorized())
+            .andExpect(jsonPath("$.message").value("User account is locked"));
+        loginActivityService.flush();
+        assertTrue(jdbcTemplate.queryForObject(
+            "SELECT account_locked FROM users WHERE id = ?", Boolean.class, user.getId()));
+        assertEquals(5, auditCount("FAILURE"));
+    }
+
+    @Test
+    @DisplayName("Should reset the failure count on a successful login")
+    void shouldResetFailuresOnSuccess() throws Exception {
+        for (int attempt = 0; attempt < 4; attempt++) {
+            login("wrong-password").andExpect(status().isUnauthorized());
+        }
+        loginActivityService.flush();
+        login(PASSWORD).andExpect(status().isOk());
+        for (int attempt = 0; attempt < 4; attempt++) {
+            login("wrong-password").andExpect(status().isUnauthorized());
+        }
+
+        login(PASSWORD).andExpect(status().isOk());
+    }
+
+    private ResultActions login(String password) throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsernameOrEmail(user.getUsername());
+        loginRequest.setPassword(password);
+        return mockMvc.perform(post("/api/auth/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(asJsonString(loginRequest)));
+    }
+
+    private int auditCount(String outcome) {
+        loginActivityService.flush();
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM login_audit WHERE user_id = ? AND outcome = ?", Integer.class, user.getId(), outcome);
+    }
+}
@@ -0,0 +1,49 @@
+package com.thaiinsurance.autoinsurance.integration.security;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.dto.auth.LoginRequest;
+import com.thaiinsurance.autoinsurance.model.Role;
+import com.thaiinsurance.autoinsurance.model.User;
+import com.thaiinsurance.autoinsurance.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Password Rehash Tests")
+class PasswordRehashIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Should upgrade a weak password hash at login without revoking tokens")
+    void shouldUpgradeWeakHashAtLogin() throws Exception {
+        String username = "rehash." + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User(username, username + "@example.com", new BCryptPasswordEncoder(4).encode("password123"));
+        user.setRole(Role.CUSTOMER);
+        user = userRepository.save(user);
+        Integer tokenVersion = user.getTokenVersion();
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsernameOrEmail(username);
+        loginRequest.setPassword("password123");
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(loginRequest)))
+            .andExpect(status().isOk());
+
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+        assertTrue(reloaded.getPassword().startsWith("$2a$10$"), reloaded.getPassword());
+        assertTrue(new BCryptPasswordEncoder().matches("password123", reloaded.getPassword()));
+        assertEquals(tokenVersion, reloaded.getTokenVersion());
+    }
+}
@@ -0,0 +1,91 @@
+package com.thaiinsurance.autoinsurance.integration.security;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.security.JwtAuthenticationFilter;
+import com.thaiinsurance.autoinsurance.service.HealthSnapshotService;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Public Endpoint Filter Chain Tests")
+class PublicEndpointFilterChainIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private FilterChainProxy filterChainProxy;
+
+    @Autowired
+    private HealthSnapshotService healthSnapshotService;
+
+    @Test
+    @DisplayName("Should serve probes and API docs without JWT or security context filters")
+    void shouldUseMinimalChainForPublicEndpoints() {
+        for (String path : new String[] {"/health", "/health/ready", "/actuator/health", "/api-docs", "/swagger-ui/index.html"}) {
+            List<Filter> filters = filtersFor(request(path));
+
+            assertTrue(filters.stream().noneMatch(filter -> filter instanceof JwtAuthenticationFilter), path);
+            assertTrue(filters.stream().noneMatch(filter -> filter instanceof SecurityContextHolderFilter), path);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the full chain for API calls and for requests with a token")
+    void shouldUseMainChainOtherwise() {
+        MockHttpServletRequest withToken = request("/actuator/health");
+        withToken.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+        assertTrue(filtersFor(withToken).stream().anyMatch(filter -> filter instanceof JwtAuthenticationFilter));
+        assertTrue(filtersFor(request("/api/customers")).stream().anyMatch(filter -> filter instanceof JwtAuthenticationFilter));
+    }
+
+    @Test
+    @DisplayName("Should keep per-component health behind the admin role")
+    void shouldNotExposeHealthComponents() throws Exception {
+        assertTrue(filtersFor(request("/actuator/health/db")).stream().anyMatch(filter -> filter instanceof JwtAuthenticationFilter));
+
+        mockMvc.perform(get("/actuator/health/db"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should answer health probes from the health snapshot")
+    void shouldAnswerFromSnapshot() throws Exception {
+        healthSnapshotService.refresh();
+        HealthSnapshotService.Snapshot snapshot = healthSnapshotService.current();
+
+        assertTrue(snapshot.isUp());
+        mockMvc.perform(get("/health"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("UP"))
+            .andExpect(jsonPath("$.service").value("Thai Auto Insurance API"));
+        mockMvc.perform(get("/health/ready"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("READY"));
+    }
+
+    private List<Filter> filtersFor(MockHttpServletRequest request) {
+        return filterChainProxy.getFilterChains().stream()
+            .filter(chain -> chain.matches(request))
+            .findFirst()
+            .map(SecurityFilterChain::getFilters)
+            .orElseThrow();
+    }
+
+    private MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
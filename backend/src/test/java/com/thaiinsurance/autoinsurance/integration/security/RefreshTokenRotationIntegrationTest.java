@@ -0,0 +1,108 @@
+package com.thaiinsurance.autoinsurance.integration.security;
+
+import com.jayway.jsonpath.JsonPath;
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.model.Role;
+import com.thaiinsurance.autoinsurance.model.User;
+import com.thaiinsurance.autoinsurance.repository.UserRepository;
+import com.thaiinsurance.autoinsurance.security.JwtTokenUtil;
+import com.thaiinsurance.autoinsurance.security.UserPrincipal;
+import com.thaiinsurance.autoinsurance.service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Refresh Token Rotation Tests")
+class RefreshTokenRotationIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        String username = "rotation." + UUID.randomUUID().toString().substring(0, 8);
+        User customer = new User(username, username + "@example.com", "encoded-password");
+        customer.setRole(Role.CUSTOMER);
+        UserPrincipal principal = UserPrincipal.create(userRepository.save(customer));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Should issue a new refresh token on every refresh")
+    void shouldRotateOnEveryRefresh() throws Exception {
+        String first = login();
+
+        String second = refresh(first);
+        String third = refresh(second);
+
+        assertNotEquals(first, second);
+        assertNotEquals(second, third);
+        assertEquals(familyOf(first), familyOf(third));
+    }
+
+    @Test
+    @DisplayName("Should revoke the whole family when a spent refresh token is replayed")
+    void shouldRevokeFamilyOnReuse() throws Exception {
+        String stolen = login();
+        String current = refresh(stolen);
+
+        mockMvc.perform(post("/api/auth/refresh").header("Authorization", "Bearer " + stolen))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/auth/refresh").header("Authorization", "Bearer " + current))
+            .andExpect(status().isBadRequest());
+        assertNotNull(jdbcTemplate.queryForObject(
+            "SELECT revoked_at FROM refresh_token_families WHERE family_id = ?", Object.class, familyOf(stolen)));
+    }
+
+    @Test
+    @DisplayName("Should rotate a refresh token with a single statement")
+    void shouldRotateWithSingleStatement() throws Exception {
+        // The first refresh loads the user into the second-level cache
+        String current = refresh(login());
+
+        performWithinQueryBudget(1, post("/api/auth/refresh").header("Authorization", "Bearer " + current))
+            .andExpect(status().isOk());
+    }
+
+    private String login() {
+        String refreshToken = jwtTokenUtil.generateRefreshToken(authentication);
+        refreshTokenService.register(refreshToken);
+        return refreshToken;
+    }
+
+    private String refresh(String refreshToken) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/refresh").header("Authorization", "Bearer " + refreshToken))
+            .andExpect(status().isOk())
+            .andReturn();
+        return JsonPath.read(result.getResponse().getContentAsString(), "$.data.refreshToken");
+    }
+
+    private String familyOf(String refreshToken) {
+        return jwtTokenUtil.verifyToken(refreshToken).get("fam", String.class);
+    }
+}
@@ -0,0 +1,56 @@
+package com.thaiinsurance.autoinsurance.integration.security;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.config.RateLimitProperties;
+import com.thaiinsurance.autoinsurance.service.SharedRateLimitService;
+import com.thaiinsurance.autoinsurance.util.TokenBucketLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Shared Rate Limit Tests")
+class SharedRateLimitIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should debit each node's bucket by what the other nodes consumed")
+    void shouldShareConsumptionAcrossNodes() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getShared().setEnabled(true);
+        properties.getShared().setWindow(Duration.ofHours(1));
+        TokenBucketLimiter nodeA = new TokenBucketLimiter(8, 100, Duration.ofMinutes(10));
+        TokenBucketLimiter nodeB = new TokenBucketLimiter(8, 100, Duration.ofMinutes(10));
+        SharedRateLimitService syncA = node(nodeA, properties);
+        SharedRateLimitService syncB = node(nodeB, properties);
+        String key = "login|ip:" + UUID.randomUUID();
+
+        for (int i = 0; i < 8; i++) {
+            assertEquals(0, nodeA.tryAcquire(key, 10, 0.001));
+        }
+        assertEquals(0, nodeB.tryAcquire(key, 10, 0.001));
+        syncA.sync();
+        syncB.sync();
+
+        // Nine of ten tokens are gone cluster-wide
+        assertEquals(0, nodeB.tryAcquire(key, 10, 0.001));
+        assertTrue(nodeB.tryAcquire(key, 10, 0.001) > 0);
+    }
+
+    private SharedRateLimitService node(TokenBucketLimiter limiter, RateLimitProperties properties) {
+        SharedRateLimitService service = new SharedRateLimitService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "rateLimitBuckets", limiter);
+        ReflectionTestUtils.setField(service, "properties", properties);
+        return service;
+    }
+}
@@ -0,0 +1,105 @@
+package com.thaiinsurance.autoinsurance.integration.security;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.model.Role;
+import com.thaiinsurance.autoinsurance.model.User;
+import com.thaiinsurance.autoinsurance.repository.UserRepository;
+import com.thaiinsurance.autoinsurance.security.JwtTokenUtil;
+import com.thaiinsurance.autoinsurance.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Stateless Authentication Tests")
+class StatelessAuthenticationIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        String username = "stateless." + UUID.randomUUID().toString().substring(0, 8);
+        admin = new User(username, username + "@example.com", "encoded-password");
+        admin.setFirstName("Somchai");
+        admin.setLastName("Jaidee");
+        admin.setRole(Role.ADMIN);
+        admin = userRepository.save(admin);
+    }
+
+    @Test
+    @DisplayName("Should authenticate from the token claims without loading the user")
+    void shouldAuthenticateWithoutLoadingUser() throws Exception {
+        String token = accessToken(admin);
+        // The first request caches the token version
+        mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+
+        performWithinQueryBudget(0, get("/api/auth/me").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.username").value(admin.getUsername()))
+            .andExpect(jsonPath("$.data.firstName").value("Somchai"))
+            .andExpect(jsonPath("$.data.roles[0]").value("ADMIN"));
+    }
+
+    @Test
+    @DisplayName("Should reject outstanding tokens once the user is deactivated")
+    void shouldRejectTokensOfDeactivatedUser() throws Exception {
+        String token = accessToken(admin);
+        mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+
+        admin.setIsActive(false);
+        userRepository.save(admin);
+
+        mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + token))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens carrying a role the user no longer has")
+    void shouldRejectTokensAfterRoleChange() throws Exception {
+        String adminToken = accessToken(admin);
+        mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + adminToken))
+            .andExpect(status().isOk());
+
+        admin.setRole(Role.CUSTOMER);
+        admin = userRepository.save(admin);
+        assertEquals(1, admin.getTokenVersion());
+
+        mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + adminToken))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + accessToken(admin)))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should not accept a refresh token as an access token")
+    void shouldRejectRefreshTokenAsAccessToken() throws Exception {
+        UserPrincipal principal = UserPrincipal.create(admin);
+        String refreshToken = jwtTokenUtil.generateRefreshToken(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + refreshToken))
+            .andExpect(status().isUnauthorized());
+    }
+
+    private String accessToken(User user) {
+        UserPrincipal principal = UserPrincipal.create(user);
+        return jwtTokenUtil.generateAccessToken(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,144 @@
+package com.thaiinsurance.autoinsurance.integration.security;
+
+import com.thaiinsurance.autoinsurance.BaseIntegrationTest;
+import com.thaiinsurance.autoinsurance.controller.AuthController;
+import com.thaiinsurance.autoinsurance.model.Role;
+import com.thaiinsurance.autoinsurance.model.User;
+import com.thaiinsurance.autoinsurance.repository.UserRepository;
+import com.thaiinsurance.autoinsurance.security.JwtTokenUtil;
+import com.thaiinsurance.autoinsurance.security.UserPrincipal;
+import com.thaiinsurance.autoinsurance.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Token Revocation Tests")
+class TokenRevocationIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        String username = "revocation." + UUID.randomUUID().toString().substring(0, 8);
+        User admin = new User(username, username + "@example.com", "encoded-password");
+        admin.setRole(Role.ADMIN);
+        UserPrincipal principal = UserPrincipal.create(userRepository.save(admin));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Should reject an access token after logout")
+    void shouldRejectAccessTokenAfterLogout() throws Exception {
+        String token = jwtTokenUtil.generateAccessToken(authentication);
+        String otherSession = jwtTokenUtil.generateAccessToken(authentication);
+        mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + token))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + otherSession))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should reject a refresh token revoked at logout")
+    void shouldRejectRevokedRefreshToken() throws Exception {
+        String refreshToken = jwtTokenUtil.generateRefreshToken(authentication);
+        AuthController.LogoutRequest logout = new AuthController.LogoutRequest();
+        logout.setRefreshToken(refreshToken);
+
+        mockMvc.perform(post("/api/auth/logout")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(logout)))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/refresh").header("Authorization", "Bearer " + refreshToken))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should pick up revocations written by another node")
+    void shouldPickUpRevocationsFromOtherNodes() throws Exception {
+        String token = jwtTokenUtil.generateAccessToken(authentication);
+        Claims claims = jwtTokenUtil.verifyToken(token);
+
+        jdbcTemplate.update("INSERT INTO revoked_tokens (jti, user_id, expires_at, revoked_at) VALUES (?, ?, ?, ?)",
+            claims.getId(), claims.get("userId", Long.class), new Timestamp(claims.getExpiration().getTime()),
+            new Timestamp(System.currentTimeMillis()));
+        assertFalse(tokenRevocationService.isRevoked(claims.getId(), claims.getExpiration()));
+
+        tokenRevocationService.pollRevocations();
+
+        mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + token))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should pick up a revocation committed after a higher id was seen")
+    void shouldPickUpRevocationsCommittedOutOfIdOrder() {
+        Claims later = jwtTokenUtil.verifyToken(jwtTokenUtil.generateAccessToken(authentication));
+        Claims earlier = jwtTokenUtil.verifyToken(jwtTokenUtil.generateAccessToken(authentication));
+        String insert = "INSERT INTO revoked_tokens (id, jti, user_id, expires_at, revoked_at) VALUES (?, ?, ?, ?, ?)";
+
+        jdbcTemplate.update(insert, 1_000_002L, later.getId(), later.get("userId", Long.class),
+            new Timestamp(later.getExpiration().getTime()), new Timestamp(System.currentTimeMillis()));
+        tokenRevocationService.pollRevocations();
+        // A transaction holding a lower id commits only now
+        jdbcTemplate.update(insert, 1_000_001L, earlier.getId(), earlier.get("userId", Long.class),
+            new Timestamp(earlier.getExpiration().getTime()), new Timestamp(System.currentTimeMillis()));
+        tokenRevocationService.pollRevocations();
+
+        assertTrue(tokenRevocationService.isRevoked(later.getId(), later.getExpiration()));
+        assertTrue(tokenRevocationService.isRevoked(earlier.getId(), earlier.getExpiration()));
+    }
+
+    @Test
+    @DisplayName("Should reload revocations after a restart")
+    void shouldReloadRevocationsAfterRestart() {
+        Claims claims = jwtTokenUtil.verifyToken(jwtTokenUtil.generateAccessToken(authentication));
+        tokenRevocationService.revoke(claims.getId(), claims.get("userId", Long.class), claims.getExpiration());
+
+        TokenRevocationService restarted = new TokenRevocationService();
+        ReflectionTestUtils.setField(restarted, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(restarted, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(restarted, "bucketMinutes", 60L);
+        ReflectionTestUtils.setField(restarted, "expectedPerBucket", 1000);
+        ReflectionTestUtils.setField(restarted, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.invokeMethod(restarted, "init");
+
+        assertTrue(restarted.isRevoked(claims.getId(), claims.getExpiration()));
+        assertFalse(restarted.isRevoked(UUID.randomUUID().toString(), claims.getExpiration()));
+    }
+}
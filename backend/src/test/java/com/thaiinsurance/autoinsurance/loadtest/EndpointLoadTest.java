@@ -0,0 +1,367 @@
+package com.thaiinsurance.autoinsurance.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thaiinsurance.autoinsurance.config.SyntheticDataGenerator;
+import com.thaiinsurance.autoinsurance.model.Role;
+import com.thaiinsurance.autoinsurance.model.User;
+import com.thaiinsurance.autoinsurance.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the application on a random port, generates a synthetic dataset and user base, logs every
+ * user in over HTTP and then drives an open-model workload against the real endpoints. Per
+ * operation it reports latency percentiles (HdrHistogram) and throughput, and writes them to
+ * {@code target/load-test/<label>.properties} for comparison with other commits.
+ * <p>
+ * Skipped in the normal build; run with {@code mvn test -Pload-test}. See {@link LoadTestSettings}
+ * for the {@code -Dloadtest.*} options, e.g. {@code -Dloadtest.rate=200 -Dloadtest.database=postgres}
+ * or {@code -Dloadtest.baseline=target/load-test/<earlier>.properties}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.naming.physical-strategy=org.hibernate.boot.model.naming.PhysicalNamingStrategyStandardImpl",
+        "app.sql-instrumentation.expose-headers=false",
+        "logging.level.root=WARN",
+        "logging.level.com.thaiinsurance.autoinsurance=WARN",
+        "logging.level.com.thaiinsurance.autoinsurance.config.SyntheticDataGenerator=INFO",
+        "logging.level.org.hibernate=ERROR"
+    })
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "loadtest.enabled", matches = "true")
+@DisplayName("Endpoint Load Test")
+class EndpointLoadTest {
+
+    private static final LoadTestSettings SETTINGS = LoadTestSettings.fromSystemProperties();
+    private static final long ID_BASE = 10_000_000L;
+    private static final String PASSWORD = "LoadTest#2024";
+    private static final Path RESULTS = Path.of("target", "load-test");
+
+    private static PostgreSQLContainer<?> postgres;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Login holds a pooled connection while it hashes, so more logins at once than the pool has
+    // connections time out waiting for one
+    private static final int LOGIN_CONCURRENCY = 8;
+
+    private final ExecutorService clientExecutor = Executors.newFixedThreadPool(8);
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .executor(clientExecutor)
+        .build();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        if (!SETTINGS.postgres()) {
+            registry.add("spring.datasource.url", () -> "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+            return;
+        }
+        String url = SETTINGS.jdbcUrl();
+        String username = System.getProperty("loadtest.jdbc-username", "postgres");
+        String password = System.getProperty("loadtest.jdbc-password", "postgres");
+        if (url.isBlank()) {
+            postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+            postgres.start();
+            url = postgres.getJdbcUrl();
+            username = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+        String jdbcUrl = url;
+        String jdbcUsername = username;
+        String jdbcPassword = password;
+        registry.add("spring.datasource.url", () -> jdbcUrl);
+        registry.add("spring.datasource.username", () -> jdbcUsername);
+        registry.add("spring.datasource.password", () -> jdbcPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @AfterEach
+    void shutDownClient() {
+        clientExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should report latency percentiles and throughput per endpoint")
+    void runLoadTest() throws Exception {
+        if (!generator.isGenerated(ID_BASE)) {
+            generator.generate(new SyntheticDataGenerator.Settings(SETTINGS.seed(), SETTINGS.customers(),
+                Math.min(4, Runtime.getRuntime().availableProcessors()), 500, 500, ID_BASE, LocalDate.now()));
+        }
+        List<VirtualUser> users = createUsers();
+        LoadTestResults logins = login(users);
+        List<Long> pendingPayments = jdbcTemplate.queryForList(
+            "SELECT id FROM payments WHERE status = 'PENDING' AND id >= ? ORDER BY id", Long.class, ID_BASE);
+        assertFalse(pendingPayments.isEmpty(), "Generated dataset has no pending payments to confirm");
+
+        List<VirtualUser> customers = users.stream().filter(user -> !user.agent()).toList();
+        List<VirtualUser> agents = users.stream().filter(VirtualUser::agent).toList();
+        LoadTestResults results = new OpenModelDriver(client, SETTINGS,
+            operations(customers, agents, pendingPayments)).run();
+
+        String label = SETTINGS.label().isBlank() ? gitCommit() : SETTINGS.label();
+        Properties summary = results.toProperties(SETTINGS, SETTINGS.duration(), label);
+        Properties loginSummary = logins.toProperties(SETTINGS, SETTINGS.duration(), label);
+        for (String key : new String[] {"login.requests", "login.errors", "login.p50Ms", "login.p99Ms", "login.maxMs"}) {
+            summary.setProperty(key, loginSummary.getProperty(key));
+        }
+        Properties baseline = SETTINGS.baseline().isBlank() ? null : LoadTestResults.load(Path.of(SETTINGS.baseline()));
+        logins.print(System.out, loginSummary, null);
+        results.print(System.out, summary, baseline);
+        results.write(RESULTS, summary);
+
+        long sent = SETTINGS.mix().keySet().stream().mapToLong(results::requests).sum();
+        assertTrue(sent > 0, "No requests completed during the measured phase");
+        assertEquals(users.size(), logins.successes("login"), "Every synthetic user should log in");
+        for (String operation : SETTINGS.mix().keySet()) {
+            // Latencies of an operation that never succeeds only measure its error path
+            assertTrue(results.successes(operation) > 0, operation + " never succeeded");
+        }
+    }
+
+    /**
+     * Request builders per operation. Customers quote for their own customer and vehicle; agents
+     * confirm pending payments and pull customer reports. There is no purchase or claim operation:
+     * quotes are not stored, so purchasing one fails, and claim submission does not set the policy,
+     * so both would only measure the error path.
+     */
+    private Map<String, Function<SplittableRandom, HttpRequest>> operations(List<VirtualUser> customers,
+                                                                            List<VirtualUser> agents,
+                                                                            List<Long> pendingPayments) {
+        Map<String, Function<SplittableRandom, HttpRequest>> operations = new LinkedHashMap<>();
+        operations.put("quote", random -> {
+            VirtualUser user = customers.get(random.nextInt(customers.size()));
+            return post(user, "/api/policies/quote", Map.of(
+                "customerId", user.customerId(),
+                "vehicleId", firstVehicleId(user.customerId()),
+                "policyType", "VOLUNTARY",
+                "coverageType", random.nextBoolean() ? "COMPREHENSIVE" : "THIRD_PARTY_FIRE_THEFT",
+                "startDate", LocalDate.now().plusDays(1 + random.nextInt(30)).toString(),
+                "sumInsured", 300_000 + random.nextInt(700_000)));
+        });
+        operations.put("payment", random -> {
+            VirtualUser agent = agents.get(random.nextInt(agents.size()));
+            long paymentId = pendingPayments.get(random.nextInt(pendingPayments.size()));
+            return post(agent, "/api/payments/" + paymentId + "/confirm?processedBy=" + agent.userId(), null);
+        });
+        // /api/reports/** is limited to agents and admins
+        operations.put("report", random -> {
+            VirtualUser agent = agents.get(random.nextInt(agents.size()));
+            long customerId = customers.get(random.nextInt(customers.size())).customerId();
+            return HttpRequest.newBuilder(uri("/api/reports/customer/" + customerId))
+                .header("Authorization", "Bearer " + agent.token())
+                .GET()
+                .build();
+        });
+        return operations;
+    }
+
+    /**
+     * Customer users are linked to the first generated customers; agents come last. All share
+     * one password hash so setup does not pay for a BCrypt round per user.
+     */
+    private List<VirtualUser> createUsers() {
+        String hash = passwordEncoder.encode(PASSWORD);
+        int agents = SETTINGS.agents();
+        int customers = Math.min(SETTINGS.users() - agents, SETTINGS.customers());
+        List<VirtualUser> users = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < customers + agents; i++) {
+                boolean agent = i >= customers;
+                String username = (agent ? "loadagent" : "loadcustomer") + i;
+                User user = userRepository.findByUsername(username).orElseGet(User::new);
+                user.setUsername(username);
+                user.setEmail(username + "@loadtest.example.co.th");
+                user.setPassword(hash);
+                user.setFirstName("Load");
+                user.setLastName("User " + i);
+                user.setRole(agent ? Role.AGENT : Role.CUSTOMER);
+                user.setIsActive(true);
+                user.setEmailVerified(true);
+                user.setCreatedAt(LocalDateTime.now());
+                User saved = userRepository.save(user);
+                long customerId = agent ? 0 : ID_BASE + i;
+                if (!agent) {
+                    jdbcTemplate.update("UPDATE customers SET user_id = ? WHERE id = ?", saved.getId(), customerId);
+                }
+                users.add(new VirtualUser(saved.getId(), username, customerId, agent));
+            }
+        });
+        return users;
+    }
+
+    /**
+     * Log every user in with bounded concurrency; latencies are kept separately from the workload
+     */
+    private LoadTestResults login(List<VirtualUser> users) throws Exception {
+        LoadTestResults results = new LoadTestResults();
+        Semaphore permits = new Semaphore(LOGIN_CONCURRENCY);
+        List<CompletableFuture<Void>> logins = new ArrayList<>();
+        for (VirtualUser user : users) {
+            permits.acquire();
+            long started = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                    Map.of("usernameOrEmail", user.username(), "password", PASSWORD))))
+                .build();
+            logins.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    results.record("login", error == null ? response.statusCode() : 0, System.nanoTime() - started);
+                    if (error == null && response.statusCode() == 200) {
+                        user.token(accessToken(response.body()));
+                    }
+                    permits.release();
+                    return null;
+                }));
+        }
+        CompletableFuture.allOf(logins.toArray(CompletableFuture[]::new)).join();
+        return results;
+    }
+
+    private String accessToken(String body) {
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            return json.path("data").path("accessToken").asText();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable login response", e);
+        }
+    }
+
+    private HttpRequest post(VirtualUser user, String path, Map<String, Object> body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + user.token())
+                .header("Content-Type", "application/json")
+                .POST(body == null ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize request body", e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    // Slot 0 of the generator's id layout always exists
+    private static long firstVehicleId(long customerId) {
+        return ID_BASE + (customerId - ID_BASE) * 4;
+    }
+
+    private static String gitCommit() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String commit = new String(process.getInputStream().readAllBytes()).trim();
+            return process.waitFor() == 0 && !commit.isEmpty() ? commit : "local";
+        } catch (IOException e) {
+            return "local";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "local";
+        }
+    }
+
+    private static final class VirtualUser {
+
+        private final long userId;
+        private final String username;
+        private final long customerId;
+        private final boolean agent;
+        private volatile String token;
+
+        VirtualUser(long userId, String username, long customerId, boolean agent) {
+            this.userId = userId;
+            this.username = username;
+            this.customerId = customerId;
+            this.agent = agent;
+        }
+
+        long userId() {
+            return userId;
+        }
+
+        String username() {
+            return username;
+        }
+
+        long customerId() {
+            return customerId;
+        }
+
+        boolean agent() {
+            return agent;
+        }
+
+        String token() {
+            return token;
+        }
+
+        void token(String token) {
+            this.token = token;
+        }
+    }
+}
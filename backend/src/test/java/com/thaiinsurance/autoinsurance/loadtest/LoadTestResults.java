@@ -0,0 +1,180 @@
+package com.thaiinsurance.autoinsurance.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and outcome counts per operation. Latency is measured from the moment a
+ * request was scheduled to be sent, not from when it actually went out, so a stalled server shows
+ * up in the percentiles instead of silently lowering the offered load (coordinated omission).
+ */
+class LoadTestResults {
+
+    // Microsecond resolution, up to one minute, three significant digits
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+
+    void record(String operation, int status, long latencyNanos) {
+        OperationStats stats = stats(operation);
+        stats.histogram.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        stats.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    void dropped(String operation) {
+        stats(operation).dropped.increment();
+    }
+
+    Histogram histogram(String operation) {
+        return stats(operation).histogram;
+    }
+
+    long requests(String operation) {
+        return stats(operation).histogram.getTotalCount();
+    }
+
+    long successes(String operation) {
+        return stats(operation).statuses.entrySet().stream()
+            .filter(entry -> entry.getKey() >= 200 && entry.getKey() < 300)
+            .mapToLong(entry -> entry.getValue().sum())
+            .sum();
+    }
+
+    private OperationStats stats(String operation) {
+        return operations.computeIfAbsent(operation, key -> new OperationStats());
+    }
+
+    /**
+     * Flatten into sorted properties: {@code <operation>.<metric>} plus the settings
+     */
+    Properties toProperties(LoadTestSettings settings, Duration measured, String label) {
+        Properties properties = new Properties();
+        properties.setProperty("label", label);
+        settings.describe().forEach(properties::setProperty);
+        double seconds = measured.toMillis() / 1000.0;
+        for (Map.Entry<String, OperationStats> entry : new TreeMap<>(operations).entrySet()) {
+            String operation = entry.getKey();
+            OperationStats stats = entry.getValue();
+            long requests = stats.histogram.getTotalCount();
+            long successes = successes(operation);
+            properties.setProperty(operation + ".requests", String.valueOf(requests));
+            properties.setProperty(operation + ".errors", String.valueOf(requests - successes));
+            properties.setProperty(operation + ".dropped", String.valueOf(stats.dropped.sum()));
+            properties.setProperty(operation + ".throughput", format(successes / seconds));
+            properties.setProperty(operation + ".statuses", new TreeMap<>(stats.statuses).toString());
+            for (double percentile : PERCENTILES) {
+                properties.setProperty(operation + ".p" + percentileName(percentile) + "Ms",
+                    format(stats.histogram.getValueAtPercentile(percentile) / 1000.0));
+            }
+            properties.setProperty(operation + ".maxMs", format(stats.histogram.getMaxValue() / 1000.0));
+        }
+        return properties;
+    }
+
+    void print(PrintStream out, Properties results, Properties baseline) {
+        out.printf("%nLoad test %s%n", results.getProperty("label"));
+        out.printf("%-10s %9s %7s %7s %10s %9s %9s %9s %9s %9s%n",
+            "operation", "requests", "errors", "dropped", "ok/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (String operation : new TreeSet<>(operations.keySet())) {
+            out.printf("%-10s %9s %7s %7s %10s %9s %9s %9s %9s %9s%n", operation,
+                results.getProperty(operation + ".requests"), results.getProperty(operation + ".errors"),
+                results.getProperty(operation + ".dropped"), results.getProperty(operation + ".throughput"),
+                results.getProperty(operation + ".p50Ms"), results.getProperty(operation + ".p90Ms"),
+                results.getProperty(operation + ".p99Ms"), results.getProperty(operation + ".p99_9Ms"),
+                results.getProperty(operation + ".maxMs"));
+            if (!"0".equals(results.getProperty(operation + ".errors"))) {
+                out.printf("%-10s statuses %s (0 = no response)%n", "", results.getProperty(operation + ".statuses"));
+            }
+        }
+        if (baseline == null) {
+            return;
+        }
+        out.printf("%nCompared with %s (positive = slower / more throughput)%n", baseline.getProperty("label"));
+        if (!settingsMatch(results, baseline)) {
+            out.println("WARNING: settings differ, the comparison is not like for like");
+        }
+        for (String operation : new TreeSet<>(operations.keySet())) {
+            out.printf("%-10s p50 %s  p99 %s  ok/s %s%n", operation,
+                delta(results, baseline, operation + ".p50Ms"),
+                delta(results, baseline, operation + ".p99Ms"),
+                delta(results, baseline, operation + ".throughput"));
+        }
+    }
+
+    /**
+     * Write the summary properties and one HdrHistogram percentile distribution per operation
+     */
+    void write(Path directory, Properties results) throws IOException {
+        Files.createDirectories(directory);
+        String label = results.getProperty("label");
+        try (Writer writer = Files.newBufferedWriter(directory.resolve(label + ".properties"))) {
+            writer.write("# Load test results, compare runs with -Dloadtest.baseline=<this file>\n");
+            for (String key : new TreeSet<>(results.stringPropertyNames())) {
+                writer.write(key + "=" + results.getProperty(key) + "\n");
+            }
+        }
+        for (Map.Entry<String, OperationStats> entry : operations.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(label + "-" + entry.getKey() + ".hgrm")))) {
+                // Values recorded in microseconds, printed in milliseconds
+                entry.getValue().histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    static Properties load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+
+    private static boolean settingsMatch(Properties results, Properties baseline) {
+        return results.stringPropertyNames().stream()
+            .filter(key -> key.startsWith("settings."))
+            .allMatch(key -> results.getProperty(key).equals(baseline.getProperty(key)));
+    }
+
+    private static String delta(Properties results, Properties baseline, String key) {
+        String before = baseline.getProperty(key);
+        String after = results.getProperty(key);
+        if (before == null || after == null || Double.parseDouble(before) == 0) {
+            return "n/a";
+        }
+        double change = (Double.parseDouble(after) - Double.parseDouble(before)) / Double.parseDouble(before) * 100;
+        return String.format(Locale.ROOT, "%+.1f%%", change);
+    }
+
+    private static String percentileName(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile).replace('.', '_');
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static final class OperationStats {
+
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder dropped = new LongAdder();
+    }
+}
@@ -0,0 +1,89 @@
+package com.thaiinsurance.autoinsurance.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test parameters, read from {@code -Dloadtest.*} system properties. Everything that shapes
+ * the traffic (seed, rate, mix, dataset size) is part of the result file, so two result files are
+ * only compared when they were produced with the same settings.
+ *
+ * @param database     {@code h2} (in-memory, default) or {@code postgres}
+ * @param jdbcUrl      external PostgreSQL database; empty starts a Testcontainers instance
+ * @param seed         seeds the dataset and the arrival schedule
+ * @param rate         mean request arrivals per second (Poisson, independent of response times)
+ * @param warmup       traffic sent before measuring starts
+ * @param duration     measured traffic
+ * @param customers    synthetic customers generated before the run
+ * @param users        synthetic user accounts that log in; one in ten is an agent
+ * @param maxInFlight  requests outstanding at once before new arrivals are dropped (and counted)
+ * @param mix          operation name to relative weight
+ * @param label        name of the result file; defaults to the current git commit
+ * @param baseline     earlier result file to compare against, if any
+ */
+record LoadTestSettings(String database, String jdbcUrl, long seed, double rate, Duration warmup, Duration duration,
+                        int customers, int users, int maxInFlight, Map<String, Integer> mix, String label,
+                        String baseline) {
+
+    static final String DEFAULT_MIX = "quote=35,payment=15,report=25";
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+            System.getProperty("loadtest.database", "h2"),
+            System.getProperty("loadtest.jdbc-url", ""),
+            Long.getLong("loadtest.seed", 42L),
+            Double.parseDouble(System.getProperty("loadtest.rate", "50")),
+            Duration.ofSeconds(Long.getLong("loadtest.warmup", 10L)),
+            Duration.ofSeconds(Long.getLong("loadtest.duration", 60L)),
+            Integer.getInteger("loadtest.customers", 5000),
+            Integer.getInteger("loadtest.users", 200),
+            Integer.getInteger("loadtest.max-in-flight", 512),
+            parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+            System.getProperty("loadtest.label", ""),
+            System.getProperty("loadtest.baseline", ""));
+    }
+
+    boolean postgres() {
+        return "postgres".equalsIgnoreCase(database);
+    }
+
+    int agents() {
+        return Math.max(1, users / 10);
+    }
+
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected name=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Load test mix has no operations: " + mix);
+        }
+        return weights;
+    }
+
+    /**
+     * Settings as flat properties for the result file
+     */
+    Map<String, String> describe() {
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("settings.database", database);
+        settings.put("settings.seed", String.valueOf(seed));
+        settings.put("settings.rate", String.valueOf(rate));
+        settings.put("settings.warmupSeconds", String.valueOf(warmup.toSeconds()));
+        settings.put("settings.durationSeconds", String.valueOf(duration.toSeconds()));
+        settings.put("settings.customers", String.valueOf(customers));
+        settings.put("settings.users", String.valueOf(users));
+        settings.put("settings.maxInFlight", String.valueOf(maxInFlight));
+        settings.put("settings.mix", mix.toString());
+        return settings;
+    }
+}
@@ -0,0 +1,105 @@
+package com.thaiinsurance.autoinsurance.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests on an open model: arrivals follow a Poisson process at a fixed mean rate no
+ * matter how quickly the server answers, the way independent users hit a real service. The
+ * arrival times, the operation mix and the request parameters all come from one seeded random
+ * source on the scheduling thread, so a seed always produces the same request sequence and runs
+ * on different commits see identical traffic.
+ */
+class OpenModelDriver {
+
+    private final HttpClient client;
+    private final LoadTestSettings settings;
+    private final Map<String, Function<SplittableRandom, HttpRequest>> operations;
+
+    OpenModelDriver(HttpClient client, LoadTestSettings settings,
+                    Map<String, Function<SplittableRandom, HttpRequest>> operations) {
+        this.client = client;
+        this.settings = settings;
+        this.operations = operations;
+        for (String operation : settings.mix().keySet()) {
+            if (!operations.containsKey(operation)) {
+                throw new IllegalArgumentException("Unknown load test operation '" + operation + "', expected one of "
+                    + operations.keySet());
+            }
+        }
+    }
+
+    /**
+     * Run warmup and measured traffic, then wait for outstanding requests
+     *
+     * @return results of the measured phase only
+     */
+    LoadTestResults run() throws InterruptedException {
+        LoadTestResults results = new LoadTestResults();
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        List<String> names = new ArrayList<>(settings.mix().keySet());
+        int[] weights = names.stream().mapToInt(name -> settings.mix().get(name)).toArray();
+        int totalWeight = settings.mix().values().stream().mapToInt(Integer::intValue).sum();
+        AtomicInteger inFlight = new AtomicInteger();
+
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        long intended = start;
+        while (true) {
+            intended += (long) (-Math.log(1 - random.nextDouble()) / settings.rate() * TimeUnit.SECONDS.toNanos(1));
+            if (intended >= end) {
+                break;
+            }
+            String operation = names.get(pick(random, weights, totalWeight));
+            HttpRequest request = operations.get(operation).apply(random);
+            boolean measured = intended >= measureFrom;
+
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= settings.maxInFlight()) {
+                if (measured) {
+                    results.dropped(operation);
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            long scheduledAt = intended;
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (measured) {
+                    results.record(operation, error == null ? response.statusCode() : 0, System.nanoTime() - scheduledAt);
+                }
+                inFlight.decrementAndGet();
+            });
+        }
+
+        long drainDeadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        return results;
+    }
+
+    private static int pick(SplittableRandom random, int[] weights, int totalWeight) {
+        int pick = random.nextInt(totalWeight);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+}
@@ -11,6 +11,7 @@ import com.thaiinsurance.autoinsurance.repository.UserRepository;
 import com.thaiinsurance.autoinsurance.security.JwtTokenUtil;
 import com.thaiinsurance.autoinsurance.security.UserPrincipal;
 import com.thaiinsurance.autoinsurance.service.AuthService;
+import com.thaiinsurance.autoinsurance.service.RefreshTokenService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -58,6 +59,9 @@ class AuthControllerTest extends BaseIntegrationTest {
     @MockBean
     private JwtTokenUtil jwtTokenUtil;
 
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
     private User testUser;
     private LoginRequest validLoginRequest;
     private RegisterRequest validRegisterRequest;
@@ -110,6 +114,7 @@ class AuthControllerTest extends BaseIntegrationTest {
             verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
             verify(jwtTokenUtil).generateAccessToken(authentication);
             verify(jwtTokenUtil).generateRefreshToken(authentication);
+            verify(refreshTokenService).register("refresh-token");
         }
 
         @Test
@@ -3,6 +3,7 @@ package com.thaiinsurance.autoinsurance.unit.controller;
 import com.thaiinsurance.autoinsurance.BaseControllerTest;
 import com.thaiinsurance.autoinsurance.TestDataHelper;
 import com.thaiinsurance.autoinsurance.controller.CustomerController;
+import com.thaiinsurance.autoinsurance.dto.CustomerDTO;
 import com.thaiinsurance.autoinsurance.model.Customer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -30,12 +31,26 @@ class CustomerControllerTest extends BaseControllerTest {
 
     private Customer testCustomer;
     private List<Customer> customerList;
+    private CustomerDTO testSummary;
+    private List<CustomerDTO> summaryList;
 
     @BeforeEach
     void setUp() {
         testCustomer = TestDataHelper.createValidCustomer();
         testCustomer.setId(1L);
         customerList = Arrays.asList(testCustomer);
+        testSummary = toSummary(testCustomer);
+        summaryList = Arrays.asList(testSummary);
+    }
+
+    private CustomerDTO toSummary(Customer customer) {
+        return new CustomerDTO(customer.getId(), customer.getNationalId(), customer.getFirstName(),
+                customer.getLastName(), customer.getFirstNameThai(), customer.getLastNameThai(),
+                customer.getDateOfBirth(), customer.getGender(), customer.getPhoneNumber(), customer.getEmail(),
+                customer.getDistrict(), customer.getProvince(), customer.getPostalCode(),
+                customer.getPreferredLanguage(), customer.getOccupationCategory(), customer.getKycStatus(),
+                customer.getKycVerifiedAt(), customer.getIsActive(), customer.getCreatedAt(),
+                customer.getUpdatedAt(), null, null, null);
     }
 
     @Override
@@ -52,7 +67,7 @@ class CustomerControllerTest extends BaseControllerTest {
         @WithMockUser(roles = "AGENT")
         void shouldGetAllCustomersWhenUserHasAgentRole() throws Exception {
             // Given
-            when(customerService.getAllCustomers()).thenReturn(customerList);
+            when(customerService.getCustomerSummaries()).thenReturn(summaryList);
 
             // When & Then
             mockMvc.perform(get("/api/customers"))
@@ -64,7 +79,7 @@ class CustomerControllerTest extends BaseControllerTest {
                     .andExpect(jsonPath("$.data[0].nationalId").value(testCustomer.getNationalId()))
                     .andExpect(jsonPath("$.data[0].firstName").value(testCustomer.getFirstName()));
 
-            verify(customerService).getAllCustomers();
+            verify(customerService).getCustomerSummaries();
         }
 
         @Test
@@ -72,14 +87,14 @@ class CustomerControllerTest extends BaseControllerTest {
         @WithMockUser(roles = "ADMIN")
         void shouldGetAllCustomersWhenUserHasAdminRole() throws Exception {
             // Given
-            when(customerService.getAllCustomers()).thenReturn(customerList);
+            when(customerService.getCustomerSummaries()).thenReturn(summaryList);
 
             // When & Then
             mockMvc.perform(get("/api/customers"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.success").value(true));
 
-            verify(customerService).getAllCustomers();
+            verify(customerService).getCustomerSummaries();
         }
 
         @Test
@@ -91,7 +106,7 @@ class CustomerControllerTest extends BaseControllerTest {
             mockMvc.perform(get("/api/customers"))
                     .andExpect(status().isForbidden());
 
-            verify(customerService, never()).getAllCustomers();
+            verify(customerService, never()).getCustomerSummaries();
         }
 
         @Test
@@ -101,7 +116,7 @@ class CustomerControllerTest extends BaseControllerTest {
             mockMvc.perform(get("/api/customers"))
                     .andExpect(status().isUnauthorized());
 
-            verify(customerService, never()).getAllCustomers();
+            verify(customerService, never()).getCustomerSummaries();
         }
     }
 
@@ -116,8 +131,8 @@ class CustomerControllerTest extends BaseControllerTest {
         void shouldSearchCustomersWithDefaultPagination() throws Exception {
             // Given
             String query = "Somchai";
-            Page<Customer> customerPage = new PageImpl<>(customerList);
-            when(customerService.searchCustomers(eq(query), any())).thenReturn(customerPage);
+            Page<CustomerDTO> customerPage = new PageImpl<>(summaryList);
+            when(customerService.searchCustomerSummaries(eq(query), any())).thenReturn(customerPage);
 
             // When & Then
             mockMvc.perform(get("/api/customers/search")
@@ -126,7 +141,7 @@ class CustomerControllerTest extends BaseControllerTest {
                     .andExpect(jsonPath("$.success").value(true))
                     .andExpect(jsonPath("$.data.content[0].firstName").value(testCustomer.getFirstName()));
 
-            verify(customerService).searchCustomers(eq(query), any());
+            verify(customerService).searchCustomerSummaries(eq(query), any());
         }
 
         @Test
@@ -136,8 +151,8 @@ class CustomerControllerTest extends BaseControllerTest {
         void shouldSearchCustomersWithCustomPagination() throws Exception {
             // Given
             String query = "Bangkok";
-            Page<Customer> customerPage = new PageImpl<>(customerList);
-            when(customerService.searchCustomers(eq(query), any())).thenReturn(customerPage);
+            Page<CustomerDTO> customerPage = new PageImpl<>(summaryList);
+            when(customerService.searchCustomerSummaries(eq(query), any())).thenReturn(customerPage);
 
             // When & Then
             mockMvc.perform(get("/api/customers/search")
@@ -149,7 +164,7 @@ class CustomerControllerTest extends BaseControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.success").value(true));
 
-            verify(customerService).searchCustomers(eq(query), any());
+            verify(customerService).searchCustomerSummaries(eq(query), any());
         }
 
         @Test
@@ -162,7 +177,7 @@ class CustomerControllerTest extends BaseControllerTest {
                             .param("query", ""))
                     .andExpect(status().isBadRequest());
 
-            verify(customerService, never()).searchCustomers(anyString(), any());
+            verify(customerService, never()).searchCustomerSummaries(anyString(), any());
         }
     }
 
@@ -176,7 +191,7 @@ class CustomerControllerTest extends BaseControllerTest {
         void shouldGetCustomerByIdWhenCustomerExists() throws Exception {
             // Given
             Long customerId = 1L;
-            when(customerService.getCustomerById(customerId)).thenReturn(Optional.of(testCustomer));
+            when(customerService.getCustomerSummaryById(customerId)).thenReturn(Optional.of(testSummary));
 
             // When & Then
             mockMvc.perform(get("/api/customers/{id}", customerId))
@@ -185,7 +200,7 @@ class CustomerControllerTest extends BaseControllerTest {
                     .andExpect(jsonPath("$.data.id").value(customerId))
                     .andExpect(jsonPath("$.data.firstName").value(testCustomer.getFirstName()));
 
-            verify(customerService).getCustomerById(customerId);
+            verify(customerService).getCustomerSummaryById(customerId);
         }
 
         @Test
@@ -195,14 +210,14 @@ class CustomerControllerTest extends BaseControllerTest {
         void shouldReturnNotFoundWhenCustomerDoesNotExist() throws Exception {
             // Given
             Long customerId = 999L;
-            when(customerService.getCustomerById(customerId)).thenReturn(Optional.empty());
+            when(customerService.getCustomerSummaryById(customerId)).thenReturn(Optional.empty());
 
             // When & Then
             mockMvc.perform(get("/api/customers/{id}", customerId))
                     .andExpect(status().isNotFound())
                     .andExpect(jsonPath("$.success").value(false));
 
-            verify(customerService).getCustomerById(customerId);
+            verify(customerService).getCustomerSummaryById(customerId);
         }
 
         @Test
@@ -214,7 +229,7 @@ class CustomerControllerTest extends BaseControllerTest {
             mockMvc.perform(get("/api/customers/{id}", "invalid"))
                     .andExpect(status().isBadRequest());
 
-            verify(customerService, never()).getCustomerById(anyLong());
+            verify(customerService, never()).getCustomerSummaryById(anyLong());
         }
     }
 
@@ -555,7 +570,7 @@ class CustomerControllerTest extends BaseControllerTest {
         @WithMockUser(roles = "ADMIN")
         void shouldHandleServiceLayerExceptionsGracefully() throws Exception {
             // Given
-            when(customerService.getAllCustomers()).thenThrow(new RuntimeException("Database connection failed"));
+            when(customerService.getCustomerSummaries()).thenThrow(new RuntimeException("Database connection failed"));
 
             // When & Then
             mockMvc.perform(get("/api/customers"))
@@ -563,7 +578,7 @@ class CustomerControllerTest extends BaseControllerTest {
                     .andExpect(jsonPath("$.success").value(false))
                     .andExpect(jsonPath("$.message").value("Database connection failed"));
 
-            verify(customerService).getAllCustomers();
+            verify(customerService).getCustomerSummaries();
         }
 
         @Test
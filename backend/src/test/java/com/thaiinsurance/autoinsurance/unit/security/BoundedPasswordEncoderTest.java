@@ -0,0 +1,97 @@
+package com.thaiinsurance.autoinsurance.unit.security;
+
+import com.thaiinsurance.autoinsurance.exception.ServiceBusyException;
+import com.thaiinsurance.autoinsurance.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BoundedPasswordEncoder Tests")
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    @DisplayName("Should hash and verify on the hashing pool and record the outcome")
+    void shouldHashAndVerify() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, 5_000L, 1L, meterRegistry);
+
+        String hash = encoder.encode("password123");
+
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong-password", hash));
+        assertEquals(1, meterRegistry.get("auth.password.hashing").tag("outcome", "match").timer().count());
+        assertEquals(1, meterRegistry.get("auth.password.hashing").tag("outcome", "mismatch").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject work beyond the queue instead of waiting")
+    void shouldRejectWhenSaturated() throws Exception {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1, 5_000L, 2L, meterRegistry);
+        // One call holds the only thread, the next fills the queue
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+        waitForQueuedTask();
+
+        ServiceBusyException busy = assertThrows(ServiceBusyException.class, () -> encoder.matches("c", "c"));
+
+        assertEquals(2L, busy.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("auth.password.hashing").tag("outcome", "rejected").timer().count());
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should give up on hashing that exceeds the timeout")
+    void shouldTimeOut() {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1, 100L, 1L, meterRegistry);
+
+        assertThrows(ServiceBusyException.class, () -> encoder.matches("a", "a"));
+        assertEquals(1, meterRegistry.get("auth.password.hashing").tag("outcome", "timeout").timer().count());
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000L;
+        while (meterRegistry.get("auth.password.hashing.queue").gauge().value() < 1) {
+            assertTrue(System.currentTimeMillis() < deadline, "Task was never queued");
+            Thread.sleep(10L);
+        }
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.thaiinsurance.autoinsurance.unit.security;
+
+import com.thaiinsurance.autoinsurance.model.Role;
+import com.thaiinsurance.autoinsurance.security.JwtTokenUtil;
+import com.thaiinsurance.autoinsurance.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtTokenUtil Tests")
+class JwtTokenUtilTest {
+
+    private static final String SECRET =
+        "MyVeryLongSecretKeyForHS512Algorithm12345678901234567890123456789012345678901234567890";
+
+    private JwtTokenUtil jwtTokenUtil;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenUtil = createTokenUtil(3_600_000L);
+        UserPrincipal principal = new UserPrincipal(7L, "somchai.j", "somchai@example.com", null,
+            "Somchai", "Jaidee", Set.of(Role.AGENT), true, 3);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Should serve a reused token from the verified-token cache")
+    void shouldServeReusedTokenFromCache() {
+        String token = jwtTokenUtil.generateAccessToken(authentication);
+
+        Claims first = jwtTokenUtil.verifyToken(token);
+        Claims second = jwtTokenUtil.verifyToken(token);
+
+        assertNotNull(first);
+        assertSame(first, second);
+        UserPrincipal principal = jwtTokenUtil.getPrincipalFromClaims(second);
+        assertEquals(7L, principal.getId());
+        assertEquals(3, principal.getTokenVersion());
+        assertEquals(Set.of(Role.AGENT), principal.getRoles());
+    }
+
+    @Test
+    @DisplayName("Should reject a token with a tampered signature")
+    void shouldRejectTamperedToken() {
+        String token = jwtTokenUtil.generateAccessToken(authentication);
+        char last = token.charAt(token.length() - 2);
+        String tampered = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+
+        assertNotNull(jwtTokenUtil.verifyToken(token));
+        assertNull(jwtTokenUtil.verifyToken(tampered));
+        assertFalse(jwtTokenUtil.validateToken(tampered));
+    }
+
+    @Test
+    @DisplayName("Should not serve a cached token after it expires")
+    void shouldNotServeExpiredTokenFromCache() throws InterruptedException {
+        JwtTokenUtil shortLived = createTokenUtil(2_000L);
+        String token = shortLived.generateAccessToken(authentication);
+        assertNotNull(shortLived.verifyToken(token));
+
+        Thread.sleep(2_100L);
+
+        assertNull(shortLived.verifyToken(token));
+    }
+
+    @Test
+    @DisplayName("Should not build a principal from a refresh token")
+    void shouldNotBuildPrincipalFromRefreshToken() {
+        String refreshToken = jwtTokenUtil.generateRefreshToken(authentication);
+
+        assertNull(jwtTokenUtil.getPrincipalFromClaims(jwtTokenUtil.verifyToken(refreshToken)));
+        assertTrue(jwtTokenUtil.isRefreshToken(refreshToken));
+    }
+
+    private static JwtTokenUtil createTokenUtil(long expirationMillis) {
+        JwtTokenUtil tokenUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(tokenUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenUtil, "jwtExpiration", expirationMillis);
+        ReflectionTestUtils.setField(tokenUtil, "refreshExpiration", 604_800_000L);
+        ReflectionTestUtils.setField(tokenUtil, "verifiedCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(tokenUtil, "verifiedCacheMaxTtlSeconds", 300L);
+        ReflectionTestUtils.invokeMethod(tokenUtil, "init");
+        return tokenUtil;
+    }
+}
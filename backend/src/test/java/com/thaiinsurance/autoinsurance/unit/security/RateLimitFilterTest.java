@@ -0,0 +1,114 @@
+package com.thaiinsurance.autoinsurance.unit.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thaiinsurance.autoinsurance.config.RateLimitProperties;
+import com.thaiinsurance.autoinsurance.model.Role;
+import com.thaiinsurance.autoinsurance.security.RateLimitFilter;
+import com.thaiinsurance.autoinsurance.security.UserPrincipal;
+import com.thaiinsurance.autoinsurance.util.TokenBucketLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimitFilter Tests")
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoutes().put("login", route("/api/auth/login", "POST", RateLimitProperties.KeyType.IP, 2));
+        properties.getRoutes().put("quote", route("/api/policies/quote", "POST", RateLimitProperties.KeyType.USER, 1));
+        filter = new RateLimitFilter(properties, new TokenBucketLimiter(16, 1_000, Duration.ofMinutes(10)),
+            new ObjectMapper().findAndRegisterModules(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once an IP exhausts its bucket")
+    void shouldRejectOverLimit() throws Exception {
+        assertEquals(200, perform("POST", "/api/auth/login", "10.0.0.1").getStatus());
+        assertEquals(200, perform("POST", "/api/auth/login", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse rejected = perform("POST", "/api/auth/login", "10.0.0.1");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("60", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Too many requests"));
+        assertEquals(200, perform("POST", "/api/auth/login", "10.0.0.2").getStatus());
+        assertEquals(1, meterRegistry.get("http.rate_limit.rejections").tag("route", "login").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should match routes on the decoded path")
+    void shouldMatchEncodedPaths() throws Exception {
+        assertEquals(200, perform("POST", "/api/auth/%6Cogin", "10.0.0.1").getStatus());
+        assertEquals(200, perform("POST", "/api/auth/login;jsessionid=1", "10.0.0.1").getStatus());
+
+        assertEquals(429, perform("POST", "/api/auth/login", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    @DisplayName("Should leave other routes and methods alone")
+    void shouldIgnoreUnmatchedRequests() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, perform("GET", "/api/auth/login", "10.0.0.1").getStatus());
+            assertEquals(200, perform("POST", "/api/auth/refresh", "10.0.0.1").getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("Should limit per user rather than per IP when configured")
+    void shouldLimitPerUser() throws Exception {
+        authenticateAs(1L);
+        assertEquals(200, perform("POST", "/api/policies/quote", "10.0.0.1").getStatus());
+        assertEquals(429, perform("POST", "/api/policies/quote", "10.0.0.2").getStatus());
+
+        authenticateAs(2L);
+        assertEquals(200, perform("POST", "/api/policies/quote", "10.0.0.1").getStatus());
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private void authenticateAs(Long userId) {
+        UserPrincipal principal = new UserPrincipal(userId, "user" + userId, "user" + userId + "@example.com", null,
+            "Somchai", "Jaidee", Set.of(Role.CUSTOMER), true, 0);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static RateLimitProperties.Route route(String pattern, String method, RateLimitProperties.KeyType key,
+                                                   long capacity) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPattern(pattern);
+        route.setMethod(method);
+        route.setKey(key);
+        route.setCapacity(capacity);
+        route.setRefillPerMinute(1);
+        return route;
+    }
+}
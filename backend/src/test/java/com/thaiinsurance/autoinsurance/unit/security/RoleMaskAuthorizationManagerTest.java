@@ -0,0 +1,109 @@
+package com.thaiinsurance.autoinsurance.unit.security;
+
+import com.thaiinsurance.autoinsurance.model.Role;
+import com.thaiinsurance.autoinsurance.security.RoleMaskAuthorizationManager;
+import com.thaiinsurance.autoinsurance.security.UserPrincipal;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("RoleMaskAuthorizationManager Tests")
+class RoleMaskAuthorizationManagerTest {
+
+    private final SampleController controller = new SampleController();
+
+    @Test
+    @DisplayName("Should decide plain role checks from the principal's role mask without SpEL")
+    @SuppressWarnings("unchecked")
+    void shouldDecideRoleChecksWithoutSpel() throws Exception {
+        AuthorizationManager<MethodInvocation> spel = mock(AuthorizationManager.class);
+        RoleMaskAuthorizationManager manager = new RoleMaskAuthorizationManager(spel);
+
+        assertEquals(2, manager.precompile(SampleController.class));
+        assertTrue(manager.check(() -> user(Role.AGENT), invocation("agentsAndAdmins")).isGranted());
+        assertTrue(manager.check(() -> user(Role.CUSTOMER, Role.ADMIN), invocation("adminsOnly")).isGranted());
+        assertFalse(manager.check(() -> user(Role.CUSTOMER), invocation("agentsAndAdmins")).isGranted());
+        verifyNoInteractions(spel);
+    }
+
+    @Test
+    @DisplayName("Should hand expressions other than role checks to SpEL")
+    @SuppressWarnings("unchecked")
+    void shouldFallBackToSpelForDynamicExpressions() throws Exception {
+        AuthorizationManager<MethodInvocation> spel = mock(AuthorizationManager.class);
+        when(spel.check(any(), any())).thenReturn(new AuthorizationDecision(true));
+        RoleMaskAuthorizationManager manager = new RoleMaskAuthorizationManager(spel);
+        MethodInvocation invocation = invocation("ownerOnly", Long.class);
+
+        assertTrue(manager.check(() -> user(Role.CUSTOMER), invocation).isGranted());
+        verify(spel).check(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reach the same decisions as SpEL for every role")
+    void shouldMatchSpelDecisions() throws Exception {
+        PreAuthorizeAuthorizationManager spel = new PreAuthorizeAuthorizationManager();
+        RoleMaskAuthorizationManager manager = new RoleMaskAuthorizationManager(spel);
+
+        for (String method : new String[] {"agentsAndAdmins", "adminsOnly"}) {
+            for (Role role : Role.values()) {
+                MethodInvocation invocation = invocation(method);
+                // Both a principal with a precomputed mask and plain authorities, e.g. from @WithMockUser
+                Authentication principal = user(role);
+                Authentication authorities = new UsernamePasswordAuthenticationToken("user", null,
+                    AuthorityUtils.createAuthorityList(role.getAuthority()));
+                boolean expected = spel.check(() -> principal, invocation).isGranted();
+
+                assertEquals(expected, manager.check(() -> principal, invocation).isGranted(), method + " " + role);
+                assertEquals(expected, manager.check(() -> authorities, invocation).isGranted(), method + " " + role);
+            }
+        }
+        Authentication anonymous = new AnonymousAuthenticationToken("key", "anonymousUser",
+            AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+        assertFalse(manager.check(() -> anonymous, invocation("agentsAndAdmins")).isGranted());
+    }
+
+    private MethodInvocation invocation(String name, Class<?>... parameterTypes) throws Exception {
+        return new SimpleMethodInvocation(controller, SampleController.class.getMethod(name, parameterTypes),
+            parameterTypes.length == 0 ? new Object[0] : new Object[] {1L});
+    }
+
+    private Authentication user(Role... roles) {
+        UserPrincipal principal = new UserPrincipal(1L, "somchai.j", "somchai@example.com", null,
+            "Somchai", "Jaidee", Set.of(roles), true, 0);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    static class SampleController {
+
+        @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
+        public void agentsAndAdmins() {
+        }
+
+        @PreAuthorize("hasRole('ADMIN')")
+        public void adminsOnly() {
+        }
+
+        @PreAuthorize("hasRole('CUSTOMER') and #id > 0")
+        public void ownerOnly(Long id) {
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.thaiinsurance.autoinsurance.repository.CustomerRepository;
 import com.thaiinsurance.autoinsurance.repository.UserRepository;
 import com.thaiinsurance.autoinsurance.security.JwtTokenUtil;
 import com.thaiinsurance.autoinsurance.service.AuthService;
+import com.thaiinsurance.autoinsurance.service.LoginActivityService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -40,6 +41,9 @@ class AuthServiceTest {
     @Mock
     private JwtTokenUtil jwtTokenUtil;
 
+    @Mock
+    private LoginActivityService loginActivityService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -204,6 +208,8 @@ class AuthServiceTest {
         user.setId(1L);
         user.setPasswordResetToken(token);
         user.setPasswordResetTokenExpiry(LocalDateTime.now().plusMinutes(30));
+        user.setAccountLocked(true);
+        user.setFailedLoginAttempts(5);
         
         when(userRepository.findByPasswordResetToken(token)).thenReturn(Optional.of(user));
         when(passwordEncoder.encode(newPassword)).thenReturn("encoded-new-password");
@@ -220,6 +226,9 @@ class AuthServiceTest {
         assertEquals("encoded-new-password", savedUser.getPassword());
         assertNull(savedUser.getPasswordResetToken());
         assertNull(savedUser.getPasswordResetTokenExpiry());
+        assertFalse(savedUser.getAccountLocked());
+        assertEquals(0, savedUser.getFailedLoginAttempts());
+        verify(loginActivityService).clearFailures(1L);
     }
 
     @Test
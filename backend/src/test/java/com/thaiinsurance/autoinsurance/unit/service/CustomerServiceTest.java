@@ -6,7 +6,9 @@ import com.thaiinsurance.autoinsurance.model.Role;
 import com.thaiinsurance.autoinsurance.model.User;
 import com.thaiinsurance.autoinsurance.repository.CustomerRepository;
 import com.thaiinsurance.autoinsurance.repository.UserRepository;
+import com.thaiinsurance.autoinsurance.security.CustomerOwnershipGuard;
 import com.thaiinsurance.autoinsurance.service.CustomerService;
+import com.thaiinsurance.autoinsurance.service.OutboxService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -44,6 +46,12 @@ class CustomerServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private CustomerOwnershipGuard customerOwnershipGuard;
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -207,6 +215,7 @@ class CustomerServiceTest {
             verify(userRepository).save(any(User.class));
             verify(customerRepository).save(newCustomer);
             verify(passwordEncoder).encode(password);
+            verify(customerOwnershipGuard).evictAfterCommit(testUser.getId());
         }
 
         @Test
@@ -0,0 +1,54 @@
+package com.thaiinsurance.autoinsurance.unit.util;
+
+import com.thaiinsurance.autoinsurance.util.BloomFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bloom Filter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never miss an added key")
+    void shouldNeverMissAddedKey() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        String[] keys = new String[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = UUID.randomUUID().toString();
+            filter.put(keys[i]);
+        }
+
+        for (String key : keys) {
+            assertTrue(filter.mightContain(key), key);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep false positives near the configured rate at capacity")
+    void shouldKeepFalsePositivesNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2_000, "False positive rate " + falsePositives / 100_000.0);
+        assertEquals(7, filter.getHashCount());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid sizing")
+    void shouldRejectInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.0));
+    }
+}
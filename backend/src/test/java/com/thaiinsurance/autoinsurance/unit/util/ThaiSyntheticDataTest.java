@@ -0,0 +1,67 @@
+package com.thaiinsurance.autoinsurance.unit.util;
+
+import com.thaiinsurance.autoinsurance.util.ThaiSyntheticData;
+import com.thaiinsurance.autoinsurance.util.ThaiValidationUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Thai Synthetic Data Tests")
+class ThaiSyntheticDataTest {
+
+    private static final int SAMPLES = 50_000;
+
+    @Test
+    @DisplayName("Should generate unique national IDs with valid checksums")
+    void shouldGenerateUniqueValidNationalIds() {
+        Set<String> seen = new HashSet<>();
+        for (long ordinal = 0; ordinal < SAMPLES; ordinal++) {
+            String nationalId = ThaiSyntheticData.nationalId(ordinal);
+            assertTrue(ThaiValidationUtil.isValidThaiNationalId(nationalId), "Invalid national ID " + nationalId);
+            assertTrue(seen.add(nationalId), "Duplicate national ID " + nationalId);
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate unique valid phone numbers and license plates")
+    void shouldGenerateUniquePhoneNumbersAndPlates() {
+        Set<String> phones = new HashSet<>();
+        Set<String> plates = new HashSet<>();
+        for (long ordinal = 0; ordinal < SAMPLES; ordinal++) {
+            String phone = ThaiSyntheticData.phoneNumber(ordinal);
+            String plate = ThaiSyntheticData.licensePlate(ordinal);
+            assertTrue(ThaiValidationUtil.isValidThaiPhoneNumber(phone), "Invalid phone number " + phone);
+            assertTrue(ThaiValidationUtil.isValidThaiLicensePlate(plate), "Invalid license plate " + plate);
+            assertTrue(phones.add(phone), "Duplicate phone number " + phone);
+            assertTrue(plates.add(plate), "Duplicate license plate " + plate);
+        }
+    }
+
+    @Test
+    @DisplayName("Should pick provinces with valid postal codes")
+    void shouldPickProvincesWithValidPostalCodes() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 1000; i++) {
+            ThaiSyntheticData.Province province = ThaiSyntheticData.province(random);
+            for (int district = 0; district < province.districtCount(); district++) {
+                assertTrue(ThaiValidationUtil.isValidThaiPostalCode(province.postalCode(district)),
+                    province.name() + " has invalid postal code " + province.postalCode(district));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep log-normal amounts within bounds")
+    void shouldKeepLogNormalAmountsWithinBounds() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 10_000; i++) {
+            double amount = ThaiSyntheticData.logNormal(random, 25_000, 0.9, 1_500, 200_000);
+            assertTrue(amount >= 1_500 && amount <= 200_000, "Amount out of bounds: " + amount);
+        }
+    }
+}
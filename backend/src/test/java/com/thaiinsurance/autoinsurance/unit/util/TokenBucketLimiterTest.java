@@ -0,0 +1,54 @@
+package com.thaiinsurance.autoinsurance.unit.util;
+
+import com.thaiinsurance.autoinsurance.util.TokenBucketLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Token Bucket Limiter Tests")
+class TokenBucketLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final TokenBucketLimiter limiter =
+        new TokenBucketLimiter(8, 1_000, Duration.ofMinutes(10), clock::get);
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then report when the next token arrives")
+    void shouldAllowBurstThenThrottle() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("login|ip:10.0.0.1", 5, 1.0));
+        }
+
+        long waitNanos = limiter.tryAcquire("login|ip:10.0.0.1", 5, 1.0);
+
+        assertEquals(TimeUnit.SECONDS.toNanos(1), waitNanos);
+        assertEquals(0, limiter.tryAcquire("login|ip:10.0.0.2", 5, 1.0));
+        clock.addAndGet(waitNanos);
+        assertEquals(0, limiter.tryAcquire("login|ip:10.0.0.1", 5, 1.0));
+    }
+
+    @Test
+    @DisplayName("Should debit tokens consumed elsewhere and report local consumption once")
+    void shouldDebitAndDrain() {
+        limiter.tryAcquire("quote|user:7", 10, 1.0);
+        limiter.tryAcquire("quote|user:7", 10, 1.0);
+
+        assertEquals(Map.of("quote|user:7", 2L), limiter.drainConsumed());
+        assertTrue(limiter.drainConsumed().isEmpty());
+
+        limiter.debit("quote|user:7", 8);
+        assertTrue(limiter.tryAcquire("quote|user:7", 10, 1.0) > 0);
+    }
+
+    @Test
+    @DisplayName("Should reject a stripe count that is not a power of two")
+    void shouldRejectInvalidStripes() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(12, 100, Duration.ofMinutes(1)));
+    }
+}